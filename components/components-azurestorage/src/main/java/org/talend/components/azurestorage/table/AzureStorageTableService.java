@@ -12,6 +12,9 @@
 //============================================================================
 package org.talend.components.azurestorage.table;
 
+import com.microsoft.azure.storage.ResultContinuation;
+import com.microsoft.azure.storage.RetryExponentialRetry;
+import com.microsoft.azure.storage.ResultSegment;
 import com.microsoft.azure.storage.StorageErrorCodeStrings;
 import com.microsoft.azure.storage.StorageException;
 import com.microsoft.azure.storage.table.CloudTable;
@@ -19,7 +22,9 @@ import com.microsoft.azure.storage.table.CloudTableClient;
 import com.microsoft.azure.storage.table.DynamicTableEntity;
 import com.microsoft.azure.storage.table.TableBatchOperation;
 import com.microsoft.azure.storage.table.TableOperation;
+import com.microsoft.azure.storage.table.TablePayloadFormat;
 import com.microsoft.azure.storage.table.TableQuery;
+import com.microsoft.azure.storage.table.TableRequestOptions;
 import com.microsoft.azure.storage.table.TableResult;
 import com.microsoft.azure.storage.table.TableServiceException;
 import org.slf4j.Logger;
@@ -34,28 +39,118 @@ import java.security.InvalidKeyException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
+/**
+ * The table client and the table references are created once and shared by all the operations of the service, the
+ * service can be used by several threads.
+ */
 public class AzureStorageTableService {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(AzureStorageTableService.class);
 
+    public static final int DEFAULT_RETRY_DELTA_BACKOFF_MILLIS = 3000;
+
+    public static final int DEFAULT_RETRY_ATTEMPTS = 3;
+
+    public static final int DEFAULT_TIMEOUT_MILLIS = 30000;
+
+    /** The first wait before creating again a table being deleted, doubled at each attempt */
+    static final long TABLE_CREATION_INITIAL_BACKOFF_MILLIS = 1000;
+
+    static final long TABLE_CREATION_MAX_BACKOFF_MILLIS = 16000;
+
+    /** The table deletion takes about 40 seconds, the creation is given up after this time */
+    static final long TABLE_CREATION_TIMEOUT_MILLIS = 120000;
+
     private AzureConnection connection;
 
+    private final TableRequestOptions defaultRequestOptions;
+
+    private final TableRequestOptions writeRequestOptions;
+
+    private CloudTableClient cloudTableClient;
+
+    private final ConcurrentMap<String, CloudTable> cloudTables = new ConcurrentHashMap<>();
+
     public AzureStorageTableService(final AzureConnection connection) {
+        this(connection, createDefaultRequestOptions());
+    }
+
+    /**
+     * @param defaultRequestOptions the options of the requests of the service, the write operations are sent without
+     * metadata whatever the payload format of these options.
+     */
+    public AzureStorageTableService(final AzureConnection connection, final TableRequestOptions defaultRequestOptions) {
         super();
         this.connection = connection;
+        this.defaultRequestOptions = defaultRequestOptions;
+        // the responses of the writes have no entity, their types don't need to be sent
+        this.writeRequestOptions = new TableRequestOptions(defaultRequestOptions);
+        this.writeRequestOptions.setTablePayloadFormat(TablePayloadFormat.JsonNoMetadata);
+    }
+
+    /**
+     * The queries keep the JSON minimal metadata : without the metadata, the Int64, DateTime and binary properties of the
+     * dynamic entities would be read as strings.
+     */
+    public static TableRequestOptions createDefaultRequestOptions() {
+        TableRequestOptions options = new TableRequestOptions();
+        options.setRetryPolicyFactory(new RetryExponentialRetry(DEFAULT_RETRY_DELTA_BACKOFF_MILLIS, DEFAULT_RETRY_ATTEMPTS));
+        options.setTimeoutIntervalInMs(DEFAULT_TIMEOUT_MILLIS);
+        options.setTablePayloadFormat(TablePayloadFormat.JsonMinimalMetadata);
+        return options;
+    }
+
+    public TableRequestOptions getDefaultRequestOptions() {
+        return defaultRequestOptions;
+    }
+
+    private synchronized CloudTableClient getCloudTableClient() throws InvalidKeyException, URISyntaxException {
+        if (cloudTableClient == null) {
+            cloudTableClient = connection.getCloudStorageAccount().createCloudTableClient();
+        }
+        return cloudTableClient;
+    }
+
+    /**
+     * @return the reference of the table, created at the first call for this table.
+     */
+    public CloudTable getCloudTable(String tableName) throws InvalidKeyException, URISyntaxException, StorageException {
+        CloudTable cloudTable = cloudTables.get(tableName);
+        if (cloudTable == null) {
+            cloudTable = getCloudTableClient().getTableReference(tableName);
+            CloudTable previous = cloudTables.putIfAbsent(tableName, cloudTable);
+            if (previous != null) {
+                cloudTable = previous;
+            }
+        }
+        return cloudTable;
     }
 
     public Iterable<String> listTables() throws InvalidKeyException, URISyntaxException {
-        CloudTableClient cloudTableClient = connection.getCloudStorageAccount().createCloudTableClient();
-        return cloudTableClient.listTables(null, null, AzureStorageUtils.getTalendOperationContext());
+        return getCloudTableClient().listTables(null, defaultRequestOptions, AzureStorageUtils.getTalendOperationContext());
     }
 
     public Iterable<DynamicTableEntity> executeQuery(String tableName, TableQuery<DynamicTableEntity> partitionQuery)
             throws InvalidKeyException, URISyntaxException, StorageException {
 
-        CloudTable cloudTable = connection.getCloudStorageAccount().createCloudTableClient().getTableReference(tableName);
-        return cloudTable.execute(partitionQuery, null, AzureStorageUtils.getTalendOperationContext());
+        CloudTable cloudTable = getCloudTable(tableName);
+        return cloudTable.execute(partitionQuery, defaultRequestOptions, AzureStorageUtils.getTalendOperationContext());
+    }
+
+    /**
+     * Execute one segment of the query, the segment contains at most 1000 entities.
+     *
+     * @param continuationToken the token returned with the previous segment, or null for the first segment.
+     */
+    public ResultSegment<DynamicTableEntity> executeQuerySegmented(String tableName, TableQuery<DynamicTableEntity> query,
+            ResultContinuation continuationToken) throws InvalidKeyException, URISyntaxException, StorageException {
+
+        CloudTable cloudTable = getCloudTable(tableName);
+        return cloudTable.executeSegmented(query, continuationToken, defaultRequestOptions,
+                AzureStorageUtils.getTalendOperationContext());
     }
 
     public void handleActionOnTable(String tableName, ActionOnTable actionTable)
@@ -63,20 +158,20 @@ public class AzureStorageTableService {
 
         // FIXME How does this will behave in a distributed runtime ? See where to place correctly this
         // instruction...
-        CloudTable cloudTable = connection.getCloudStorageAccount().createCloudTableClient().getTableReference(tableName);
+        CloudTable cloudTable = getCloudTable(tableName);
         switch (actionTable) {
         case Create_table:
-            cloudTable.create(null, AzureStorageUtils.getTalendOperationContext());
+            cloudTable.create(defaultRequestOptions, AzureStorageUtils.getTalendOperationContext());
             break;
         case Create_table_if_does_not_exist:
-            cloudTable.createIfNotExists(null, AzureStorageUtils.getTalendOperationContext());
+            cloudTable.createIfNotExists(defaultRequestOptions, AzureStorageUtils.getTalendOperationContext());
             break;
         case Drop_and_create_table:
-            cloudTable.delete(null, AzureStorageUtils.getTalendOperationContext());
+            cloudTable.delete(defaultRequestOptions, AzureStorageUtils.getTalendOperationContext());
             createTableAfterDeletion(cloudTable);
             break;
         case Drop_table_if_exist_and_create:
-            cloudTable.deleteIfExists(null, AzureStorageUtils.getTalendOperationContext());
+            cloudTable.deleteIfExists(defaultRequestOptions, AzureStorageUtils.getTalendOperationContext());
             createTableAfterDeletion(cloudTable);
             break;
         case Default:
@@ -89,23 +184,23 @@ public class AzureStorageTableService {
     public TableResult executeOperation(String tableName, TableOperation ope)
             throws InvalidKeyException, URISyntaxException, StorageException {
 
-        CloudTable cloudTable = connection.getCloudStorageAccount().createCloudTableClient().getTableReference(tableName);
-        return cloudTable.execute(ope, null, AzureStorageUtils.getTalendOperationContext());
+        CloudTable cloudTable = getCloudTable(tableName);
+        return cloudTable.execute(ope, writeRequestOptions, AzureStorageUtils.getTalendOperationContext());
     }
 
     public ArrayList<TableResult> executeOperation(String tableName, TableBatchOperation batchOpe)
             throws InvalidKeyException, URISyntaxException, StorageException {
 
-        CloudTable cloudTable = connection.getCloudStorageAccount().createCloudTableClient().getTableReference(tableName);
-        return cloudTable.execute(batchOpe, null, AzureStorageUtils.getTalendOperationContext());
+        CloudTable cloudTable = getCloudTable(tableName);
+        return cloudTable.execute(batchOpe, writeRequestOptions, AzureStorageUtils.getTalendOperationContext());
     }
 
     /**
      * This method create a table after it's deletion.<br/>
      * the table deletion take about 40 seconds to be effective on azure CF.
      * https://docs.microsoft.com/en-us/rest/api/storageservices/fileservices/Delete-Table#Remarks <br/>
-     * So we try to wait 50 seconds if the first table creation return an
-     * {@link StorageErrorCodeStrings.TABLE_BEING_DELETED } exception code
+     * So while the creation returns an {@link StorageErrorCodeStrings.TABLE_BEING_DELETED } exception code, we retry
+     * with a growing wait, until {@link #TABLE_CREATION_TIMEOUT_MILLIS}.
      * 
      * @param cloudTable
      * 
@@ -114,22 +209,31 @@ public class AzureStorageTableService {
      * 
      */
     private void createTableAfterDeletion(CloudTable cloudTable) throws StorageException, IOException {
-        try {
-            cloudTable.create(null, AzureStorageUtils.getTalendOperationContext());
-        } catch (TableServiceException e) {
-            if (!e.getErrorCode().equals(StorageErrorCodeStrings.TABLE_BEING_DELETED)) {
-                throw e;
-            }
-            LOGGER.warn("Table '{}' is currently being deleted. We'll retry in a few moments...", cloudTable.getName());
-            // wait 50 seconds (min is 40s) before retrying.
-            // See https://docs.microsoft.com/en-us/rest/api/storageservices/fileservices/Delete-Table#Remarks
+        long deadline = System.currentTimeMillis() + TABLE_CREATION_TIMEOUT_MILLIS;
+        long backoff = TABLE_CREATION_INITIAL_BACKOFF_MILLIS;
+        while (true) {
             try {
-                Thread.sleep(50000);
-            } catch (InterruptedException eint) {
-                throw new IOException("Wait process for recreating table interrupted.");
+                cloudTable.create(defaultRequestOptions, AzureStorageUtils.getTalendOperationContext());
+                LOGGER.debug("Table {} created.", cloudTable.getName());
+                return;
+            } catch (TableServiceException e) {
+                if (!StorageErrorCodeStrings.TABLE_BEING_DELETED.equals(e.getErrorCode())
+                        || System.currentTimeMillis() + backoff > deadline) {
+                    throw e;
+                }
+                LOGGER.warn("Table '{}' is currently being deleted. We'll retry in {} ms...", cloudTable.getName(), backoff);
+                sleep(backoff);
+                backoff = Math.min(backoff * 2, TABLE_CREATION_MAX_BACKOFF_MILLIS);
             }
-            cloudTable.create(null, AzureStorageUtils.getTalendOperationContext());
-            LOGGER.debug("Table {} created.", cloudTable.getName());
+        }
+    }
+
+    protected void sleep(long millis) throws IOException {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException eint) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Wait process for recreating table interrupted.");
         }
     }
 
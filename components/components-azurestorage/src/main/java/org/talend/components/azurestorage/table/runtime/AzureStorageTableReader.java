@@ -16,10 +16,12 @@ import java.io.IOException;
 import java.net.URISyntaxException;
 import java.security.InvalidKeyException;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
 
 import org.apache.avro.Schema;
+import org.apache.avro.Schema.Field;
 import org.apache.avro.generic.IndexedRecord;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -54,6 +56,10 @@ public class AzureStorageTableReader extends AbstractBoundedReader<IndexedRecord
 
     private transient Map<String, String> nameMappings;
 
+    private transient ParallelTableScan parallelScan;
+
+    private PartitionKeyRange partitionKeyRange;
+
     private boolean started;
 
     private Boolean advanceable;
@@ -73,6 +79,7 @@ public class AzureStorageTableReader extends AbstractBoundedReader<IndexedRecord
         this.properties = properties;
         this.nameMappings = properties.nameMapping.getNameMappings();
         this.tableService = new AzureStorageTableService(((AzureStorageTableSource) source).getAzureConnection(container));
+        this.partitionKeyRange = ((AzureStorageTableSource) source).getPartitionKeyRange();
         this.result = new Result();
     }
 
@@ -98,6 +105,27 @@ public class AzureStorageTableReader extends AbstractBoundedReader<IndexedRecord
         return factory;
     }
 
+    /**
+     * @return the names of the entity properties of the design schema, or null to read all the properties.
+     */
+    private String[] getSelectedColumns() {
+        Schema designSchema = properties.schema.schema.getValue();
+        if (designSchema == null || AvroUtils.isIncludeAllFields(designSchema) || designSchema.getFields().isEmpty()) {
+            return null;
+        }
+        List<Field> fields = designSchema.getFields();
+        String[] columns = new String[fields.size()];
+        for (int i = 0; i < columns.length; i++) {
+            String name = fields.get(i).name();
+            columns[i] = nameMappings != null && nameMappings.containsKey(name) ? nameMappings.get(name) : name;
+        }
+        return columns;
+    }
+
+    private boolean isParallelScan() {
+        return partitionKeyRange == null && properties.parallelScan.getValue() != null && properties.parallelScan.getValue();
+    }
+
     @Override
     public boolean start() throws IOException {
 
@@ -107,26 +135,38 @@ public class AzureStorageTableReader extends AbstractBoundedReader<IndexedRecord
             filter = properties.filterExpression.generateCombinedFilterConditions();
             LOGGER.debug(i18nMessages.getMessage("debug.FilterApplied", filter));
         }
+        // only the columns of the schema are sent back by the service
+        String[] columns = getSelectedColumns();
         try {
-            TableQuery<DynamicTableEntity> partitionQuery;
-            if (filter.isEmpty()) {
-                partitionQuery = TableQuery.from(DynamicTableEntity.class);
+            List<PartitionKeyRange> ranges = null;
+            if (isParallelScan()) {
+                ranges = new PartitionKeySampler(tableService, tableName).getRanges(properties);
+            }
+            if (ranges != null && ranges.size() > 1) {
+                parallelScan = new ParallelTableScan(tableService, tableName, filter, columns, ranges,
+                        properties.scanThreads.getValue() == null ? TAzureStorageInputTableProperties.DEFAULT_SCAN_THREADS
+                                : properties.scanThreads.getValue());
+                recordsIterator = parallelScan;
             } else {
-                partitionQuery = TableQuery.from(DynamicTableEntity.class).where(filter);
+                if (partitionKeyRange != null) {
+                    // the reader of a split only reads its range
+                    filter = partitionKeyRange.and(filter);
+                }
+                TableQuery<DynamicTableEntity> partitionQuery = ParallelTableScan.createQuery(filter, columns);
+                // Using execute will automatically and lazily follow the continuation tokens from page to page of results.
+                // So, we bypass the 1000 entities limit.
+                Iterable<DynamicTableEntity> entities = tableService.executeQuery(tableName, partitionQuery);
+                recordsIterator = entities.iterator();
             }
-            // Using execute will automatically and lazily follow the continuation tokens from page to page of results.
-            // So, we bypass the 1000 entities limit.
-            Iterable<DynamicTableEntity> entities = tableService.executeQuery(tableName, partitionQuery);
-            recordsIterator = entities.iterator();
             if (recordsIterator.hasNext()) {
                 started = true;
                 result.totalCount++;
                 current = recordsIterator.next();
             }
-        } catch (InvalidKeyException | URISyntaxException | StorageException e) {
+        } catch (InvalidKeyException | URISyntaxException | StorageException | ComponentException e) {
             LOGGER.error(e.getLocalizedMessage());
             if (properties.dieOnError.getValue()) {
-                throw new ComponentException(e);
+                throw e instanceof ComponentException ? (ComponentException) e : new ComponentException(e);
             }
         }
 
@@ -140,7 +180,16 @@ public class AzureStorageTableReader extends AbstractBoundedReader<IndexedRecord
             return false;
         }
 
-        advanceable = recordsIterator.hasNext();
+        try {
+            advanceable = recordsIterator.hasNext();
+        } catch (ComponentException e) {
+            // a range of the parallel scan failed
+            LOGGER.error(e.getLocalizedMessage());
+            if (properties.dieOnError.getValue()) {
+                throw e;
+            }
+            advanceable = false;
+        }
         if (advanceable) {
             result.totalCount++;
             current = recordsIterator.next();
@@ -166,6 +215,15 @@ public class AzureStorageTableReader extends AbstractBoundedReader<IndexedRecord
         return null;
     }
 
+    @Override
+    public void close() throws IOException {
+        if (parallelScan != null) {
+            parallelScan.close();
+            parallelScan = null;
+        }
+        super.close();
+    }
+
     @Override
     public Map<String, Object> getReturnValues() {
         return result.toMap();
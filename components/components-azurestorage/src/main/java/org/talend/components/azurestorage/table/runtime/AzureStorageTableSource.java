@@ -12,11 +12,13 @@
 //============================================================================
 package org.talend.components.azurestorage.table.runtime;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import org.talend.components.api.component.runtime.BoundedReader;
 import org.talend.components.api.component.runtime.BoundedSource;
 import org.talend.components.api.container.RuntimeContainer;
+import org.talend.components.azurestorage.table.AzureStorageTableService;
 import org.talend.components.azurestorage.table.tazurestorageinputtable.TAzureStorageInputTableProperties;
 import org.talend.daikon.properties.ValidationResult;
 
@@ -24,6 +26,17 @@ public class AzureStorageTableSource extends AzureStorageTableSourceOrSink imple
 
     private static final long serialVersionUID = -2453758634165235002L;
 
+    /** The PartitionKeys read by this source when it is a split of the table, null for the whole table */
+    private PartitionKeyRange partitionKeyRange;
+
+    public PartitionKeyRange getPartitionKeyRange() {
+        return partitionKeyRange;
+    }
+
+    public void setPartitionKeyRange(PartitionKeyRange partitionKeyRange) {
+        this.partitionKeyRange = partitionKeyRange;
+    }
+
     @SuppressWarnings("rawtypes")
     @Override
     public BoundedReader createReader(RuntimeContainer container) {
@@ -46,7 +59,26 @@ public class AzureStorageTableSource extends AzureStorageTableSourceOrSink imple
     @Override
     public List<? extends BoundedSource> splitIntoBundles(long desiredBundleSizeBytes, RuntimeContainer adaptor)
             throws Exception {
-        return null;
+        if (partitionKeyRange != null || !(properties instanceof TAzureStorageInputTableProperties)) {
+            return null;
+        }
+        TAzureStorageInputTableProperties inputProperties = (TAzureStorageInputTableProperties) properties;
+        if (inputProperties.parallelScan.getValue() == null || !inputProperties.parallelScan.getValue()) {
+            return null;
+        }
+
+        // one split for each PartitionKey range
+        AzureStorageTableService tableService = new AzureStorageTableService(getAzureConnection(adaptor));
+        List<PartitionKeyRange> ranges = new PartitionKeySampler(tableService, inputProperties.tableName.getValue())
+                .getRanges(inputProperties);
+        List<AzureStorageTableSource> sources = new ArrayList<>(ranges.size());
+        for (PartitionKeyRange range : ranges) {
+            AzureStorageTableSource source = new AzureStorageTableSource();
+            source.initialize(adaptor, inputProperties);
+            source.setPartitionKeyRange(range);
+            sources.add(source);
+        }
+        return sources;
     }
 
     @Override
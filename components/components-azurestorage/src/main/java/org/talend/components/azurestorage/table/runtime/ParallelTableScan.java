@@ -0,0 +1,220 @@
+//============================================================================
+//
+// Copyright (C) 2006-2023 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// %InstallDIR%\features\org.talend.rcp.branding.%PRODUCTNAME%\%PRODUCTNAME%license.txt
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+//============================================================================
+package org.talend.components.azurestorage.table.runtime;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.talend.components.api.exception.ComponentException;
+import org.talend.components.azurestorage.table.AzureStorageTableService;
+
+import com.microsoft.azure.storage.ResultContinuation;
+import com.microsoft.azure.storage.ResultSegment;
+import com.microsoft.azure.storage.table.DynamicTableEntity;
+import com.microsoft.azure.storage.table.TableQuery;
+
+/**
+ * Read the PartitionKey ranges of a table concurrently.
+ *
+ * Each range is read by its own task, segment after segment, and the segments are passed to the reader through a bounded
+ * queue : the tasks wait when the reader is behind. The entities of different ranges are interleaved.
+ */
+public class ParallelTableScan implements Iterator<DynamicTableEntity>, Closeable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ParallelTableScan.class);
+
+    private static final long POLL_INTERVAL_MILLIS = 100;
+
+    /** Marks the end of all the ranges, a distinct instance compared by reference */
+    private static final List<DynamicTableEntity> END = new ArrayList<>(0);
+
+    private final AzureStorageTableService tableService;
+
+    private final String tableName;
+
+    private final String filter;
+
+    private final String[] columns;
+
+    private final BlockingQueue<List<DynamicTableEntity>> segments;
+
+    private final ExecutorService executor;
+
+    private final AtomicInteger remainingRanges;
+
+    private volatile Throwable failure;
+
+    private volatile boolean closed;
+
+    private Iterator<DynamicTableEntity> current = Collections.<DynamicTableEntity> emptyList().iterator();
+
+    private boolean ended;
+
+    /**
+     * @param filter the filter of the query, can be empty.
+     * @param columns the selected columns, or null for all the columns.
+     * @param threads the maximum number of ranges read at the same time.
+     */
+    public ParallelTableScan(AzureStorageTableService tableService, String tableName, String filter, String[] columns,
+            List<PartitionKeyRange> ranges, int threads) {
+        this.tableService = tableService;
+        this.tableName = tableName;
+        this.filter = filter;
+        this.columns = columns;
+        int poolSize = Math.max(1, Math.min(threads, ranges.size()));
+        this.segments = new ArrayBlockingQueue<>(poolSize * 2);
+        this.remainingRanges = new AtomicInteger(ranges.size());
+        this.executor = Executors.newFixedThreadPool(poolSize, new ThreadFactory() {
+
+            private final AtomicInteger count = new AtomicInteger();
+
+            @Override
+            public Thread newThread(Runnable r) {
+                Thread thread = new Thread(r, "azure-table-scan-" + count.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        if (ranges.isEmpty()) {
+            segments.add(END);
+        }
+        for (final PartitionKeyRange range : ranges) {
+            executor.submit(new Runnable() {
+
+                @Override
+                public void run() {
+                    scan(range);
+                }
+            });
+        }
+    }
+
+    /**
+     * @param filter the filter of the query, can be empty.
+     * @param columns the selected columns, or null for all the columns.
+     */
+    public static TableQuery<DynamicTableEntity> createQuery(String filter, String[] columns) {
+        TableQuery<DynamicTableEntity> query = TableQuery.from(DynamicTableEntity.class);
+        if (filter != null && !filter.isEmpty()) {
+            query = query.where(filter);
+        }
+        if (columns != null) {
+            query = query.select(columns);
+        }
+        return query;
+    }
+
+    private void scan(PartitionKeyRange range) {
+        try {
+            TableQuery<DynamicTableEntity> query = createQuery(range.and(filter), columns);
+            ResultContinuation token = null;
+            do {
+                ResultSegment<DynamicTableEntity> segment = tableService.executeQuerySegmented(tableName, query, token);
+                if (!segment.getResults().isEmpty() && !put(segment.getResults())) {
+                    return;
+                }
+                token = segment.getContinuationToken();
+            } while (token != null && !closed);
+            LOGGER.debug("PartitionKey range {} of table {} read.", range, tableName);
+
+            if (remainingRanges.decrementAndGet() == 0) {
+                put(END);
+            }
+        } catch (Throwable e) {
+            if (!closed) {
+                failure = e;
+            }
+        }
+    }
+
+    /**
+     * @return false if the scan was closed while waiting for the reader.
+     */
+    private boolean put(List<DynamicTableEntity> entities) throws InterruptedException {
+        while (!segments.offer(entities, POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS)) {
+            if (closed) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private List<DynamicTableEntity> take() {
+        try {
+            while (true) {
+                Throwable cause = failure;
+                if (cause != null) {
+                    throw new ComponentException(cause);
+                }
+                List<DynamicTableEntity> entities = segments.poll(POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+                if (entities != null) {
+                    return entities;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ComponentException(e);
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (!current.hasNext()) {
+            if (ended) {
+                return false;
+            }
+            List<DynamicTableEntity> entities = take();
+            if (entities == END) {
+                ended = true;
+                return false;
+            }
+            current = entities.iterator();
+        }
+        return true;
+    }
+
+    @Override
+    public DynamicTableEntity next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return current.next();
+    }
+
+    @Override
+    public void remove() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Stop the tasks still reading.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,118 @@
+//============================================================================
+//
+// Copyright (C) 2006-2023 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// %InstallDIR%\features\org.talend.rcp.branding.%PRODUCTNAME%\%PRODUCTNAME%license.txt
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+//============================================================================
+package org.talend.components.azurestorage.table.runtime;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+
+import com.microsoft.azure.storage.table.TableQuery;
+import com.microsoft.azure.storage.table.TableQuery.Operators;
+import com.microsoft.azure.storage.table.TableQuery.QueryComparisons;
+
+/**
+ * A range of PartitionKeys of a table, from the lower bound included to the upper bound excluded. A null bound means
+ * that the range is not bounded on this side.
+ */
+public class PartitionKeyRange implements Serializable {
+
+    private static final long serialVersionUID = 4529014447263716841L;
+
+    private final String lowerBound;
+
+    private final String upperBound;
+
+    public PartitionKeyRange(String lowerBound, String upperBound) {
+        this.lowerBound = lowerBound;
+        this.upperBound = upperBound;
+    }
+
+    public String getLowerBound() {
+        return lowerBound;
+    }
+
+    public String getUpperBound() {
+        return upperBound;
+    }
+
+    /**
+     * @return the filter selecting the entities of the range, empty for the whole table.
+     */
+    public String getFilter() {
+        String filter = "";
+        if (lowerBound != null) {
+            filter = TableQuery.generateFilterCondition(AzureStorageTableSourceOrSink.PARTITION_KEY,
+                    QueryComparisons.GREATER_THAN_OR_EQUAL, lowerBound);
+        }
+        if (upperBound != null) {
+            String upperFilter = TableQuery.generateFilterCondition(AzureStorageTableSourceOrSink.PARTITION_KEY,
+                    QueryComparisons.LESS_THAN, upperBound);
+            filter = filter.isEmpty() ? upperFilter : TableQuery.combineFilters(filter, Operators.AND, upperFilter);
+        }
+        return filter;
+    }
+
+    /**
+     * @param filter the filter of the query, can be empty.
+     * @return the filter of the query restricted to the range.
+     */
+    public String and(String filter) {
+        String rangeFilter = getFilter();
+        if (filter == null || filter.isEmpty()) {
+            return rangeFilter;
+        }
+        if (rangeFilter.isEmpty()) {
+            return filter;
+        }
+        return TableQuery.combineFilters(rangeFilter, Operators.AND, filter);
+    }
+
+    /**
+     * @param boundaries the comma separated PartitionKeys where the ranges start.
+     * @return the distinct boundaries, sorted.
+     */
+    public static List<String> parseBoundaries(String boundaries) {
+        TreeSet<String> result = new TreeSet<>();
+        if (boundaries != null) {
+            for (String boundary : boundaries.split(",")) {
+                String key = boundary.trim();
+                if (!key.isEmpty()) {
+                    result.add(key);
+                }
+            }
+        }
+        return new ArrayList<>(result);
+    }
+
+    /**
+     * @param boundaries the sorted PartitionKeys where the ranges start.
+     * @return the ranges covering the whole table : before the first boundary, between each boundary and after the last
+     * one.
+     */
+    public static List<PartitionKeyRange> fromBoundaries(List<String> boundaries) {
+        List<PartitionKeyRange> ranges = new ArrayList<>(boundaries.size() + 1);
+        String lowerBound = null;
+        for (String boundary : boundaries) {
+            ranges.add(new PartitionKeyRange(lowerBound, boundary));
+            lowerBound = boundary;
+        }
+        ranges.add(new PartitionKeyRange(lowerBound, null));
+        return ranges;
+    }
+
+    @Override
+    public String toString() {
+        return "[" + (lowerBound == null ? "" : lowerBound) + ", " + (upperBound == null ? "" : upperBound) + ")";
+    }
+}
@@ -0,0 +1,129 @@
+//============================================================================
+//
+// Copyright (C) 2006-2023 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// %InstallDIR%\features\org.talend.rcp.branding.%PRODUCTNAME%\%PRODUCTNAME%license.txt
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+//============================================================================
+package org.talend.components.azurestorage.table.runtime;
+
+import java.net.URISyntaxException;
+import java.security.InvalidKeyException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.talend.components.azurestorage.table.AzureStorageTableService;
+import org.talend.components.azurestorage.table.tazurestorageinputtable.TAzureStorageInputTableProperties;
+
+import com.microsoft.azure.storage.ResultContinuation;
+import com.microsoft.azure.storage.ResultSegment;
+import com.microsoft.azure.storage.StorageException;
+import com.microsoft.azure.storage.table.DynamicTableEntity;
+import com.microsoft.azure.storage.table.TableQuery;
+import com.microsoft.azure.storage.table.TableQuery.QueryComparisons;
+
+/**
+ * Split a table into PartitionKey ranges for a parallel scan.
+ *
+ * The table has no statistics of its partitions, so the distinct PartitionKeys are sampled by asking one after the other
+ * the first key greater than the previous one, with a query returning only the PartitionKey. When the table has more
+ * partitions than sampled, the last range covers all the partitions after the sample : the boundaries should be given for
+ * such tables.
+ */
+public class PartitionKeySampler {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PartitionKeySampler.class);
+
+    /** The number of sampled PartitionKeys for each range */
+    public static final int KEYS_PER_RANGE = 16;
+
+    public static final int MAX_SAMPLED_KEYS = 256;
+
+    private final AzureStorageTableService tableService;
+
+    private final String tableName;
+
+    public PartitionKeySampler(AzureStorageTableService tableService, String tableName) {
+        this.tableService = tableService;
+        this.tableName = tableName;
+    }
+
+    /**
+     * @return the ranges of the boundaries of the properties, or sampled from the table when there are none.
+     */
+    public List<PartitionKeyRange> getRanges(TAzureStorageInputTableProperties properties)
+            throws InvalidKeyException, URISyntaxException, StorageException {
+        List<String> boundaries = PartitionKeyRange.parseBoundaries(properties.partitionKeyBoundaries.getValue());
+        if (boundaries.isEmpty()) {
+            Integer threads = properties.scanThreads.getValue();
+            int rangeCount = threads != null && threads > 0 ? threads : TAzureStorageInputTableProperties.DEFAULT_SCAN_THREADS;
+            boundaries = sampleBoundaries(rangeCount);
+        }
+        List<PartitionKeyRange> ranges = PartitionKeyRange.fromBoundaries(boundaries);
+        LOGGER.debug("PartitionKey ranges of table {}: {}", tableName, ranges);
+        return ranges;
+    }
+
+    /**
+     * @return the boundaries of at most the given number of ranges, with about the same number of partitions.
+     */
+    public List<String> sampleBoundaries(int rangeCount) throws InvalidKeyException, URISyntaxException, StorageException {
+        List<String> keys = sampleKeys(Math.min(MAX_SAMPLED_KEYS, rangeCount * KEYS_PER_RANGE));
+        return chooseBoundaries(keys, rangeCount);
+    }
+
+    /**
+     * @param keys the sorted distinct PartitionKeys.
+     * @return the boundaries splitting the keys in at most the given number of ranges.
+     */
+    static List<String> chooseBoundaries(List<String> keys, int rangeCount) {
+        List<String> boundaries = new ArrayList<>();
+        int count = Math.min(rangeCount, keys.size());
+        for (int i = 1; i < count; i++) {
+            boundaries.add(keys.get(i * keys.size() / count));
+        }
+        return boundaries;
+    }
+
+    /**
+     * @return at most the given number of distinct PartitionKeys, from the first one of the table.
+     */
+    public List<String> sampleKeys(int maxKeys) throws InvalidKeyException, URISyntaxException, StorageException {
+        List<String> keys = new ArrayList<>();
+        String key = nextKey(null);
+        while (key != null && keys.size() < maxKeys) {
+            keys.add(key);
+            key = nextKey(key);
+        }
+        return keys;
+    }
+
+    /**
+     * @return the first PartitionKey greater than the given one, or null if there is none.
+     */
+    private String nextKey(String previousKey) throws InvalidKeyException, URISyntaxException, StorageException {
+        TableQuery<DynamicTableEntity> query = TableQuery.from(DynamicTableEntity.class)
+                .select(new String[] { AzureStorageTableSourceOrSink.PARTITION_KEY }).take(1);
+        if (previousKey != null) {
+            query = query.where(TableQuery.generateFilterCondition(AzureStorageTableSourceOrSink.PARTITION_KEY,
+                    QueryComparisons.GREATER_THAN, previousKey));
+        }
+        ResultContinuation token = null;
+        do {
+            // a segment may be empty with a continuation token when the query crosses partition servers
+            ResultSegment<DynamicTableEntity> segment = tableService.executeQuerySegmented(tableName, query, token);
+            if (!segment.getResults().isEmpty()) {
+                return segment.getResults().get(0).getPartitionKey();
+            }
+            token = segment.getContinuationToken();
+        } while (token != null);
+        return null;
+    }
+}
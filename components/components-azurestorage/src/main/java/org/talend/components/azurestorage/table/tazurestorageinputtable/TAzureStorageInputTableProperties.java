@@ -46,6 +46,16 @@ public class TAzureStorageInputTableProperties extends AzureStorageTableProperti
     public Property<String> producedFilter = newString("producedFilter");
     
     public Property<Boolean> dieOnError = PropertyFactory.newBoolean("dieOnError");
+
+    public static final int DEFAULT_SCAN_THREADS = 4;
+
+    /** Read the PartitionKey ranges of the table concurrently. */
+    public Property<Boolean> parallelScan = PropertyFactory.newBoolean("parallelScan");
+
+    /** Comma separated PartitionKeys where the ranges start, the ranges are sampled from the table when empty. */
+    public Property<String> partitionKeyBoundaries = newString("partitionKeyBoundaries");
+
+    public Property<Integer> scanThreads = PropertyFactory.newInteger("scanThreads");
     
     public TAzureStorageInputTableProperties(String name) {
         super(name);
@@ -93,6 +103,9 @@ public class TAzureStorageInputTableProperties extends AzureStorageTableProperti
         useFilterExpression.setValue(false);
         producedFilter.setValue("");
         producedFilter.setTaggedValue(ADD_QUOTES, true);
+        parallelScan.setValue(false);
+        partitionKeyBoundaries.setValue("");
+        scanThreads.setValue(DEFAULT_SCAN_THREADS);
 
     }
 
@@ -110,6 +123,10 @@ public class TAzureStorageInputTableProperties extends AzureStorageTableProperti
         //
         mainForm.addRow(dieOnError);
 
+        Form advancedForm = getForm(Form.ADVANCED);
+        advancedForm.addRow(parallelScan);
+        advancedForm.addRow(partitionKeyBoundaries);
+        advancedForm.addRow(scanThreads);
     }
 
     @Override
@@ -123,6 +140,11 @@ public class TAzureStorageInputTableProperties extends AzureStorageTableProperti
                 producedFilter.setValue(filterExpression.generateCombinedFilterConditions());
             }
         }
+        if (form.getName().equals(Form.ADVANCED)) {
+            boolean parallel = parallelScan.getValue() != null && parallelScan.getValue();
+            form.getWidget(partitionKeyBoundaries.getName()).setVisible(parallel);
+            form.getWidget(scanThreads.getName()).setVisible(parallel);
+        }
     }
 
     protected void updateFilterExpressionTable() {
@@ -139,5 +161,9 @@ public class TAzureStorageInputTableProperties extends AzureStorageTableProperti
         refreshLayout(getForm(Form.MAIN));
         refreshLayout(getForm(Form.ADVANCED));
     }
+
+    public void afterParallelScan() {
+        refreshLayout(getForm(Form.ADVANCED));
+    }
     
 }
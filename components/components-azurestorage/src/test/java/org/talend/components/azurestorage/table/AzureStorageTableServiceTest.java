@@ -0,0 +1,142 @@
+//============================================================================
+//
+// Copyright (C) 2006-2023 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// %InstallDIR%\features\org.talend.rcp.branding.%PRODUCTNAME%\%PRODUCTNAME%license.txt
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+//============================================================================
+package org.talend.components.azurestorage.table;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.same;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Matchers;
+import org.talend.components.azurestorage.AzureConnection;
+import org.talend.components.azurestorage.table.tazurestorageoutputtable.TAzureStorageOutputTableProperties.ActionOnTable;
+
+import com.microsoft.azure.storage.CloudStorageAccount;
+import com.microsoft.azure.storage.OperationContext;
+import com.microsoft.azure.storage.StorageErrorCodeStrings;
+import com.microsoft.azure.storage.table.CloudTable;
+import com.microsoft.azure.storage.table.CloudTableClient;
+import com.microsoft.azure.storage.table.DynamicTableEntity;
+import com.microsoft.azure.storage.table.TableBatchOperation;
+import com.microsoft.azure.storage.table.TableOperation;
+import com.microsoft.azure.storage.table.TablePayloadFormat;
+import com.microsoft.azure.storage.table.TableQuery;
+import com.microsoft.azure.storage.table.TableRequestOptions;
+import com.microsoft.azure.storage.table.TableServiceException;
+
+public class AzureStorageTableServiceTest {
+
+    private CloudStorageAccount account;
+
+    private CloudTableClient client;
+
+    private CloudTable cloudTable;
+
+    private List<Long> sleeps;
+
+    private AzureStorageTableService service;
+
+    @Before
+    public void setUp() throws Exception {
+        account = mock(CloudStorageAccount.class);
+        client = mock(CloudTableClient.class);
+        cloudTable = mock(CloudTable.class);
+        when(account.createCloudTableClient()).thenReturn(client);
+        when(client.getTableReference(anyString())).thenReturn(cloudTable);
+
+        sleeps = new ArrayList<>();
+        service = new AzureStorageTableService(new AzureConnection() {
+
+            @Override
+            public CloudStorageAccount getCloudStorageAccount() {
+                return account;
+            }
+        }) {
+
+            @Override
+            protected void sleep(long millis) {
+                sleeps.add(millis);
+            }
+        };
+    }
+
+    @Test
+    public void testClientAndTableReused() throws Exception {
+        DynamicTableEntity entity = new DynamicTableEntity("pk", "rk");
+        for (int i = 0; i < 10; i++) {
+            service.executeOperation("testTable", TableOperation.insert(entity));
+            service.executeOperation("testTable", new TableBatchOperation());
+        }
+        service.executeOperation("otherTable", TableOperation.insert(entity));
+
+        verify(account, times(1)).createCloudTableClient();
+        verify(client, times(1)).getTableReference("testTable");
+        verify(client, times(1)).getTableReference("otherTable");
+        assertSame(service.getCloudTable("testTable"), service.getCloudTable("testTable"));
+    }
+
+    @Test
+    public void testRequestOptions() throws Exception {
+        TableRequestOptions defaults = service.getDefaultRequestOptions();
+        assertEquals(TablePayloadFormat.JsonMinimalMetadata, defaults.getTablePayloadFormat());
+        assertEquals(Integer.valueOf(AzureStorageTableService.DEFAULT_TIMEOUT_MILLIS), defaults.getTimeoutIntervalInMs());
+
+        service.executeQuery("testTable", null);
+        verify(cloudTable).execute(Matchers.<TableQuery<DynamicTableEntity>> any(), same(defaults),
+                any(OperationContext.class));
+    }
+
+    @Test
+    public void testCreateTableAfterDeletionBackoff() throws Exception {
+        TableServiceException beingDeleted = new TableServiceException(StorageErrorCodeStrings.TABLE_BEING_DELETED,
+                "The table is being deleted", 409, null, null);
+        doThrow(beingDeleted).doThrow(beingDeleted).doThrow(beingDeleted).doNothing().when(cloudTable)
+                .create(any(TableRequestOptions.class), any(OperationContext.class));
+
+        service.handleActionOnTable("testTable", ActionOnTable.Drop_table_if_exist_and_create);
+
+        verify(cloudTable, times(4)).create(any(TableRequestOptions.class), any(OperationContext.class));
+        assertEquals(3, sleeps.size());
+        assertEquals(Long.valueOf(AzureStorageTableService.TABLE_CREATION_INITIAL_BACKOFF_MILLIS), sleeps.get(0));
+        assertEquals(Long.valueOf(2 * AzureStorageTableService.TABLE_CREATION_INITIAL_BACKOFF_MILLIS), sleeps.get(1));
+        assertEquals(Long.valueOf(4 * AzureStorageTableService.TABLE_CREATION_INITIAL_BACKOFF_MILLIS), sleeps.get(2));
+    }
+
+    @Test
+    public void testCreateTableOtherError() throws Exception {
+        TableServiceException conflict = new TableServiceException(StorageErrorCodeStrings.TABLE_ALREADY_EXISTS,
+                "The table already exists", 409, null, null);
+        doThrow(conflict).when(cloudTable).create(any(TableRequestOptions.class), any(OperationContext.class));
+
+        try {
+            service.handleActionOnTable("testTable", ActionOnTable.Drop_and_create_table);
+            fail("the creation error should be thrown");
+        } catch (TableServiceException e) {
+            assertSame(conflict, e);
+        }
+        assertEquals(0, sleeps.size());
+        verify(cloudTable).delete(same(service.getDefaultRequestOptions()), any(OperationContext.class));
+    }
+}
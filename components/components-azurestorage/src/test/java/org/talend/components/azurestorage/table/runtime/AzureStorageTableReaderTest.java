@@ -21,11 +21,15 @@ import java.net.URISyntaxException;
 import java.security.InvalidKeyException;
 import java.util.*;
 
+import org.apache.avro.generic.IndexedRecord;
 import org.junit.*;
 import org.mockito.Mock;
+import org.mockito.invocation.InvocationOnMock;
 import org.mockito.junit.MockitoJUnit;
 import org.mockito.junit.MockitoRule;
+import org.mockito.stubbing.Answer;
 import org.talend.components.api.component.ComponentDefinition;
+import org.talend.components.api.component.runtime.BoundedSource;
 import org.talend.components.api.container.RuntimeContainer;
 import org.talend.components.api.exception.ComponentException;
 import org.talend.components.azurestorage.RuntimeContainerMock;
@@ -36,6 +40,8 @@ import org.talend.components.azurestorage.tazurestorageconnection.TAzureStorageC
 import org.talend.components.azurestorage.tazurestorageconnection.TAzureStorageConnectionProperties.Protocol;
 import org.talend.daikon.properties.ValidationResult;
 
+import com.microsoft.azure.storage.ResultContinuation;
+import com.microsoft.azure.storage.ResultSegment;
 import com.microsoft.azure.storage.StorageException;
 import com.microsoft.azure.storage.table.DynamicTableEntity;
 import com.microsoft.azure.storage.table.TableQuery;
@@ -303,6 +309,75 @@ public class AzureStorageTableReaderTest {
 
     }
 
+    /**
+     * Test the parallel scan of the PartitionKey ranges given by the boundaries
+     */
+    @Test
+    public void testParallelScan() throws Exception {
+
+        // setup
+        properties.dieOnError.setValue(true);
+        properties.useFilterExpression.setValue(false);
+        properties.parallelScan.setValue(true);
+        properties.partitionKeyBoundaries.setValue("M");
+        properties.scanThreads.setValue(2);
+
+        assertEquals(ValidationResult.Result.OK, source.initialize(container, properties).getStatus());
+        reader = (AzureStorageTableReader) source.createReader(container);
+
+        // mock : 2 segments for the first range, 1 for the second
+        final ResultContinuation token = new ResultContinuation();
+        reader.tableService = tableService;
+        when(tableService.executeQuerySegmented(anyString(), any(TableQuery.class), any(ResultContinuation.class)))
+                .thenAnswer(new Answer<ResultSegment<DynamicTableEntity>>() {
+
+                    @Override
+                    public ResultSegment<DynamicTableEntity> answer(InvocationOnMock invocation) throws Throwable {
+                        String filter = ((TableQuery<?>) invocation.getArguments()[1]).getFilterString();
+                        ArrayList<DynamicTableEntity> entities = new ArrayList<>();
+                        if (filter.equals("PartitionKey lt 'M'")) {
+                            if (invocation.getArguments()[2] == null) {
+                                entities.add(new DynamicTableEntity("A", "1"));
+                                return new ResultSegment<>(entities, null, token);
+                            }
+                            entities.add(new DynamicTableEntity("A", "2"));
+                        } else if (filter.equals("PartitionKey ge 'M'")) {
+                            entities.add(new DynamicTableEntity("Z", "1"));
+                        }
+                        return new ResultSegment<>(entities, null, null);
+                    }
+                });
+
+        // assert
+        Set<String> keys = new HashSet<>();
+        assertTrue(reader.start());
+        do {
+            IndexedRecord record = reader.getCurrent();
+            keys.add(record.get(0) + "" + record.get(1));
+        } while (reader.advance());
+        reader.close();
+        assertEquals(new HashSet<>(Arrays.asList("A1", "A2", "Z1")), keys);
+        assertEquals(3, reader.getReturnValues().get(ComponentDefinition.RETURN_TOTAL_RECORD_COUNT));
+    }
+
+    /**
+     * Test the split of the source in one bundle per PartitionKey range
+     */
+    @Test
+    public void testSplitIntoBundles() throws Exception {
+        properties.parallelScan.setValue(true);
+        properties.partitionKeyBoundaries.setValue("F, M");
+        assertEquals(ValidationResult.Result.OK, source.initialize(container, properties).getStatus());
+
+        List<? extends BoundedSource> bundles = source.splitIntoBundles(0, container);
+        assertEquals(3, bundles.size());
+        assertEquals("PartitionKey lt 'F'", ((AzureStorageTableSource) bundles.get(0)).getPartitionKeyRange().getFilter());
+        assertEquals("[M, )", ((AzureStorageTableSource) bundles.get(2)).getPartitionKeyRange().toString());
+
+        properties.parallelScan.setValue(false);
+        assertNull(source.splitIntoBundles(0, container));
+    }
+
     /**
      * Test reader close
      */
@@ -0,0 +1,61 @@
+//============================================================================
+//
+// Copyright (C) 2006-2023 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// %InstallDIR%\features\org.talend.rcp.branding.%PRODUCTNAME%\%PRODUCTNAME%license.txt
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+//============================================================================
+package org.talend.components.azurestorage.table.runtime;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+
+public class PartitionKeyRangeTest {
+
+    @Test
+    public void testParseBoundaries() {
+        assertEquals(Arrays.asList("A", "B", "C"), PartitionKeyRange.parseBoundaries(" C, A,,B , A"));
+        assertEquals(Collections.emptyList(), PartitionKeyRange.parseBoundaries(""));
+        assertEquals(Collections.emptyList(), PartitionKeyRange.parseBoundaries(null));
+    }
+
+    @Test
+    public void testFromBoundaries() {
+        List<PartitionKeyRange> ranges = PartitionKeyRange.fromBoundaries(Arrays.asList("F", "M"));
+        assertEquals(3, ranges.size());
+        assertEquals("PartitionKey lt 'F'", ranges.get(0).getFilter());
+        assertEquals("(PartitionKey ge 'F') and (PartitionKey lt 'M')", ranges.get(1).getFilter());
+        assertEquals("PartitionKey ge 'M'", ranges.get(2).getFilter());
+
+        List<PartitionKeyRange> wholeTable = PartitionKeyRange.fromBoundaries(Collections.<String> emptyList());
+        assertEquals(1, wholeTable.size());
+        assertEquals("", wholeTable.get(0).getFilter());
+    }
+
+    @Test
+    public void testAnd() {
+        PartitionKeyRange range = new PartitionKeyRange("F", null);
+        assertEquals("PartitionKey ge 'F'", range.and(""));
+        assertEquals("(PartitionKey ge 'F') and (RowKey eq '1')", range.and("RowKey eq '1'"));
+        assertEquals("RowKey eq '1'", new PartitionKeyRange(null, null).and("RowKey eq '1'"));
+    }
+
+    @Test
+    public void testChooseBoundaries() {
+        List<String> keys = Arrays.asList("a", "b", "c", "d", "e", "f", "g", "h");
+        assertEquals(Arrays.asList("c", "e", "g"), PartitionKeySampler.chooseBoundaries(keys, 4));
+        assertEquals(Arrays.asList("b"), PartitionKeySampler.chooseBoundaries(Arrays.asList("a", "b"), 4));
+        assertEquals(Collections.emptyList(), PartitionKeySampler.chooseBoundaries(keys, 1));
+        assertEquals(Collections.emptyList(), PartitionKeySampler.chooseBoundaries(Collections.<String> emptyList(), 4));
+    }
+}
@@ -136,6 +136,28 @@ public class TAzureStorageInputTableTestIT extends AzureStorageTableBaseTestIT {
         reader.close();
     }
 
+    @SuppressWarnings("rawtypes")
+    @Test
+    public void testParallelReader() throws Throwable {
+        String ctable = tbl_test + "InputParallel";
+        createSampleDataset(ctable);
+
+        properties.tableName.setValue(ctable);
+        properties.useFilterExpression.setValue(false);
+        properties.schema.schema.setValue(null);
+        properties.parallelScan.setValue(true);
+        // the ranges are sampled from the partitions of the table
+        properties.scanThreads.setValue(2);
+        BoundedReader reader = createBoundedReader(properties);
+        int count = 0;
+        for (boolean available = reader.start(); available; available = reader.advance()) {
+            assertNotNull(reader.getCurrent());
+            count++;
+        }
+        reader.close();
+        assertEquals(partitions.length * rows.length, count);
+    }
+
     @SuppressWarnings({ "rawtypes" })
     @Test
     public void testFilterReader() throws Throwable {
@@ -0,0 +1,101 @@
+//============================================================================
+//
+// Copyright (C) 2006-2023 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// %InstallDIR%\features\org.talend.rcp.branding.%PRODUCTNAME%\%PRODUCTNAME%license.txt
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+//============================================================================
+package org.talend.components.hadoopcluster.runtime.configuration;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.talend.components.api.exception.ComponentException;
+
+/**
+ * Run the REST calls reading the configuration of a cluster concurrently, with a bounded number of threads. The results
+ * are returned in the order of the calls, whatever the order they complete in.
+ */
+public class ConcurrentFetcher {
+
+    public static final int DEFAULT_MAX_THREADS = 8;
+
+    private final int maxThreads;
+
+    public ConcurrentFetcher() {
+        this(DEFAULT_MAX_THREADS);
+    }
+
+    public ConcurrentFetcher(int maxThreads) {
+        this.maxThreads = Math.max(1, maxThreads);
+    }
+
+    /**
+     * @return the results of the calls, in the same order. The failure of a call is thrown after the end of all the
+     * calls.
+     */
+    public <T> List<T> fetchAll(List<? extends Callable<T>> calls) {
+        List<T> results = new ArrayList<>(calls.size());
+        if (calls.size() <= 1) {
+            for (Callable<T> call : calls) {
+                results.add(call(call));
+            }
+            return results;
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(maxThreads, calls.size()), new ThreadFactory() {
+
+            private final AtomicInteger count = new AtomicInteger();
+
+            @Override
+            public Thread newThread(Runnable r) {
+                Thread thread = new Thread(r, "hadoop-cluster-fetch-" + count.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        try {
+            for (Future<T> future : executor.invokeAll(calls)) {
+                results.add(future.get());
+            }
+            return results;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ComponentException(e);
+        } catch (ExecutionException e) {
+            throw propagate(e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static <T> T call(Callable<T> call) {
+        try {
+            return call.call();
+        } catch (Exception e) {
+            throw propagate(e);
+        }
+    }
+
+    private static RuntimeException propagate(Throwable cause) {
+        if (cause instanceof RuntimeException) {
+            return (RuntimeException) cause;
+        }
+        if (cause instanceof Error) {
+            throw (Error) cause;
+        }
+        return new RuntimeException(cause);
+    }
+}
@@ -14,9 +14,13 @@ package org.talend.components.hadoopcluster.runtime.configuration;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import javax.ws.rs.NotFoundException;
 
@@ -31,10 +35,26 @@ import org.apache.ambari.api.model.ApiServiceList;
 import org.apache.ambari.api.v1.ClusterResource;
 import org.apache.ambari.api.v1.ServicesResource;
 
+/**
+ * The services and their configuration files are read concurrently, see {@link ConcurrentFetcher}.
+ */
 public class HadoopAmbariCluster implements HadoopCluster {
 
+    /**
+     * The configuration files read by type and tag : a tag identifies a version of the file, so its content never changes
+     * and it is not read again at the next import of the cluster.
+     */
+    private static final ConcurrentMap<String, List<ApiConfigFile>> CONFIG_FILE_CACHE = new ConcurrentHashMap<>();
+
+    static final int MAX_CACHED_CONFIG_FILES = 1000;
+
     ClusterResource cluster;
 
+    /** Identify the cluster in the cache of the configuration files, null to disable the cache */
+    String clusterId;
+
+    ConcurrentFetcher fetcher = new ConcurrentFetcher();
+
     ServicesResource services;
 
     List<String> blacklistParams;
@@ -43,7 +63,16 @@ public class HadoopAmbariCluster implements HadoopCluster {
     boolean supportSCV = true;
 
     public HadoopAmbariCluster(ClusterResource cluster) {
+        this(cluster, null);
+    }
+
+    /**
+     * @param clusterId the identifier of the cluster for the cache of the configuration files, with the server and the
+     * user, or null to disable the cache.
+     */
+    public HadoopAmbariCluster(ClusterResource cluster, String clusterId) {
         this.cluster = cluster;
+        this.clusterId = clusterId;
         this.services = cluster.getServicesResource();
         try {
             cluster.getConfigsResource().hasConfig();
@@ -55,7 +84,9 @@ public class HadoopAmbariCluster implements HadoopCluster {
     @Override
     public Map<HadoopHostedService, HadoopClusterService> getHostedServices() {
         Map<HadoopHostedService, HadoopClusterService> hostedServices = null;
-        Map<HadoopHostedService, HadoopClusterService> filteredHostedServices = new HashMap<HadoopHostedService, HadoopClusterService>();
+        // an EnumMap to keep the same order of the services from one import to the other
+        Map<HadoopHostedService, HadoopClusterService> filteredHostedServices = new EnumMap<HadoopHostedService, HadoopClusterService>(
+                HadoopHostedService.class);
         if (supportSCV) {
             hostedServices = getHostedServicesForNew(allSupportedServices());
         } else {
@@ -73,7 +104,8 @@ public class HadoopAmbariCluster implements HadoopCluster {
 
     private Map<HadoopHostedService, HadoopClusterService> distributeConfigFilesToService(String serviceName,
             List<ApiConfigFile> configs) {
-        Map<HadoopHostedService, HadoopClusterService> servicesMapping = new HashMap<HadoopHostedService, HadoopClusterService>();
+        Map<HadoopHostedService, HadoopClusterService> servicesMapping = new EnumMap<HadoopHostedService, HadoopClusterService>(
+                HadoopHostedService.class);
         HadoopHostedService service = HadoopHostedService.fromString(serviceName);
         if (service == HadoopHostedService.HIVE) {
             ApiConfigFile hcatalogConfig = null;
@@ -94,20 +126,66 @@ public class HadoopAmbariCluster implements HadoopCluster {
     }
 
     private Map<HadoopHostedService, HadoopClusterService> getHostedServicesForNew(List<String> servicesName) {
-        Map<HadoopHostedService, HadoopClusterService> servicesMapping = new HashMap<>();
-        for (String serviceName : servicesName) {
-            List<ApiConfigFile> configFiles = getConfigFiles(serviceName);
-            servicesMapping.putAll(distributeConfigFilesToService(serviceName, configFiles));
+        List<Callable<List<ApiConfigFile>>> calls = new ArrayList<>();
+        for (final String serviceName : servicesName) {
+            calls.add(new Callable<List<ApiConfigFile>>() {
+
+                @Override
+                public List<ApiConfigFile> call() {
+                    return getConfigFiles(serviceName);
+                }
+            });
+        }
+        List<List<ApiConfigFile>> configFilesByService = fetcher.fetchAll(calls);
+
+        Map<HadoopHostedService, HadoopClusterService> servicesMapping = new EnumMap<>(HadoopHostedService.class);
+        for (int i = 0; i < servicesName.size(); i++) {
+            servicesMapping.putAll(distributeConfigFilesToService(servicesName.get(i), configFilesByService.get(i)));
         }
         return servicesMapping;
     }
 
     private Map<HadoopHostedService, HadoopClusterService> getHostedServicesForOld(List<String> servicesName) {
         Map<String, Map<String, String>> actualConfigVersion = getActualConfigVersion();
-        Map<HadoopHostedService, HadoopClusterService> servicesMapping = new HashMap<>();
+
+        // all the configuration files of all the services are read at the same time, a file shared by several services
+        // with the same tag is read once
+        List<Callable<List<ApiConfigFile>>> calls = new ArrayList<>();
+        Map<String, Integer> callIndexes = new HashMap<>();
+        List<List<Integer>> serviceCalls = new ArrayList<>();
         for (String serviceName : servicesName) {
-            servicesMapping.put(HadoopHostedService.fromString(serviceName),
-                    new HadoopAmbariClusterService(getConfigFiles(actualConfigVersion.get(serviceName)), blacklistParams));
+            Map<String, String> configFilesVersion = actualConfigVersion.get(serviceName);
+            List<Integer> indexes = new ArrayList<>();
+            if (configFilesVersion != null) {
+                for (final Map.Entry<String, String> configFileVersion : configFilesVersion.entrySet()) {
+                    String key = configFileVersion.getKey() + '|' + configFileVersion.getValue();
+                    Integer index = callIndexes.get(key);
+                    if (index == null) {
+                        index = calls.size();
+                        callIndexes.put(key, index);
+                        calls.add(new Callable<List<ApiConfigFile>>() {
+
+                            @Override
+                            public List<ApiConfigFile> call() {
+                                return getConfigFile(configFileVersion.getKey(), configFileVersion.getValue());
+                            }
+                        });
+                    }
+                    indexes.add(index);
+                }
+            }
+            serviceCalls.add(indexes);
+        }
+        List<List<ApiConfigFile>> results = fetcher.fetchAll(calls);
+
+        Map<HadoopHostedService, HadoopClusterService> servicesMapping = new EnumMap<>(HadoopHostedService.class);
+        for (int i = 0; i < servicesName.size(); i++) {
+            List<ApiConfigFile> configFiles = new ArrayList<>();
+            for (Integer index : serviceCalls.get(i)) {
+                configFiles.addAll(results.get(index));
+            }
+            servicesMapping.put(HadoopHostedService.fromString(servicesName.get(i)),
+                    new HadoopAmbariClusterService(configFiles, blacklistParams));
         }
         return servicesMapping;
     }
@@ -150,14 +228,25 @@ public class HadoopAmbariCluster implements HadoopCluster {
         return serviceConfigVersion;
     }
 
-    private List<ApiConfigFile> getConfigFiles(Map<String, String> actualConfigFilesVersion) {
-        List<ApiConfigFile> configFiles = new ArrayList<>();
-        for (String type : actualConfigFilesVersion.keySet()) {
-            String version = actualConfigFilesVersion.get(type);
+    /**
+     * @return the files of the configuration type with the given tag, from the cache if they were already read.
+     */
+    private List<ApiConfigFile> getConfigFile(String type, String version) {
+        String cacheKey = clusterId == null || version == null ? null : clusterId + '|' + type + '|' + version;
+        List<ApiConfigFile> configFiles = cacheKey == null ? null : CONFIG_FILE_CACHE.get(cacheKey);
+        if (configFiles == null) {
+            // each call uses its own sub-resource proxy
             ApiConfigFileList2 configFile = cluster.getConfigsResource().readConfig(type, version);
-            configFiles.addAll(configFile.getFiles());
+            configFiles = new ArrayList<>(configFile.getFiles());
+            if (cacheKey != null) {
+                if (CONFIG_FILE_CACHE.size() >= MAX_CACHED_CONFIG_FILES) {
+                    CONFIG_FILE_CACHE.clear();
+                }
+                CONFIG_FILE_CACHE.put(cacheKey, configFiles);
+            }
         }
-        return configFiles;
+        // the caller may change the list
+        return new ArrayList<>(configFiles);
     }
 
     private List<ApiConfigFile> getConfigFiles(String serviceName) {
@@ -28,7 +28,10 @@ public class HadoopAmbariConfigurator implements HadoopConfigurator {
 
     private RootResourceV1 api;
 
+    private String clusterIdPrefix;
+
     public HadoopAmbariConfigurator(Builder build) {
+        clusterIdPrefix = build.user + "@" + build.url + "/";
         AmbariClientBuilder amBuilder = new AmbariClientBuilder().withBaseURL(build.url).withUsernamePassword(build.user,
                 build.password);
         amBuilder.setTrustManagers(build.tms);
@@ -48,7 +51,7 @@ public class HadoopAmbariConfigurator implements HadoopConfigurator {
     @Override
     public HadoopCluster getCluster(String name) {
         ClusterResource cluster = api.getClustersResource().getClusterResource(name);
-        return new HadoopAmbariCluster(cluster);
+        return new HadoopAmbariCluster(cluster, clusterIdPrefix + name);
     }
 
     public static class Builder implements HadoopConfigurator.Builder {
@@ -12,9 +12,11 @@
 //============================================================================
 package org.talend.components.hadoopcluster.runtime.configuration;
 
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
 
 import com.cloudera.api.swagger.ServicesResourceApi;
 import com.cloudera.api.swagger.client.ApiException;
@@ -30,6 +32,8 @@ public class HadoopCMCluster implements HadoopCluster {
     
     List<String> blacklistParams;
 
+    ConcurrentFetcher fetcher = new ConcurrentFetcher();
+
     public HadoopCMCluster(ServicesResourceApi serviceAPI, String clusterName) {
         this.serviceAPI = serviceAPI;
         this.clusterName = clusterName;
@@ -37,23 +41,38 @@ public class HadoopCMCluster implements HadoopCluster {
 
     @Override
     public Map<HadoopHostedService, HadoopClusterService> getHostedServices() {
-        Map<HadoopHostedService, HadoopClusterService> servicesMapping = new HashMap<HadoopHostedService, HadoopClusterService>();
+        Map<HadoopHostedService, HadoopClusterService> servicesMapping = new EnumMap<HadoopHostedService, HadoopClusterService>(
+                HadoopHostedService.class);
         ApiServiceList services;
         try {
             services = this.serviceAPI.readServices(this.clusterName, DEFAULT_VIEW_NAME);
-            for (ApiService service : services.getItems()) {
-                if (HadoopHostedService.isSupport(service.getType())) {
-                    HadoopCMClusterService clusterService = new HadoopCMClusterService(this.clusterName, service.getName(),
-                            this.serviceAPI,
-                            blacklistParams);
-                    if (clusterService.hasConfigurations()) {
-                        servicesMapping.put(HadoopHostedService.fromString(service.getType()), clusterService);
-                    }
-                }
-            }
         } catch (ApiException e) {
             throw new RuntimeException(e);
         }
+
+        // the client configuration of each service is downloaded at the same time
+        List<ApiService> supportedServices = new ArrayList<>();
+        List<Callable<HadoopCMClusterService>> calls = new ArrayList<>();
+        for (final ApiService service : services.getItems()) {
+            if (HadoopHostedService.isSupport(service.getType())) {
+                supportedServices.add(service);
+                calls.add(new Callable<HadoopCMClusterService>() {
+
+                    @Override
+                    public HadoopCMClusterService call() {
+                        return new HadoopCMClusterService(clusterName, service.getName(), serviceAPI, blacklistParams);
+                    }
+                });
+            }
+        }
+        List<HadoopCMClusterService> clusterServices = fetcher.fetchAll(calls);
+
+        for (int i = 0; i < supportedServices.size(); i++) {
+            HadoopCMClusterService clusterService = clusterServices.get(i);
+            if (clusterService.hasConfigurations()) {
+                servicesMapping.put(HadoopHostedService.fromString(supportedServices.get(i).getType()), clusterService);
+            }
+        }
         return servicesMapping;
     }
 
@@ -0,0 +1,105 @@
+//============================================================================
+//
+// Copyright (C) 2006-2023 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// %InstallDIR%\features\org.talend.rcp.branding.%PRODUCTNAME%\%PRODUCTNAME%license.txt
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+//============================================================================
+package org.talend.components.hadoopcluster.runtime.configuration;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+public class ConcurrentFetcherTest {
+
+    @Test
+    public void testResultsInCallOrder() {
+        List<Callable<Integer>> calls = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            final int value = i;
+            calls.add(new Callable<Integer>() {
+
+                @Override
+                public Integer call() throws Exception {
+                    // the first calls complete last
+                    Thread.sleep(20 - value);
+                    return value;
+                }
+            });
+        }
+        List<Integer> results = new ConcurrentFetcher(4).fetchAll(calls);
+        assertEquals(20, results.size());
+        for (int i = 0; i < 20; i++) {
+            assertEquals(i, results.get(i).intValue());
+        }
+    }
+
+    @Test
+    public void testCallsRunConcurrently() {
+        final CountDownLatch started = new CountDownLatch(3);
+        Callable<Boolean> call = new Callable<Boolean>() {
+
+            @Override
+            public Boolean call() throws Exception {
+                started.countDown();
+                // only returns true if the other calls started meanwhile
+                return started.await(10, TimeUnit.SECONDS);
+            }
+        };
+        List<Boolean> results = new ConcurrentFetcher(3).fetchAll(Arrays.asList(call, call, call));
+        assertEquals(Arrays.asList(true, true, true), results);
+    }
+
+    @Test
+    public void testFailure() {
+        Callable<String> success = new Callable<String>() {
+
+            @Override
+            public String call() {
+                return "ok";
+            }
+        };
+        Callable<String> failure = new Callable<String>() {
+
+            @Override
+            public String call() {
+                throw new IllegalStateException("unreachable server");
+            }
+        };
+        try {
+            new ConcurrentFetcher().fetchAll(Arrays.asList(success, failure, success));
+            fail("the failure of the call is expected");
+        } catch (IllegalStateException e) {
+            assertEquals("unreachable server", e.getMessage());
+        }
+    }
+
+    @Test
+    public void testSingleCall() {
+        final Thread caller = Thread.currentThread();
+        Callable<Boolean> call = new Callable<Boolean>() {
+
+            @Override
+            public Boolean call() {
+                return Thread.currentThread() == caller;
+            }
+        };
+        assertTrue(new ConcurrentFetcher().fetchAll(Arrays.asList(call)).get(0));
+        assertTrue(new ConcurrentFetcher().fetchAll(new ArrayList<Callable<Boolean>>()).isEmpty());
+    }
+}
@@ -0,0 +1,297 @@
+//============================================================================
+//
+// Copyright (C) 2006-2023 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// %InstallDIR%\features\org.talend.rcp.branding.%PRODUCTNAME%\%PRODUCTNAME%license.txt
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+//============================================================================
+package org.talend.components.hadoopcluster.runtime.configuration;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.ambari.api.AmbariClientBuilder;
+import org.apache.ambari.api.v1.ClusterResource;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Read the configuration of a cluster from a local stub of the Ambari REST API.
+ */
+public class HadoopAmbariClusterTest {
+
+    private static final String CLUSTER = "c1";
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private HttpServer server;
+
+    private ExecutorService serverExecutor;
+
+    /** Whether the stub supports the service_config_versions of the new API. */
+    private volatile boolean supportSCV;
+
+    /** The tag of the core-site configuration, shared by several services. */
+    private volatile String coreSiteTag = "v1";
+
+    /** The number of reads by configuration type and tag, or by service with the new API. */
+    private final Map<String, AtomicInteger> reads = new ConcurrentHashMap<>();
+
+    @Before
+    public void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/api/v1/clusters/" + CLUSTER, new HttpHandler() {
+
+            @Override
+            public void handle(HttpExchange exchange) throws IOException {
+                try {
+                    handleRequest(exchange);
+                } finally {
+                    exchange.close();
+                }
+            }
+        });
+        serverExecutor = Executors.newFixedThreadPool(8);
+        server.setExecutor(serverExecutor);
+        server.start();
+    }
+
+    @After
+    public void stopServer() {
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @Test
+    public void testOldApiSameAsSequential() throws Exception {
+        HadoopAmbariCluster sequential = new HadoopAmbariCluster(getClusterResource(), null);
+        sequential.fetcher = new ConcurrentFetcher(1);
+        HadoopAmbariCluster concurrent = new HadoopAmbariCluster(getClusterResource(), null);
+
+        Map<HadoopHostedService, Map<String, String>> configurations = getConfigurations(concurrent);
+        assertEquals(getConfigurations(sequential), configurations);
+        assertEquals(EnumSet.of(HadoopHostedService.YARN, HadoopHostedService.HDFS, HadoopHostedService.HIVE,
+                HadoopHostedService.MAPREDUCE2), configurations.keySet());
+        assertEquals("core-site-v1", configurations.get(HadoopHostedService.YARN).get("core-site.version"));
+        assertEquals("yarn-site-v2", configurations.get(HadoopHostedService.YARN).get("yarn-site.version"));
+        assertEquals("webhcat-site-v1", configurations.get(HadoopHostedService.HIVE).get("webhcat-site.version"));
+    }
+
+    @Test
+    public void testRepeatedTagReadOnce() throws Exception {
+        String clusterId = "admin@" + getBaseUrl() + "/" + UUID.randomUUID();
+
+        Map<HadoopHostedService, Map<String, String>> configurations = getConfigurations(
+                new HadoopAmbariCluster(getClusterResource(), clusterId));
+        // core-site is shared by three services with the same tag
+        assertEquals(1, reads.get("core-site|v1").get());
+        assertEquals(6, reads.size());
+        for (AtomicInteger count : reads.values()) {
+            assertEquals(1, count.get());
+        }
+
+        // the files with the same tags are not read again at the next import
+        assertEquals(configurations, getConfigurations(new HadoopAmbariCluster(getClusterResource(), clusterId)));
+        assertEquals(6, reads.size());
+        for (AtomicInteger count : reads.values()) {
+            assertEquals(1, count.get());
+        }
+
+        // only the file with a new tag is read
+        coreSiteTag = "v5";
+        configurations = getConfigurations(new HadoopAmbariCluster(getClusterResource(), clusterId));
+        assertEquals(1, reads.get("core-site|v5").get());
+        assertEquals(7, reads.size());
+        assertEquals("core-site-v5", configurations.get(HadoopHostedService.HDFS).get("core-site.version"));
+    }
+
+    @Test
+    public void testNewApiSameAsSequential() throws Exception {
+        supportSCV = true;
+        HadoopAmbariCluster sequential = new HadoopAmbariCluster(getClusterResource(), null);
+        sequential.fetcher = new ConcurrentFetcher(1);
+        HadoopAmbariCluster concurrent = new HadoopAmbariCluster(getClusterResource(), null);
+
+        Map<HadoopHostedService, Map<String, String>> configurations = getConfigurations(concurrent);
+        assertEquals(getConfigurations(sequential), configurations);
+        // webhcat-site is read with the Hive service, but is given to its own service
+        assertEquals(EnumSet.of(HadoopHostedService.YARN, HadoopHostedService.HDFS, HadoopHostedService.HIVE,
+                HadoopHostedService.MAPREDUCE2, HadoopHostedService.WEBHCAT), configurations.keySet());
+        assertEquals("webhcat-site-v1", configurations.get(HadoopHostedService.WEBHCAT).get("webhcat-site.version"));
+        assertEquals(null, configurations.get(HadoopHostedService.HIVE).get("webhcat-site.version"));
+        for (String service : Arrays.asList("HDFS", "YARN", "HIVE", "MAPREDUCE2")) {
+            assertEquals(2, reads.get(service).get());
+        }
+    }
+
+    private String getBaseUrl() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    private ClusterResource getClusterResource() throws IOException {
+        return new AmbariClientBuilder().withBaseURL(new URL(getBaseUrl())).withUsernamePassword("admin", "admin")
+                .build().getRootV1().getClustersResource().getClusterResource(CLUSTER);
+    }
+
+    private static Map<HadoopHostedService, Map<String, String>> getConfigurations(HadoopCluster cluster) {
+        Map<HadoopHostedService, Map<String, String>> configurations = new EnumMap<>(HadoopHostedService.class);
+        for (Map.Entry<HadoopHostedService, HadoopClusterService> service : cluster.getHostedServices().entrySet()) {
+            configurations.put(service.getKey(), service.getValue().getConfiguration());
+        }
+        return configurations;
+    }
+
+    /**
+     * @return the tags of the configuration types of each service.
+     */
+    private Map<String, Map<String, String>> getActualConfigs() {
+        Map<String, Map<String, String>> actualConfigs = new LinkedHashMap<>();
+        actualConfigs.put("HDFS", tags("core-site", coreSiteTag, "hdfs-site", "v1"));
+        actualConfigs.put("YARN", tags("core-site", coreSiteTag, "yarn-site", "v2"));
+        actualConfigs.put("MAPREDUCE2", tags("core-site", coreSiteTag, "mapred-site", "v3"));
+        actualConfigs.put("HIVE", tags("hive-site", "v4", "webhcat-site", "v1"));
+        actualConfigs.put("AMBARI_METRICS", tags("ams-site", "v1"));
+        return actualConfigs;
+    }
+
+    private static Map<String, String> tags(String... typesAndTags) {
+        Map<String, String> tags = new LinkedHashMap<>();
+        for (int i = 0; i < typesAndTags.length; i += 2) {
+            tags.put(typesAndTags[i], typesAndTags[i + 1]);
+        }
+        return tags;
+    }
+
+    private void handleRequest(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath().substring(("/api/v1/clusters/" + CLUSTER).length());
+        if (path.endsWith("/")) {
+            path = path.substring(0, path.length() - 1);
+        }
+        Map<String, String> query = parseQuery(exchange.getRequestURI().getRawQuery());
+        Map<String, Map<String, String>> actualConfigs = getActualConfigs();
+
+        if (path.equals("/services") && query.containsKey("fields")) {
+            List<Object> items = new ArrayList<>();
+            for (Map.Entry<String, Map<String, String>> service : actualConfigs.entrySet()) {
+                Map<String, Map<String, String>> configs = new LinkedHashMap<>();
+                for (Map.Entry<String, String> tag : service.getValue().entrySet()) {
+                    configs.put(tag.getKey(), Collections.singletonMap("tag", tag.getValue()));
+                }
+                Object hostComponent = Collections.singletonMap("HostRoles",
+                        Collections.singletonMap("actual_configs", configs));
+                Object component = Collections.singletonMap("host_components", Arrays.asList(hostComponent));
+                Map<String, Object> item = new LinkedHashMap<>();
+                item.put("ServiceInfo", serviceInfo(service.getKey()));
+                item.put("components", Arrays.asList(component));
+                items.add(item);
+            }
+            respondJson(exchange, Collections.singletonMap("items", items));
+        } else if (path.equals("/services")) {
+            List<Object> items = new ArrayList<>();
+            for (String service : actualConfigs.keySet()) {
+                items.add(Collections.singletonMap("ServiceInfo", serviceInfo(service)));
+            }
+            respondJson(exchange, Collections.singletonMap("items", items));
+        } else if (path.equals("/configurations/service_config_versions") && supportSCV) {
+            String service = query.get("service_name");
+            if (service == null) {
+                respond(exchange, 200, "{}");
+                return;
+            }
+            count(service);
+            List<Object> files = new ArrayList<>();
+            for (Map.Entry<String, String> tag : actualConfigs.get(service).entrySet()) {
+                files.add(configFile(tag.getKey(), tag.getValue()));
+            }
+            Object configList = Collections.singletonMap("configurations", files);
+            respondJson(exchange, Collections.singletonMap("items", Arrays.asList(configList)));
+        } else if (path.equals("/configurations") && query.containsKey("type")) {
+            count(query.get("type") + '|' + query.get("tag"));
+            respondJson(exchange,
+                    Collections.singletonMap("items", Arrays.asList(configFile(query.get("type"), query.get("tag")))));
+        } else {
+            respond(exchange, 404, "Not Found");
+        }
+    }
+
+    private void count(String key) {
+        reads.putIfAbsent(key, new AtomicInteger());
+        reads.get(key).incrementAndGet();
+    }
+
+    private static Map<String, String> serviceInfo(String service) {
+        Map<String, String> info = new LinkedHashMap<>();
+        info.put("cluster_name", CLUSTER);
+        info.put("service_name", service);
+        return info;
+    }
+
+    private static Map<String, Object> configFile(String type, String tag) {
+        Map<String, String> properties = new LinkedHashMap<>();
+        properties.put(type + ".version", type + "-" + tag);
+        properties.put(type + ".property", "value");
+        Map<String, Object> file = new LinkedHashMap<>();
+        file.put("type", type);
+        file.put("tag", tag);
+        file.put("properties", properties);
+        return file;
+    }
+
+    private static Map<String, String> parseQuery(String rawQuery) throws IOException {
+        Map<String, String> query = new HashMap<>();
+        if (rawQuery != null) {
+            for (String parameter : rawQuery.split("&")) {
+                int separator = parameter.indexOf('=');
+                if (separator > 0) {
+                    query.put(URLDecoder.decode(parameter.substring(0, separator), "UTF-8"),
+                            URLDecoder.decode(parameter.substring(separator + 1), "UTF-8"));
+                }
+            }
+        }
+        return query;
+    }
+
+    private static void respondJson(HttpExchange exchange, Object value) throws IOException {
+        respond(exchange, 200, MAPPER.writeValueAsString(value));
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "text/plain");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
@@ -0,0 +1,183 @@
+//============================================================================
+//
+// Copyright (C) 2006-2023 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// %InstallDIR%\features\org.talend.rcp.branding.%PRODUCTNAME%\%PRODUCTNAME%license.txt
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+//============================================================================
+package org.talend.components.hadoopcluster.runtime.configuration;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.cloudera.api.swagger.ServicesResourceApi;
+import com.cloudera.api.swagger.client.ApiClient;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Read the configuration of a cluster from a local stub of the Cloudera Manager REST API.
+ */
+public class HadoopCMClusterTest {
+
+    private static final String CLUSTER = "c1";
+
+    private static final String SERVICES_PATH = "/api/v19/clusters/" + CLUSTER + "/services";
+
+    private HttpServer server;
+
+    private ExecutorService serverExecutor;
+
+    /** The names and the types of the services of the cluster. */
+    private final Map<String, String> services = new LinkedHashMap<>();
+
+    /** The number of client configurations downloaded by service. */
+    private final Map<String, AtomicInteger> downloads = new ConcurrentHashMap<>();
+
+    @Before
+    public void startServer() throws IOException {
+        services.put("hdfs", "HDFS");
+        services.put("yarn", "YARN");
+        services.put("hive", "HIVE");
+        services.put("zookeeper", "ZOOKEEPER");
+        services.put("hue", "HUE");
+
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext(SERVICES_PATH, new HttpHandler() {
+
+            @Override
+            public void handle(HttpExchange exchange) throws IOException {
+                try {
+                    handleRequest(exchange);
+                } finally {
+                    exchange.close();
+                }
+            }
+        });
+        serverExecutor = Executors.newFixedThreadPool(8);
+        server.setExecutor(serverExecutor);
+        server.start();
+    }
+
+    @After
+    public void stopServer() {
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @Test
+    public void testSameAsSequential() {
+        HadoopCMCluster sequential = new HadoopCMCluster(getServicesApi(), CLUSTER);
+        sequential.fetcher = new ConcurrentFetcher(1);
+        HadoopCMCluster concurrent = new HadoopCMCluster(getServicesApi(), CLUSTER);
+
+        Map<HadoopHostedService, Map<String, String>> configurations = getConfigurations(concurrent);
+        assertEquals(getConfigurations(sequential), configurations);
+        // zookeeper has no client configuration and hue is not supported
+        assertEquals(EnumSet.of(HadoopHostedService.HDFS, HadoopHostedService.YARN, HadoopHostedService.HIVE),
+                configurations.keySet());
+        assertEquals("core-site-yarn", configurations.get(HadoopHostedService.YARN).get("core-site.service"));
+        assertEquals("hive-site-hive", configurations.get(HadoopHostedService.HIVE).get("hive-site.service"));
+        assertEquals(null, configurations.get(HadoopHostedService.HIVE).get("log4j.service"));
+
+        // each client configuration is downloaded once by each import
+        assertEquals(4, downloads.size());
+        for (AtomicInteger count : downloads.values()) {
+            assertEquals(2, count.get());
+        }
+    }
+
+    private ServicesResourceApi getServicesApi() {
+        ApiClient client = new ApiClient();
+        client.setBasePath("http://localhost:" + server.getAddress().getPort() + "/api/v19");
+        return new ServicesResourceApi(client);
+    }
+
+    private static Map<HadoopHostedService, Map<String, String>> getConfigurations(HadoopCluster cluster) {
+        Map<HadoopHostedService, Map<String, String>> configurations = new EnumMap<>(HadoopHostedService.class);
+        for (Map.Entry<HadoopHostedService, HadoopClusterService> service : cluster.getHostedServices().entrySet()) {
+            configurations.put(service.getKey(), service.getValue().getConfiguration());
+        }
+        return configurations;
+    }
+
+    private void handleRequest(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath().substring(SERVICES_PATH.length());
+        if (path.isEmpty() || path.equals("/")) {
+            StringBuilder json = new StringBuilder("{\"items\":[");
+            for (Map.Entry<String, String> service : services.entrySet()) {
+                if (json.charAt(json.length() - 1) == '}') {
+                    json.append(',');
+                }
+                json.append("{\"name\":\"").append(service.getKey()).append("\",\"type\":\"").append(service.getValue())
+                        .append("\"}");
+            }
+            json.append("]}");
+            respond(exchange, 200, "application/json", json.toString().getBytes(StandardCharsets.UTF_8));
+        } else if (path.endsWith("/clientConfig")) {
+            String service = path.substring(1, path.length() - "/clientConfig".length());
+            downloads.putIfAbsent(service, new AtomicInteger());
+            downloads.get(service).incrementAndGet();
+            if ("zookeeper".equals(service)) {
+                respond(exchange, 400, "application/json",
+                        ("{\"message\":\"Service " + service + " does not require a client configuration.\"}")
+                                .getBytes(StandardCharsets.UTF_8));
+            } else {
+                respond(exchange, 200, "application/octet-stream", clientConfig(service));
+            }
+        } else {
+            respond(exchange, 404, "text/plain", "Not Found".getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    /**
+     * @return a zip of the client configuration of the service, with a file which is not a site.xml.
+     */
+    private static byte[] clientConfig(String service) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ZipOutputStream zip = new ZipOutputStream(bytes)) {
+            for (String file : new String[] { "core-site", service + "-site", "log4j" }) {
+                String extension = file.endsWith("site") ? ".xml" : ".properties";
+                zip.putNextEntry(new ZipEntry(service + "-conf/" + file + extension));
+                String content = "<?xml version=\"1.0\"?><configuration><property><name>" + file
+                        + ".service</name><value>" + file + "-" + service + "</value></property></configuration>";
+                zip.write(content.getBytes(StandardCharsets.UTF_8));
+                zip.closeEntry();
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    private static void respond(HttpExchange exchange, int status, String contentType, byte[] body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+}
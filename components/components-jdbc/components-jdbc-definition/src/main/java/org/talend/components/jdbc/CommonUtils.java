@@ -25,6 +25,8 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.apache.avro.Schema;
 import org.apache.avro.Schema.Field;
@@ -444,6 +446,34 @@ public class CommonUtils {
             mappingFileSubfix = "Mysql";
         }
 
+        if (mappingFilesDir == null) {
+            return loadMapping(mappingFilesDir, mappingFileSubfix);
+        }
+
+        String key = mappingFilesDir.toExternalForm() + '|' + mappingFileSubfix;
+        CachedMapping cached = mappingCache.get(key);
+        if (cached != null && cached.isUpToDate()) {
+            return cached.dbms;
+        }
+
+        // the modification time is read before the file, so that a change during the parsing is seen by the next call
+        File mappingFile = getMappingFile(mappingFilesDir, mappingFileSubfix);
+        long lastModified = mappingFile != null ? mappingFile.lastModified() : 0L;
+        Dbms dbms = loadMapping(mappingFilesDir, mappingFileSubfix);
+        if (dbms != null) {
+            mappingCache.put(key, new CachedMapping(dbms, mappingFile, lastModified));
+        }
+        return dbms;
+    }
+
+    /**
+     * Forget the mappings parsed so far.
+     */
+    public static void clearMappingCache() {
+        mappingCache.clear();
+    }
+
+    private static Dbms loadMapping(URL mappingFilesDir, String mappingFileSubfix) {
         MappingFileLoader fileLoader = new MappingFileLoader();
         Dbms dbms = null;
 
@@ -458,6 +488,49 @@ public class CommonUtils {
         return dbms;
     }
 
+    /**
+     * @return the mapping file when the mapping files directory is on the file system, null otherwise, the mapping files
+     * packaged in a jar are not expected to change.
+     */
+    private static File getMappingFile(URL mappingFilesDir, String mappingFileSubfix) {
+        if (!"file".equals(mappingFilesDir.getProtocol())) {
+            return null;
+        }
+        File dir;
+        try {
+            dir = new File(mappingFilesDir.toURI());
+        } catch (URISyntaxException | IllegalArgumentException e) {
+            dir = new File(mappingFilesDir.getFile());
+        }
+        File mappingFile = new File(dir, "mapping_" + mappingFileSubfix + ".xml");
+        if (!mappingFile.exists()) {
+            mappingFile = new File(dir, "mapping_" + mappingFileSubfix.toLowerCase() + ".xml");
+        }
+        return mappingFile;
+    }
+
+    /**
+     * A parsed mapping file, with the modification time of the file when it was parsed.
+     */
+    private static class CachedMapping {
+
+        private final Dbms dbms;
+
+        private final File file;
+
+        private final long lastModified;
+
+        CachedMapping(Dbms dbms, File file, long lastModified) {
+            this.dbms = dbms;
+            this.file = file;
+            this.lastModified = lastModified;
+        }
+
+        boolean isUpToDate() {
+            return file == null || file.lastModified() == lastModified;
+        }
+    }
+
     private static Dbms loadFromFile(final MappingFileLoader fileLoader, final URL mappingFilesDir, final String mappingFileSubfix) {
         File mappingFileFullPath = new File(mappingFilesDir.getFile(), "mapping_" + mappingFileSubfix + ".xml");
         if (!mappingFileFullPath.exists()) {
@@ -519,6 +592,12 @@ public class CommonUtils {
         }
     }
 
+    /**
+     * The parsed mappings by mapping files directory URL and mapping file id, shared by all the JDBC components of the
+     * process.
+     */
+    private static final ConcurrentMap<String, CachedMapping> mappingCache = new ConcurrentHashMap<>();
+
     // now we use a inside mapping to do the mapping file search, not good and easy to break, TODO should load all the
     // mapping
     // files to memory only once, and search by the memory object
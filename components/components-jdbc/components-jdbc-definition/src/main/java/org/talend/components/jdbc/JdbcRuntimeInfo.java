@@ -70,6 +70,15 @@ public class JdbcRuntimeInfo extends JarRuntimeInfo {
         return dependencies;
     }
 
+    /**
+     * The driver paths are read from the settings, which may change after this instance is created, so the key is
+     * computed again each time. The dependencies of the jar are cached, only the driver paths are read.
+     */
+    @Override
+    protected String getIdentityKey() {
+        return computeIdentityKey();
+    }
+
     /**
      * Return list of JDBC driver dependencies
      * 
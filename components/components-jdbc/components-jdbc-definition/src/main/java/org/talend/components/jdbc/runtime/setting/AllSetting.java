@@ -117,6 +117,8 @@ public class AllSetting implements Serializable, JDBCAvroRegistryInfluencer {
     
     public String escapeChar;
 
+    public boolean streamBulkLoad;
+
     public Boolean useQueryTimeout;
 
     public Integer queryTimeout;
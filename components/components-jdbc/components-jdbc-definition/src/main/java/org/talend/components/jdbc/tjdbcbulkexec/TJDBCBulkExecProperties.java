@@ -13,6 +13,7 @@
 package org.talend.components.jdbc.tjdbcbulkexec;
 
 import static org.talend.daikon.properties.presentation.Widget.widget;
+import static org.talend.daikon.properties.property.PropertyFactory.newBoolean;
 
 import java.util.Collections;
 import java.util.Set;
@@ -29,6 +30,7 @@ import org.talend.components.jdbc.tjdbcconnection.TJDBCConnectionDefinition;
 import org.talend.components.jdbc.tjdbcconnection.TJDBCConnectionProperties;
 import org.talend.daikon.properties.presentation.Form;
 import org.talend.daikon.properties.presentation.Widget;
+import org.talend.daikon.properties.property.Property;
 
 public class TJDBCBulkExecProperties extends BulkModule implements RuntimeSettingProvider {
 
@@ -39,6 +41,9 @@ public class TJDBCBulkExecProperties extends BulkModule implements RuntimeSettin
     public JDBCConnectionModule connection = new JDBCConnectionModule("connection");
     
     public JDBCTableSelectionModule tableSelection = new JDBCTableSelectionModule("tableSelection");
+
+    // not in the forms, only set by tJDBCOutputBulkExec when its input part already loaded the records
+    public Property<Boolean> streamBulkLoad = newBoolean("streamBulkLoad");
     
     public TJDBCBulkExecProperties(String name) {
         super(name);
@@ -125,6 +130,8 @@ public class TJDBCBulkExecProperties extends BulkModule implements RuntimeSettin
         setting.setNullValue = this.setNullValue.getValue();
         setting.nullValue = this.nullValue.getValue();
 
+        setting.streamBulkLoad = this.streamBulkLoad.getValue();
+
         return setting;
     }
 }
@@ -71,8 +71,12 @@ public class TJDBCOutputBulkDefinition extends AbstractComponentDefinition {
             ConnectorTopology connectorTopology) {
         assertEngineCompatibility(engine);
         if (connectorTopology == ConnectorTopology.INCOMING) {
-            return new JdbcRuntimeInfo((TJDBCOutputBulkProperties) properties,
-                    "org.talend.components.jdbc.runtime.JDBCBulkFileRuntime");
+            TJDBCOutputBulkProperties outputBulkProperties = (TJDBCOutputBulkProperties) properties;
+            if (outputBulkProperties.streamBulkLoad.getValue()) {
+                // the records are loaded while they come, the bulk file is only used when the driver can't stream them
+                return new JdbcRuntimeInfo(outputBulkProperties, "org.talend.components.jdbc.runtime.JDBCBulkStreamRuntime");
+            }
+            return new JdbcRuntimeInfo(outputBulkProperties, "org.talend.components.jdbc.runtime.JDBCBulkFileRuntime");
         }
         return null;
     }
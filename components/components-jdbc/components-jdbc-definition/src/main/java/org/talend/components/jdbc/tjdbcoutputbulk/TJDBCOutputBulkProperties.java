@@ -20,10 +20,15 @@ import java.util.Set;
 
 import org.talend.components.api.component.Connector;
 import org.talend.components.api.component.PropertyPathConnector;
+import org.talend.components.api.properties.ComponentReferenceProperties;
 import org.talend.components.jdbc.CommonUtils;
 import org.talend.components.jdbc.RuntimeSettingProvider;
 import org.talend.components.jdbc.module.BulkModule;
+import org.talend.components.jdbc.module.JDBCConnectionModule;
+import org.talend.components.jdbc.module.JDBCTableSelectionModule;
 import org.talend.components.jdbc.runtime.setting.AllSetting;
+import org.talend.components.jdbc.tjdbcconnection.TJDBCConnectionDefinition;
+import org.talend.components.jdbc.tjdbcconnection.TJDBCConnectionProperties;
 import org.talend.daikon.properties.presentation.Form;
 import org.talend.daikon.properties.presentation.Widget;
 import org.talend.daikon.properties.property.Property;
@@ -32,6 +37,16 @@ public class TJDBCOutputBulkProperties extends BulkModule implements RuntimeSett
 
     //public Property<Boolean> includeHeader = newBoolean("includeHeader");
     public Property<Boolean> append = newBoolean("append");
+
+    // not in the forms, only set by tJDBCOutputBulkExec to stream the records to the table instead of the bulk file
+    public Property<Boolean> streamBulkLoad = newBoolean("streamBulkLoad");
+
+    public ComponentReferenceProperties<TJDBCConnectionProperties> referencedComponent = new ComponentReferenceProperties<>(
+            "referencedComponent", TJDBCConnectionDefinition.COMPONENT_NAME);
+
+    public JDBCConnectionModule connection = new JDBCConnectionModule("connection");
+
+    public JDBCTableSelectionModule tableSelection = new JDBCTableSelectionModule("tableSelection");
     
     public TJDBCOutputBulkProperties(String name) {
         super(name);
@@ -40,6 +55,10 @@ public class TJDBCOutputBulkProperties extends BulkModule implements RuntimeSett
     @Override
     public void setupProperties() {
         super.setupProperties();
+
+        tableSelection.setConnection(this);
+
+        connection.setNotRequired();
     }
 
     @Override
@@ -70,6 +89,10 @@ public class TJDBCOutputBulkProperties extends BulkModule implements RuntimeSett
     @Override
     public AllSetting getRuntimeSetting() {
         AllSetting setting = new AllSetting();
+        if (streamBulkLoad.getValue()) {
+            CommonUtils.setReferenceInfoAndConnectionInfo(setting, referencedComponent, connection);
+            setting.setTablename(this.tableSelection.getTableName());
+        }
         setting.setSchema(main.schema.getValue());
         setting.bulkFile = this.bulkFilePath.getValue();
         setting.append = this.append.getValue();
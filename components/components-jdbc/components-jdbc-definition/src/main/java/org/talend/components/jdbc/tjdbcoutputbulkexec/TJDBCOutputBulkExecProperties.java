@@ -49,6 +49,8 @@ public class TJDBCOutputBulkExecProperties extends BulkModule implements Virtual
 
     //public Property<Boolean> includeHeader = newBoolean("includeHeader");
     public Property<Boolean> append = newBoolean("append");
+
+    public Property<Boolean> streamBulkLoad = newBoolean("streamBulkLoad");
     
     public TJDBCOutputBulkExecProperties(String name) {
         super(name);
@@ -95,6 +97,8 @@ public class TJDBCOutputBulkExecProperties extends BulkModule implements Virtual
         advancedForm.addColumn(nullValue);
         
         //advancedForm.addRow(includeHeader);
+
+        advancedForm.addRow(streamBulkLoad);
     }
 
     @Override
@@ -123,6 +127,11 @@ public class TJDBCOutputBulkExecProperties extends BulkModule implements Virtual
         outputBulkProperties.main.schema.setStoredValue(main.schema.getStoredValue());
         outputBulkProperties.main.schema.setValueEvaluator(main.schema.getValueEvaluator());
 
+        // the connection is only used by the input part when it streams the records to the database
+        if (streamBulkLoad.getValue() && isUseExistedConnection()) {
+            outputBulkProperties.referencedComponent.setReference(this.referencedComponent.getReference());
+        }
+
         // we need to pass also the possible values, only way from the studio to know it comes from a combo box (need to
         // add quotes for generation)
         for (Form form : outputBulkProperties.getForms()) {
@@ -143,10 +152,7 @@ public class TJDBCOutputBulkExecProperties extends BulkModule implements Virtual
         bulkExecProperties.main.schema.setValueEvaluator(main.schema.getValueEvaluator());
 
         // Seems that properties copy can't copy the reference properties
-        String refComponentIdValue = this.referencedComponent.componentInstanceId.getStringValue();
-        boolean isUseExistConnection = refComponentIdValue != null
-                && refComponentIdValue.startsWith(TJDBCConnectionDefinition.COMPONENT_NAME);
-        if (isUseExistConnection) {
+        if (isUseExistedConnection()) {
             bulkExecProperties.referencedComponent
                     .setReference(this.referencedComponent.getReference());
         }
@@ -157,6 +163,11 @@ public class TJDBCOutputBulkExecProperties extends BulkModule implements Virtual
         return bulkExecProperties;
     }
     
+    private boolean isUseExistedConnection() {
+        String refComponentIdValue = this.referencedComponent.componentInstanceId.getStringValue();
+        return refComponentIdValue != null && refComponentIdValue.startsWith(TJDBCConnectionDefinition.COMPONENT_NAME);
+    }
+
     //only works for ui trigger runtime
     @Override
     public AllSetting getRuntimeSetting() {
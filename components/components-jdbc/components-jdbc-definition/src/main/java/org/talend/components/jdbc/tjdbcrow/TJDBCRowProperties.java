@@ -96,6 +96,10 @@ public class TJDBCRowProperties extends FixedConnectorsComponentProperties imple
 
     public PreparedStatementTable preparedStatementTable = new PreparedStatementTable("preparedStatementTable");
 
+    public Property<Boolean> useBatch = PropertyFactory.newBoolean("useBatch").setRequired();
+
+    public Property<Integer> batchSize = PropertyFactory.newInteger("batchSize").setRequired();
+
     public Property<Integer> commitEvery = PropertyFactory.newInteger("commitEvery").setRequired();
 
     public Property<Boolean> detectErrorOnMultipleSQL = PropertyFactory.newBoolean("detectErrorOnMultipleSQL").setRequired();
@@ -133,6 +137,8 @@ public class TJDBCRowProperties extends FixedConnectorsComponentProperties imple
 
         advancedForm.addRow(usePreparedStatement);
         advancedForm.addRow(widget(preparedStatementTable).setWidgetType(Widget.TABLE_WIDGET_TYPE));
+        advancedForm.addRow(useBatch);
+        advancedForm.addRow(batchSize);
 
         advancedForm.addRow(detectErrorOnMultipleSQL);
         advancedForm.addRow(commitEvery);
@@ -147,6 +153,7 @@ public class TJDBCRowProperties extends FixedConnectorsComponentProperties imple
         super.setupProperties();
 
         commitEvery.setValue(10000);
+        batchSize.setValue(10000);
         sql.setValue("select id, name from employee");
         tableSelection.setConnection(this);
 
@@ -179,6 +186,10 @@ public class TJDBCRowProperties extends FixedConnectorsComponentProperties imple
 
             form.getWidget(useColumn.getName()).setHidden(!propagateQueryResultSet.getValue());
             form.getWidget(preparedStatementTable.getName()).setHidden(!usePreparedStatement.getValue());
+            // a query can't be batched as each row has to propagate its own record set
+            boolean canUseBatch = usePreparedStatement.getValue() && !propagateQueryResultSet.getValue();
+            form.getWidget(useBatch.getName()).setHidden(!canUseBatch);
+            form.getWidget(batchSize.getName()).setHidden(!canUseBatch || !useBatch.getValue());
             form.getWidget(queryTimeout.getName()).setHidden(!useQueryTimeout.getValue());
         }
     }
@@ -200,6 +211,10 @@ public class TJDBCRowProperties extends FixedConnectorsComponentProperties imple
         refreshLayout(getForm(Form.ADVANCED));
     }
 
+    public void afterUseBatch() {
+        refreshLayout(getForm(Form.ADVANCED));
+    }
+
     public void afterUseQueryTimeout() {
         refreshLayout(getForm(Form.ADVANCED));
     }
@@ -296,6 +311,9 @@ public class TJDBCRowProperties extends FixedConnectorsComponentProperties imple
         setting.setTypes(this.preparedStatementTable.types.getValue());
         setting.setValues(this.preparedStatementTable.values.getValue());
 
+        setting.setUseBatch(this.useBatch.getValue());
+        setting.setBatchSize(this.batchSize.getValue());
+
         setting.setUseDataSource(this.useDataSource.getValue());
         setting.setDataSource(this.dataSource.getValue());
         
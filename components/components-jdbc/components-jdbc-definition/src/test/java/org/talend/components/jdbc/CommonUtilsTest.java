@@ -12,6 +12,10 @@
 //============================================================================
 package org.talend.components.jdbc;
 
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -214,4 +218,31 @@ public class CommonUtilsTest {
         Assert.assertEquals(43, dbms.getDbmsTypes().size());
     }
 
+    @Test
+    public void testMappingParsedOnce() throws IOException {
+        File mappingFilesDir = Files.createTempDirectory("xmlMappings").toFile();
+        File mappingFile = new File(mappingFilesDir, "mapping_Mysql.xml");
+        try {
+            try (InputStream mapping = getClass().getResourceAsStream("/xmlMappings/mapping_mysql.xml")) {
+                Files.copy(mapping, mappingFile.toPath());
+            }
+            AllSetting settings = new AllSetting();
+            settings.setDriverPaths(Collections.emptyList());
+
+            Dbms dbms = CommonUtils.getMapping(mappingFilesDir.toURI().toURL(), settings, null, DBTypes.MYSQL);
+            Assert.assertEquals("mysql_id", dbms.getId());
+            Assert.assertSame(dbms, CommonUtils.getMapping(mappingFilesDir.toURI().toURL(), settings, null, DBTypes.MYSQL));
+
+            // a modified file is parsed again
+            Assert.assertTrue(mappingFile.setLastModified(mappingFile.lastModified() - 10000L));
+            Dbms reloaded = CommonUtils.getMapping(mappingFilesDir.toURI().toURL(), settings, null, DBTypes.MYSQL);
+            Assert.assertNotSame(dbms, reloaded);
+            Assert.assertEquals(43, reloaded.getDbmsTypes().size());
+        } finally {
+            CommonUtils.clearMappingCache();
+            mappingFile.delete();
+            mappingFilesDir.delete();
+        }
+    }
+
 }
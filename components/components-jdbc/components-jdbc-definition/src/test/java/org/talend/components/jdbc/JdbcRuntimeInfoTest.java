@@ -16,9 +16,24 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertTrue;
 
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
 import org.junit.Assert;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.mockito.Mockito;
+import org.talend.components.api.component.runtime.DependenciesReader;
+import org.talend.components.api.component.runtime.JarRuntimeInfo;
 import org.talend.components.jdbc.runtime.setting.AllSetting;
 
 /**
@@ -26,6 +41,9 @@ import org.talend.components.jdbc.runtime.setting.AllSetting;
  */
 public class JdbcRuntimeInfoTest {
 
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
     @Test
     public void testRemoveQuote() {
         RuntimeSettingProvider properties = createPropsWithDriverName("org.talend.Driver1");
@@ -68,6 +86,50 @@ public class JdbcRuntimeInfoTest {
         assertNotEquals(jdbcRuntimeInfo.getJarUrl(), clone.getJarUrl());
     }
 
+    /**
+     * The driver paths may be changed in the settings after the {@link JdbcRuntimeInfo} is created, for instance when the
+     * driver jar is changed in the wizard, it must then load another classloader.
+     */
+    @Test
+    public void testIdentityChangesWithDriverPaths() throws IOException {
+        String depTxtPath = DependenciesReader.computeDependenciesFilePath("org.talend.components", "jdbc-test");
+        File jar = folder.newFile("jdbc-runtime.jar");
+        try (ZipOutputStream out = new ZipOutputStream(new FileOutputStream(jar))) {
+            out.putNextEntry(new ZipEntry(depTxtPath));
+            out.write("org.talend.components:components-api:jar:0.4.0:compile\n".getBytes(StandardCharsets.UTF_8));
+            out.closeEntry();
+        }
+        List<String> driverPaths = new ArrayList<>(Arrays.asList("\"mvn:org.talend.libraries/mysql-connector/5.1.30/jar\""));
+        RuntimeSettingProvider properties = createPropsWithDriverName("org.talend.Driver1");
+        Mockito.when(properties.getRuntimeSetting().getDriverPaths()).thenReturn(driverPaths);
+        try {
+            JdbcRuntimeInfo jdbcRuntimeInfo = new JdbcRuntimeInfo(properties, jar.toURI().toString(), depTxtPath,
+                    "anyRuntimeClassName");
+            JdbcRuntimeInfo sameDriver = new JdbcRuntimeInfo(properties, jar.toURI().toString(), depTxtPath,
+                    "anyRuntimeClassName");
+            assertEquals(jdbcRuntimeInfo, sameDriver);
+            int hashCode = jdbcRuntimeInfo.hashCode();
+            assertEquals(hashCode, sameDriver.hashCode());
+
+            RuntimeSettingProvider otherProperties = createPropsWithDriverName("org.talend.Driver1");
+            Mockito.when(otherProperties.getRuntimeSetting().getDriverPaths())
+                    .thenReturn(Arrays.asList("mvn:org.talend.libraries/mysql-connector/8.0.18/jar"));
+            JdbcRuntimeInfo otherDriver = new JdbcRuntimeInfo(otherProperties, jar.toURI().toString(), depTxtPath,
+                    "anyRuntimeClassName");
+            assertNotEquals(jdbcRuntimeInfo, otherDriver);
+
+            driverPaths.set(0, "mvn:org.talend.libraries/mysql-connector/8.0.18/jar");
+
+            assertEquals(Arrays.asList(new URL("mvn:org.talend.components/components-api/0.4.0/jar"),
+                    new URL("mvn:org.talend.libraries/mysql-connector/8.0.18/jar")), jdbcRuntimeInfo.getMavenUrlDependencies());
+            assertNotEquals(hashCode, jdbcRuntimeInfo.hashCode());
+            assertEquals(otherDriver, jdbcRuntimeInfo);
+            assertEquals(otherDriver.hashCode(), jdbcRuntimeInfo.hashCode());
+        } finally {
+            JarRuntimeInfo.clearDependenciesCache();
+        }
+    }
+
     /**
      * Creates instance of {@link RuntimeSettingProvider} with specified driver class name
      * 
@@ -154,6 +154,36 @@ public class TJDBCRowPropertiesTest {
         fixture.afterUsePreparedStatement();
     }
 
+    /**
+     * Run the void afterUseBatch() method test.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testAfterUseBatch() throws Exception {
+        TJDBCRowProperties fixture = new TJDBCRowProperties("row");
+        fixture.init();
+
+        Form advanced = fixture.getForm(Form.ADVANCED);
+        fixture.refreshLayout(advanced);
+        Assert.assertTrue(advanced.getWidget(fixture.useBatch.getName()).isHidden());
+        Assert.assertTrue(advanced.getWidget(fixture.batchSize.getName()).isHidden());
+
+        fixture.usePreparedStatement.setValue(true);
+        fixture.afterUsePreparedStatement();
+        Assert.assertFalse(advanced.getWidget(fixture.useBatch.getName()).isHidden());
+        Assert.assertTrue(advanced.getWidget(fixture.batchSize.getName()).isHidden());
+
+        fixture.useBatch.setValue(true);
+        fixture.afterUseBatch();
+        Assert.assertFalse(advanced.getWidget(fixture.batchSize.getName()).isHidden());
+
+        fixture.propagateQueryResultSet.setValue(true);
+        fixture.afterPropagateQueryResultSet();
+        Assert.assertTrue(advanced.getWidget(fixture.useBatch.getName()).isHidden());
+        Assert.assertTrue(advanced.getWidget(fixture.batchSize.getName()).isHidden());
+    }
+
     /**
      * Run the void beforeUseColumn() method test.
      *
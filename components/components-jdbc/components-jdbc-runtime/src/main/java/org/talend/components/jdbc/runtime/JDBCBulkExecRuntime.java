@@ -15,20 +15,16 @@ package org.talend.components.jdbc.runtime;
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.sql.Statement;
-import java.util.List;
 
-import org.apache.avro.Schema;
-import org.apache.avro.Schema.Field;
-import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.talend.components.api.container.RuntimeContainer;
 import org.talend.components.api.properties.ComponentProperties;
 import org.talend.components.jdbc.CommonUtils;
 import org.talend.components.jdbc.RuntimeSettingProvider;
+import org.talend.components.jdbc.runtime.bulk.BulkLoader;
 import org.talend.components.jdbc.runtime.setting.AllSetting;
 import org.talend.components.jdbc.runtime.setting.JdbcRuntimeSourceOrSinkDefault;
-import org.talend.daikon.avro.SchemaConstants;
 import org.talend.daikon.properties.ValidationResult;
 import org.talend.daikon.properties.ValidationResult.Result;
 import org.talend.daikon.properties.ValidationResultMutable;
@@ -46,7 +42,7 @@ public class JDBCBulkExecRuntime extends JdbcRuntimeSourceOrSinkDefault {
 
 	protected AllSetting setting;
 
-	private boolean useExistedConnection;
+	protected boolean useExistedConnection;
 
 	@Override
 	public ValidationResult initialize(RuntimeContainer runtime, ComponentProperties properties) {
@@ -58,41 +54,18 @@ public class JDBCBulkExecRuntime extends JdbcRuntimeSourceOrSinkDefault {
 	}
 
 	private String createBulkSQL() {
-		StringBuilder sb = new StringBuilder();
-
-		sb.append("LOAD DATA LOCAL INFILE '").append(setting.bulkFile).append("' INTO TABLE ")
-				.append(setting.getTablename()).append(" FIELDS TERMINATED BY '").append(setting.fieldSeparator).append("' ");
-		if(setting.setTextEnclosure) {
-			sb.append("OPTIONALLY ENCLOSED BY '").append(setting.textEnclosure).append("' ");
-		}
-		sb.append("LINES TERMINATED BY '").append(setting.rowSeparator).append("' ");
-		if(setting.setNullValue) {
-			sb.append("NULL DEFINED BY '").append(setting.nullValue).append("' ");
-		}
-
-		if (setting.getSchema() == null) {
-			return sb.toString();
-		}
-
-		List<Field> fields = setting.getSchema().getFields();
-
-		if (fields == null || fields.isEmpty()) {
-			return sb.toString();
-		}
+		return BulkLoader.createLoadDataSQL(setting, setting.bulkFile);
+	}
 
-		//TODO support dynamic
-		sb.append('(');
-		for (int i = 0; i < fields.size(); i++) {
-			Schema.Field field = fields.get(i);
-			String originName = field.getProp(SchemaConstants.TALEND_COLUMN_DB_COLUMN_NAME);
-			String headerName = StringUtils.isEmpty(originName) ? field.name() : originName;
-			sb.append('`').append(headerName).append('`');
-			if (i != fields.size() - 1) {
-				sb.append(',');
-			}
+	/**
+	 * load the bulk file into the table
+	 */
+	protected void executeBulkLoad(Connection conn) throws SQLException {
+		try (Statement stmt = conn.createStatement()) {
+			String bulkSql = createBulkSQL();
+			LOG.debug("Executing the query: '{}'", bulkSql);
+			stmt.execute(bulkSql);
 		}
-		sb.append(')');
-		return sb.toString();
 	}
 
 	@Override
@@ -100,6 +73,10 @@ public class JDBCBulkExecRuntime extends JdbcRuntimeSourceOrSinkDefault {
 		ValidationResultMutable vr = new ValidationResultMutable();
 
 		AllSetting setting = properties.getRuntimeSetting();
+		if (setting.streamBulkLoad) {
+			LOG.debug("The records were streamed to the table by the input part, no bulk file to load");
+			return vr;
+		}
 
 		Connection conn = null;
 		try {
@@ -110,11 +87,7 @@ public class JDBCBulkExecRuntime extends JdbcRuntimeSourceOrSinkDefault {
 		}
 
 		try {
-			try (Statement stmt = conn.createStatement()) {
-				String bulkSql = createBulkSQL();
-				LOG.debug("Executing the query: '{}'", bulkSql);
-				stmt.execute(bulkSql);
-			}
+			executeBulkLoad(conn);
 		} catch (Exception ex) {
 			vr.setStatus(Result.ERROR);
 			vr.setMessage(CommonUtils.correctExceptionInfo(ex));
@@ -14,6 +14,7 @@ package org.talend.components.jdbc.runtime;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.util.ArrayList;
 import java.util.List;
@@ -44,11 +45,11 @@ public class JDBCBulkFileWriter implements Writer<Result> {
 
     private WriteOperation<Result> writeOperation;
 
-    private Result result;
+    protected Result result;
 
     protected RuntimeSettingProvider bulkProperties;
     
-    private AllSetting setting;
+    protected AllSetting setting;
 
     private CSVWriter csvWriter;
 
@@ -84,35 +85,43 @@ public class JDBCBulkFileWriter implements Writer<Result> {
     @Override
     public void open(String uId) throws IOException {
         this.result = new Result(uId);
-        String filepath = setting.bulkFile;
-        if (filepath == null || filepath.isEmpty()) {
-            throw new RuntimeException("Please set a valid value for \"Bulk File Path\" field.");
-        }
-        File file = new File(setting.bulkFile);
-        file.getParentFile().mkdirs();
         if(setting.rowSeparator.length()>1) {
             throw new RuntimeException("only support one char row separator");
         }
         if(setting.fieldSeparator.length()>1) {
             throw new RuntimeException("only support one char field separator");
         }
-        csvWriter = new CSVWriter(new OutputStreamWriter(new java.io.FileOutputStream(file, isAppend), charset));
+        if(setting.setTextEnclosure && setting.textEnclosure.length()>1) {
+            throw new RuntimeException("only support one char text enclosure");
+        }
+
+        csvWriter = new CSVWriter(new OutputStreamWriter(openOutputStream(), charset));
         csvWriter.setSeparator(setting.fieldSeparator.charAt(0));
         csvWriter.setLineEnd(setting.rowSeparator.substring(0, 1));
 
         if(setting.setTextEnclosure) {
-            if(setting.textEnclosure.length()>1) {
-                throw new RuntimeException("only support one char text enclosure");
-            }
             //not let it to do the "smart" thing, avoid to promise too much for changing api in future
             csvWriter.setQuoteStatus(CSVWriter.QuoteStatus.FORCE);
             csvWriter.setQuoteChar(setting.textEnclosure.charAt(0));
         } else {
             csvWriter.setQuoteStatus(CSVWriter.QuoteStatus.NO);
         }
-        csvWriter.setEscapeChar('\\');
+        csvWriter.setEscapeChar(setting.setEscapeChar ? setting.escapeChar.charAt(0) : '\\');
+    }
 
+    /**
+     * @return the stream the bulk data is written into, the bulk file by default
+     */
+    protected OutputStream openOutputStream() throws IOException {
+        String filepath = setting.bulkFile;
+        if (filepath == null || filepath.isEmpty()) {
+            throw new RuntimeException("Please set a valid value for \"Bulk File Path\" field.");
+        }
+        File file = new File(setting.bulkFile);
+        file.getParentFile().mkdirs();
+        OutputStream out = new java.io.FileOutputStream(file, isAppend);
         fileIsEmpty = (file.length() == 0);
+        return out;
     }
 
     private boolean headerIsReady = false;
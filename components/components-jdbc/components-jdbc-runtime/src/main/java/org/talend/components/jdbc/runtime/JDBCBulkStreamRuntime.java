@@ -0,0 +1,46 @@
+//============================================================================
+//
+// Copyright (C) 2006-2023 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// %InstallDIR%\features\org.talend.rcp.branding.%PRODUCTNAME%\%PRODUCTNAME%license.txt
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+//============================================================================
+package org.talend.components.jdbc.runtime;
+
+import org.talend.components.api.component.runtime.Sink;
+import org.talend.components.api.component.runtime.WriteOperation;
+import org.talend.components.api.container.RuntimeContainer;
+import org.talend.daikon.properties.ValidationResult;
+
+/**
+ * JDBC bulk runtime execution object which loads the incoming records while they are written : the records are streamed
+ * to the bulk API of the driver when it has one, else they are written to the bulk file which is loaded at the end.
+ *
+ */
+public class JDBCBulkStreamRuntime extends JDBCBulkExecRuntime implements Sink {
+
+    private static final long serialVersionUID = 1L;
+
+    @Override
+    public WriteOperation<?> createWriteOperation() {
+        return new JDBCBulkStreamWriteOperation(this);
+    }
+
+    /**
+     * only check the connection, the load is done by the writer
+     */
+    @Override
+    public ValidationResult validate(RuntimeContainer runtime) {
+        return JdbcRuntimeUtils.validate(runtime, this);
+    }
+
+    boolean isUseExistedConnection() {
+        return useExistedConnection;
+    }
+
+}
@@ -0,0 +1,193 @@
+//============================================================================
+//
+// Copyright (C) 2006-2023 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// %InstallDIR%\features\org.talend.rcp.branding.%PRODUCTNAME%\%PRODUCTNAME%license.txt
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+//============================================================================
+package org.talend.components.jdbc.runtime;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.talend.components.api.component.runtime.Result;
+import org.talend.components.api.component.runtime.WriteOperation;
+import org.talend.components.api.container.RuntimeContainer;
+import org.talend.components.jdbc.CommonUtils;
+import org.talend.components.jdbc.runtime.bulk.BulkLoadPipe;
+import org.talend.components.jdbc.runtime.bulk.BulkLoader;
+
+/**
+ * Load the records in bulk while they are written.
+ *
+ * When the driver has a bulk API reading a stream, the records are formatted as for the bulk file and piped to it, the
+ * load runs in its own thread during the whole write. Else the records are written to the bulk file, which is loaded when
+ * the writer is closed.
+ */
+public class JDBCBulkStreamWriter extends JDBCBulkFileWriter {
+
+    private static final Logger LOG = LoggerFactory.getLogger(JDBCBulkStreamWriter.class);
+
+    private final JDBCBulkStreamRuntime sink;
+
+    private Connection conn;
+
+    private BulkLoader loader;
+
+    private BulkLoadPipe pipe;
+
+    private Thread loadThread;
+
+    private volatile Throwable loadFailure;
+
+    private volatile long loadedCount = -1;
+
+    public JDBCBulkStreamWriter(WriteOperation<Result> writeOperation, JDBCBulkStreamRuntime sink,
+            RuntimeContainer container) {
+        super(writeOperation, sink.properties, container);
+        this.sink = sink;
+    }
+
+    @Override
+    public void open(String uId) throws IOException {
+        try {
+            conn = sink.getConnection(container);
+        } catch (ClassNotFoundException | SQLException e) {
+            throw CommonUtils.newComponentException(e);
+        }
+
+        loader = createBulkLoader();
+        if (loader == null) {
+            LOG.debug("No bulk API to stream the records to, uses the bulk file '{}'", setting.bulkFile);
+        } else {
+            // the stream is only read by the loader, it may need another format than the bulk file
+            loader.prepare(setting);
+        }
+
+        super.open(uId);
+    }
+
+    /**
+     * @return the loader streaming the records to the database, or null to use the bulk file.
+     */
+    protected BulkLoader createBulkLoader() {
+        return BulkLoader.forSetting(setting);
+    }
+
+    @Override
+    protected OutputStream openOutputStream() throws IOException {
+        if (loader == null) {
+            return super.openOutputStream();
+        }
+
+        pipe = new BulkLoadPipe();
+        loadThread = new Thread(new Runnable() {
+
+            @Override
+            public void run() {
+                try {
+                    loadedCount = loader.load(conn, setting, pipe.getInputStream());
+                } catch (Throwable e) {
+                    loadFailure = e;
+                    pipe.fail(e);
+                }
+            }
+        }, "bulk-load-" + setting.getTablename());
+        loadThread.setDaemon(true);
+        loadThread.start();
+        LOG.debug("Streaming the records to the table '{}'", setting.getTablename());
+
+        return pipe.getOutputStream();
+    }
+
+    @Override
+    public void write(Object datum) throws IOException {
+        try {
+            super.write(datum);
+        } catch (IOException | RuntimeException e) {
+            throw stopLoad(e);
+        }
+    }
+
+    @Override
+    public Result close() throws IOException {
+        try {
+            if (loader == null) {
+                super.close();
+                sink.executeBulkLoad(conn);
+            } else {
+                try {
+                    // closing the stream tells the driver that all the records were sent
+                    super.close();
+                } catch (IOException | RuntimeException e) {
+                    throw stopLoad(e);
+                }
+                waitForLoad();
+                if (loadFailure != null) {
+                    throw CommonUtils.newComponentException(loadFailure);
+                }
+                LOG.debug("{} records loaded in the table '{}'", loadedCount, setting.getTablename());
+            }
+        } catch (SQLException e) {
+            throw CommonUtils.newComponentException(e);
+        } finally {
+            closeConnection();
+        }
+        return result;
+    }
+
+    /**
+     * Stop the load after a failure of the writer, the failure of the load is reported first as it is likely the cause.
+     */
+    private IOException stopLoad(Exception e) throws IOException {
+        // the load sets its failure before failing the pipe, so it is known here if it made the writer fail
+        Throwable cause = loadFailure;
+        if (pipe != null) {
+            pipe.fail(e);
+            waitForLoad();
+        }
+        if (cause != null) {
+            throw CommonUtils.newComponentException(cause);
+        }
+        if (e instanceof RuntimeException) {
+            throw (RuntimeException) e;
+        }
+        return (IOException) e;
+    }
+
+    private void waitForLoad() throws IOException {
+        if (loadThread == null) {
+            return;
+        }
+        try {
+            loadThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for the bulk load");
+        }
+    }
+
+    private void closeConnection() {
+        if (conn == null || sink.isUseExistedConnection()) {
+            return;
+        }
+        try {
+            LOG.debug("Closing connection");
+            conn.close();
+        } catch (SQLException e) {
+            throw CommonUtils.newComponentException(e);
+        } finally {
+            conn = null;
+        }
+    }
+}
@@ -0,0 +1,130 @@
+//============================================================================
+//
+// Copyright (C) 2006-2023 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// %InstallDIR%\features\org.talend.rcp.branding.%PRODUCTNAME%\%PRODUCTNAME%license.txt
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+//============================================================================
+package org.talend.components.jdbc.runtime;
+
+import java.util.Locale;
+
+/**
+ * Find the ORDER BY clause of a query, so that its result can be read by ranges of row positions.
+ *
+ * A row is only identified by its position when the query sorts the rows, so a query can be split only when it ends with
+ * an ORDER BY clause at its top level, without a LIMIT, OFFSET or FETCH clause after it. The sort keys must also be
+ * unique, which can't be checked from the query: rows with the same keys may be read twice or not at all.
+ */
+public final class JDBCOrderedQuery {
+
+    private static final String[] CLAUSES_AFTER_ORDER_BY = { "limit", "offset", "fetch", "rows", "for" };
+
+    private JDBCOrderedQuery() {
+    }
+
+    /**
+     * @return whether the query ends with an ORDER BY clause, and can be read by ranges of row positions.
+     */
+    public static boolean isOrdered(String sql) {
+        return indexOfOrderBy(sql) >= 0;
+    }
+
+    /**
+     * @return the query counting the rows of the query, or null if the query doesn't end with an ORDER BY clause.
+     */
+    public static String forCount(String sql) {
+        int orderBy = indexOfOrderBy(sql);
+        if (orderBy < 0) {
+            return null;
+        }
+        // some databases refuse an ORDER BY in a derived table, and it doesn't change the count
+        return "select count(*) from (" + sql.substring(0, orderBy).trim() + ") tcomp_count";
+    }
+
+    /**
+     * @return the position of the ORDER BY clause ending the query, or -1 if there is none.
+     */
+    static int indexOfOrderBy(String sql) {
+        if (sql == null) {
+            return -1;
+        }
+        String lower = sql.toLowerCase(Locale.ROOT);
+        int depth = 0;
+        int orderBy = -1;
+        int i = 0;
+        while (i < lower.length()) {
+            char c = lower.charAt(i);
+            if (c == '\'' || c == '"' || c == '`') {
+                // quoted literal or identifier, a doubled quote is part of it
+                int end = lower.indexOf(c, i + 1);
+                while (end >= 0 && end + 1 < lower.length() && lower.charAt(end + 1) == c) {
+                    end = lower.indexOf(c, end + 2);
+                }
+                if (end < 0) {
+                    return -1;
+                }
+                i = end + 1;
+            } else if (lower.startsWith("--", i)) {
+                int end = lower.indexOf('\n', i);
+                i = end < 0 ? lower.length() : end + 1;
+            } else if (lower.startsWith("/*", i)) {
+                int end = lower.indexOf("*/", i + 2);
+                if (end < 0) {
+                    return -1;
+                }
+                i = end + 2;
+            } else if (c == '(') {
+                depth++;
+                i++;
+            } else if (c == ')') {
+                depth--;
+                i++;
+            } else if (Character.isLetter(c) && (i == 0 || !isIdentifierPart(lower.charAt(i - 1)))) {
+                int end = i;
+                while (end < lower.length() && isIdentifierPart(lower.charAt(end))) {
+                    end++;
+                }
+                if (depth == 0) {
+                    String word = lower.substring(i, end);
+                    if ("order".equals(word) && isFollowedByBy(lower, end)) {
+                        orderBy = i;
+                    } else if (orderBy >= 0 && isClauseAfterOrderBy(word)) {
+                        // the rows are limited after the sort
+                        return -1;
+                    }
+                }
+                i = end;
+            } else {
+                i++;
+            }
+        }
+        return orderBy;
+    }
+
+    private static boolean isFollowedByBy(String lower, int from) {
+        int i = from;
+        while (i < lower.length() && Character.isWhitespace(lower.charAt(i))) {
+            i++;
+        }
+        return i > from && lower.startsWith("by", i) && (i + 2 == lower.length() || !isIdentifierPart(lower.charAt(i + 2)));
+    }
+
+    private static boolean isClauseAfterOrderBy(String word) {
+        for (String clause : CLAUSES_AFTER_ORDER_BY) {
+            if (clause.equals(word)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isIdentifierPart(char c) {
+        return Character.isLetterOrDigit(c) || c == '_' || c == '$' || c == '#';
+    }
+}
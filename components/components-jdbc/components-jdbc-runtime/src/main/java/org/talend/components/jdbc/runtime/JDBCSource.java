@@ -13,10 +13,15 @@
 package org.talend.components.jdbc.runtime;
 
 import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.talend.components.api.component.runtime.BoundedReader;
 import org.talend.components.api.component.runtime.BoundedSource;
 import org.talend.components.api.container.RuntimeContainer;
@@ -28,8 +33,22 @@ import org.talend.components.jdbc.runtime.reader.JDBCInputReader;
  */
 public class JDBCSource extends JDBCSourceOrSink implements BoundedSource {
 
+    private static final Logger LOG = LoggerFactory.getLogger(JDBCSource.class);
+
     private static final long serialVersionUID = 1L;
 
+    /** The first row (inclusive, 0 based) of the query result read by this source. */
+    private long startRow = 0;
+
+    /** The last row (exclusive) of the query result read by this source, or -1 if it is read to the end. */
+    private long endRow = -1;
+
+    /**
+     * Whether the rows after the end row are also read, as the rows added to the result after it was counted belong to the
+     * last source.
+     */
+    private boolean readToEnd;
+
     @SuppressWarnings("rawtypes")
     @Override
     public BoundedReader createReader(RuntimeContainer container) {
@@ -40,14 +59,116 @@ public class JDBCSource extends JDBCSourceOrSink implements BoundedSource {
         return new JDBCInputReader(container, this, properties, readLimit);
     }
 
+    public long getStartRow() {
+        return startRow;
+    }
+
+    public long getEndRow() {
+        return endRow;
+    }
+
+    public boolean isReadToEnd() {
+        return readToEnd;
+    }
+
+    /**
+     * Create a copy of this source that only reads the rows [startRow, endRow) of the query result. The reader of a source
+     * with a known end row reports its progress and supports dynamic work rebalancing.
+     *
+     * The rows are identified by their position in the query result, so the query must end with an ORDER BY clause on
+     * unique keys for the split sources to cover the result exactly once, see {@link JDBCOrderedQuery}.
+     *
+     * @param startRow the first row to read, inclusive
+     * @param endRow the last row to read, exclusive, or -1 to read to the end of the result
+     * @return the new source
+     * @throws IllegalArgumentException if the query does not end with an ORDER BY clause
+     */
+    public JDBCSource withRowRange(long startRow, long endRow) {
+        return withRowRange(startRow, endRow, false);
+    }
+
+    /**
+     * @param readToEnd whether the rows after the end row are also read, the end row is then only used for the progress
+     * and the splits.
+     * @see #withRowRange(long, long)
+     */
+    public JDBCSource withRowRange(long startRow, long endRow, boolean readToEnd) {
+        if (!JDBCOrderedQuery.isOrdered(setting.getSql())) {
+            throw new IllegalArgumentException(
+                    "The query must end with an ORDER BY clause to be read by ranges of rows: " + setting.getSql());
+        }
+        JDBCSource source = new JDBCSource();
+        source.copySettingFrom(this);
+        source.startRow = startRow;
+        source.endRow = endRow;
+        source.readToEnd = readToEnd;
+        return source;
+    }
+
+    /**
+     * When the query ends with an ORDER BY clause, the rows of its result are counted so that the reader reports its
+     * progress and can be split. Otherwise this source is read as a whole.
+     */
     @Override
     public List<? extends BoundedSource> splitIntoBundles(long desiredBundleSizeBytes, RuntimeContainer adaptor)
             throws Exception {
         List<BoundedSource> list = new ArrayList<>();
-        list.add(this);
+        list.add(endRow < 0 ? withCountedRows(adaptor) : this);
         return list;
     }
 
+    private JDBCSource withCountedRows(RuntimeContainer runtime) {
+        String countQuery = JDBCOrderedQuery.forCount(setting.getSql());
+        if (countQuery == null) {
+            LOG.debug("The query does not end with an ORDER BY clause, it is read by a single reader.");
+            return this;
+        }
+        Connection conn = null;
+        try {
+            conn = connect(runtime);
+            long count;
+            try (Statement statement = createCountStatement(conn, countQuery);
+                    ResultSet resultSet = statement instanceof PreparedStatement
+                            ? ((PreparedStatement) statement).executeQuery() : statement.executeQuery(countQuery)) {
+                if (!resultSet.next()) {
+                    return this;
+                }
+                count = resultSet.getLong(1);
+            }
+            LOG.debug("The query returns {} rows.", count);
+            // the rows added after the count are read by the last source
+            return withRowRange(0, count, true);
+        } catch (SQLException | ClassNotFoundException e) {
+            LOG.warn("Can't count the rows of the query, it is read by a single reader.", e);
+            return this;
+        } finally {
+            if (conn != null && setting.getReferencedComponentId() == null) {
+                try {
+                    conn.close();
+                } catch (SQLException e) {
+                    LOG.debug("Can't close the connection.", e);
+                }
+            }
+        }
+    }
+
+    private Statement createCountStatement(Connection conn, String countQuery) throws SQLException {
+        Statement statement;
+        if (setting.getUsePreparedStatement()) {
+            // the parameters keep their position in the count query
+            PreparedStatement preparedStatement = conn.prepareStatement(countQuery);
+            JdbcRuntimeUtils.setPreparedStatement(preparedStatement, setting.getIndexs(), setting.getTypes(),
+                    setting.getValues());
+            statement = preparedStatement;
+        } else {
+            statement = conn.createStatement();
+        }
+        if (setting.getUseQueryTimeout()) {
+            statement.setQueryTimeout(setting.getQueryTimeout());
+        }
+        return statement;
+    }
+
     @Override
     public long getEstimatedSizeBytes(RuntimeContainer adaptor) {
         return 0;
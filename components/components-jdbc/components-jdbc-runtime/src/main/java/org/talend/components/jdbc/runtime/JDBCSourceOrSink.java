@@ -30,6 +30,8 @@ import org.talend.components.jdbc.JdbcComponentErrorsCode;
 import org.talend.components.jdbc.RuntimeSettingProvider;
 import org.talend.components.jdbc.avro.JDBCAvroRegistryString;
 import org.talend.components.jdbc.avro.ResultSetStringRecordConverter;
+import org.talend.components.jdbc.runtime.schemainfer.CatalogSnapshot;
+import org.talend.components.jdbc.runtime.schemainfer.CatalogSnapshotCache;
 import org.talend.components.jdbc.runtime.schemainfer.SchemaInferer;
 import org.talend.components.jdbc.runtime.setting.AllSetting;
 import org.talend.components.jdbc.runtime.setting.JdbcRuntimeSourceOrSinkDefault;
@@ -121,6 +123,8 @@ public class JDBCSourceOrSink extends JdbcRuntimeSourceOrSinkDefault {
     @Override
     public List<NamedThing> getSchemaNames(RuntimeContainer runtime) throws IOException {
         List<NamedThing> result = new ArrayList<>();
+        // a new listing of the tables starts a new schema retrieval, which must see the last changes of the tables
+        CatalogSnapshotCache.get().invalidate(setting.getJdbcUrl(), setting.getUsername());
         try (Connection conn = connect(runtime)) {
             DatabaseMetaData dbMetaData = conn.getMetaData();
 
@@ -183,6 +187,13 @@ public class JDBCSourceOrSink extends JdbcRuntimeSourceOrSinkDefault {
     @Override
     public Schema getEndpointSchema(RuntimeContainer runtime, String tableName) throws IOException {
         try (Connection conn = connect(runtime)) {
+            if (!work4dataprep) {
+                Schema schema = inferFromCatalogSnapshot(conn, tableName, runtime);
+                if (schema != null) {
+                    return schema;
+                }
+            }
+
             JDBCTableMetadata tableMetadata = new JDBCTableMetadata();
             tableMetadata.setDatabaseMetaData(conn.getMetaData()).setTablename(tableName);
             return infer(tableMetadata, runtime);
@@ -192,6 +203,37 @@ public class JDBCSourceOrSink extends JdbcRuntimeSourceOrSinkDefault {
         }
     }
 
+    /**
+     * Infer the schema of the table from the cached metadata of all the tables of the current database schema, so that
+     * retrieving the schemas of many tables doesn't cost metadata calls for each table.
+     *
+     * @return the schema of the table, or null if the table is not in the current database schema.
+     */
+    private Schema inferFromCatalogSnapshot(Connection conn, String tableName, RuntimeContainer runtime) throws SQLException {
+        String catalog = conn.getCatalog();
+        String dbSchema = getDatabaseSchema();
+        if (dbSchema == null) {
+            dbSchema = getCurrentSchema(conn);
+        }
+        if (catalog == null && dbSchema == null) {
+            // the snapshot would contain all the tables of the database
+            return null;
+        }
+
+        CatalogSnapshot snapshot = CatalogSnapshotCache.get().getSnapshot(conn.getMetaData(), setting.getJdbcUrl(),
+                setting.getUsername(), catalog, dbSchema);
+        return snapshot.inferSchema(tableName, getDBMapping(runtime), setting.getEnableSpecialTableName());
+    }
+
+    private String getCurrentSchema(Connection conn) {
+        try {
+            return conn.getSchema();
+        } catch (SQLException | AbstractMethodError e) {
+            // the driver is older than JDBC 4.1
+            return null;
+        }
+    }
+
     public Schema getSchemaFromQuery(RuntimeContainer runtime, String query) {
         try (Connection conn = connect(runtime)) {
             Statement statement = conn.createStatement();
@@ -269,6 +311,23 @@ public class JDBCSourceOrSink extends JdbcRuntimeSourceOrSinkDefault {
         return converter;
     }
 
+    /**
+     * Copy the runtime setting of another runtime object into this one, with a converter of its own as converters keep
+     * per result set state.
+     */
+    protected void copySettingFrom(JDBCSourceOrSink other) {
+        this.properties = other.properties;
+        this.setting = other.setting;
+        this.work4dataprep = other.work4dataprep;
+        this.typeMapping = other.typeMapping;
+        if (work4dataprep) {
+            converter = new ResultSetStringRecordConverter();
+        } else {
+            converter = new JDBCResultSetIndexedRecordConverter();
+            ((JDBCResultSetIndexedRecordConverter) converter).setInfluencer(setting);
+        }
+    }
+
     /*
     // as studio will do schema list retrieve by the old way, now the method is not useful.
     // work for the wizard : catalog show, TODO make it common
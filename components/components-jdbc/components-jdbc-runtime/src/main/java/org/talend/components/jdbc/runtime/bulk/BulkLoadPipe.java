@@ -0,0 +1,260 @@
+//============================================================================
+//
+// Copyright (C) 2006-2023 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// %InstallDIR%\features\org.talend.rcp.branding.%PRODUCTNAME%\%PRODUCTNAME%license.txt
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+//============================================================================
+package org.talend.components.jdbc.runtime.bulk;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A bounded pipe between the writer producing the bulk data and the driver consuming it as an {@link InputStream}.
+ *
+ * The bytes are passed by chunks through a bounded queue : the producer is blocked when the driver is behind, so the
+ * memory used by the pipe stays bounded and no intermediate bulk file is needed. The producer and the consumer must run in
+ * different threads.
+ *
+ * When one of the sides fails, it calls {@link #fail(Throwable)} and the other side gets an {@link IOException} instead of
+ * waiting forever.
+ */
+public class BulkLoadPipe {
+
+    public static final int DEFAULT_CHUNK_SIZE = 64 * 1024;
+
+    public static final int DEFAULT_CAPACITY = 16;
+
+    private static final byte[] END_OF_DATA = new byte[0];
+
+    private static final byte[] FAILURE = new byte[0];
+
+    private static final long POLL_INTERVAL_MILLIS = 100;
+
+    private final BlockingQueue<byte[]> chunks;
+
+    private final int chunkSize;
+
+    private final PipeOutputStream outputStream = new PipeOutputStream();
+
+    private final PipeInputStream inputStream = new PipeInputStream();
+
+    private volatile Throwable failure;
+
+    public BulkLoadPipe() {
+        this(DEFAULT_CHUNK_SIZE, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param chunkSize the size in bytes of the chunks passed to the consumer.
+     * @param capacity the maximum number of chunks waiting for the consumer.
+     */
+    public BulkLoadPipe(int chunkSize, int capacity) {
+        if (chunkSize < 1 || capacity < 1) {
+            throw new IllegalArgumentException("the chunk size and the capacity of the pipe must be positive");
+        }
+        this.chunkSize = chunkSize;
+        // one more slot for the end of data or failure marker
+        this.chunks = new ArrayBlockingQueue<>(capacity + 1);
+    }
+
+    /**
+     * @return the stream the producer writes the bulk data into, closing it marks the end of the data.
+     */
+    public OutputStream getOutputStream() {
+        return outputStream;
+    }
+
+    /**
+     * @return the stream the driver reads the bulk data from.
+     */
+    public InputStream getInputStream() {
+        return inputStream;
+    }
+
+    /**
+     * Stop the transfer : the pending data is dropped and the next operations on both sides throw an {@link IOException}
+     * caused by the failure.
+     *
+     * @param cause the failure of the producer or of the consumer.
+     */
+    public void fail(Throwable cause) {
+        if (failure != null) {
+            return;
+        }
+        failure = cause == null ? new IOException("The bulk load was stopped") : cause;
+        chunks.clear();
+        chunks.offer(FAILURE);
+    }
+
+    private void checkFailure() throws IOException {
+        Throwable cause = failure;
+        if (cause != null) {
+            throw new IOException("The bulk load was stopped: " + cause.getMessage(), cause);
+        }
+    }
+
+    private void put(byte[] chunk) throws IOException {
+        try {
+            checkFailure();
+            while (!chunks.offer(chunk, POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS)) {
+                checkFailure();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for the bulk load");
+        }
+    }
+
+    private class PipeOutputStream extends OutputStream {
+
+        private byte[] buffer = new byte[chunkSize];
+
+        private int count;
+
+        private boolean closed;
+
+        @Override
+        public void write(int b) throws IOException {
+            if (count == buffer.length) {
+                sendBuffer();
+            }
+            buffer[count++] = (byte) b;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            while (len > 0) {
+                if (count == buffer.length) {
+                    sendBuffer();
+                }
+                int n = Math.min(len, buffer.length - count);
+                System.arraycopy(b, off, buffer, count, n);
+                count += n;
+                off += n;
+                len -= n;
+            }
+        }
+
+        /**
+         * The buffer is only sent when it is full or when the stream is closed, a flush in the middle of a row would only
+         * make smaller chunks.
+         */
+        @Override
+        public void flush() throws IOException {
+            checkFailure();
+        }
+
+        private void sendBuffer() throws IOException {
+            if (closed) {
+                throw new IOException("The bulk load stream is closed");
+            }
+            // the queued chunk belongs to the consumer now
+            put(buffer);
+            buffer = new byte[chunkSize];
+            count = 0;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (closed) {
+                return;
+            }
+            if (count > 0) {
+                put(Arrays.copyOf(buffer, count));
+                count = 0;
+            }
+            put(END_OF_DATA);
+            closed = true;
+        }
+    }
+
+    private class PipeInputStream extends InputStream {
+
+        private byte[] current;
+
+        private int position;
+
+        private boolean endOfData;
+
+        /**
+         * @return false when all the data was read.
+         */
+        private boolean nextChunk() throws IOException {
+            while (current == null || position == current.length) {
+                if (endOfData) {
+                    return false;
+                }
+                byte[] chunk;
+                try {
+                    chunk = chunks.take();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException("Interrupted while waiting for the bulk data");
+                }
+                if (chunk == FAILURE) {
+                    // keep the marker for the next reads
+                    chunks.offer(FAILURE);
+                    checkFailure();
+                }
+                if (chunk == END_OF_DATA) {
+                    endOfData = true;
+                    current = null;
+                    return false;
+                }
+                current = chunk;
+                position = 0;
+            }
+            return true;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (!nextChunk()) {
+                return -1;
+            }
+            return current[position++] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            if (!nextChunk()) {
+                return -1;
+            }
+            int n = Math.min(len, current.length - position);
+            System.arraycopy(current, position, b, off, n);
+            position += n;
+            return n;
+        }
+
+        @Override
+        public int available() throws IOException {
+            return current == null ? 0 : current.length - position;
+        }
+
+        /**
+         * A driver closing the stream before its end won't read the rest of the data, so the producer must stop.
+         */
+        @Override
+        public void close() throws IOException {
+            if (!endOfData) {
+                fail(new IOException("The bulk load stream was closed before the end of the data"));
+            }
+        }
+    }
+}
@@ -0,0 +1,253 @@
+//============================================================================
+//
+// Copyright (C) 2006-2023 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// %InstallDIR%\features\org.talend.rcp.branding.%PRODUCTNAME%\%PRODUCTNAME%license.txt
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+//============================================================================
+package org.talend.components.jdbc.runtime.bulk;
+
+import java.io.InputStream;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+import org.apache.avro.Schema;
+import org.apache.avro.Schema.Field;
+import org.apache.commons.lang3.StringUtils;
+import org.talend.components.jdbc.runtime.setting.AllSetting;
+import org.talend.daikon.avro.SchemaConstants;
+
+/**
+ * Load the bulk data into the database through the bulk API of the driver, reading the data from a stream instead of a
+ * bulk file.
+ *
+ * The drivers are not dependencies of the runtime, so their API is called by reflection on the unwrapped connection or
+ * statement.
+ */
+public abstract class BulkLoader {
+
+    private static final BulkLoader MYSQL = new MySQLBulkLoader();
+
+    private static final BulkLoader POSTGRESQL = new PostgreSQLBulkLoader();
+
+    /**
+     * @param setting the bulk setting, with the JDBC url of the database.
+     * @return the loader able to stream the data for this database and this bulk format, or null if the data has to go
+     * through a bulk file.
+     */
+    public static BulkLoader forSetting(AllSetting setting) {
+        String url = setting.getJdbcUrl();
+        if (url == null) {
+            return null;
+        }
+        BulkLoader loader = null;
+        if (url.startsWith("jdbc:mysql:") || url.startsWith("jdbc:mariadb:")) {
+            loader = MYSQL;
+        } else if (url.startsWith("jdbc:postgresql:")) {
+            loader = POSTGRESQL;
+        }
+        return loader != null && loader.supports(setting) ? loader : null;
+    }
+
+    /**
+     * @return the statement loading the file with the bulk format of the setting.
+     */
+    public static String createLoadDataSQL(AllSetting setting, String file) {
+        StringBuilder sb = new StringBuilder();
+
+        sb.append("LOAD DATA LOCAL INFILE '").append(file).append("' INTO TABLE ").append(setting.getTablename())
+                .append(" FIELDS TERMINATED BY '").append(setting.fieldSeparator).append("' ");
+        if (setting.setTextEnclosure) {
+            sb.append("OPTIONALLY ENCLOSED BY '").append(setting.textEnclosure).append("' ");
+        }
+        sb.append("LINES TERMINATED BY '").append(setting.rowSeparator).append("' ");
+        if (setting.setNullValue) {
+            sb.append("NULL DEFINED BY '").append(setting.nullValue).append("' ");
+        }
+
+        appendColumns(sb, setting, '`');
+        return sb.toString();
+    }
+
+    // TODO support dynamic
+    private static void appendColumns(StringBuilder sb, AllSetting setting, char quote) {
+        Schema schema = setting.getSchema();
+        if (schema == null) {
+            return;
+        }
+
+        List<Field> fields = schema.getFields();
+        if (fields == null || fields.isEmpty()) {
+            return;
+        }
+
+        sb.append('(');
+        for (int i = 0; i < fields.size(); i++) {
+            Schema.Field field = fields.get(i);
+            String originName = field.getProp(SchemaConstants.TALEND_COLUMN_DB_COLUMN_NAME);
+            String headerName = StringUtils.isEmpty(originName) ? field.name() : originName;
+            sb.append(quote).append(headerName).append(quote);
+            if (i != fields.size() - 1) {
+                sb.append(',');
+            }
+        }
+        sb.append(')');
+    }
+
+    private static String literal(String value) {
+        return "'" + value.replace("'", "''") + "'";
+    }
+
+    /**
+     * @return true if the bulk format of the setting can be streamed by this loader.
+     */
+    protected boolean supports(AllSetting setting) {
+        return true;
+    }
+
+    /**
+     * Adapt the bulk format of the setting to the one read by this loader, before the data is formatted. Nothing is
+     * changed by default.
+     */
+    public void prepare(AllSetting setting) {
+    }
+
+    /**
+     * Load the data, this call is blocked until the end of the input.
+     *
+     * @param conn the connection of the bulk load.
+     * @param setting the bulk setting.
+     * @param data the bulk data, in the format of the setting.
+     * @return the number of loaded rows, or -1 if it is unknown.
+     */
+    public abstract long load(Connection conn, AllSetting setting, InputStream data) throws SQLException;
+
+    private static Class<?> loadDriverClass(Object driverObject, String className) {
+        try {
+            return Class.forName(className, false, driverObject.getClass().getClassLoader());
+        } catch (ClassNotFoundException | LinkageError e) {
+            return null;
+        }
+    }
+
+    private static Object invoke(Method method, Object target, Object... args) throws SQLException {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof SQLException) {
+                throw (SQLException) cause;
+            }
+            throw new SQLException(cause.getMessage(), cause);
+        } catch (IllegalAccessException e) {
+            throw new SQLException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * LOAD DATA LOCAL INFILE, with the input stream of the statement taking the place of the local file.
+     */
+    private static class MySQLBulkLoader extends BulkLoader {
+
+        private static final String[] STATEMENT_CLASSES = { "com.mysql.cj.jdbc.JdbcStatement", "com.mysql.jdbc.Statement",
+                "org.mariadb.jdbc.MariaDbStatement" };
+
+        @Override
+        public long load(Connection conn, AllSetting setting, InputStream data) throws SQLException {
+            try (Statement stmt = conn.createStatement()) {
+                for (String className : STATEMENT_CLASSES) {
+                    Class<?> statementClass = loadDriverClass(stmt, className);
+                    if (statementClass == null || !stmt.isWrapperFor(statementClass)) {
+                        continue;
+                    }
+
+                    Method setInputStream;
+                    try {
+                        setInputStream = statementClass.getMethod("setLocalInfileInputStream", InputStream.class);
+                    } catch (NoSuchMethodException e) {
+                        continue;
+                    }
+                    invoke(setInputStream, stmt.unwrap(statementClass), data);
+
+                    // the file name is ignored by the driver as the input stream is set
+                    return stmt.executeUpdate(createLoadDataSQL(setting, "stream"));
+                }
+            }
+            throw new SQLException("The driver doesn't support to stream the data of LOAD DATA LOCAL INFILE");
+        }
+    }
+
+    /**
+     * COPY FROM STDIN through the CopyManager of the driver.
+     *
+     * The data is always read as CSV : the text format of COPY needs the tabs, new lines and backslashes of the values to
+     * be escaped, which the bulk format doesn't do.
+     */
+    private static class PostgreSQLBulkLoader extends BulkLoader {
+
+        private static final String DEFAULT_QUOTE = "\"";
+
+        /**
+         * COPY only knows the new line as row separator.
+         */
+        @Override
+        protected boolean supports(AllSetting setting) {
+            return "\n".equals(setting.rowSeparator) && setting.fieldSeparator != null
+                    && setting.fieldSeparator.length() == 1;
+        }
+
+        /**
+         * The values are enclosed, with the text enclosure of the setting or '"', and the enclosure is doubled in the
+         * values as in standard CSV, so no other char needs to be escaped.
+         */
+        @Override
+        public void prepare(AllSetting setting) {
+            if (!setting.setTextEnclosure || StringUtils.isEmpty(setting.textEnclosure)) {
+                setting.setTextEnclosure = true;
+                setting.textEnclosure = DEFAULT_QUOTE;
+            }
+            setting.setEscapeChar = true;
+            setting.escapeChar = setting.textEnclosure;
+        }
+
+        private String createCopySQL(AllSetting setting) {
+            StringBuilder sb = new StringBuilder();
+            sb.append("COPY ").append(setting.getTablename()).append(' ');
+            appendColumns(sb, setting, '"');
+            sb.append(" FROM STDIN WITH (");
+            // the null values are not enclosed, so they are told apart from the empty strings
+            sb.append("FORMAT csv, QUOTE ").append(literal(setting.textEnclosure)).append(", ESCAPE ")
+                    .append(literal(setting.escapeChar));
+            sb.append(", DELIMITER ").append(literal(setting.fieldSeparator));
+            sb.append(", NULL ").append(literal(setting.setNullValue && setting.nullValue != null ? setting.nullValue : ""));
+            sb.append(')');
+            return sb.toString();
+        }
+
+        @Override
+        public long load(Connection conn, AllSetting setting, InputStream data) throws SQLException {
+            Class<?> connectionClass = loadDriverClass(conn, "org.postgresql.PGConnection");
+            Class<?> copyManagerClass = loadDriverClass(conn, "org.postgresql.copy.CopyManager");
+            if (connectionClass == null || copyManagerClass == null || !conn.isWrapperFor(connectionClass)) {
+                throw new SQLException("The driver doesn't support to stream the data of COPY FROM STDIN");
+            }
+
+            try {
+                Object copyManager = invoke(connectionClass.getMethod("getCopyAPI"), conn.unwrap(connectionClass));
+                Method copyIn = copyManagerClass.getMethod("copyIn", String.class, InputStream.class);
+                return (Long) invoke(copyIn, copyManager, createCopySQL(setting), data);
+            } catch (NoSuchMethodException e) {
+                throw new SQLException(e.getMessage(), e);
+            }
+        }
+    }
+}
@@ -79,6 +79,14 @@ public class JDBCDatasetRuntime implements DatasetRuntime<JDBCDatasetProperties>
         throwExceptionIfValidationResultIsError(js.validate(container));
 
         JDBCInputReader reader = (JDBCInputReader) js.createReader(container, limit);
+        if (dataset.sourceType.getValue() == JDBCDatasetProperties.SourceType.TABLE_NAME) {
+            // let the database stop the scan of the table after the sample rows
+            String sampleQuery = JDBCSampleQuery.forTable(dataset.getRuntimeSetting().getJdbcUrl(),
+                    dataset.tableName.getValue(), limit);
+            if (sampleQuery != null) {
+                reader.setQuery(sampleQuery);
+            }
+        }
         ReaderDataProvider<IndexedRecord> readerDataProvider = new ReaderDataProvider<>(reader, limit, consumer);
         readerDataProvider.retrieveData();
     }
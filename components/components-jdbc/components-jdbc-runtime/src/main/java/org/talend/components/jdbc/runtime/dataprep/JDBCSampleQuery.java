@@ -0,0 +1,99 @@
+//============================================================================
+//
+// Copyright (C) 2006-2023 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// %InstallDIR%\features\org.talend.rcp.branding.%PRODUCTNAME%\%PRODUCTNAME%license.txt
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+//============================================================================
+package org.talend.components.jdbc.runtime.dataprep;
+
+/**
+ * Build the queries reading only the first rows of a table, in the dialect of the database.
+ *
+ * The limit is set in the query so that the database can stop the scan early, instead of only relying on the max rows of
+ * the statement which some drivers apply on the client side.
+ */
+public final class JDBCSampleQuery {
+
+    private enum Dialect {
+        LIMIT,
+        FETCH_FIRST,
+        ROWNUM,
+        TOP
+    }
+
+    private static final String[] LIMIT_URLS = { "jdbc:mysql:", "jdbc:mariadb:", "jdbc:postgresql:", "jdbc:h2:",
+            "jdbc:hsqldb:", "jdbc:sqlite:", "jdbc:redshift:", "jdbc:snowflake:", "jdbc:vertica:" };
+
+    private static final String[] FETCH_FIRST_URLS = { "jdbc:derby:", "jdbc:db2:", "jdbc:as400:" };
+
+    private static final String[] ROWNUM_URLS = { "jdbc:oracle:" };
+
+    private static final String[] TOP_URLS = { "jdbc:sqlserver:", "jdbc:jtds:sqlserver:" };
+
+    private JDBCSampleQuery() {
+    }
+
+    /**
+     * @param jdbcUrl the JDBC url of the database.
+     * @param tableName the table to read.
+     * @param limit the maximum number of rows to read.
+     * @return the query reading the first rows of the table, or null if the dialect of the database is unknown.
+     */
+    public static String forTable(String jdbcUrl, String tableName, int limit) {
+        if (tableName == null || tableName.trim().isEmpty() || limit <= 0) {
+            return null;
+        }
+        Dialect dialect = getDialect(jdbcUrl);
+        if (dialect == null) {
+            return null;
+        }
+
+        switch (dialect) {
+        case LIMIT:
+            return "select * from " + tableName + " limit " + limit;
+        case FETCH_FIRST:
+            return "select * from " + tableName + " fetch first " + limit + " rows only";
+        case ROWNUM:
+            return "select * from " + tableName + " where rownum <= " + limit;
+        case TOP:
+            return "select top " + limit + " * from " + tableName;
+        default:
+            return null;
+        }
+    }
+
+    private static Dialect getDialect(String jdbcUrl) {
+        if (jdbcUrl == null) {
+            return null;
+        }
+        String url = jdbcUrl.trim().toLowerCase();
+        if (startsWithAny(url, LIMIT_URLS)) {
+            return Dialect.LIMIT;
+        }
+        if (startsWithAny(url, FETCH_FIRST_URLS)) {
+            return Dialect.FETCH_FIRST;
+        }
+        if (startsWithAny(url, ROWNUM_URLS)) {
+            return Dialect.ROWNUM;
+        }
+        if (startsWithAny(url, TOP_URLS)) {
+            return Dialect.TOP;
+        }
+        return null;
+    }
+
+    private static boolean startsWithAny(String url, String[] prefixes) {
+        for (String prefix : prefixes) {
+            if (url.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -77,6 +77,30 @@ public class JDBCInputReader extends AbstractBoundedReader<IndexedRecord> {
 
     private int readLimit = -1;
 
+    /** The fetch size used when only a few rows are read and no cursor size is set. */
+    private static final int SAMPLE_FETCH_SIZE = 1000;
+
+    /** The query run instead of the one of the setting, or null. */
+    private String query;
+
+    /** The source currently read, narrowed after each successful {@link #splitAtFraction(double)}. */
+    private JDBCSource currentSource;
+
+    /** The first row of the query result to read. */
+    private final long startRow;
+
+    /** The last row (exclusive) of the query result to read, or -1 if unknown. Guarded by this. */
+    private long endRow;
+
+    /** Whether the rows after the end row are also read. Guarded by this. */
+    private boolean readToEnd;
+
+    /** The number of rows claimed from the current range. Guarded by this. */
+    private long rowsClaimed;
+
+    /** Whether the last row of the current range was already read. Guarded by this. */
+    private boolean finished;
+
     /**
      * Current {@link IndexedRecord} read by this {@link Reader}
      * It is returned in {@link Reader#getCurrent()} method.
@@ -89,7 +113,11 @@ public class JDBCInputReader extends AbstractBoundedReader<IndexedRecord> {
         this.container = container;
         this.properties = props;
         setting = props.getRuntimeSetting();
-        this.source = (JDBCSource) getCurrentSource();
+        this.source = source;
+        this.currentSource = source;
+        this.startRow = source.getStartRow();
+        this.endRow = source.getEndRow();
+        this.readToEnd = source.isReadToEnd();
         this.useExistedConnection = setting.getReferencedComponentId() != null;
     }
 
@@ -102,6 +130,19 @@ public class JDBCInputReader extends AbstractBoundedReader<IndexedRecord> {
         this.readLimit = readLimit;
     }
 
+    /**
+     * Run another query than the one of the setting, like a query which only selects the rows to read.
+     *
+     * @param query the query to run, it must return the same columns as the query of the setting.
+     */
+    public void setQuery(String query) {
+        this.query = query;
+    }
+
+    private String getQuery() {
+        return query != null ? query : setting.getSql();
+    }
+
     private Schema getSchema() throws IOException, SQLException {
         if (querySchema == null) {
             // we can't use the method below as the reader also work for dataset topic which don't support that.
@@ -193,7 +234,7 @@ public class JDBCInputReader extends AbstractBoundedReader<IndexedRecord> {
         LOG.debug("JDBCInputReader start.");
         if (container != null) {
             container.setComponentData(container.getCurrentComponentId(),
-                    CommonUtils.getStudioNameFromProperty(ComponentConstants.RETURN_QUERY), setting.getSql());
+                    CommonUtils.getStudioNameFromProperty(ComponentConstants.RETURN_QUERY), getQuery());
         }
 
         result = new Result();
@@ -202,10 +243,11 @@ public class JDBCInputReader extends AbstractBoundedReader<IndexedRecord> {
             conn = source.getConnection(container);
 
             String driverClass = setting.getDriverClass();
-            if (driverClass != null && driverClass.toLowerCase().contains("mysql")) {
+            boolean isMysql = driverClass != null && driverClass.toLowerCase().contains("mysql");
+            if (isMysql) {
                 if (usePreparedStatement) {
-                    LOG.debug("Prepared statement: "+setting.getSql());
-                    PreparedStatement prepared_statement = conn.prepareStatement(setting.getSql(), ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                    LOG.debug("Prepared statement: "+getQuery());
+                    PreparedStatement prepared_statement = conn.prepareStatement(getQuery(), ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
                     JdbcRuntimeUtils.setPreparedStatement(prepared_statement, setting.getIndexs(), setting.getTypes(),
                             setting.getValues());
                     statement = prepared_statement;
@@ -225,8 +267,8 @@ public class JDBCInputReader extends AbstractBoundedReader<IndexedRecord> {
                 }
             } else {
                 if (usePreparedStatement) {
-                    LOG.debug("Prepared statement: "+setting.getSql());
-                	PreparedStatement prepared_statement = conn.prepareStatement(setting.getSql());
+                    LOG.debug("Prepared statement: "+getQuery());
+                	PreparedStatement prepared_statement = conn.prepareStatement(getQuery());
                     JdbcRuntimeUtils.setPreparedStatement(prepared_statement, setting.getIndexs(), setting.getTypes(),
                             setting.getValues());
                     statement = prepared_statement;
@@ -245,11 +287,25 @@ public class JDBCInputReader extends AbstractBoundedReader<IndexedRecord> {
                 LOG.debug("Fetch size: " +setting.getCursor());
                 statement.setFetchSize(setting.getCursor());
             }
+            if (readLimit > 0) {
+                // only the first rows are read, so don't let the database send more
+                statement.setMaxRows((int) Math.min(startRow + readLimit, Integer.MAX_VALUE));
+                // the mysql streaming already fetches the rows one by one
+                if (!setting.getUseCursor() && !isMysql) {
+                    statement.setFetchSize(Math.min(readLimit, SAMPLE_FETCH_SIZE));
+                }
+            }
             if (usePreparedStatement) {
             	resultSet = ((PreparedStatement)statement).executeQuery();
             }else {
-                LOG.debug("Executing the query: '{}'",setting.getSql());
-            	resultSet = statement.executeQuery(setting.getSql());
+                LOG.debug("Executing the query: '{}'",getQuery());
+            	resultSet = statement.executeQuery(getQuery());
+            }
+
+            // skip the rows that belong to the sources before this one
+            long skipped = 0;
+            while (skipped < startRow && resultSet.next()) {
+                skipped++;
             }
             	
             
@@ -263,17 +319,71 @@ public class JDBCInputReader extends AbstractBoundedReader<IndexedRecord> {
     }
 
     private boolean haveNext() throws SQLException, IOException {
+        if (!claimNextRow()) {
+            return false;
+        }
+
         boolean haveNext = resultSet.next();
 
         if (haveNext) {
             result.totalCount++;
             LOG.debug("Retrieving the record: " + result.totalCount);
             currentRecord = getConverter(resultSet).convertToAvro(resultSet);
+        } else {
+            synchronized (this) {
+                finished = true;
+            }
         }
 
         return haveNext;
     }
 
+    private synchronized boolean claimNextRow() {
+        if ((endRow >= 0 && !readToEnd && startRow + rowsClaimed >= endRow)
+                || (readLimit > 0 && rowsClaimed >= readLimit)) {
+            finished = true;
+            return false;
+        }
+        rowsClaimed++;
+        return true;
+    }
+
+    @Override
+    public synchronized JDBCSource getCurrentSource() {
+        return currentSource;
+    }
+
+    @Override
+    public synchronized Double getFractionConsumed() {
+        if (finished) {
+            return 1.0;
+        }
+        if (endRow < 0) {
+            // the size of the query result is unknown
+            return null;
+        }
+        long size = endRow - startRow;
+        return size <= 0 ? 1.0 : Math.min(1.0, (double) rowsClaimed / size);
+    }
+
+    @Override
+    public synchronized JDBCSource splitAtFraction(double fraction) {
+        if (finished || endRow < 0) {
+            return null;
+        }
+        long splitRow = startRow + (long) Math.ceil(fraction * (endRow - startRow));
+        // the rows already claimed must stay in the primary, and the residual can not be empty
+        if (splitRow <= startRow + rowsClaimed || splitRow >= endRow) {
+            return null;
+        }
+        JDBCSource residual = source.withRowRange(splitRow, endRow, readToEnd);
+        currentSource = source.withRowRange(startRow, splitRow);
+        endRow = splitRow;
+        readToEnd = false;
+        LOG.debug("Split at row {}, the residual reads the rows [{}, {})", splitRow, splitRow, residual.getEndRow());
+        return residual;
+    }
+
     @Override
     public boolean advance() throws IOException {
         try {
@@ -0,0 +1,240 @@
+//============================================================================
+//
+// Copyright (C) 2006-2023 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// %InstallDIR%\features\org.talend.rcp.branding.%PRODUCTNAME%\%PRODUCTNAME%license.txt
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+//============================================================================
+package org.talend.components.jdbc.runtime.schemainfer;
+
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.avro.Schema;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.talend.components.common.config.jdbc.Dbms;
+
+/**
+ * The columns and primary keys of all the tables of a database schema, read with one {@link DatabaseMetaData#getColumns}
+ * call for the whole schema instead of one call by table.
+ *
+ * The primary keys are read with one {@link DatabaseMetaData#getPrimaryKeys} call for the whole schema too, when the driver
+ * accepts a null table name, else table by table. A snapshot is not modified after its load and can be shared.
+ */
+public class CatalogSnapshot {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CatalogSnapshot.class);
+
+    private final String catalog;
+
+    private final String dbSchema;
+
+    private final long loadTime;
+
+    private final Map<String, Table> tables;
+
+    private CatalogSnapshot(String catalog, String dbSchema, long loadTime, Map<String, Table> tables) {
+        this.catalog = catalog;
+        this.dbSchema = dbSchema;
+        this.loadTime = loadTime;
+        this.tables = Collections.unmodifiableMap(tables);
+    }
+
+    /**
+     * @param databaseMetaData the metadata of the database connection.
+     * @param catalog the catalog to read, or null.
+     * @param dbSchema the database schema to read, or null.
+     * @return the snapshot of the tables of the catalog and database schema.
+     */
+    public static CatalogSnapshot load(DatabaseMetaData databaseMetaData, String catalog, String dbSchema) throws SQLException {
+        Map<String, Table> tables = new LinkedHashMap<>();
+        try (ResultSet metadata = databaseMetaData.getColumns(catalog, dbSchema, "%", "%")) {
+            while (metadata.next()) {
+                String tablename = metadata.getString("TABLE_NAME");
+                Table table = tables.get(tablename);
+                if (table == null) {
+                    table = new Table(tablename);
+                    tables.put(tablename, table);
+                }
+                table.columns.add(Column.read(metadata));
+            }
+        }
+
+        loadPrimaryKeys(databaseMetaData, catalog, dbSchema, tables);
+
+        LOG.debug("Loaded the metadata of {} tables for the catalog '{}' and the schema '{}'", tables.size(), catalog,
+                dbSchema);
+        return new CatalogSnapshot(catalog, dbSchema, System.currentTimeMillis(), tables);
+    }
+
+    private static void loadPrimaryKeys(DatabaseMetaData databaseMetaData, String catalog, String dbSchema,
+            Map<String, Table> tables) throws SQLException {
+        if (tables.isEmpty()) {
+            return;
+        }
+
+        // the oracle driver compares the table name with =, a null table name doesn't match any table
+        String productName = databaseMetaData.getDatabaseProductName();
+        if (productName == null || !productName.toLowerCase().contains("oracle")) {
+            try (ResultSet resultSet = databaseMetaData.getPrimaryKeys(catalog, dbSchema, null)) {
+                if (resultSet != null) {
+                    while (resultSet.next()) {
+                        Table table = tables.get(resultSet.getString("TABLE_NAME"));
+                        if (table != null) {
+                            table.keys.add(resultSet.getString("COLUMN_NAME"));
+                        }
+                    }
+                }
+                return;
+            } catch (SQLException e) {
+                LOG.debug("The primary keys can't be read for the whole schema, read them table by table: {}", e.getMessage());
+                for (Table table : tables.values()) {
+                    table.keys.clear();
+                }
+            }
+        }
+
+        for (Table table : tables.values()) {
+            try (ResultSet resultSet = databaseMetaData.getPrimaryKeys(catalog, dbSchema, table.name)) {
+                if (resultSet != null) {
+                    while (resultSet.next()) {
+                        table.keys.add(resultSet.getString("COLUMN_NAME"));
+                    }
+                }
+            }
+        }
+    }
+
+    public String getCatalog() {
+        return catalog;
+    }
+
+    public String getDbSchema() {
+        return dbSchema;
+    }
+
+    /**
+     * @return the time of the load, in milliseconds.
+     */
+    public long getLoadTime() {
+        return loadTime;
+    }
+
+    /**
+     * @return the names of the tables, in the order of the metadata.
+     */
+    public Set<String> getTableNames() {
+        return tables.keySet();
+    }
+
+    /**
+     * @param tablename the name of the table, as stored by the database.
+     * @return a new schema of the table, or null if the table is not in the snapshot.
+     */
+    public Schema inferSchema(String tablename, Dbms mapping, boolean enableSpecialTableName) {
+        Table table = tables.get(tablename);
+        if (table == null) {
+            return null;
+        }
+        return SchemaInferer.infer(table.name, table.columns, table.keys, mapping, enableSpecialTableName);
+    }
+
+    private static class Table {
+
+        private final String name;
+
+        private final List<Column> columns = new ArrayList<>();
+
+        private final Set<String> keys = new HashSet<>();
+
+        private Table(String name) {
+            this.name = name;
+        }
+    }
+
+    /**
+     * A column, as described by a row of {@link DatabaseMetaData#getColumns}.
+     */
+    static class Column {
+
+        private final String name;
+
+        private final int size;
+
+        private final int scale;
+
+        private final int dbType;
+
+        private final boolean nullable;
+
+        private final String defaultValue;
+
+        private final String typeName;
+
+        private Column(String name, int size, int scale, int dbType, boolean nullable, String defaultValue, String typeName) {
+            this.name = name;
+            this.size = size;
+            this.scale = scale;
+            this.dbType = dbType;
+            this.nullable = nullable;
+            this.defaultValue = defaultValue;
+            this.typeName = typeName;
+        }
+
+        /**
+         * @param metadata a result set of {@link DatabaseMetaData#getColumns}, on the row to read.
+         */
+        static Column read(ResultSet metadata) throws SQLException {
+            int size = metadata.getInt("COLUMN_SIZE");
+            int scale = metadata.getInt("DECIMAL_DIGITS");
+            int dbtype = metadata.getInt("DATA_TYPE");
+            boolean nullable = DatabaseMetaData.columnNullable == metadata.getInt("NULLABLE");
+            String columnName = metadata.getString("COLUMN_NAME");
+            String defaultValue = metadata.getString("COLUMN_DEF");
+            String columnTypeName = metadata.getString("TYPE_NAME");
+            return new Column(columnName, size, scale, dbtype, nullable, defaultValue, columnTypeName);
+        }
+
+        String getName() {
+            return name;
+        }
+
+        int getSize() {
+            return size;
+        }
+
+        int getScale() {
+            return scale;
+        }
+
+        int getDbType() {
+            return dbType;
+        }
+
+        boolean isNullable() {
+            return nullable;
+        }
+
+        String getDefaultValue() {
+            return defaultValue;
+        }
+
+        String getTypeName() {
+            return typeName;
+        }
+    }
+}
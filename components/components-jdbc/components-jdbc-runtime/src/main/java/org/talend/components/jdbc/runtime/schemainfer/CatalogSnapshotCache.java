@@ -0,0 +1,125 @@
+//============================================================================
+//
+// Copyright (C) 2006-2023 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// %InstallDIR%\features\org.talend.rcp.branding.%PRODUCTNAME%\%PRODUCTNAME%license.txt
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+//============================================================================
+package org.talend.components.jdbc.runtime.schemainfer;
+
+import java.sql.DatabaseMetaData;
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The {@link CatalogSnapshot}s of the process, by JDBC url, user, catalog and database schema.
+ *
+ * A snapshot is loaded again when it is older than the time to live, so that the tables created or altered since are
+ * seen after a while. The expired snapshots of all the keys are evicted on each access, and at most the max snapshots
+ * are kept, the least recently used being evicted first.
+ */
+public class CatalogSnapshotCache {
+
+    /** The default time to live of the snapshots, in milliseconds. */
+    public static final long DEFAULT_TTL_MILLIS = 60 * 1000L;
+
+    /** The default maximum number of snapshots kept. */
+    public static final int DEFAULT_MAX_SNAPSHOTS = 32;
+
+    private static final CatalogSnapshotCache INSTANCE = new CatalogSnapshotCache(DEFAULT_TTL_MILLIS);
+
+    private final long ttlMillis;
+
+    private final Map<String, CatalogSnapshot> snapshots;
+
+    public CatalogSnapshotCache(long ttlMillis) {
+        this(ttlMillis, DEFAULT_MAX_SNAPSHOTS);
+    }
+
+    public CatalogSnapshotCache(long ttlMillis, final int maxSnapshots) {
+        this.ttlMillis = ttlMillis;
+        this.snapshots = new LinkedHashMap<String, CatalogSnapshot>(16, 0.75f, true) {
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CatalogSnapshot> eldest) {
+                return size() > maxSnapshots;
+            }
+        };
+    }
+
+    public static CatalogSnapshotCache get() {
+        return INSTANCE;
+    }
+
+    /**
+     * @param databaseMetaData the metadata of the connection, used when the snapshot has to be loaded.
+     * @return the snapshot of the catalog and database schema, loaded again if it is expired.
+     */
+    public CatalogSnapshot getSnapshot(DatabaseMetaData databaseMetaData, String jdbcUrl, String username, String catalog,
+            String dbSchema) throws SQLException {
+        String key = jdbcUrl + '\u0000' + username + '\u0000' + catalog + '\u0000' + dbSchema;
+        CatalogSnapshot snapshot;
+        synchronized (snapshots) {
+            evictExpired();
+            snapshot = snapshots.get(key);
+        }
+        if (snapshot == null) {
+            // the snapshot is loaded out of the lock, a concurrent load of the same key only costs a second load
+            snapshot = CatalogSnapshot.load(databaseMetaData, catalog, dbSchema);
+            synchronized (snapshots) {
+                snapshots.put(key, snapshot);
+            }
+        }
+        return snapshot;
+    }
+
+    private void evictExpired() {
+        long now = System.currentTimeMillis();
+        Iterator<CatalogSnapshot> it = snapshots.values().iterator();
+        while (it.hasNext()) {
+            if (now - it.next().getLoadTime() >= ttlMillis) {
+                it.remove();
+            }
+        }
+    }
+
+    /**
+     * Forget the snapshots of a database and user, so that the next schemas are read from fresh metadata.
+     */
+    public void invalidate(String jdbcUrl, String username) {
+        String prefix = jdbcUrl + '\u0000' + username + '\u0000';
+        synchronized (snapshots) {
+            Iterator<String> it = snapshots.keySet().iterator();
+            while (it.hasNext()) {
+                if (it.next().startsWith(prefix)) {
+                    it.remove();
+                }
+            }
+        }
+    }
+
+    /**
+     * Forget all the snapshots, for example after a change of the tables.
+     */
+    public void clear() {
+        synchronized (snapshots) {
+            snapshots.clear();
+        }
+    }
+
+    /**
+     * @return the number of snapshots kept, expired or not.
+     */
+    public int size() {
+        synchronized (snapshots) {
+            return snapshots.size();
+        }
+    }
+}
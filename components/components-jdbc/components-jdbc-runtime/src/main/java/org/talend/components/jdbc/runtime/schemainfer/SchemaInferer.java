@@ -79,44 +79,51 @@ public class SchemaInferer {
         Set<String> keys = getPrimaryKeys(databaseMetdata, tableMetadata.getCatalog(), tableMetadata.getDbSchema(),
                 tableMetadata.getTablename());
 
-        Set<String> existNames = new HashSet<String>();
-        int index = 0;
-        
         try (ResultSet metadata = databaseMetdata.getColumns(tableMetadata.getCatalog(), tableMetadata.getDbSchema(),
                 tableMetadata.getTablename(), null)) {
             if (!metadata.next()) {
                 return null;
             }
 
-            List<Field> fields = new ArrayList<>();
+            List<CatalogSnapshot.Column> columns = new ArrayList<>();
             String tablename = metadata.getString("TABLE_NAME");
 
             do {
-                int size = metadata.getInt("COLUMN_SIZE");
-                int scale = metadata.getInt("DECIMAL_DIGITS");
-                int dbtype = metadata.getInt("DATA_TYPE");
-                boolean nullable = DatabaseMetaData.columnNullable == metadata.getInt("NULLABLE");
-
-                String columnName = metadata.getString("COLUMN_NAME");
-                boolean isKey = keys.contains(columnName);
-
-                String defaultValue = metadata.getString("COLUMN_DEF");
-                
-                String columnTypeName = metadata.getString("TYPE_NAME");
-                
-                String validName = NameUtil.correct(columnName, index++, existNames);
-                existNames.add(validName);
-
-                Field field = sqlType2Avro(size, scale, dbtype, nullable, validName, columnName, defaultValue, isKey, mapping,
-                        columnTypeName);
-                if(enableSpecialTableName && !validName.equals(columnName)){
-                    field.addProp(ENABLE_SPECIAL_TABLENAME,"true");
-                }
-                fields.add(field);
+                columns.add(CatalogSnapshot.Column.read(metadata));
             } while (metadata.next());
 
-            return Schema.createRecord(NameUtil.correct(tablename, 0, new HashSet<String>()), null, null, false, fields);
+            return infer(tablename, columns, keys, mapping, enableSpecialTableName);
+        }
+    }
+
+    /**
+     * @param tablename the name of the table.
+     * @param columns the columns of the table, as read from {@link DatabaseMetaData#getColumns}.
+     * @param keys the names of the primary key columns.
+     * @return the schema of the table.
+     */
+    static Schema infer(String tablename, List<CatalogSnapshot.Column> columns, Set<String> keys, Dbms mapping,
+            boolean enableSpecialTableName) {
+        Set<String> existNames = new HashSet<String>();
+        int index = 0;
+
+        List<Field> fields = new ArrayList<>();
+        for (CatalogSnapshot.Column column : columns) {
+            String columnName = column.getName();
+            boolean isKey = keys.contains(columnName);
+
+            String validName = NameUtil.correct(columnName, index++, existNames);
+            existNames.add(validName);
+
+            Field field = sqlType2Avro(column.getSize(), column.getScale(), column.getDbType(), column.isNullable(), validName,
+                    columnName, column.getDefaultValue(), isKey, mapping, column.getTypeName());
+            if(enableSpecialTableName && !validName.equals(columnName)){
+                field.addProp(ENABLE_SPECIAL_TABLENAME,"true");
+            }
+            fields.add(field);
         }
+
+        return Schema.createRecord(NameUtil.correct(tablename, 0, new HashSet<String>()), null, null, false, fields);
     }
 
     private static Set<String> getPrimaryKeys(DatabaseMetaData databaseMetdata, String catalogName, String schemaName,
@@ -169,7 +176,7 @@ public class SchemaInferer {
     
     private static Field sqlType2Avro(int size, int scale, int dbtype, boolean nullable, String name, String dbColumnName,
             Object defaultValue, boolean isKey, Dbms mapping, String columnTypeName) {
-        MappingType<DbmsType, TalendType> mt = mapping.getDbmsMapping(columnTypeName);
+        MappingType<DbmsType, TalendType> mt = mapping.findDbmsMapping(columnTypeName);
         
         Field field = null;
         boolean isIgnoreLength = false;
@@ -13,6 +13,7 @@
 package org.talend.components.jdbc.runtime.writer;
 
 import java.io.IOException;
+import java.sql.BatchUpdateException;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
@@ -102,6 +103,15 @@ public class JDBCRowWriter implements WriterWithFeedback<Result, IndexedRecord,
 
     private Schema rejectSchema;
 
+    private boolean useBatch;
+
+    private int batchSize;
+
+    /**
+     * the records added to the current batch of the prepared statement, in the order of the batch
+     */
+    private final List<BatchedRecord> batchedRecords = new ArrayList<>();
+
     private Boolean useQueryTimeout;
 
     private Integer queryTimeout;
@@ -142,6 +152,13 @@ public class JDBCRowWriter implements WriterWithFeedback<Result, IndexedRecord,
             usePreparedStatement = setting.getUsePreparedStatement();
             sql = setting.getSql();
 
+            // a query is never batched as each record has to propagate its own result set
+            useBatch = usePreparedStatement && !propagateQueryResultSet && setting.getUseBatch();
+            if (useBatch) {
+                Integer batchSizeNumber = setting.getBatchSize();
+                batchSize = (batchSizeNumber == null || batchSizeNumber < 1) ? 1 : batchSizeNumber;
+            }
+
             if (usePreparedStatement) {
                 LOG.debug("Prepared statement: "+setting.getSql());
                 prepared_statement = conn.prepareStatement(sql);
@@ -169,6 +186,25 @@ public class JDBCRowWriter implements WriterWithFeedback<Result, IndexedRecord,
         //TODO low performance, but need to reset it by row level
         setting = sink.properties.getRuntimeSetting();
         LOG.debug("Adding the record {} to the INSERT batch.",result.totalCount);
+        if (useBatch) {
+            addBatch(input);
+        } else {
+            execute(input);
+        }
+
+        try {
+            executeCommit();
+        } catch (SQLException e) {
+            if (dieOnError) {
+                throw CommonUtils.newComponentException(e);
+            } else {
+                LOG.warn(e.getMessage());
+            }
+        }
+
+    }
+
+    private void execute(IndexedRecord input) throws IOException {
         try {
             if (usePreparedStatement) {
                 LOG.debug("Prepared statement: "+setting.getSql());
@@ -200,23 +236,115 @@ public class JDBCRowWriter implements WriterWithFeedback<Result, IndexedRecord,
                 System.err.println(e.getMessage());
             }
 
-            handleReject(input, e);
+            handleReject(input, e, result.totalCount);
         }
+    }
 
+    private void addBatch(IndexedRecord input) throws IOException {
+        BatchedRecord record = new BatchedRecord(input, result.totalCount, setting);
         try {
-            executeCommit();
+            LOG.debug("Prepared statement: "+setting.getSql());
+            record.bind(prepared_statement);
+            prepared_statement.addBatch();
         } catch (SQLException e) {
             if (dieOnError) {
                 throw CommonUtils.newComponentException(e);
             } else {
                 LOG.warn(e.getMessage());
+                System.err.println(e.getMessage());
             }
+
+            handleReject(input, e, record.line);
+            return;
         }
 
+        batchedRecords.add(record);
+        if (batchedRecords.size() >= batchSize) {
+            executeBatch();
+        }
     }
 
+    /**
+     * Execute the current batch in one round trip, then dispatch every batched record to the success or the reject flow
+     * with the update counts of the batch.
+     *
+     * Some drivers stop at the first failed record of a batch : the update counts only cover the records before it, so it
+     * is rejected and the records after it are executed again in a new batch.
+     */
+    private void executeBatch() throws IOException {
+        List<BatchedRecord> records = new ArrayList<>(batchedRecords);
+        batchedRecords.clear();
+
+        while (!records.isEmpty()) {
+            int[] updateCounts;
+            BatchUpdateException failure = null;
+            try {
+                LOG.debug("Executing the batch of {} records.", records.size());
+                updateCounts = prepared_statement.executeBatch();
+            } catch (BatchUpdateException e) {
+                if (dieOnError) {
+                    throw CommonUtils.newComponentException(e);
+                }
+                LOG.warn(e.getMessage());
+                System.err.println(e.getMessage());
+
+                failure = e;
+                updateCounts = e.getUpdateCounts() == null ? new int[0] : e.getUpdateCounts();
+            } catch (SQLException e) {
+                if (dieOnError) {
+                    throw CommonUtils.newComponentException(e);
+                }
+                LOG.warn(e.getMessage());
+                System.err.println(e.getMessage());
+
+                for (BatchedRecord record : records) {
+                    handleReject(record.input, e, record.line);
+                }
+                return;
+            }
+
+            int executed = Math.min(updateCounts.length, records.size());
+            for (int i = 0; i < executed; i++) {
+                BatchedRecord record = records.get(i);
+                if (updateCounts[i] == Statement.EXECUTE_FAILED && failure != null) {
+                    handleReject(record.input, failure, record.line);
+                } else {
+                    handleSuccess(record.input);
+                }
+            }
+
+            if (failure == null || executed == records.size()) {
+                return;
+            }
+
+            BatchedRecord failed = records.get(executed);
+            handleReject(failed.input, failure, failed.line);
+
+            records = new ArrayList<>(records.subList(executed + 1, records.size()));
+            try {
+                prepared_statement.clearBatch();
+                for (BatchedRecord record : records) {
+                    record.bind(prepared_statement);
+                    prepared_statement.addBatch();
+                }
+            } catch (SQLException e) {
+                throw CommonUtils.newComponentException(e);
+            }
+        }
+    }
+
+    /**
+     * The last batch is executed when the writer is closed. Its successful and rejected records are kept after the close,
+     * so that the caller reads them as the feedback of the close, the feedback of the last write was read before.
+     */
     @Override
     public Result close() throws IOException {
+        // execute the batch to make everything is passed to the server side before release the resource
+        if (useBatch && !batchedRecords.isEmpty()) {
+            cleanWrites();
+            executeBatch();
+        }
+
         closeStatementQuietly(prepared_statement);
         prepared_statement = null;
 
@@ -317,7 +445,7 @@ public class JDBCRowWriter implements WriterWithFeedback<Result, IndexedRecord,
         successfulWrites.add(output);
     }
 
-    private void handleReject(IndexedRecord input, SQLException e) throws IOException {
+    private void handleReject(IndexedRecord input, SQLException e, int line) throws IOException {
         rejectCount++;
 
         IndexedRecord reject = new GenericData.Record(rejectSchema);
@@ -331,7 +459,7 @@ public class JDBCRowWriter implements WriterWithFeedback<Result, IndexedRecord,
             } else if ("errorCode".equals(outField.name())) {
                 outValue = e.getSQLState();
             } else if ("errorMessage".equals(outField.name())) {
-                outValue = e.getMessage() + " - Line: " + result.totalCount;
+                outValue = e.getMessage() + " - Line: " + line;
             }
 
             reject.put(outField.pos(), outValue);
@@ -340,12 +468,16 @@ public class JDBCRowWriter implements WriterWithFeedback<Result, IndexedRecord,
         rejectedWrites.add(reject);
     }
 
-    private void executeCommit() throws SQLException {
+    private void executeCommit() throws SQLException, IOException {
         if (useCommit) {
             if (commitCount < commitEvery) {
                 commitCount++;
             } else {
                 commitCount = 0;
+                // execute the batch to make everything is passed to the server side before commit something
+                if (useBatch && !batchedRecords.isEmpty()) {
+                    executeBatch();
+                }
                 LOG.debug("Committing the transaction.");
                 conn.commit();
             }
@@ -362,6 +494,34 @@ public class JDBCRowWriter implements WriterWithFeedback<Result, IndexedRecord,
         }
     }
 
+    /**
+     * a record waiting in the batch, with the parameters bound for it so that it can be added again to a new batch
+     */
+    private static class BatchedRecord {
+
+        private final IndexedRecord input;
+
+        private final int line;
+
+        private final List<Integer> indexs;
+
+        private final List<String> types;
+
+        private final List<Object> values;
+
+        private BatchedRecord(IndexedRecord input, int line, AllSetting setting) {
+            this.input = input;
+            this.line = line;
+            this.indexs = new ArrayList<>(setting.getIndexs());
+            this.types = new ArrayList<>(setting.getTypes());
+            this.values = new ArrayList<>(setting.getValues());
+        }
+
+        private void bind(PreparedStatement statement) throws SQLException {
+            JdbcRuntimeUtils.setPreparedStatement(statement, indexs, types, values);
+        }
+    }
+
     private void constructResult() {
         /*
         if (runtime != null) {
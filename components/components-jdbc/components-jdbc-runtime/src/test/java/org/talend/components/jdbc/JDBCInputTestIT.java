@@ -14,6 +14,8 @@ package org.talend.components.jdbc;
 
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
 import java.io.IOException;
@@ -36,6 +38,7 @@ import org.junit.Before;
 import org.junit.BeforeClass;
 import org.junit.Test;
 import org.talend.components.api.component.ComponentDefinition;
+import org.talend.components.api.component.runtime.BoundedReader;
 import org.talend.components.api.component.runtime.Reader;
 import org.talend.components.api.container.DefaultComponentRuntimeContainerImpl;
 import org.talend.components.api.container.RuntimeContainer;
@@ -295,6 +298,110 @@ public class JDBCInputTestIT {
 
     }
     
+    @Test
+    public void testReaderSplitAtFraction() throws IOException {
+        TJDBCInputDefinition definition = new TJDBCInputDefinition();
+        TJDBCInputProperties properties = DBTestUtils.createCommonJDBCInputProperties(allSetting, definition);
+
+        properties.main.schema.setValue(DBTestUtils.createTestSchema(tablename));
+        properties.tableSelection.tablename.setValue(tablename);
+        properties.sql.setValue("select * from " + tablename + " order by ID");
+
+        JDBCSource source = DBTestUtils.createCommonJDBCSource(properties);
+
+        // the size of the query result is unknown, so no progress and no split
+        BoundedReader reader = source.createReader(null);
+        assertTrue(reader.start());
+        assertNull(reader.getFractionConsumed());
+        assertNull(reader.splitAtFraction(0.5));
+        reader.close();
+
+        reader = source.withRowRange(0, 3).createReader(null);
+        assertEquals(0.0, reader.getFractionConsumed(), 0.0);
+        assertTrue(reader.start());
+        assertEquals(1, ((IndexedRecord) reader.getCurrent()).get(0));
+
+        JDBCSource residual = (JDBCSource) reader.splitAtFraction(0.5);
+        assertEquals(2, residual.getStartRow());
+        assertEquals(3, residual.getEndRow());
+        assertEquals(2, ((JDBCSource) reader.getCurrentSource()).getEndRow());
+        // the first row can't be given away anymore
+        assertNull(reader.splitAtFraction(0.1));
+
+        assertTrue(reader.advance());
+        assertEquals(2, ((IndexedRecord) reader.getCurrent()).get(0));
+        assertFalse(reader.advance());
+        assertEquals(1.0, reader.getFractionConsumed(), 0.0);
+        reader.close();
+
+        BoundedReader residualReader = residual.createReader(null);
+        assertTrue(residualReader.start());
+        assertEquals(3, ((IndexedRecord) residualReader.getCurrent()).get(0));
+        assertFalse(residualReader.advance());
+        residualReader.close();
+    }
+
+    @Test
+    public void testSplitIntoBundlesCountsOrderedQuery() throws Exception {
+        TJDBCInputDefinition definition = new TJDBCInputDefinition();
+        TJDBCInputProperties properties = DBTestUtils.createCommonJDBCInputProperties(allSetting, definition);
+
+        properties.main.schema.setValue(DBTestUtils.createTestSchema(tablename));
+        properties.tableSelection.tablename.setValue(tablename);
+        properties.sql.setValue("select * from " + tablename + " order by ID");
+
+        JDBCSource source = (JDBCSource) DBTestUtils.createCommonJDBCSource(properties).splitIntoBundles(0, null).get(0);
+        assertEquals(0, source.getStartRow());
+        assertEquals(3, source.getEndRow());
+        assertTrue(source.isReadToEnd());
+
+        BoundedReader reader = source.createReader(null);
+        assertTrue(reader.start());
+        assertEquals(1.0 / 3, reader.getFractionConsumed(), 0.0);
+        JDBCSource residual = (JDBCSource) reader.splitAtFraction(0.5);
+        assertEquals(2, residual.getStartRow());
+        assertEquals(3, residual.getEndRow());
+        // the rows added after the count are read by the residual, the primary stops at the split
+        assertTrue(residual.isReadToEnd());
+        assertFalse(((JDBCSource) reader.getCurrentSource()).isReadToEnd());
+        assertTrue(reader.advance());
+        assertFalse(reader.advance());
+        reader.close();
+
+        // a source reading to the end goes on after its end row
+        reader = source.withRowRange(0, 2, true).createReader(null);
+        int count = 0;
+        for (boolean available = reader.start(); available; available = reader.advance()) {
+            count++;
+        }
+        assertEquals(3, count);
+        assertEquals(1.0, reader.getFractionConsumed(), 0.0);
+        reader.close();
+    }
+
+    @Test
+    public void testUnorderedQueryIsNotSplit() throws Exception {
+        TJDBCInputDefinition definition = new TJDBCInputDefinition();
+        TJDBCInputProperties properties = DBTestUtils.createCommonJDBCInputProperties(allSetting, definition);
+
+        properties.main.schema.setValue(DBTestUtils.createTestSchema(tablename));
+        properties.tableSelection.tablename.setValue(tablename);
+        properties.sql.setValue("select * from " + tablename);
+
+        JDBCSource source = DBTestUtils.createCommonJDBCSource(properties);
+        JDBCSource bundle = (JDBCSource) source.splitIntoBundles(0, null).get(0);
+        assertEquals(-1, bundle.getEndRow());
+        assertFalse(bundle.isReadToEnd());
+
+        // the rows of an unordered query can't be identified by their position
+        try {
+            source.withRowRange(0, 3);
+            Assert.fail("the source of an unordered query can't be ranged");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+    }
+
     @SuppressWarnings({ "rawtypes", "unchecked" })
     @Test
     public void testTrimAll() {
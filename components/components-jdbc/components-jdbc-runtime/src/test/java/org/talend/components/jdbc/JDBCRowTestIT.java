@@ -33,6 +33,7 @@ import org.junit.Before;
 import org.junit.BeforeClass;
 import org.junit.Test;
 import org.talend.components.api.component.runtime.Reader;
+import org.talend.components.api.component.runtime.Result;
 import org.talend.components.api.component.runtime.WriteOperation;
 import org.talend.components.api.exception.ComponentException;
 import org.talend.components.api.exception.DataRejectException;
@@ -471,6 +472,170 @@ public class JDBCRowTestIT {
         }
     }
 
+    @SuppressWarnings("rawtypes")
+    @Test
+    public void test_batch_as_output() throws Exception {
+        TJDBCRowDefinition definition = new TJDBCRowDefinition();
+        TJDBCRowProperties properties = DBTestUtils.createCommonJDBCRowProperties(allSetting, definition);
+
+        Schema schema = DBTestUtils.createTestSchema(tablename);
+        properties.main.schema.setValue(schema);
+        properties.updateOutputSchemas();
+
+        properties.tableSelection.tablename.setValue(tablename);
+        properties.sql.setValue("insert into " + tablename + " values(?,?)");
+        properties.dieOnError.setValue(true);
+        properties.commitEvery.setValue(10000);
+
+        properties.usePreparedStatement.setValue(true);
+        properties.preparedStatementTable.indexs.setValue(Arrays.asList(1, 2));
+        properties.preparedStatementTable.types
+                .setValue(Arrays.asList(PreparedStatementTable.Type.Int.name(), PreparedStatementTable.Type.String.name()));
+
+        properties.useBatch.setValue(true);
+        properties.batchSize.setValue(2);
+
+        JDBCRowSink sink = new JDBCRowSink();
+
+        sink.initialize(null, properties);
+        ValidationResult result = sink.validate(null);
+        Assert.assertTrue(result.getStatus() == ValidationResult.Result.OK);
+
+        WriteOperation operation = sink.createWriteOperation();
+        JDBCRowWriter writer = (JDBCRowWriter) operation.createWriter(null);
+
+        Result writeResult;
+        try {
+            writer.open("wid");
+
+            for (int id = 4; id <= 8; id++) {
+                properties.preparedStatementTable.values.setValue(Arrays.<Object> asList(id, "name" + id));
+
+                IndexedRecord r = new GenericData.Record(properties.main.schema.getValue());
+                r.put(0, id);
+                r.put(1, "name" + id);
+                writer.write(r);
+
+                // the records only reach the database, and the flow, once the batch is full
+                assertThat(writer.getRejectedWrites(), empty());
+                List<IndexedRecord> successes = writer.getSuccessfulWrites();
+                assertThat(successes, hasSize(id % 2 == 1 ? 2 : 0));
+                if (id % 2 == 1) {
+                    Assert.assertEquals(id - 1, successes.get(0).get(0));
+                    Assert.assertEquals("name" + (id - 1), successes.get(0).get(1));
+                    Assert.assertEquals(id, successes.get(1).get(0));
+                    Assert.assertEquals("name" + id, successes.get(1).get(1));
+                }
+                writer.cleanWrites();
+            }
+
+            writeResult = writer.close();
+
+            // the last batch is still open when closing, its feedback is kept after the close
+            assertThat(writer.getRejectedWrites(), empty());
+            List<IndexedRecord> successes = writer.getSuccessfulWrites();
+            assertThat(successes, hasSize(1));
+            Assert.assertEquals(8, successes.get(0).get(0));
+            Assert.assertEquals("name8", successes.get(0).get(1));
+        } finally {
+            writer.close();
+        }
+
+        Assert.assertEquals(5, writeResult.getTotalCount());
+        Assert.assertEquals(5, writeResult.getSuccessCount());
+        Assert.assertEquals(0, writeResult.getRejectCount());
+
+        TJDBCInputDefinition definition1 = new TJDBCInputDefinition();
+        TJDBCInputProperties properties1 = DBTestUtils.createCommonJDBCInputProperties(allSetting, definition1);
+        List<IndexedRecord> records = DBTestUtils.fetchDataByReaderFromTable(tablename, schema, definition1,
+                properties1);
+
+        assertThat(records, hasSize(8));
+        for (int id = 4; id <= 8; id++) {
+            Assert.assertEquals(new Integer(id), records.get(id - 1).get(0));
+            Assert.assertEquals("name" + id, records.get(id - 1).get(1));
+        }
+    }
+
+    @SuppressWarnings("rawtypes")
+    @Test
+    public void test_batch_reject_as_output() throws Exception {
+        TJDBCRowDefinition definition = new TJDBCRowDefinition();
+        TJDBCRowProperties properties = DBTestUtils.createCommonJDBCRowProperties(allSetting, definition);
+
+        Schema schema = DBTestUtils.createTestSchema(tablename);
+        properties.main.schema.setValue(schema);
+        properties.updateOutputSchemas();
+
+        properties.tableSelection.tablename.setValue(tablename);
+        properties.sql.setValue("insert into " + tablename + " values(?,?)");
+        properties.dieOnError.setValue(false);
+        properties.commitEvery.setValue(10000);
+
+        properties.usePreparedStatement.setValue(true);
+        properties.preparedStatementTable.indexs.setValue(Arrays.asList(1, 2));
+        properties.preparedStatementTable.types
+                .setValue(Arrays.asList(PreparedStatementTable.Type.Int.name(), PreparedStatementTable.Type.String.name()));
+
+        properties.useBatch.setValue(true);
+        properties.batchSize.setValue(3);
+
+        JDBCRowSink sink = new JDBCRowSink();
+
+        sink.initialize(null, properties);
+        ValidationResult result = sink.validate(null);
+        Assert.assertTrue(result.getStatus() == ValidationResult.Result.OK);
+
+        WriteOperation operation = sink.createWriteOperation();
+        JDBCRowWriter writer = (JDBCRowWriter) operation.createWriter(null);
+
+        Result writeResult;
+        try {
+            writer.open("wid");
+
+            String[] names = { "xiaoming", "a too long value", "xiaobai" };
+            for (int i = 0; i < names.length; i++) {
+                properties.preparedStatementTable.values.setValue(Arrays.<Object> asList(4 + i, names[i]));
+
+                IndexedRecord r = new GenericData.Record(properties.main.schema.getValue());
+                r.put(0, 4 + i);
+                r.put(1, names[i]);
+                writer.write(r);
+            }
+
+            // the record failing in the batch is rejected, the other ones are written
+            List<IndexedRecord> rejects = writer.getRejectedWrites();
+            assertThat(rejects, hasSize(1));
+            IndexedRecord reject = rejects.get(0);
+            Assert.assertEquals(5, reject.get(0));
+            Assert.assertEquals("a too long value", reject.get(1));
+            Assert.assertNotNull(reject.get(2));
+            Assert.assertTrue(((String) reject.get(3)).endsWith(" - Line: 2"));
+
+            List<IndexedRecord> successes = writer.getSuccessfulWrites();
+            assertThat(successes, hasSize(2));
+            Assert.assertEquals(4, successes.get(0).get(0));
+            Assert.assertEquals(6, successes.get(1).get(0));
+
+            writer.cleanWrites();
+            writeResult = writer.close();
+        } finally {
+            writer.close();
+        }
+
+        Assert.assertEquals(2, writeResult.getSuccessCount());
+        Assert.assertEquals(1, writeResult.getRejectCount());
+
+        TJDBCInputDefinition definition1 = new TJDBCInputDefinition();
+        TJDBCInputProperties properties1 = DBTestUtils.createCommonJDBCInputProperties(allSetting, definition1);
+        List<IndexedRecord> records = DBTestUtils.fetchDataByReaderFromTable(tablename, schema, definition1,
+                properties1);
+
+        assertThat(records, hasSize(5));
+        Assert.assertEquals(new Integer(4), records.get(3).get(0));
+        Assert.assertEquals(new Integer(6), records.get(4).get(0));
+    }
+
     @SuppressWarnings("rawtypes")
     @Test
     public void test_die_on_error_as_output() throws Exception {
@@ -131,6 +131,37 @@ public class JDBCDatasetTestIT {
         getSampleAction(dataset);
     }
 
+    @Test
+    public void testGetSampleFromTableIsLimited() {
+        JDBCDatasetProperties dataset = createDatasetProperties(false, tablename);
+        dataset.sourceType.setValue(JDBCDatasetProperties.SourceType.TABLE_NAME);
+        dataset.tableName.setValue(tablename);
+
+        Assert.assertEquals(2, getSampleCount(dataset, 2));
+    }
+
+    @Test
+    public void testGetSampleFromQueryIsLimited() {
+        JDBCDatasetProperties dataset = createDatasetProperties(false, tablename);
+
+        Assert.assertEquals(2, getSampleCount(dataset, 2));
+        Assert.assertEquals(3, getSampleCount(dataset, 10));
+    }
+
+    private int getSampleCount(JDBCDatasetProperties dataset, int limit) {
+        JDBCDatasetRuntime runtime = new JDBCDatasetRuntime();
+        runtime.initialize(null, dataset);
+        final int[] count = new int[1];
+        runtime.getSample(limit, new Consumer<IndexedRecord>() {
+
+            @Override
+            public void accept(IndexedRecord data) {
+                count[0]++;
+            }
+        });
+        return count[0];
+    }
+
     @Test
     public void testDoHealthChecks() {
         JDBCDatasetProperties dataset = createDatasetProperties(true, tablename);
@@ -0,0 +1,295 @@
+//============================================================================
+//
+// Copyright (C) 2006-2023 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// %InstallDIR%\features\org.talend.rcp.branding.%PRODUCTNAME%\%PRODUCTNAME%license.txt
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+//============================================================================
+package org.talend.components.jdbc.runtime;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.avro.Schema;
+import org.apache.avro.SchemaBuilder;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.IndexedRecord;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.talend.components.api.component.ConnectorTopology;
+import org.talend.components.api.component.runtime.ExecutionEngine;
+import org.talend.components.api.component.runtime.Result;
+import org.talend.components.api.exception.ComponentException;
+import org.talend.components.jdbc.runtime.bulk.BulkLoader;
+import org.talend.components.jdbc.runtime.setting.AllSetting;
+import org.talend.components.jdbc.tjdbcbulkexec.TJDBCBulkExecProperties;
+import org.talend.components.jdbc.tjdbcoutputbulk.TJDBCOutputBulkDefinition;
+import org.talend.components.jdbc.tjdbcoutputbulk.TJDBCOutputBulkProperties;
+import org.talend.components.jdbc.tjdbcoutputbulkexec.TJDBCOutputBulkExecProperties;
+import org.talend.daikon.properties.ValidationResult;
+
+public class JDBCBulkStreamWriterTest {
+
+    private static final Schema SCHEMA = SchemaBuilder.record("row").fields().requiredInt("id").optionalString("name")
+            .endRecord();
+
+    private JDBCBulkStreamRuntime sink;
+
+    private Connection connection;
+
+    @Before
+    public void setUp() throws Exception {
+        TJDBCOutputBulkProperties properties = new TJDBCOutputBulkProperties("properties");
+        properties.init();
+        properties.connection.jdbcUrl.setValue("jdbc:somedb://localhost/test");
+        properties.connection.driverClass.setValue("java.lang.Object");
+        properties.tableSelection.tablename.setValue("TEST");
+        properties.main.schema.setValue(SCHEMA);
+        properties.rowSeparator.setValue("\n");
+        properties.fieldSeparator.setValue(";");
+        properties.setNullValue.setValue(true);
+        properties.nullValue.setValue("NULL");
+        properties.streamBulkLoad.setValue(true);
+
+        connection = Mockito.mock(Connection.class);
+        sink = Mockito.spy(JDBCBulkStreamRuntime.class);
+        Mockito.doReturn(connection).when(sink).connect(Mockito.any());
+        sink.initialize(null, properties);
+    }
+
+    private JDBCBulkStreamWriter createWriter(final BulkLoader loader) {
+        return new JDBCBulkStreamWriter(new JDBCBulkStreamWriteOperation(sink), sink, null) {
+
+            @Override
+            protected BulkLoader createBulkLoader() {
+                return loader;
+            }
+        };
+    }
+
+    private static IndexedRecord createRecord(int id, String name) {
+        IndexedRecord record = new GenericData.Record(SCHEMA);
+        record.put(0, id);
+        record.put(1, name);
+        return record;
+    }
+
+    @Test
+    public void testStreamRecords() throws Exception {
+        final List<String> loadedRows = new ArrayList<>();
+        JDBCBulkStreamWriter writer = createWriter(new BulkLoader() {
+
+            @Override
+            public long load(Connection conn, AllSetting setting, InputStream data) throws SQLException {
+                try (BufferedReader reader = new BufferedReader(new InputStreamReader(data, StandardCharsets.UTF_8))) {
+                    String line;
+                    while ((line = reader.readLine()) != null) {
+                        loadedRows.add(line);
+                    }
+                } catch (IOException e) {
+                    throw new SQLException(e);
+                }
+                return loadedRows.size();
+            }
+        });
+
+        writer.open("wid");
+        for (int i = 0; i < 10000; i++) {
+            writer.write(createRecord(i, i % 100 == 0 ? null : "name" + i));
+        }
+        Result result = writer.close();
+
+        Assert.assertEquals(10000, result.getTotalCount());
+        Assert.assertEquals(10000, loadedRows.size());
+        Assert.assertEquals("0;NULL", loadedRows.get(0));
+        Assert.assertEquals("9999;name9999", loadedRows.get(9999));
+        Mockito.verify(connection).close();
+    }
+
+    @Test
+    public void testLoadFailure() throws Exception {
+        JDBCBulkStreamWriter writer = createWriter(new BulkLoader() {
+
+            @Override
+            public long load(Connection conn, AllSetting setting, InputStream data) throws SQLException {
+                throw new SQLException("table TEST doesn't exist");
+            }
+        });
+
+        writer.open("wid");
+        try {
+            // the pipe is bigger than these records, so the failure can only be seen when the writer is closed
+            for (int i = 0; i < 100; i++) {
+                writer.write(createRecord(i, "name" + i));
+            }
+            writer.close();
+            Assert.fail("the failure of the load should be reported");
+        } catch (ComponentException e) {
+            Assert.assertTrue(e.getCause() instanceof SQLException);
+            Assert.assertEquals("table TEST doesn't exist", e.getCause().getMessage());
+        }
+        Mockito.verify(connection).close();
+    }
+
+    /**
+     * COPY reads the streamed data as CSV whatever the text enclosure of the component, the values with separators, new
+     * lines, quotes or backslashes are kept.
+     */
+    @Test
+    public void testStreamSpecialCharsToPostgreSQL() throws Exception {
+        sink.setting.setJdbcUrl("jdbc:postgresql://localhost/test");
+        final BulkLoader postgreSQL = BulkLoader.forSetting(sink.setting);
+        Assert.assertNotNull(postgreSQL);
+        final ByteArrayOutputStream loaded = new ByteArrayOutputStream();
+        final List<AllSetting> loadSettings = new ArrayList<>();
+        JDBCBulkStreamWriter writer = createWriter(new BulkLoader() {
+
+            @Override
+            public void prepare(AllSetting setting) {
+                postgreSQL.prepare(setting);
+            }
+
+            @Override
+            public long load(Connection conn, AllSetting setting, InputStream data) throws SQLException {
+                loadSettings.add(setting);
+                try {
+                    byte[] buffer = new byte[1024];
+                    int read;
+                    while ((read = data.read(buffer)) >= 0) {
+                        loaded.write(buffer, 0, read);
+                    }
+                } catch (IOException e) {
+                    throw new SQLException(e);
+                }
+                return -1;
+            }
+        });
+
+        List<String> names = Arrays.asList("tab\there", "new\nline", "back\\slash\\", "\\N", "semi;colon",
+                "\"quoted\"", "", null, "NULL", "carriage\r\nreturn");
+        writer.open("wid");
+        for (int i = 0; i < names.size(); i++) {
+            writer.write(createRecord(i, names.get(i)));
+        }
+        writer.close();
+
+        AllSetting setting = loadSettings.get(0);
+        Assert.assertTrue(setting.setTextEnclosure);
+        Assert.assertEquals("\"", setting.textEnclosure);
+        Assert.assertEquals("\"", setting.escapeChar);
+
+        List<List<String>> rows = parseCopyCsv(new String(loaded.toByteArray(), StandardCharsets.UTF_8), ';', '"', "NULL");
+        Assert.assertEquals(names.size(), rows.size());
+        for (int i = 0; i < names.size(); i++) {
+            Assert.assertEquals(Arrays.asList(String.valueOf(i), names.get(i)), rows.get(i));
+        }
+    }
+
+    /**
+     * Reads the data as COPY FROM STDIN WITH (FORMAT csv) does, with the escape char equal to the quote char.
+     */
+    private static List<List<String>> parseCopyCsv(String data, char delimiter, char quote, String nullValue) {
+        List<List<String>> rows = new ArrayList<>();
+        List<String> row = new ArrayList<>();
+        StringBuilder value = new StringBuilder();
+        boolean quoted = false;
+        boolean inQuotes = false;
+        for (int i = 0; i < data.length(); i++) {
+            char c = data.charAt(i);
+            if (inQuotes) {
+                if (c != quote) {
+                    value.append(c);
+                } else if (i + 1 < data.length() && data.charAt(i + 1) == quote) {
+                    value.append(quote);
+                    i++;
+                } else {
+                    inQuotes = false;
+                }
+            } else if (c == quote) {
+                inQuotes = true;
+                quoted = true;
+            } else if (c == delimiter || c == '\n') {
+                // only the unquoted values may be null
+                row.add(!quoted && value.toString().equals(nullValue) ? null : value.toString());
+                value.setLength(0);
+                quoted = false;
+                if (c == '\n') {
+                    rows.add(row);
+                    row = new ArrayList<>();
+                }
+            } else {
+                value.append(c);
+            }
+        }
+        Assert.assertFalse("the data must end with a row separator", inQuotes || value.length() > 0 || !row.isEmpty());
+        return rows;
+    }
+
+    /**
+     * tJDBCOutputBulkExec is virtual, the streaming goes through the runtime of its input part and its output part has
+     * nothing left to load.
+     */
+    @Test
+    public void testStreamThroughTheVirtualComponentParts() throws Exception {
+        TJDBCOutputBulkExecProperties properties = new TJDBCOutputBulkExecProperties("properties");
+        properties.init();
+        properties.connection.jdbcUrl.setValue("jdbc:postgresql://localhost/test");
+        properties.connection.driverClass.setValue("java.lang.Object");
+        properties.tableSelection.tablename.setValue("TEST");
+        properties.main.schema.setValue(SCHEMA);
+        properties.bulkFilePath.setValue("/tmp/bulk.csv");
+
+        TJDBCOutputBulkProperties inputProperties = (TJDBCOutputBulkProperties) properties.getInputComponentProperties();
+        Assert.assertEquals(JDBCBulkFileRuntime.class.getName(), new TJDBCOutputBulkDefinition()
+                .getRuntimeInfo(ExecutionEngine.DI, inputProperties, ConnectorTopology.INCOMING).getRuntimeClassName());
+
+        properties.streamBulkLoad.setValue(true);
+        inputProperties = (TJDBCOutputBulkProperties) properties.getInputComponentProperties();
+        Assert.assertEquals(JDBCBulkStreamRuntime.class.getName(), new TJDBCOutputBulkDefinition()
+                .getRuntimeInfo(ExecutionEngine.DI, inputProperties, ConnectorTopology.INCOMING).getRuntimeClassName());
+        AllSetting inputSetting = inputProperties.getRuntimeSetting();
+        Assert.assertEquals("jdbc:postgresql://localhost/test", inputSetting.getJdbcUrl());
+        Assert.assertEquals("TEST", inputSetting.getTablename());
+        Assert.assertEquals("/tmp/bulk.csv", inputSetting.bulkFile);
+
+        TJDBCBulkExecProperties outputProperties = (TJDBCBulkExecProperties) properties.getOutputComponentProperties();
+        Assert.assertTrue(outputProperties.getRuntimeSetting().streamBulkLoad);
+        // no connection is opened, the records are already in the table
+        JDBCBulkExecRuntime bulkExec = Mockito.spy(JDBCBulkExecRuntime.class);
+        bulkExec.initialize(null, outputProperties);
+        Assert.assertEquals(ValidationResult.Result.OK, bulkExec.validate(null).getStatus());
+        Mockito.verify(bulkExec, Mockito.never()).connect(Mockito.any());
+    }
+
+    @Test
+    public void testBulkLoaderForSetting() {
+        AllSetting setting = sink.setting;
+        Assert.assertNull(BulkLoader.forSetting(setting));
+
+        setting.setJdbcUrl("jdbc:mysql://localhost/test");
+        Assert.assertNotNull(BulkLoader.forSetting(setting));
+
+        setting.setJdbcUrl("jdbc:postgresql://localhost/test");
+        Assert.assertNotNull(BulkLoader.forSetting(setting));
+
+        // COPY only knows the new line as row separator
+        setting.rowSeparator = "|";
+        Assert.assertNull(BulkLoader.forSetting(setting));
+    }
+}
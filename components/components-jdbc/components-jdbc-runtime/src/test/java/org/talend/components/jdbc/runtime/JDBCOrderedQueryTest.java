@@ -0,0 +1,56 @@
+//============================================================================
+//
+// Copyright (C) 2006-2023 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// %InstallDIR%\features\org.talend.rcp.branding.%PRODUCTNAME%\%PRODUCTNAME%license.txt
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+//============================================================================
+package org.talend.components.jdbc.runtime;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class JDBCOrderedQueryTest {
+
+    @Test
+    public void testOrdered() {
+        assertTrue(JDBCOrderedQuery.isOrdered("select * from T order by ID"));
+        assertTrue(JDBCOrderedQuery.isOrdered("SELECT A, B FROM T WHERE A > 1 ORDER\n BY A DESC, B"));
+        assertTrue(JDBCOrderedQuery.isOrdered("select * from (select * from T order by A) S order by ID"));
+        assertTrue(JDBCOrderedQuery.isOrdered("select a from T union select a from U order by a"));
+    }
+
+    @Test
+    public void testNotOrdered() {
+        assertFalse(JDBCOrderedQuery.isOrdered(null));
+        assertFalse(JDBCOrderedQuery.isOrdered("select * from T"));
+        // the sort of a sub query doesn't order the result
+        assertFalse(JDBCOrderedQuery.isOrdered("select * from (select * from T order by ID) S"));
+        // in literals, identifiers or comments
+        assertFalse(JDBCOrderedQuery.isOrdered("select * from T where A = 'x order by y'"));
+        assertFalse(JDBCOrderedQuery.isOrdered("select \"order by\" from T"));
+        assertFalse(JDBCOrderedQuery.isOrdered("select * from T -- order by ID"));
+        assertFalse(JDBCOrderedQuery.isOrdered("select * from T /* order by ID */"));
+        assertFalse(JDBCOrderedQuery.isOrdered("select sort_order by_x from T"));
+        // the rows are limited after the sort
+        assertFalse(JDBCOrderedQuery.isOrdered("select * from T order by ID limit 10"));
+        assertFalse(JDBCOrderedQuery.isOrdered("select * from T order by ID offset 5 rows fetch next 10 rows only"));
+        assertFalse(JDBCOrderedQuery.isOrdered("select * from T order by ID for update"));
+    }
+
+    @Test
+    public void testForCount() {
+        assertEquals("select count(*) from (select * from T where A = 'it''s') tcomp_count",
+                JDBCOrderedQuery.forCount("select * from T where A = 'it''s' order by ID"));
+        assertNull(JDBCOrderedQuery.forCount("select * from T"));
+    }
+}
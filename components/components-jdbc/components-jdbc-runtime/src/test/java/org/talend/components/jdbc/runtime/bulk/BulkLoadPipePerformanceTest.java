@@ -0,0 +1,98 @@
+//============================================================================
+//
+// Copyright (C) 2006-2023 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// %InstallDIR%\features\org.talend.rcp.branding.%PRODUCTNAME%\%PRODUCTNAME%license.txt
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+//============================================================================
+package org.talend.components.jdbc.runtime.bulk;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.databene.contiperf.PerfTest;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.talend.components.api.test.performance.ContiPerfRuleAdaptor;
+
+/**
+ * Compare the throughput of the bulk data streamed through the pipe with the bulk data written to a file then read back.
+ */
+public class BulkLoadPipePerformanceTest {
+
+    private static final int ROWS = 200000;
+
+    private static final byte[] ROW = "123456;some name;2017-01-01 10:00:00;12.5\n".getBytes(StandardCharsets.UTF_8);
+
+    @Rule
+    public ContiPerfRuleAdaptor perfAdaptor = new ContiPerfRuleAdaptor();
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private static void writeRows(OutputStream out) throws IOException {
+        for (int i = 0; i < ROWS; i++) {
+            out.write(ROW);
+        }
+        out.close();
+    }
+
+    private static long consume(InputStream in) throws IOException {
+        long count = 0;
+        byte[] buffer = new byte[8192];
+        int n;
+        while ((n = in.read(buffer)) != -1) {
+            count += n;
+        }
+        in.close();
+        return count;
+    }
+
+    @Test
+    @PerfTest(invocations = 10, threads = 1)
+    public void testPipe() throws Exception {
+        final BulkLoadPipe pipe = new BulkLoadPipe();
+        final long[] consumed = new long[1];
+        Thread consumer = new Thread(new Runnable() {
+
+            @Override
+            public void run() {
+                try {
+                    consumed[0] = consume(pipe.getInputStream());
+                } catch (IOException e) {
+                    pipe.fail(e);
+                }
+            }
+        });
+        consumer.start();
+
+        writeRows(pipe.getOutputStream());
+        consumer.join();
+
+        Assert.assertEquals((long) ROWS * ROW.length, consumed[0]);
+    }
+
+    @Test
+    @PerfTest(invocations = 10, threads = 1)
+    public void testFile() throws Exception {
+        File file = folder.newFile();
+
+        writeRows(new BufferedOutputStream(new FileOutputStream(file)));
+
+        Assert.assertEquals((long) ROWS * ROW.length, consume(new FileInputStream(file)));
+        file.delete();
+    }
+}
@@ -0,0 +1,150 @@
+//============================================================================
+//
+// Copyright (C) 2006-2023 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// %InstallDIR%\features\org.talend.rcp.branding.%PRODUCTNAME%\%PRODUCTNAME%license.txt
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+//============================================================================
+package org.talend.components.jdbc.runtime.bulk;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class BulkLoadPipeTest {
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    private Future<Void> produce(final BulkLoadPipe pipe, final byte[] data) {
+        return executor.submit(new Callable<Void>() {
+
+            @Override
+            public Void call() throws Exception {
+                OutputStream out = pipe.getOutputStream();
+                // mix single bytes and arrays crossing the chunks
+                for (int i = 0; i < data.length;) {
+                    if (i % 3 == 0) {
+                        out.write(data[i++]);
+                    } else {
+                        int len = Math.min(7, data.length - i);
+                        out.write(data, i, len);
+                        i += len;
+                    }
+                }
+                out.close();
+                return null;
+            }
+        });
+    }
+
+    private static byte[] readAll(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[5];
+        int n;
+        while ((n = in.read(buffer)) != -1) {
+            out.write(buffer, 0, n);
+        }
+        return out.toByteArray();
+    }
+
+    @Test
+    public void testTransfer() throws Exception {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            sb.append(i).append(";name").append(i).append('\n');
+        }
+        byte[] data = sb.toString().getBytes(StandardCharsets.UTF_8);
+
+        BulkLoadPipe pipe = new BulkLoadPipe(16, 2);
+        Future<Void> producer = produce(pipe, data);
+
+        Assert.assertArrayEquals(data, readAll(pipe.getInputStream()));
+        Assert.assertEquals(-1, pipe.getInputStream().read());
+        producer.get(10, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void testProducerIsBlockedByTheConsumer() throws Exception {
+        BulkLoadPipe pipe = new BulkLoadPipe(16, 2);
+        Future<Void> producer = produce(pipe, new byte[16 * 10]);
+
+        try {
+            producer.get(300, TimeUnit.MILLISECONDS);
+            Assert.fail("the producer should wait for the consumer");
+        } catch (TimeoutException e) {
+            // expected, the pipe is full
+        }
+
+        Assert.assertEquals(16 * 10, readAll(pipe.getInputStream()).length);
+        producer.get(10, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void testConsumerFailureStopsTheProducer() throws Exception {
+        BulkLoadPipe pipe = new BulkLoadPipe(16, 2);
+        Future<Void> producer = produce(pipe, new byte[16 * 10]);
+
+        pipe.getInputStream().read();
+        pipe.fail(new IllegalStateException("load failed"));
+
+        try {
+            producer.get(10, TimeUnit.SECONDS);
+            Assert.fail("the producer should fail");
+        } catch (ExecutionException e) {
+            Assert.assertTrue(e.getCause() instanceof IOException);
+            Assert.assertEquals("load failed", e.getCause().getCause().getMessage());
+        }
+    }
+
+    @Test
+    public void testProducerFailureStopsTheConsumer() throws Exception {
+        BulkLoadPipe pipe = new BulkLoadPipe(16, 2);
+        pipe.getOutputStream().write(new byte[20]);
+        pipe.fail(new IllegalStateException("write failed"));
+
+        try {
+            readAll(pipe.getInputStream());
+            Assert.fail("the consumer should fail");
+        } catch (IOException e) {
+            Assert.assertEquals("write failed", e.getCause().getMessage());
+        }
+    }
+
+    @Test
+    public void testConsumerClosedBeforeTheEnd() throws Exception {
+        BulkLoadPipe pipe = new BulkLoadPipe(16, 2);
+        Future<Void> producer = produce(pipe, new byte[16 * 10]);
+
+        pipe.getInputStream().close();
+
+        try {
+            producer.get(10, TimeUnit.SECONDS);
+            Assert.fail("the producer should fail");
+        } catch (ExecutionException e) {
+            Assert.assertTrue(e.getCause() instanceof IOException);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+//============================================================================
+//
+// Copyright (C) 2006-2023 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// %InstallDIR%\features\org.talend.rcp.branding.%PRODUCTNAME%\%PRODUCTNAME%license.txt
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+//============================================================================
+package org.talend.components.jdbc.runtime.dataprep;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import org.junit.Test;
+
+public class JDBCSampleQueryTest {
+
+    @Test
+    public void testLimit() {
+        assertEquals("select * from T limit 5", JDBCSampleQuery.forTable("jdbc:mysql://localhost:3306/db", "T", 5));
+        assertEquals("select * from T limit 5", JDBCSampleQuery.forTable("jdbc:postgresql://localhost/db", "T", 5));
+        assertEquals("select * from T limit 5", JDBCSampleQuery.forTable("jdbc:h2:mem:test", "T", 5));
+    }
+
+    @Test
+    public void testFetchFirst() {
+        assertEquals("select * from T fetch first 5 rows only", JDBCSampleQuery.forTable("jdbc:derby:memory:db", "T", 5));
+        assertEquals("select * from T fetch first 5 rows only", JDBCSampleQuery.forTable("JDBC:DB2://host:50000/db", "T", 5));
+    }
+
+    @Test
+    public void testRownum() {
+        assertEquals("select * from T where rownum <= 5",
+                JDBCSampleQuery.forTable("jdbc:oracle:thin:@localhost:1521:xe", "T", 5));
+    }
+
+    @Test
+    public void testTop() {
+        assertEquals("select top 5 * from T", JDBCSampleQuery.forTable("jdbc:sqlserver://localhost;databaseName=db", "T", 5));
+    }
+
+    @Test
+    public void testNoRewrite() {
+        assertNull(JDBCSampleQuery.forTable("jdbc:unknown://localhost", "T", 5));
+        assertNull(JDBCSampleQuery.forTable(null, "T", 5));
+        assertNull(JDBCSampleQuery.forTable("jdbc:mysql://localhost:3306/db", "", 5));
+        assertNull(JDBCSampleQuery.forTable("jdbc:mysql://localhost:3306/db", "T", 0));
+    }
+}
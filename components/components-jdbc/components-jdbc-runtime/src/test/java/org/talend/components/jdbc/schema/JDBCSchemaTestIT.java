@@ -13,9 +13,14 @@
 package org.talend.components.jdbc.schema;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.List;
 
 import org.apache.avro.Schema;
@@ -25,10 +30,16 @@ import org.junit.BeforeClass;
 import org.junit.Test;
 import org.talend.components.api.container.DefaultComponentRuntimeContainerImpl;
 import org.talend.components.api.container.RuntimeContainer;
+import org.talend.components.common.avro.JDBCTableMetadata;
+import org.talend.components.common.config.jdbc.Dbms;
+import org.talend.components.jdbc.CommonUtils;
 import org.talend.components.jdbc.ComponentConstants;
 import org.talend.components.jdbc.common.DBTestUtils;
 import org.talend.components.jdbc.runtime.JDBCSource;
 import org.talend.components.jdbc.runtime.JdbcRuntimeUtils;
+import org.talend.components.jdbc.runtime.schemainfer.CatalogSnapshot;
+import org.talend.components.jdbc.runtime.schemainfer.CatalogSnapshotCache;
+import org.talend.components.jdbc.runtime.schemainfer.SchemaInferer;
 import org.talend.components.jdbc.runtime.setting.AllSetting;
 import org.talend.components.jdbc.tjdbcinput.TJDBCInputDefinition;
 import org.talend.components.jdbc.tjdbcinput.TJDBCInputProperties;
@@ -40,6 +51,8 @@ public class JDBCSchemaTestIT {
     public static AllSetting allSetting;
 
     private static final String tablename = "JDBCSCHEMA";
+
+    private static final String tablename_with_key = "JDBCSCHEMAKEY";
     
     @BeforeClass
     public static void beforeClass() throws Exception {
@@ -47,6 +60,10 @@ public class JDBCSchemaTestIT {
 
         try (Connection conn = JdbcRuntimeUtils.createConnection(allSetting)) {
           DBTestUtils.createTableWithSpecialName(conn,tablename);
+          try (Statement statement = conn.createStatement()) {
+              statement.execute("create table " + tablename_with_key
+                      + " (ID int not null primary key, NAME varchar(8) default 'none', AMOUNT decimal(10,2))");
+          }
         }
     }
 
@@ -54,6 +71,7 @@ public class JDBCSchemaTestIT {
     public static void afterClass() throws ClassNotFoundException, SQLException {
         try (Connection conn = JdbcRuntimeUtils.createConnection(allSetting)) {
             DBTestUtils.dropTestTable(conn, tablename);
+            DBTestUtils.dropTestTable(conn, tablename_with_key);
         } finally {
             DBTestUtils.shutdownDBIfNecessary();
         }
@@ -86,4 +104,62 @@ public class JDBCSchemaTestIT {
         DBTestUtils.testMetadata4SpecialName(columns);
     }
 
+    @Test
+    public void testCatalogSnapshotSchemaIsTheSameAsTableSchema() throws Exception {
+        java.net.URL mappings_url = DBTestUtils.correctURL(this.getClass().getResource("/mappings"));
+        Dbms mapping = CommonUtils.getMapping(mappings_url, allSetting, null, null);
+
+        try (Connection conn = JdbcRuntimeUtils.createConnection(allSetting)) {
+            CatalogSnapshot snapshot = CatalogSnapshot.load(conn.getMetaData(), conn.getCatalog(), conn.getSchema());
+            assertTrue(snapshot.getTableNames().contains(tablename_with_key));
+            assertNull(snapshot.inferSchema("NOT_A_TABLE", mapping, false));
+
+            for (String table : new String[] { tablename, tablename_with_key }) {
+                JDBCTableMetadata tableMetadata = new JDBCTableMetadata();
+                tableMetadata.setDatabaseMetaData(conn.getMetaData()).setTablename(table);
+                Schema expected = SchemaInferer.infer(tableMetadata, mapping, true);
+
+                assertEquals(expected.toString(), snapshot.inferSchema(table, mapping, true).toString());
+            }
+
+            Schema schema = snapshot.inferSchema(tablename_with_key, mapping, false);
+            assertEquals("true", schema.getField("ID").getProp(SchemaConstants.TALEND_COLUMN_IS_KEY));
+            assertNull(schema.getField("NAME").getProp(SchemaConstants.TALEND_COLUMN_IS_KEY));
+        }
+    }
+
+    @Test
+    public void testCatalogSnapshotCache() throws Exception {
+        try (Connection conn = JdbcRuntimeUtils.createConnection(allSetting)) {
+            String url = allSetting.getJdbcUrl();
+            String user = allSetting.getUsername();
+
+            CatalogSnapshotCache cache = new CatalogSnapshotCache(CatalogSnapshotCache.DEFAULT_TTL_MILLIS);
+            CatalogSnapshot snapshot = cache.getSnapshot(conn.getMetaData(), url, user, null, conn.getSchema());
+            assertSame(snapshot, cache.getSnapshot(conn.getMetaData(), url, user, null, conn.getSchema()));
+
+            cache.invalidate(url, user);
+            assertNotSame(snapshot, cache.getSnapshot(conn.getMetaData(), url, user, null, conn.getSchema()));
+
+            CatalogSnapshotCache expiredCache = new CatalogSnapshotCache(0);
+            snapshot = expiredCache.getSnapshot(conn.getMetaData(), url, user, null, conn.getSchema());
+            assertNotSame(snapshot, expiredCache.getSnapshot(conn.getMetaData(), url, user, null, conn.getSchema()));
+            assertEquals(1, expiredCache.size());
+
+            // the expired snapshots of the other keys are evicted too
+            CatalogSnapshotCache shortCache = new CatalogSnapshotCache(50);
+            shortCache.getSnapshot(conn.getMetaData(), url, user, null, conn.getSchema());
+            Thread.sleep(100);
+            shortCache.getSnapshot(conn.getMetaData(), url, "other", null, conn.getSchema());
+            assertEquals(1, shortCache.size());
+
+            // the least recently used snapshot is evicted
+            CatalogSnapshotCache boundedCache = new CatalogSnapshotCache(CatalogSnapshotCache.DEFAULT_TTL_MILLIS, 1);
+            snapshot = boundedCache.getSnapshot(conn.getMetaData(), url, user, null, conn.getSchema());
+            boundedCache.getSnapshot(conn.getMetaData(), url, "other", null, conn.getSchema());
+            assertEquals(1, boundedCache.size());
+            assertNotSame(snapshot, boundedCache.getSnapshot(conn.getMetaData(), url, user, null, conn.getSchema()));
+        }
+    }
+
 }
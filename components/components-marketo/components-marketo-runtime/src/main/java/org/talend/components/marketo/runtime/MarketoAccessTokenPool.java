@@ -12,33 +12,143 @@
 //============================================================================
 package org.talend.components.marketo.runtime;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
+import org.talend.components.common.oauth.RefreshAheadToken;
+import org.talend.components.marketo.runtime.client.type.MarketoException;
+
+import static org.talend.components.marketo.MarketoConstants.API_REST;
+
+/**
+ * The access tokens of the REST API, shared by the clients of the same connection.
+ *
+ * A token is kept until it expires, according to the <code>expires_in</code> value of the identity response. It is not
+ * refreshed before : the identity call gives the same token until it expires, with the remaining lifetime. When there
+ * is no valid token, the callers asking at the same time wait for one identity call instead of sending their own, and a
+ * token rejected by the API is invalidated by the client.
+ */
 public class MarketoAccessTokenPool {
 
     private static MarketoAccessTokenPool ourInstance = new MarketoAccessTokenPool();
 
-    private Map<Integer, String> tokens;
+    private final ConcurrentMap<Integer, RefreshAheadToken<String>> tokens = new ConcurrentHashMap<>();
 
     public static MarketoAccessTokenPool getInstance() {
         return ourInstance;
     }
 
-    private MarketoAccessTokenPool() {
-        tokens = new HashMap<>();
+    MarketoAccessTokenPool() {
+    }
+
+    /**
+     * The identity call giving a new token.
+     */
+    public interface TokenRequest {
+
+        AccessToken requestToken() throws MarketoException;
+    }
+
+    /**
+     * A token given by the identity call.
+     */
+    public static class AccessToken {
+
+        private final String value;
+
+        private final long expiresIn;
+
+        /**
+         * @param value the token.
+         * @param expiresIn the number of seconds before the expiration of the token, or a negative value when it is
+         * unknown.
+         */
+        public AccessToken(String value, long expiresIn) {
+            this.value = value;
+            this.expiresIn = expiresIn;
+        }
+
+        public String getValue() {
+            return value;
+        }
+
+        public long getExpiresIn() {
+            return expiresIn;
+        }
+    }
+
+    /**
+     * @param connectionHash the identity of the connection.
+     * @param request the identity call giving a new token.
+     * @return a valid token for the connection, from the pool or from the identity call.
+     */
+    public String getToken(Integer connectionHash, final TokenRequest request) throws MarketoException {
+        try {
+            return getEntry(connectionHash).get(currentTimeMillis(),
+                    new RefreshAheadToken.Refresh<String, MarketoException>() {
+
+                        @Override
+                        public RefreshAheadToken.Token<String> refresh() throws MarketoException {
+                            long requestTime = currentTimeMillis();
+                            return toPooledToken(request.requestToken(), requestTime);
+                        }
+                    });
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MarketoException(API_REST, "Interrupted while waiting for the access token", e);
+        }
     }
 
+    /**
+     * Remove the token of the connection, for example when the token was rejected by the API.
+     */
     public void invalidateToken(Integer connectionHash) {
-        tokens.remove(connectionHash);
+        RefreshAheadToken<String> entry = tokens.get(connectionHash);
+        if (entry != null) {
+            entry.invalidate();
+        }
     }
 
+    /**
+     * Set a token without expiration, it is kept until it is invalidated.
+     */
     public void setToken(Integer connectionHash, String token) {
-        tokens.put(connectionHash, token);
+        setToken(connectionHash, new AccessToken(token, -1));
+    }
+
+    public void setToken(Integer connectionHash, AccessToken token) {
+        getEntry(connectionHash).set(toPooledToken(token, currentTimeMillis()));
     }
 
+    /**
+     * @return the valid token of the connection, or null if there is none.
+     */
     public String getToken(Integer connectionHash) {
-        return tokens.get(connectionHash);
+        RefreshAheadToken<String> entry = tokens.get(connectionHash);
+        return entry != null ? entry.getValid(currentTimeMillis()) : null;
     }
 
+    protected long currentTimeMillis() {
+        return System.currentTimeMillis();
+    }
+
+    private RefreshAheadToken<String> getEntry(Integer connectionHash) {
+        RefreshAheadToken<String> entry = tokens.get(connectionHash);
+        if (entry == null) {
+            RefreshAheadToken<String> newEntry = new RefreshAheadToken<>();
+            entry = tokens.putIfAbsent(connectionHash, newEntry);
+            if (entry == null) {
+                entry = newEntry;
+            }
+        }
+        return entry;
+    }
+
+    private RefreshAheadToken.Token<String> toPooledToken(AccessToken token, long requestTime) {
+        if (token.getExpiresIn() < 0) {
+            return new RefreshAheadToken.Token<>(token.getValue(), Long.MAX_VALUE, Long.MAX_VALUE);
+        }
+        long expirationTime = requestTime + token.getExpiresIn() * 1000;
+        return new RefreshAheadToken.Token<>(token.getValue(), expirationTime, expirationTime);
+    }
 }
@@ -17,6 +17,7 @@ import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.OutputStreamWriter;
 import java.io.Reader;
+import java.net.HttpURLConnection;
 import java.net.ProtocolException;
 import java.net.SocketException;
 import java.net.SocketTimeoutException;
@@ -82,6 +83,8 @@ public abstract class MarketoBaseRESTClient extends MarketoClient {
 
     public static final String FIELD_ACCESS_TOKEN = "access_token";
 
+    public static final String FIELD_EXPIRES_IN = "expires_in";
+
     public static final String FIELD_ACTION = "action";
 
     public static final String FIELD_BATCH_SIZE = "batchSize";
@@ -138,6 +141,14 @@ public abstract class MarketoBaseRESTClient extends MarketoClient {
 
     private final Integer connectionHash;
 
+    private final MarketoAccessTokenPool.TokenRequest tokenRequest = new MarketoAccessTokenPool.TokenRequest() {
+
+        @Override
+        public MarketoAccessTokenPool.AccessToken requestToken() throws MarketoException {
+            return requestAccessToken();
+        }
+    };
+
     private Map<Integer, String> supportedActivities;
 
     protected StringBuilder current_uri;
@@ -173,32 +184,46 @@ public abstract class MarketoBaseRESTClient extends MarketoClient {
     }
 
     public void getToken() throws MarketoException {
-        String token = MarketoAccessTokenPool.getInstance().getToken(connectionHash);
-        if (token != null) {
-            LOG.debug("[getToken] got token from MarketoAccessTokenPool.");
-            accessToken = token;
-            return;
+        accessToken = MarketoAccessTokenPool.getInstance().getToken(connectionHash, tokenRequest);
+    }
+
+    /**
+     * @return the access token of the client, refreshed through the pool when it is about to expire.
+     */
+    protected String getAccessToken() {
+        if (accessToken != null) {
+            try {
+                getToken();
+            } catch (MarketoException e) {
+                // the current token is used, an expired token is renewed when the API rejects it
+                LOG.warn("AccessToken refresh error: {}.", e.getMessage());
+            }
         }
+        return accessToken;
+    }
+
+    private MarketoAccessTokenPool.AccessToken requestAccessToken() throws MarketoException {
         try {
             URL basicURI = new URL(endpoint);
-            current_uri = new StringBuilder(basicURI.getProtocol())//
+            StringBuilder identityUri = new StringBuilder(basicURI.getProtocol())//
                     .append("://")//
-                    .append(basicURI.getHost())//
+                    .append(basicURI.getAuthority())//
                     .append(API_PATH_IDENTITY_OAUTH_TOKEN)//
                     .append(fmtParams("client_id", userId))//
                     .append(fmtParams("client_secret", secretKey));
-            URL url = new URL(current_uri.toString());
-            HttpsURLConnection urlConn = (HttpsURLConnection) url.openConnection();
+            URL url = new URL(identityUri.toString());
+            HttpURLConnection urlConn = (HttpURLConnection) url.openConnection();
             urlConn.setRequestMethod("GET");
             urlConn.setRequestProperty(REQUEST_PROPERTY_ACCEPT, REQUEST_VALUE_APPLICATION_JSON);
 
             Reader reader = getReaderFromHttpResponse(urlConn);
             LinkedTreeMap js = (LinkedTreeMap) new Gson().fromJson(reader, Object.class);
-            Object ac = js.get("access_token");
+            Object ac = js.get(FIELD_ACCESS_TOKEN);
             if (ac != null) {
-                accessToken = ac.toString();
-                MarketoAccessTokenPool.getInstance().setToken(connectionHash, accessToken);
+                Object expiresIn = js.get(FIELD_EXPIRES_IN);
                 LOG.debug("[getToken] got token from successful API call.");
+                return new MarketoAccessTokenPool.AccessToken(ac.toString(),
+                        expiresIn != null ? Double.valueOf(expiresIn.toString()).longValue() : -1);
             } else {
                 LinkedTreeMap err = (LinkedTreeMap) ((ArrayList) js.get(FIELD_ERRORS)).get(0);
                 throw new MarketoException(REST, err.get("code").toString(), err.get("message").toString());
@@ -318,7 +343,7 @@ public abstract class MarketoBaseRESTClient extends MarketoClient {
     public String getPageToken(String sinceDatetime) throws MarketoException {
         current_uri = new StringBuilder(basicPath)//
                 .append(API_PATH_PAGINGTOKEN)//
-                .append(fmtParams(FIELD_ACCESS_TOKEN, accessToken, true))//
+                .append(fmtParams(FIELD_ACCESS_TOKEN, getAccessToken(), true))//
                 .append(fmtParams(FIELD_SINCE_DATETIME, sinceDatetime));
         LeadResult getResponse = (LeadResult) executeGetRequest(LeadResult.class);
         String error = String.format("[getPageToken] Undefined endpoint error while getting page token %s.",
@@ -419,7 +444,7 @@ public abstract class MarketoBaseRESTClient extends MarketoClient {
         return mkr;
     }
 
-    protected InputStreamReader getReaderFromHttpResponse(HttpsURLConnection conn) throws MarketoException, IOException {
+    protected InputStreamReader getReaderFromHttpResponse(HttpURLConnection conn) throws MarketoException, IOException {
         int responseCode = conn.getResponseCode();
         if (responseCode == 200) {
             InputStream inStream = conn.getInputStream();
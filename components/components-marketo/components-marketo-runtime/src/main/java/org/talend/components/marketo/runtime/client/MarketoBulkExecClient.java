@@ -140,7 +140,7 @@ public class MarketoBulkExecClient extends MarketoCustomObjectClient {
                 current_uri.append(String.format(API_PATH_BULK_CUSTOMOBJECTS_RESULT, bulk.getObjectApiName(), bulk.getBatchId(),
                         URI_FAILURES));
             }
-            current_uri.append(fmtParams(FIELD_ACCESS_TOKEN, accessToken, true));
+            current_uri.append(fmtParams(FIELD_ACCESS_TOKEN, getAccessToken(), true));
             LOG.debug("failures = {}.", current_uri);
             logFile = Paths.get(Paths.get(downloadPath).toString(), bulk.getFailuresOrWarningsFilename(false)).toString();
             bulk.setFailuresLogFile(logFile);
@@ -154,7 +154,7 @@ public class MarketoBulkExecClient extends MarketoCustomObjectClient {
                 current_uri.append(String.format(API_PATH_BULK_CUSTOMOBJECTS_RESULT, bulk.getObjectApiName(), bulk.getBatchId(),
                         URI_WARNINGS));
             }
-            current_uri.append(fmtParams(FIELD_ACCESS_TOKEN, accessToken, true));
+            current_uri.append(fmtParams(FIELD_ACCESS_TOKEN, getAccessToken(), true));
             LOG.debug("warnings = {}.", current_uri);
             logFile = Paths.get(Paths.get(downloadPath).toString(), bulk.getFailuresOrWarningsFilename(true)).toString();
             bulk.setWarningsLogFile(logFile);
@@ -192,7 +192,7 @@ public class MarketoBulkExecClient extends MarketoCustomObjectClient {
             listId = parameters.listId.getValue();
             partitionName = parameters.partitionName.getValue();
             current_uri.append(API_PATH_BULK_LEADS)//
-                    .append(fmtParams(FIELD_ACCESS_TOKEN, accessToken, true))//
+                    .append(fmtParams(FIELD_ACCESS_TOKEN, getAccessToken(), true))//
                     .append(fmtParams(FIELD_LOOKUP_FIELD, lookupField));
             if (listId != null) {
                 current_uri.append(fmtParams(FIELD_LIST_ID, listId));
@@ -203,7 +203,7 @@ public class MarketoBulkExecClient extends MarketoCustomObjectClient {
         } else {
             customObjectName = parameters.customObjectName.getValue();
             current_uri.append(String.format(API_PATH_BULK_CUSTOMOBJECTS, customObjectName))//
-                    .append(fmtParams(FIELD_ACCESS_TOKEN, accessToken, true));
+                    .append(fmtParams(FIELD_ACCESS_TOKEN, getAccessToken(), true));
         }
         current_uri.append(fmtParams(FIELD_FORMAT, format));
         //
@@ -240,7 +240,7 @@ public class MarketoBulkExecClient extends MarketoCustomObjectClient {
                             current_uri.append(String.format(API_PATH_BULK_CUSTOMOBJECTS_RESULT, bulkResult.getObjectApiName(),
                                     bulkResult.getBatchId(), "status"));
                         }
-                        current_uri.append(fmtParams(FIELD_ACCESS_TOKEN, accessToken, true));
+                        current_uri.append(fmtParams(FIELD_ACCESS_TOKEN, getAccessToken(), true));
                         LOG.debug("status = {}.", current_uri);
                         rs = (BulkImportResult) executeGetRequest(BulkImportResult.class);
                         if (rs.isSuccess() && rs.getResult().get(0).getStatus().equals(BULK_STATUS_COMPLETE)) {
@@ -82,7 +82,7 @@ public class MarketoCampaignClient extends MarketoBulkExecClient {
         current_uri = new StringBuilder(basicPath)//
                 .append(API_PATH_CAMPAIGNS)//
                 .append(API_PATH_JSON_EXT)//
-                .append(fmtParams(FIELD_ACCESS_TOKEN, accessToken, true))//
+                .append(fmtParams(FIELD_ACCESS_TOKEN, getAccessToken(), true))//
                 .append(fmtParams(FIELD_BATCH_SIZE, batchLimit));
         if (!StringUtils.isEmpty(ids)) {
             current_uri.append(fmtParams(FIELD_ID, csvString(ids.split(","))));
@@ -116,7 +116,7 @@ public class MarketoCampaignClient extends MarketoBulkExecClient {
                 .append("/")//
                 .append(cId)//
                 .append(API_PATH_JSON_EXT)//
-                .append(fmtParams(FIELD_ACCESS_TOKEN, accessToken, true));
+                .append(fmtParams(FIELD_ACCESS_TOKEN, getAccessToken(), true));
         LOG.debug("getCampaignById : {}.", current_uri);
         return getRecordResultForFromRequestBySchema(parameters.schemaInput.schema.getValue(), false, null);
     }
@@ -148,7 +148,7 @@ public class MarketoCampaignClient extends MarketoBulkExecClient {
         MarketoRecordResult mkto = new MarketoRecordResult();
         current_uri = new StringBuilder(basicPath)//
                 .append(String.format(API_PATH_CAMPAIGNS_SCHEDULE, campaignId))//
-                .append(fmtParams(FIELD_ACCESS_TOKEN, accessToken, true));//
+                .append(fmtParams(FIELD_ACCESS_TOKEN, getAccessToken(), true));//
         LOG.debug("scheduleCampaign {}{}.", current_uri, jsonObj);
         try {
             SyncResult rs = (SyncResult) executePostRequest(SyncResult.class, jsonObj);
@@ -187,7 +187,7 @@ public class MarketoCampaignClient extends MarketoBulkExecClient {
         String action = parameters.triggerAction.getValue().name();
         current_uri = new StringBuilder(basicPath)//
                 .append(String.format(API_PATH_CAMPAIGN_TRIGGER_DESACTIVATE_ACTIVATE, campaignId, action))//
-                .append(fmtParams(FIELD_ACCESS_TOKEN, accessToken, true));//
+                .append(fmtParams(FIELD_ACCESS_TOKEN, getAccessToken(), true));//
         LOG.debug("[activateDeactivateCampaign] ({}) {}.", action, current_uri);
         return getRecordResultFromPostRequest(parameters.schemaFlow.schema.getValue(), new JsonObject());
     }
@@ -211,7 +211,7 @@ public class MarketoCampaignClient extends MarketoBulkExecClient {
         MarketoSyncResult mkto = new MarketoSyncResult();
         current_uri = new StringBuilder(basicPath)//
                 .append(String.format(API_PATH_CAMPAIGNS_TRIGGER, campaignId))//
-                .append(fmtParams(FIELD_ACCESS_TOKEN, accessToken, true));//
+                .append(fmtParams(FIELD_ACCESS_TOKEN, getAccessToken(), true));//
         LOG.debug("scheduleCampaign {}{}.", current_uri, jsonObj);
         return getSyncResultFromRequest(true, jsonObj);
     }
@@ -56,7 +56,7 @@ public class MarketoCompanyClient extends MarketoCampaignClient {
 
         current_uri = new StringBuilder(basicPath)//
                 .append(API_PATH_COMPANIES_DESCRIBE)//
-                .append(fmtParams(FIELD_ACCESS_TOKEN, accessToken, true));
+                .append(fmtParams(FIELD_ACCESS_TOKEN, getAccessToken(), true));
         String batchLimit = String.valueOf(parameters.batchSize.getValue());
         String filterType = parameters.customObjectFilterType.getValue();
         String filterValues = parameters.customObjectFilterValues.getValue();
@@ -80,7 +80,7 @@ public class MarketoCompanyClient extends MarketoCampaignClient {
         int batchLimit = parameters.batchSize.getValue() > REST_API_LIMIT ? REST_API_LIMIT : parameters.batchSize.getValue();
         current_uri = new StringBuilder(basicPath)//
                 .append(API_PATH_COMPANIES_GET)//
-                .append(fmtParams(FIELD_ACCESS_TOKEN, accessToken, true))//
+                .append(fmtParams(FIELD_ACCESS_TOKEN, getAccessToken(), true))//
                 .append(fmtParams("filterType", filterType))//
                 .append(fmtParams("filterValues", filterValues))//
                 .append(fmtParams(FIELD_BATCH_SIZE, batchLimit));
@@ -115,7 +115,7 @@ public class MarketoCompanyClient extends MarketoCampaignClient {
         MarketoSyncResult mkto = new MarketoSyncResult();
         current_uri = new StringBuilder(basicPath)//
                 .append(API_PATH_COMPANIES_SYNC)//
-                .append(fmtParams(FIELD_ACCESS_TOKEN, accessToken, true));//
+                .append(fmtParams(FIELD_ACCESS_TOKEN, getAccessToken(), true));//
 
         LOG.debug("syncCompanies {}{}.", current_uri, inputJson);
         return getSyncResultFromRequest(true, inputJson);
@@ -140,7 +140,7 @@ public class MarketoCompanyClient extends MarketoCampaignClient {
         //
         current_uri = new StringBuilder(basicPath)//
                 .append(API_PATH_COMPANIES_DELETE)//
-                .append(fmtParams(FIELD_ACCESS_TOKEN, accessToken, true));
+                .append(fmtParams(FIELD_ACCESS_TOKEN, getAccessToken(), true));
         LOG.debug("deleteCompany {}{}.", current_uri, inputJson);
         return getSyncResultFromRequest(true, inputJson);
     }
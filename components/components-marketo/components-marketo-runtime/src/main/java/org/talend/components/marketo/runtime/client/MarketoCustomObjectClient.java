@@ -51,7 +51,7 @@ public class MarketoCustomObjectClient extends MarketoLeadClient {
                 .append(API_PATH_CUSTOMOBJECTS)//
                 .append(customObjectName)//
                 .append(API_PATH_URI_DESCRIBE)//
-                .append(fmtParams(FIELD_ACCESS_TOKEN, accessToken, true));
+                .append(fmtParams(FIELD_ACCESS_TOKEN, getAccessToken(), true));
         LOG.debug("describeCustomObject : {}.", current_uri);
 
         return getRecordResultForFromRequestBySchema(parameters.schemaInput.schema.getValue(), false, null);
@@ -66,7 +66,7 @@ public class MarketoCustomObjectClient extends MarketoLeadClient {
 
         current_uri = new StringBuilder(basicPath)//
                 .append("/v1/customobjects.json")//
-                .append(fmtParams(FIELD_ACCESS_TOKEN, accessToken, true))//
+                .append(fmtParams(FIELD_ACCESS_TOKEN, getAccessToken(), true))//
                 .append(fmtParams("names", names))//
                 .append(fmtParams(QUERY_METHOD, QUERY_METHOD_GET));
         LOG.debug("listCustomObjects : {}.", current_uri);
@@ -99,7 +99,7 @@ public class MarketoCustomObjectClient extends MarketoLeadClient {
                 .append(API_PATH_CUSTOMOBJECTS)//
                 .append(customObjectName)//
                 .append(API_PATH_JSON_EXT)//
-                .append(fmtParams(FIELD_ACCESS_TOKEN, accessToken, true));//
+                .append(fmtParams(FIELD_ACCESS_TOKEN, getAccessToken(), true));//
         // Compound Key use
         if (parameters.useCompoundKey.getValue()) {
             JsonObject inputJson = new JsonObject();
@@ -153,7 +153,7 @@ public class MarketoCustomObjectClient extends MarketoLeadClient {
                 .append(API_PATH_CUSTOMOBJECTS)//
                 .append(customObjectName)//
                 .append(API_PATH_JSON_EXT)//
-                .append(fmtParams(FIELD_ACCESS_TOKEN, accessToken, true));//
+                .append(fmtParams(FIELD_ACCESS_TOKEN, getAccessToken(), true));//
         LOG.debug("syncCustomObjects {}{}.", current_uri, inputJson);
 
         return getSyncResultFromRequest(true, inputJson);
@@ -179,7 +179,7 @@ public class MarketoCustomObjectClient extends MarketoLeadClient {
                 .append(API_PATH_CUSTOMOBJECTS)//
                 .append(customObjectName)//
                 .append(API_PATH_URI_DELETE)//
-                .append(fmtParams(FIELD_ACCESS_TOKEN, accessToken, true));
+                .append(fmtParams(FIELD_ACCESS_TOKEN, getAccessToken(), true));
         LOG.debug("deleteCustomObject {}{}.", current_uri, inputJson);
 
         return getSyncResultFromRequest(true, inputJson);
@@ -290,7 +290,7 @@ public class MarketoLeadClient extends MarketoBaseRESTClient implements MarketoC
     public Integer getListIdByName(String listName) throws MarketoException {
         current_uri = new StringBuilder(basicPath)//
                 .append(API_PATH_LISTS_JSON)//
-                .append(fmtParams(FIELD_ACCESS_TOKEN, accessToken, true)) //
+                .append(fmtParams(FIELD_ACCESS_TOKEN, getAccessToken(), true)) //
                 .append(fmtParams(FIELD_NAME, listName));
         StaticListResult getResponse = (StaticListResult) executeGetRequest(StaticListResult.class);
         if (getResponse == null) {
@@ -371,7 +371,7 @@ public class MarketoLeadClient extends MarketoBaseRESTClient implements MarketoC
 
         current_uri = new StringBuilder(basicPath) //
                 .append(API_PATH_LEADS)//
-                .append(fmtParams(FIELD_ACCESS_TOKEN, accessToken, true));
+                .append(fmtParams(FIELD_ACCESS_TOKEN, getAccessToken(), true));
         StringBuilder input = new StringBuilder();
         input.append(FIELD_FILTER_TYPE + "=" + filter);
         input.append(fmtParams(FIELD_FILTER_VALUES, filterValue));
@@ -405,7 +405,7 @@ public class MarketoLeadClient extends MarketoBaseRESTClient implements MarketoC
             filterValues = parameters.leadKeyValues.getValue().split(",");
             current_uri = new StringBuilder(basicPath)//
                     .append(API_PATH_LEADS) //
-                    .append(fmtParams(FIELD_ACCESS_TOKEN, accessToken, true));
+                    .append(fmtParams(FIELD_ACCESS_TOKEN, getAccessToken(), true));
 
             input.append(FIELD_FILTER_TYPE + "=" + filter);
             if (fields != null && fields.length > 0) {
@@ -438,7 +438,7 @@ public class MarketoLeadClient extends MarketoBaseRESTClient implements MarketoC
                     .append(API_PATH_LIST)//
                     .append(listId)//
                     .append(API_PATH_LEADS_JSON)//
-                    .append(fmtParams(FIELD_ACCESS_TOKEN, accessToken, true));
+                    .append(fmtParams(FIELD_ACCESS_TOKEN, getAccessToken(), true));
             if (fields != null && fields.length > 0) {
                 input.append(fmtParams(FIELD_FIELDS, csvString(fields)));
             }
@@ -492,7 +492,7 @@ public class MarketoLeadClient extends MarketoBaseRESTClient implements MarketoC
         // Marketo API in SOAP and REST return a false estimation of remainCount. Watch out !!!
         current_uri = new StringBuilder(basicPath) //
                 .append(API_PATH_ACTIVITIES) //
-                .append(fmtParams(FIELD_ACCESS_TOKEN, accessToken, true));
+                .append(fmtParams(FIELD_ACCESS_TOKEN, getAccessToken(), true));
         if (!StringUtils.isEmpty(pgOffset)) {
             current_uri.append(fmtParams(FIELD_NEXT_PAGE_TOKEN, pgOffset));
         }
@@ -525,7 +525,7 @@ public class MarketoLeadClient extends MarketoBaseRESTClient implements MarketoC
         }
         current_uri = new StringBuilder(basicPath)//
                 .append(API_PATH_ACTIVITIES_LEADCHANGES)//
-                .append(fmtParams(FIELD_ACCESS_TOKEN, accessToken, true));
+                .append(fmtParams(FIELD_ACCESS_TOKEN, getAccessToken(), true));
         if (!StringUtils.isEmpty(pgOffset)) {
             current_uri.append(fmtParams(FIELD_NEXT_PAGE_TOKEN, pgOffset));
         }
@@ -550,7 +550,7 @@ public class MarketoLeadClient extends MarketoBaseRESTClient implements MarketoC
                 .append(API_PATH_LISTS)//
                 .append(parameters.getListId())//
                 .append(API_PATH_LEADS_JSON)//
-                .append(fmtParams(FIELD_ACCESS_TOKEN, accessToken, true))//
+                .append(fmtParams(FIELD_ACCESS_TOKEN, getAccessToken(), true))//
                 .append(fmtParams(FIELD_ID, csvString(parameters.getLeadIdsValues())))
                 .append(fmtParams(QUERY_METHOD, QUERY_METHOD_POST));
         JsonArray json = new JsonArray();
@@ -572,7 +572,7 @@ public class MarketoLeadClient extends MarketoBaseRESTClient implements MarketoC
                 .append(API_PATH_LISTS)//
                 .append(parameters.getListId())//
                 .append(API_PATH_LEADS_JSON)//
-                .append(fmtParams(FIELD_ACCESS_TOKEN, accessToken, true))//
+                .append(fmtParams(FIELD_ACCESS_TOKEN, getAccessToken(), true))//
                 .append(fmtParams(QUERY_METHOD, QUERY_METHOD_DELETE));
         JsonArray json = new JsonArray();
         for (Integer leadId : parameters.getLeadIdsValues()) {
@@ -593,7 +593,7 @@ public class MarketoLeadClient extends MarketoBaseRESTClient implements MarketoC
                 .append(API_PATH_LISTS)//
                 .append(parameters.getListId())//
                 .append(API_PATH_LEADS_ISMEMBER)//
-                .append(fmtParams(FIELD_ACCESS_TOKEN, accessToken, true))//
+                .append(fmtParams(FIELD_ACCESS_TOKEN, getAccessToken(), true))//
                 .append(fmtParams(FIELD_ID, csvString(parameters.getLeadIdsValues())));
         LOG.debug("isMemberOf: {}.", current_uri);
 
@@ -625,7 +625,7 @@ public class MarketoLeadClient extends MarketoBaseRESTClient implements MarketoC
 
         current_uri = new StringBuilder(basicPath)//
                 .append(API_PATH_LEADS)//
-                .append(fmtParams(FIELD_ACCESS_TOKEN, accessToken, true));
+                .append(fmtParams(FIELD_ACCESS_TOKEN, getAccessToken(), true));
         JsonObject inputJson = new JsonObject();
         inputJson.addProperty(FIELD_BATCH_SIZE, batchSize);
         if (action != null) {
@@ -650,7 +650,7 @@ public class MarketoLeadClient extends MarketoBaseRESTClient implements MarketoC
         current_uri = new StringBuilder(basicPath)//
                 .append("/v1/leads")//
                 .append(API_PATH_URI_DESCRIBE)//
-                .append(fmtParams(FIELD_ACCESS_TOKEN, accessToken, true));
+                .append(fmtParams(FIELD_ACCESS_TOKEN, getAccessToken(), true));
         List<Schema.Field> fields = new ArrayList<>();
         try {
             LOG.debug("describeLead {}.", current_uri);
@@ -681,7 +681,7 @@ public class MarketoLeadClient extends MarketoBaseRESTClient implements MarketoC
     public MarketoSyncResult deleteLeads(Integer[] leadIds) {
         current_uri = new StringBuilder(basicPath)//
                 .append(API_PATH_LEADS_DELETE)//
-                .append(fmtParams(FIELD_ACCESS_TOKEN, accessToken, true))//
+                .append(fmtParams(FIELD_ACCESS_TOKEN, getAccessToken(), true))//
                 .append(fmtParams(QUERY_METHOD, QUERY_METHOD_POST));
         JsonArray json = new JsonArray();
         for (Integer leadId : leadIds) {
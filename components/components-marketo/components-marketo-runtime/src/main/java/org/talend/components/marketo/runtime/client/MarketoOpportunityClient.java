@@ -68,7 +68,7 @@ public class MarketoOpportunityClient extends MarketoCompanyClient {
         current_uri = new StringBuilder(basicPath)//
                 .append(resource)//
                 .append(API_PATH_URI_DESCRIBE)//
-                .append(fmtParams(FIELD_ACCESS_TOKEN, accessToken, true));
+                .append(fmtParams(FIELD_ACCESS_TOKEN, getAccessToken(), true));
         LOG.debug("describeOpportunity : {}.", current_uri);
 
         return getRecordResultForFromRequestBySchema(parameters.schemaInput.schema.getValue(), false, null);
@@ -99,7 +99,7 @@ public class MarketoOpportunityClient extends MarketoCompanyClient {
         current_uri = new StringBuilder(basicPath)//
                 .append(resource)//
                 .append(API_PATH_JSON_EXT)//
-                .append(fmtParams(FIELD_ACCESS_TOKEN, accessToken, true))//
+                .append(fmtParams(FIELD_ACCESS_TOKEN, getAccessToken(), true))//
         ;
         //
         if (useCompoundKey) {
@@ -164,7 +164,7 @@ public class MarketoOpportunityClient extends MarketoCompanyClient {
         current_uri = new StringBuilder(basicPath)//
                 .append(resource)//
                 .append(API_PATH_JSON_EXT)//
-                .append(fmtParams(FIELD_ACCESS_TOKEN, accessToken, true));//
+                .append(fmtParams(FIELD_ACCESS_TOKEN, getAccessToken(), true));//
         LOG.debug("syncOpportunities {}{}.", current_uri, inputJson);
         return getSyncResultFromRequest(true, inputJson);
     }
@@ -201,7 +201,7 @@ public class MarketoOpportunityClient extends MarketoCompanyClient {
         current_uri = new StringBuilder(basicPath)//
                 .append(resource)//
                 .append(API_PATH_URI_DELETE)//
-                .append(fmtParams(FIELD_ACCESS_TOKEN, accessToken, true));
+                .append(fmtParams(FIELD_ACCESS_TOKEN, getAccessToken(), true));
         LOG.debug("deleteOpportunities {}{}.", current_uri, inputJson);
         return getSyncResultFromRequest(true, inputJson);
     }
@@ -0,0 +1,226 @@
+//============================================================================
+//
+// Copyright (C) 2006-2023 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// %InstallDIR%\features\org.talend.rcp.branding.%PRODUCTNAME%\%PRODUCTNAME%license.txt
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+//============================================================================
+package org.talend.components.marketo.runtime;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.talend.components.marketo.runtime.client.MarketoRESTClient;
+import org.talend.components.marketo.runtime.client.type.MarketoException;
+import org.talend.components.marketo.tmarketoconnection.TMarketoConnectionProperties;
+import org.talend.components.marketo.tmarketoconnection.TMarketoConnectionProperties.APIMode;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+public class MarketoAccessTokenPoolTest {
+
+    private HttpServer server;
+
+    private final AtomicInteger requestCount = new AtomicInteger();
+
+    private volatile long expiresIn = 3600;
+
+    private volatile long latencyMillis;
+
+    private long now = 1000000;
+
+    private MarketoAccessTokenPool pool = new MarketoAccessTokenPool() {
+
+        @Override
+        protected long currentTimeMillis() {
+            return now;
+        }
+    };
+
+    @Before
+    public void setUp() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/identity/oauth/token", new HttpHandler() {
+
+            @Override
+            public void handle(HttpExchange exchange) throws IOException {
+                int count = requestCount.incrementAndGet();
+                try {
+                    Thread.sleep(latencyMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                byte[] body = ("{\"access_token\":\"token-" + count + "\",\"token_type\":\"bearer\",\"expires_in\":"
+                        + expiresIn + ",\"scope\":\"user@talend.com\"}").getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().add("Content-Type", "application/json");
+                exchange.sendResponseHeaders(200, body.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(body);
+                }
+            }
+        });
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.start();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        server.stop(0);
+    }
+
+    private MarketoRESTClient newClient(String clientId) throws MarketoException {
+        TMarketoConnectionProperties conn = new TMarketoConnectionProperties("test");
+        conn.apiMode.setValue(APIMode.REST);
+        conn.endpoint.setValue("http://localhost:" + server.getAddress().getPort() + "/rest");
+        conn.clientAccessId.setValue(clientId);
+        conn.secretKey.setValue("sekret");
+        return new MarketoRESTClient(conn);
+    }
+
+    private Integer connectionHash(String clientId) {
+        return ("http://localhost:" + server.getAddress().getPort() + "/rest" + clientId + "sekret").hashCode();
+    }
+
+    private MarketoAccessTokenPool.TokenRequest countingRequest(final AtomicInteger count) {
+        return new MarketoAccessTokenPool.TokenRequest() {
+
+            @Override
+            public MarketoAccessTokenPool.AccessToken requestToken() throws MarketoException {
+                return new MarketoAccessTokenPool.AccessToken("token-" + count.incrementAndGet(), expiresIn);
+            }
+        };
+    }
+
+    @Test
+    public void testConcurrentClientsShareOneIdentityCall() throws Exception {
+        final String clientId = UUID.randomUUID().toString();
+        latencyMillis = 300;
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(executor.submit(new Callable<Void>() {
+
+                    @Override
+                    public Void call() throws Exception {
+                        MarketoRESTClient client = newClient(clientId);
+                        client.getToken();
+                        assertTrue(client.isAvailable());
+                        return null;
+                    }
+                }));
+            }
+            for (Future<?> result : results) {
+                result.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(1, requestCount.get());
+        assertEquals("token-1", MarketoAccessTokenPool.getInstance().getToken(connectionHash(clientId)));
+
+        // the next clients of the connection use the pooled token
+        newClient(clientId).getToken();
+        assertEquals(1, requestCount.get());
+    }
+
+    @Test
+    public void testInvalidateToken() throws Exception {
+        String clientId = UUID.randomUUID().toString();
+
+        newClient(clientId).getToken();
+        MarketoAccessTokenPool.getInstance().invalidateToken(connectionHash(clientId));
+        assertNull(MarketoAccessTokenPool.getInstance().getToken(connectionHash(clientId)));
+
+        newClient(clientId).getToken();
+        assertEquals(2, requestCount.get());
+        assertEquals("token-2", MarketoAccessTokenPool.getInstance().getToken(connectionHash(clientId)));
+    }
+
+    @Test
+    public void testTokenKeptUntilExpiration() throws Exception {
+        AtomicInteger count = new AtomicInteger();
+        MarketoAccessTokenPool.TokenRequest request = countingRequest(count);
+
+        assertEquals("token-1", pool.getToken(1, request));
+        // the identity call would give the same token, it is not refreshed before its expiration
+        now += 3599 * 1000;
+        assertEquals("token-1", pool.getToken(1, request));
+        assertEquals(1, count.get());
+
+        now += 1000;
+        assertEquals("token-2", pool.getToken(1, request));
+        assertEquals("token-2", pool.getToken(1, request));
+        assertEquals(2, count.get());
+    }
+
+    @Test
+    public void testFailedRefresh() throws Exception {
+        final AtomicInteger count = new AtomicInteger();
+        MarketoAccessTokenPool.TokenRequest failing = new MarketoAccessTokenPool.TokenRequest() {
+
+            @Override
+            public MarketoAccessTokenPool.AccessToken requestToken() throws MarketoException {
+                count.incrementAndGet();
+                throw new MarketoException("REST", "Marketo Authentication failed");
+            }
+        };
+
+        assertEquals("token-1", pool.getToken(1, countingRequest(new AtomicInteger())));
+
+        // the current token is used while it is valid
+        now += 3590 * 1000;
+        assertEquals("token-1", pool.getToken(1, failing));
+        assertEquals(0, count.get());
+
+        now += 20 * 1000;
+        try {
+            pool.getToken(1, failing);
+            fail("The token is expired");
+        } catch (MarketoException e) {
+            assertEquals(1, count.get());
+        }
+        // a failed identity call is not pooled
+        try {
+            pool.getToken(1, failing);
+            fail("The token is expired");
+        } catch (MarketoException e) {
+            assertEquals(2, count.get());
+        }
+    }
+
+    @Test
+    public void testTokenWithoutExpiration() throws Exception {
+        pool.setToken(1, "token");
+        now += 365L * 24 * 3600 * 1000;
+        assertEquals("token", pool.getToken(1));
+        assertEquals("token", pool.getToken(1, countingRequest(new AtomicInteger())));
+    }
+}
@@ -37,12 +37,17 @@ public class NetSuiteOutputProperties extends FixedConnectorsComponentProperties
 
     public static final int DEFAULT_BATCH_SIZE = 100;
 
+    public static final int DEFAULT_MAX_CONCURRENT_BATCHES = 1;
+
     public final NetSuiteConnectionProperties connection;
 
     public final NetSuiteOutputModuleProperties module;
 
     public final Property<Integer> batchSize = newInteger("batchSize");
 
+    /** Maximum number of batches written while the next batch is built, 1 to write the batches one after the other. */
+    public final Property<Integer> maxConcurrentBatches = newInteger("maxConcurrentBatches");
+
     public final Property<Boolean> dieOnError = newBoolean("dieOnError");
 
     protected transient final PropertyPathConnector mainConnector;
@@ -68,6 +73,7 @@ public class NetSuiteOutputProperties extends FixedConnectorsComponentProperties
         super.setupProperties();
 
         batchSize.setValue(NetSuiteOutputProperties.DEFAULT_BATCH_SIZE);
+        maxConcurrentBatches.setValue(NetSuiteOutputProperties.DEFAULT_MAX_CONCURRENT_BATCHES);
         dieOnError.setValue(Boolean.TRUE);
     }
 
@@ -83,6 +89,7 @@ public class NetSuiteOutputProperties extends FixedConnectorsComponentProperties
         Form advForm = Form.create(this, Form.ADVANCED);
         advForm.addRow(module.getForm(Form.ADVANCED));
         advForm.addRow(batchSize);
+        advForm.addRow(maxConcurrentBatches);
     }
 
     @Override
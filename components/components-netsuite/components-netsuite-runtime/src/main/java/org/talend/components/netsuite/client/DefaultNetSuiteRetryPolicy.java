@@ -0,0 +1,83 @@
+//============================================================================
+//
+// Copyright (C) 2006-2023 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// %InstallDIR%\features\org.talend.rcp.branding.%PRODUCTNAME%\%PRODUCTNAME%license.txt
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+//============================================================================
+
+package org.talend.components.netsuite.client;
+
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Default retry policy, with an exponential backoff and a decorrelated jitter: the delay is a random value between a base
+ * delay, which depends on the type of the error, and 3 times the previous delay. The first retry takes the base delay as
+ * previous delay, so that it is already spread between 1 and 3 times the base delay.
+ *
+ * <p>The randomness spreads the retries of the clients which failed at the same time, instead of sending them again
+ * all together to NetSuite. A delay requested by NetSuite is always honored.
+ */
+public class DefaultNetSuiteRetryPolicy implements NetSuiteRetryPolicy {
+
+    public static final long DEFAULT_MAX_DELAY = TimeUnit.SECONDS.toMillis(60);
+
+    /** Source of the jitter, {@code null} to use the random generator of the current thread. */
+    private final Random random;
+
+    /** Maximal delay, in milliseconds, unless NetSuite requests a longer one. */
+    private long maxDelay = DEFAULT_MAX_DELAY;
+
+    public DefaultNetSuiteRetryPolicy() {
+        this(null);
+    }
+
+    public DefaultNetSuiteRetryPolicy(Random random) {
+        this.random = random;
+    }
+
+    public long getMaxDelay() {
+        return maxDelay;
+    }
+
+    public void setMaxDelay(long maxDelay) {
+        this.maxDelay = maxDelay;
+    }
+
+    /**
+     * Get the minimal delay before retrying after an error of given type.
+     *
+     * @param errorType type of the error
+     * @return delay, in milliseconds
+     */
+    protected long getBaseDelay(ErrorType errorType) {
+        switch (errorType) {
+        case CONCURRENCY_LIMIT:
+            return TimeUnit.SECONDS.toMillis(NetSuiteClientService.MINIMAL_WAIT_TIME_INTERVAL);
+        case SESSION:
+            // a new session is opened before the retry
+            return TimeUnit.SECONDS.toMillis(1);
+        default:
+            return TimeUnit.SECONDS.toMillis(NetSuiteClientService.FIXED_RETRY_INTERVAL);
+        }
+    }
+
+    @Override
+    public long getRetryDelay(int attempt, ErrorType errorType, long previousDelay, long retryAfter) {
+        long baseDelay = Math.min(getBaseDelay(errorType != null ? errorType : ErrorType.TRANSIENT), maxDelay);
+        long upperDelay = Math.min(Math.max(baseDelay, previousDelay) * 3, maxDelay);
+        long delay = baseDelay + (long) (nextDouble() * (upperDelay - baseDelay));
+        return Math.max(delay, retryAfter);
+    }
+
+    private double nextDouble() {
+        return random != null ? random.nextDouble() : ThreadLocalRandom.current().nextDouble();
+    }
+}
@@ -13,6 +13,9 @@
 
 package org.talend.components.netsuite.client;
 
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Iterator;
@@ -24,6 +27,7 @@ import java.util.concurrent.locks.ReentrantLock;
 import javax.xml.bind.JAXBException;
 import javax.xml.namespace.QName;
 import javax.xml.ws.BindingProvider;
+import javax.xml.ws.handler.MessageContext;
 
 import org.apache.commons.lang3.StringUtils;
 import org.apache.cxf.endpoint.Client;
@@ -59,6 +63,8 @@ public abstract class NetSuiteClientService<PortT> {
 
     public static final int MINIMAL_WAIT_TIME_INTERVAL = 5;
 
+    public static final String RETRY_AFTER_HEADER = "Retry-After";
+
     public static final String MESSAGE_LOGGING_ENABLED_PROPERTY_NAME =
             "org.talend.components.netsuite.client.messageLoggingEnabled";
 
@@ -88,6 +94,18 @@ public abstract class NetSuiteClientService<PortT> {
     /** Number of retries before (re-)login. */
     protected int retriesBeforeLogin = 2;
 
+    /** Decides the delays between the retries of an operation. */
+    protected NetSuiteRetryPolicy retryPolicy = new DefaultNetSuiteRetryPolicy();
+
+    /** Used to wait between the retries of an operation. */
+    protected Sleeper sleeper = Sleeper.SYSTEM;
+
+    /** Maximal number of concurrent requests sent to the account by all the clients, 0 or less for no limit. */
+    protected int concurrencyLimit = NetSuiteConcurrencyLimiter.getDefaultConcurrencyLimit();
+
+    /** Delay before the last retry of the log in, in milliseconds. */
+    private long loginRetryDelay;
+
     /** Size of search result page. */
     protected int searchPageSize = DEFAULT_SEARCH_PAGE_SIZE;
 
@@ -651,26 +669,7 @@ public abstract class NetSuiteClientService<PortT> {
             // Log in if required
             login(false);
 
-            R result = null;
-            for (int i = 0; i < getRetryCount(); i++) {
-                try {
-                    result = op.execute(port);
-                    break;
-                } catch (Exception e) {
-                    if (errorCanBeWorkedAround(e)) {
-                        logger.debug("Attempting workaround, retrying ({})", (i + 1));
-                        waitForRetryInterval(i);
-                        if (errorRequiresNewLogin(e) || i >= getRetriesBeforeLogin() - 1) {
-                            logger.debug("Re-logging in ({})", (i + 1));
-                            relogin();
-                        }
-                        continue;
-                    } else {
-                        throw new NetSuiteException(e.getMessage(), e);
-                    }
-                }
-            }
-            return result;
+            return executeWithRetries(op, true);
 
         } finally {
             lock.unlock();
@@ -688,27 +687,72 @@ public abstract class NetSuiteClientService<PortT> {
     private <R> R executeUsingRequestLevelCredentials(PortOperation<R, PortT> op) throws NetSuiteException {
         lock.lock();
         try {
-            R result = null;
-            for (int i = 0; i < getRetryCount(); i++) {
-                try {
-                    result = op.execute(port);
-                    break;
-                } catch (Exception e) {
-                    if (errorCanBeWorkedAround(e)) {
-                        logger.debug("Attempting workaround, retrying ({})", (i + 1));
-                        waitForRetryInterval(i);
-                        continue;
-                    } else {
-                        throw new NetSuiteException(e.getMessage(), e);
-                    }
-                }
-            }
-            return result;
+            return executeWithRetries(op, false);
         } finally {
             lock.unlock();
         }
     }
 
+    /**
+     * Execute an operation and retry it while it fails with an error which can be worked around.
+     *
+     * @param op operation to be executed
+     * @param reloginAllowed specifies whether the client can log in again before retrying
+     * @param <R> type of operation result
+     * @return result of execution
+     * @throws NetSuiteException if an error occurs during performing of operation
+     */
+    private <R> R executeWithRetries(PortOperation<R, PortT> op, boolean reloginAllowed) throws NetSuiteException {
+        NetSuiteConcurrencyLimiter limiter = NetSuiteConcurrencyLimiter.forAccount(
+                credentials != null ? credentials.getAccount() : null, concurrencyLimit);
+        R result = null;
+        long retryDelay = 0;
+        for (int i = 0; i < getRetryCount(); i++) {
+            Exception error = null;
+            acquire(limiter);
+            try {
+                result = op.execute(port);
+            } catch (Exception e) {
+                error = e;
+            } finally {
+                // the slot is not kept while waiting for the retry
+                if (limiter != null) {
+                    limiter.release();
+                }
+            }
+            if (error == null) {
+                break;
+            }
+            if (!errorCanBeWorkedAround(error)) {
+                throw new NetSuiteException(error.getMessage(), error);
+            }
+            logger.debug("Attempting workaround, retrying ({})", (i + 1));
+            retryDelay = waitForRetry(i, error, retryDelay);
+            if (reloginAllowed && (errorRequiresNewLogin(error) || i >= getRetriesBeforeLogin() - 1)) {
+                logger.debug("Re-logging in ({})", (i + 1));
+                relogin();
+            }
+        }
+        return result;
+    }
+
+    private void acquire(NetSuiteConcurrencyLimiter limiter) throws NetSuiteException {
+        if (limiter == null) {
+            return;
+        }
+        try {
+            limiter.acquire();
+        } catch (InterruptedException e) {
+            throw interrupted(e);
+        }
+    }
+
+    private NetSuiteException interrupted(InterruptedException e) {
+        // keep the interrupted status for the caller
+        Thread.currentThread().interrupt();
+        return new NetSuiteException(NetSuiteRuntimeI18n.MESSAGES.getMessage("error.retryInterrupted"), e);
+    }
+
     /**
      * Set a SOAP header to be sent to NetSuite in request
      *
@@ -865,6 +909,34 @@ public abstract class NetSuiteClientService<PortT> {
         this.retriesBeforeLogin = retriesBeforeLogin;
     }
 
+    public NetSuiteRetryPolicy getRetryPolicy() {
+        return retryPolicy;
+    }
+
+    public void setRetryPolicy(NetSuiteRetryPolicy retryPolicy) {
+        this.retryPolicy = retryPolicy;
+    }
+
+    public Sleeper getSleeper() {
+        return sleeper;
+    }
+
+    public void setSleeper(Sleeper sleeper) {
+        this.sleeper = sleeper;
+    }
+
+    public int getConcurrencyLimit() {
+        return concurrencyLimit;
+    }
+
+    /**
+     * Sets the maximal number of concurrent requests sent to the account by all the clients of the JVM,
+     * {@code 0} or less for no limit.
+     */
+    public void setConcurrencyLimit(int concurrencyLimit) {
+        this.concurrencyLimit = concurrencyLimit;
+    }
+
     public boolean isMessageLoggingEnabled() {
         return messageLoggingEnabled;
     }
@@ -873,12 +945,90 @@ public abstract class NetSuiteClientService<PortT> {
         this.messageLoggingEnabled = messageLoggingEnabled;
     }
 
-    protected void waitForRetryInterval(int i) {
-        long sleepSeconds = MINIMAL_WAIT_TIME_INTERVAL + Double.valueOf(Math.pow(FIXED_RETRY_INTERVAL, i)).longValue();
+    /**
+     * Wait before the next attempt to log in.
+     *
+     * @param i number of the failed attempt, starting from 0
+     * @throws NetSuiteException if the thread is interrupted while waiting
+     */
+    protected void waitForRetryInterval(int i) throws NetSuiteException {
+        loginRetryDelay = waitForRetry(i, null, i == 0 ? 0 : loginRetryDelay);
+    }
+
+    /**
+     * Wait before retrying an operation, for the delay given by the retry policy.
+     *
+     * @param i number of the failed attempt, starting from 0
+     * @param error error of the failed attempt, {@code null} if unknown
+     * @param previousDelay delay before the failed attempt, in milliseconds
+     * @return delay waited, in milliseconds
+     * @throws NetSuiteException if the thread is interrupted while waiting, its interrupted status is kept
+     */
+    protected long waitForRetry(int i, Throwable error, long previousDelay) throws NetSuiteException {
+        NetSuiteRetryPolicy.ErrorType errorType = error != null ? getRetryErrorType(error)
+                : NetSuiteRetryPolicy.ErrorType.TRANSIENT;
+        long delay = retryPolicy.getRetryDelay(i, errorType, previousDelay, error != null ? getRetryAfter() : -1);
+        logger.debug("Waiting {} ms before retrying ({})", delay, errorType);
         try {
-            Thread.sleep(sleepSeconds * 1000);
+            sleeper.sleep(delay);
         } catch (InterruptedException e) {
+            throw interrupted(e);
+        }
+        return delay;
+    }
+
+    /**
+     * Get the type of an error which can be worked around, to choose the delay before retrying.
+     *
+     * @param t error to be checked
+     * @return type of the error
+     */
+    protected NetSuiteRetryPolicy.ErrorType getRetryErrorType(Throwable t) {
+        return errorRequiresNewLogin(t) ? NetSuiteRetryPolicy.ErrorType.SESSION : NetSuiteRetryPolicy.ErrorType.TRANSIENT;
+    }
+
+    /**
+     * Get the delay requested by NetSuite with the {@code Retry-After} header of the last response of the port.
+     *
+     * @return delay in milliseconds, or {@code -1} if NetSuite did not request any
+     */
+    protected long getRetryAfter() {
+        if (!(port instanceof BindingProvider)) {
+            return -1;
+        }
+        Map<String, Object> responseContext = ((BindingProvider) port).getResponseContext();
+        Object headers = responseContext != null ? responseContext.get(MessageContext.HTTP_RESPONSE_HEADERS) : null;
+        if (!(headers instanceof Map)) {
+            return -1;
+        }
+        for (Map.Entry<?, ?> header : ((Map<?, ?>) headers).entrySet()) {
+            if (RETRY_AFTER_HEADER.equalsIgnoreCase(String.valueOf(header.getKey())) && header.getValue() instanceof List
+                    && !((List<?>) header.getValue()).isEmpty()) {
+                return parseRetryAfter(String.valueOf(((List<?>) header.getValue()).get(0)), System.currentTimeMillis());
+            }
+        }
+        return -1;
+    }
 
+    /**
+     * Parse the value of a {@code Retry-After} header, a number of seconds or a HTTP date.
+     *
+     * @param value value of the header
+     * @param now current time, in milliseconds
+     * @return delay in milliseconds, or {@code -1} if the value is not valid
+     */
+    static long parseRetryAfter(String value, long now) {
+        String trimmedValue = value.trim();
+        try {
+            return TimeUnit.SECONDS.toMillis(Math.max(0, Long.parseLong(trimmedValue)));
+        } catch (NumberFormatException e) {
+            // not a number of seconds
+        }
+        try {
+            long date = ZonedDateTime.parse(trimmedValue, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant().toEpochMilli();
+            return Math.max(0, date - now);
+        } catch (DateTimeParseException e) {
+            return -1;
         }
     }
 
@@ -1079,6 +1229,22 @@ public abstract class NetSuiteClientService<PortT> {
         R execute(PortT port) throws Exception;
     }
 
+    /**
+     * Waits between the retries of an operation.
+     */
+    public interface Sleeper {
+
+        Sleeper SYSTEM = new Sleeper() {
+
+            @Override
+            public void sleep(long millis) throws InterruptedException {
+                Thread.sleep(millis);
+            }
+        };
+
+        void sleep(long millis) throws InterruptedException;
+    }
+
     /**
      * Check status of an operation and throw {@link NetSuiteException} if status indicates that
      * an error occurred.
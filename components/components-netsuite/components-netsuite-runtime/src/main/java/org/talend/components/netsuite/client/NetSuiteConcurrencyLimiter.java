@@ -0,0 +1,100 @@
+//============================================================================
+//
+// Copyright (C) 2006-2023 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// %InstallDIR%\features\org.talend.rcp.branding.%PRODUCTNAME%\%PRODUCTNAME%license.txt
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+//============================================================================
+
+package org.talend.components.netsuite.client;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Caps the number of concurrent requests sent to a NetSuite account by all the clients of the JVM.
+ *
+ * <p>NetSuite rejects the requests above the concurrency limit of the account, so the clients wait for a free slot
+ * instead of sending requests which are going to fail and be retried.
+ */
+public class NetSuiteConcurrencyLimiter {
+
+    /** Default concurrency limit of a NetSuite account. */
+    public static final int DEFAULT_CONCURRENCY_LIMIT = 5;
+
+    public static final String CONCURRENCY_LIMIT_PROPERTY_NAME =
+            "org.talend.components.netsuite.client.concurrencyLimit";
+
+    private static final ConcurrentMap<String, NetSuiteConcurrencyLimiter> LIMITERS = new ConcurrentHashMap<>();
+
+    private final int limit;
+
+    private final Semaphore permits;
+
+    NetSuiteConcurrencyLimiter(int limit) {
+        this.limit = limit;
+        this.permits = new Semaphore(limit, true);
+    }
+
+    /**
+     * Get the concurrency limit of the accounts, set by the system property
+     * {@link #CONCURRENCY_LIMIT_PROPERTY_NAME}, or {@link #DEFAULT_CONCURRENCY_LIMIT}.
+     *
+     * @return concurrency limit, {@code 0} or less if the requests are not limited
+     */
+    public static int getDefaultConcurrencyLimit() {
+        return Integer.getInteger(CONCURRENCY_LIMIT_PROPERTY_NAME, DEFAULT_CONCURRENCY_LIMIT);
+    }
+
+    /**
+     * Get the limiter shared by all the clients of an account. The limit is set by the first client of the account.
+     *
+     * @param account NetSuite account
+     * @param limit maximal number of concurrent requests
+     * @return limiter or {@code null} if the requests of the account are not limited
+     */
+    public static NetSuiteConcurrencyLimiter forAccount(String account, int limit) {
+        if (account == null || limit <= 0) {
+            return null;
+        }
+        NetSuiteConcurrencyLimiter limiter = LIMITERS.get(account);
+        if (limiter == null) {
+            NetSuiteConcurrencyLimiter newLimiter = new NetSuiteConcurrencyLimiter(limit);
+            limiter = LIMITERS.putIfAbsent(account, newLimiter);
+            if (limiter == null) {
+                limiter = newLimiter;
+            }
+        }
+        return limiter;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    /**
+     * Wait for a free slot, it must be released by {@link #release()} at the end of the request.
+     *
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    public void acquire() throws InterruptedException {
+        permits.acquire();
+    }
+
+    public void release() {
+        permits.release();
+    }
+
+    /**
+     * @return number of the requests which can be sent without waiting
+     */
+    public int getAvailableSlots() {
+        return permits.availablePermits();
+    }
+}
@@ -0,0 +1,47 @@
+//============================================================================
+//
+// Copyright (C) 2006-2023 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// %InstallDIR%\features\org.talend.rcp.branding.%PRODUCTNAME%\%PRODUCTNAME%license.txt
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+//============================================================================
+
+package org.talend.components.netsuite.client;
+
+/**
+ * Decides how long {@link NetSuiteClientService} waits before retrying an operation which failed with an error that can
+ * be worked around.
+ */
+public interface NetSuiteRetryPolicy {
+
+    /**
+     * Type of an error which can be worked around by retrying.
+     */
+    enum ErrorType {
+
+        /** The concurrency or request limit of the account was exceeded, retrying early makes it worse. */
+        CONCURRENCY_LIMIT,
+
+        /** The session is not valid anymore, the client logs in again before retrying. */
+        SESSION,
+
+        /** Any other error which can be worked around, a network error for example. */
+        TRANSIENT
+    }
+
+    /**
+     * Get the delay before the next attempt.
+     *
+     * @param attempt number of the failed attempt, starting from 0
+     * @param errorType type of the error of the failed attempt
+     * @param previousDelay delay before the failed attempt, in milliseconds, 0 for the first attempt
+     * @param retryAfter delay requested by NetSuite, in milliseconds, or -1 if it did not request any
+     * @return delay before the next attempt, in milliseconds
+     */
+    long getRetryDelay(int attempt, ErrorType errorType, long previousDelay, long retryAfter);
+}
@@ -14,8 +14,17 @@
 package org.talend.components.netsuite.output;
 
 import java.io.IOException;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.avro.Schema;
 import org.apache.avro.generic.GenericData;
@@ -39,6 +48,12 @@ import org.talend.components.netsuite.client.model.TypeDesc;
 /**
  * Responsible for bulk writing of records.
  *
+ * <p>
+ * When more than one concurrent batch is allowed, a full batch is transduced and submitted to an executor, and the writer
+ * goes on with the next batch while the previous ones are in flight. When the maximum number of batches is in flight, the
+ * writer waits for the oldest one. The batches are sent one after the other and the write responses are always processed in the order of the batches, so the success
+ * and reject records keep the order of the input records.
+ *
  * Subclasses override {@link #doWrite(List)} to perform required output operation:
  * <ul>
  * <li>Add - {@link NetSuiteAddWriter}</li>
@@ -74,6 +89,15 @@ public abstract class NetSuiteOutputWriter<T, RefT> implements WriterWithFeedbac
 
     private int batchSize = NetSuiteOutputProperties.DEFAULT_BATCH_SIZE;
 
+    /** Maximum number of batches in flight, 1 to write each batch in the thread of the writer. */
+    private int maxConcurrentBatches = 1;
+
+    /** Executes the write operation of the batches in flight. */
+    private ExecutorService executor;
+
+    /** Batches in flight, in the order of submission. */
+    private final Deque<PendingBatch<T, RefT>> pendingBatches = new ArrayDeque<>();
+
     // Holds accumulated IndexedRecords for a current batch
     private List<IndexedRecord> inputRecordList = new ArrayList<>();
 
@@ -122,6 +146,14 @@ public abstract class NetSuiteOutputWriter<T, RefT> implements WriterWithFeedbac
         this.batchSize = batchSize;
     }
 
+    public int getMaxConcurrentBatches() {
+        return maxConcurrentBatches;
+    }
+
+    public void setMaxConcurrentBatches(int maxConcurrentBatches) {
+        this.maxConcurrentBatches = Math.max(1, maxConcurrentBatches);
+    }
+
     @Override
     public void cleanWrites() {
         writeResponses.clear();
@@ -187,22 +219,39 @@ public abstract class NetSuiteOutputWriter<T, RefT> implements WriterWithFeedbac
         transducer.setApiVersion(writeOperation.getProperties().getConnectionProperties().apiVersion.getValue());
     }
 
+    /**
+     * The feedback is cleaned once per call, a call can complete several batches in flight and the records of all of them
+     * are kept for the caller.
+     */
     @Override
     public void write(Object object) throws IOException {
+        cleanWrites();
+
         IndexedRecord record = (IndexedRecord) object;
 
         inputRecordList.add(record);
 
         if (inputRecordList.size() == batchSize) {
             // If batch is full then submit it.
-            flush();
+            if (maxConcurrentBatches > 1) {
+                submit();
+            } else {
+                flush();
+            }
         }
     }
 
     /**
-     * Flush current batch. If batch is empty the method does nothing.
+     * Flush current batch and wait for the batches in flight. If batch is empty the method does nothing.
      */
     private void flush() {
+        if (maxConcurrentBatches > 1) {
+            submit();
+            while (!pendingBatches.isEmpty()) {
+                complete(pendingBatches.poll());
+            }
+            return;
+        }
         try {
             write(inputRecordList);
         } finally {
@@ -210,6 +259,66 @@ public abstract class NetSuiteOutputWriter<T, RefT> implements WriterWithFeedbac
         }
     }
 
+    /**
+     * Transduce current batch and submit it for writing, without waiting for the response. If batch is empty the method
+     * does nothing.
+     */
+    private void submit() {
+        if (inputRecordList.isEmpty()) {
+            return;
+        }
+        final List<IndexedRecord> indexedRecordList = inputRecordList;
+        inputRecordList = new ArrayList<>();
+
+        final List<T> nsObjectList = transduce(indexedRecordList);
+
+        // Wait for the oldest batch while the maximum number of batches is in flight
+        while (pendingBatches.size() >= maxConcurrentBatches) {
+            complete(pendingBatches.poll());
+        }
+
+        if (executor == null) {
+            // The client service serializes its calls, a single thread keeps the batches sent in the order of the records
+            executor = Executors.newSingleThreadExecutor(new BatchThreadFactory());
+        }
+        Future<List<NsWriteResponse<RefT>>> responses = executor.submit(new Callable<List<NsWriteResponse<RefT>>>() {
+
+            @Override
+            public List<NsWriteResponse<RefT>> call() throws Exception {
+                return doWrite(nsObjectList);
+            }
+        });
+        pendingBatches.add(new PendingBatch<T, RefT>(indexedRecordList, responses));
+
+        // Process the responses of the batches already written
+        while (!pendingBatches.isEmpty() && pendingBatches.peek().responses.isDone()) {
+            complete(pendingBatches.poll());
+        }
+    }
+
+    /**
+     * Wait for the response of a batch in flight and process it.
+     *
+     * @param batch batch to be completed
+     */
+    private void complete(PendingBatch<T, RefT> batch) {
+        List<NsWriteResponse<RefT>> responseList;
+        try {
+            responseList = batch.responses.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new NetSuiteException(e.getMessage(), e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new NetSuiteException(cause.getMessage(), cause);
+        }
+
+        processWriteResponses(responseList, batch.indexedRecordList);
+    }
+
     /**
      * Process and write given list of <code>IndexedRecord</code>s.
      *
@@ -220,20 +329,39 @@ public abstract class NetSuiteOutputWriter<T, RefT> implements WriterWithFeedbac
             return;
         }
 
-        cleanWrites();
-
         // Transduce IndexedRecords to NetSuite data model objects
 
+        List<T> nsObjectList = transduce(indexedRecordList);
+
+        // Write NetSuite objects and process write responses
+
+        List<NsWriteResponse<RefT>> responseList = doWrite(nsObjectList);
+
+        processWriteResponses(responseList, indexedRecordList);
+    }
+
+    /**
+     * Transduce given list of <code>IndexedRecord</code>s to NetSuite data model objects.
+     *
+     * @param indexedRecordList list of records to be transduced
+     * @return list of NetSuite objects, the order is the same as in record list
+     */
+    private List<T> transduce(List<IndexedRecord> indexedRecordList) {
         List<T> nsObjectList = new ArrayList<>(indexedRecordList.size());
         for (IndexedRecord indexedRecord : indexedRecordList) {
             Object nsObject = transducer.write(indexedRecord);
             nsObjectList.add((T) nsObject);
         }
+        return nsObjectList;
+    }
 
-        // Write NetSuite objects and process write responses
-
-        List<NsWriteResponse<RefT>> responseList = doWrite(nsObjectList);
-
+    /**
+     * Process write responses of a batch.
+     *
+     * @param responseList write responses, the order is the same as in record list
+     * @param indexedRecordList list of records which were submitted
+     */
+    private void processWriteResponses(List<NsWriteResponse<RefT>> responseList, List<IndexedRecord> indexedRecordList) {
         for (int i = 0; i < responseList.size(); i++) {
             NsWriteResponse<RefT> response = responseList.get(i);
             IndexedRecord indexedRecord = indexedRecordList.get(i);
@@ -379,8 +507,19 @@ public abstract class NetSuiteOutputWriter<T, RefT> implements WriterWithFeedbac
 
     @Override
     public Result close() throws IOException {
-        // Write remaining objects
-        flush();
+        try {
+            if (!inputRecordList.isEmpty() || !pendingBatches.isEmpty()) {
+                // The feedback of the remaining batches replaces the one of the last write
+                cleanWrites();
+            }
+            // Write remaining objects
+            flush();
+        } finally {
+            if (executor != null) {
+                executor.shutdownNow();
+                executor = null;
+            }
+        }
         return result;
     }
 
@@ -389,4 +528,31 @@ public abstract class NetSuiteOutputWriter<T, RefT> implements WriterWithFeedbac
         return writeOperation;
     }
 
+    /**
+     * Holds records of a batch in flight and the future write responses.
+     */
+    private static class PendingBatch<T, RefT> {
+
+        private final List<IndexedRecord> indexedRecordList;
+
+        private final Future<List<NsWriteResponse<RefT>>> responses;
+
+        PendingBatch(List<IndexedRecord> indexedRecordList, Future<List<NsWriteResponse<RefT>>> responses) {
+            this.indexedRecordList = indexedRecordList;
+            this.responses = responses;
+        }
+    }
+
+    private static class BatchThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable r) {
+            Thread thread = new Thread(r, "netsuite-output-batch-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+
 }
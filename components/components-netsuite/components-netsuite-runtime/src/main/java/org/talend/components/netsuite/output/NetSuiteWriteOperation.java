@@ -94,6 +94,11 @@ public class NetSuiteWriteOperation implements WriteOperation<Result> {
             writer.setBatchSize(batchSize);
         }
 
+        Integer maxConcurrentBatches = properties.maxConcurrentBatches.getValue();
+        if (maxConcurrentBatches != null) {
+            writer.setMaxConcurrentBatches(maxConcurrentBatches);
+        }
+
         Boolean dieOnError = properties.dieOnError.getValue();
         if (dieOnError != null) {
             writer.setExceptionForErrors(dieOnError);
@@ -16,12 +16,11 @@ package org.talend.components.netsuite.output;
 import static org.talend.components.netsuite.client.model.beans.Beans.getSimpleProperty;
 import static org.talend.components.netsuite.client.model.beans.Beans.setSimpleProperty;
 
-import java.util.Collections;
+import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
 
 import org.apache.avro.Schema;
 import org.apache.avro.generic.IndexedRecord;
@@ -31,8 +30,8 @@ import org.talend.components.netsuite.NsObjectTransducer;
 import org.talend.components.netsuite.client.NetSuiteClientService;
 import org.talend.components.netsuite.client.NsRef;
 import org.talend.components.netsuite.client.model.BasicRecordType;
+import org.talend.components.netsuite.client.model.CustomFieldDesc;
 import org.talend.components.netsuite.client.model.CustomRecordTypeInfo;
-import org.talend.components.netsuite.client.model.CustomTransactionTypeInfo;
 import org.talend.components.netsuite.client.model.FieldDesc;
 import org.talend.components.netsuite.client.model.RecordTypeDesc;
 import org.talend.components.netsuite.client.model.RecordTypeInfo;
@@ -40,6 +39,8 @@ import org.talend.components.netsuite.client.model.RefType;
 import org.talend.components.netsuite.client.model.TypeDesc;
 import org.talend.components.netsuite.client.model.beans.BeanInfo;
 import org.talend.components.netsuite.client.model.beans.Beans;
+import org.talend.components.netsuite.client.model.customfield.CustomFieldRefType;
+import org.talend.daikon.avro.converter.AvroConverter;
 
 import com.fasterxml.jackson.databind.node.JsonNodeFactory;
 import com.fasterxml.jackson.databind.node.ObjectNode;
@@ -48,6 +49,10 @@ import com.fasterxml.jackson.databind.node.ObjectNode;
  * Responsible for translating of input {@code IndexedRecord} to output NetSuite data object.
  *
  * <p>Output NetSuite data object can be {@code Record} or {@code RecordRef}.
+ *
+ * <p>The mapping of the fields of a schema to the fields of the NetSuite data object is resolved once
+ * per schema in a {@link WritePlan}, so that translating of a record only reads the values by position,
+ * converts them and sets them to the data object.
  */
 public class NsObjectOutputTransducer extends NsObjectTransducer {
 
@@ -66,6 +71,27 @@ public class NsObjectOutputTransducer extends NsObjectTransducer {
     /** Information for picklist type*/
     private String apiVersion;
 
+    /** Name of type of NetSuite data object to be created. */
+    private String targetTypeName;
+
+    /** Specifies whether NetSuite data object supports null'ing of fields. */
+    private boolean nullFieldListSupported;
+
+    /** Descriptor of field identifying the record type, can be {@code null}. */
+    private FieldDesc recordTypeFieldDesc;
+
+    /** Value of field identifying the record type. */
+    private Object recordTypeFieldValue;
+
+    /** Specifies whether to forcibly replace value of field identifying the record type. */
+    private boolean recordTypeFieldReplace;
+
+    /** Write plans by schemas. */
+    private final Map<Schema, WritePlan> writePlans = new HashMap<>();
+
+    /** Last used write plan. */
+    private WritePlan lastWritePlan;
+
     public NsObjectOutputTransducer(NetSuiteClientService<?> clientService, String typeName) {
         super(clientService);
 
@@ -96,23 +122,10 @@ public class NsObjectOutputTransducer extends NsObjectTransducer {
         } else {
             typeDesc = metaDataSource.getTypeInfo(typeName);
         }
-    }
-
-    /**
-     * Translate input {@code IndexedRecord} to output NetSuite data object.
-     *
-     * @param indexedRecord indexed record to be processed
-     * @return NetSuite data object
-     */
-    public Object write(IndexedRecord indexedRecord) {
-        prepare();
 
-        Map<String, FieldDesc> fieldMap = typeDesc.getFieldMap();
         BeanInfo beanInfo = Beans.getBeanInfo(typeDesc.getTypeClass());
+        nullFieldListSupported = beanInfo.getProperty("nullFieldList") != null;
 
-        Schema schema = indexedRecord.getSchema();
-
-        String targetTypeName;
         if (recordTypeInfo != null && !reference) {
             RecordTypeDesc recordTypeDesc = recordTypeInfo.getRecordType();
             targetTypeName = recordTypeDesc.getTypeName();
@@ -120,71 +133,30 @@ public class NsObjectOutputTransducer extends NsObjectTransducer {
             targetTypeName = typeDesc.getTypeName();
         }
 
-        Object nsObject = clientService.getBasicMetaData().createInstance(targetTypeName);
-
-        // Names of fields to be null'ed.
-        Set<String> nullFieldNames = new HashSet<>();
-
-        // Custom fields by names.
-        Map<String, Object> customFieldMap = Collections.emptyMap();
-
-        if (!reference && beanInfo.getProperty("customFieldList") != null) {
-            customFieldMap = new HashMap<>();
-
-            Object customFieldListWrapper = getSimpleProperty(nsObject, "customFieldList");
-            if (customFieldListWrapper != null) {
-                List<Object> customFieldList = (List<Object>) getSimpleProperty(customFieldListWrapper, "customField");
-                for (Object customField : customFieldList) {
-                    String scriptId = (String) getSimpleProperty(customField, "scriptId");
-                    customFieldMap.put(scriptId, customField);
-                }
-            }
-        }
-
-        for (Schema.Field field : schema.getFields()) {
-            String nsFieldName = NetSuiteDatasetRuntimeImpl.getNsFieldName(field);
-
-            FieldDesc fieldDesc = fieldMap.get(nsFieldName);
-            if (fieldDesc == null) {
-                continue;
-            }
-
-            Object value = indexedRecord.get(field.pos());
-
-            writeField(nsObject, fieldDesc, customFieldMap, nullFieldNames, value);
-        }
-
-        // Set record type identification data
+        // Record type identification data
 
         if (reference) {
             if (recordTypeInfo.getRefType() == RefType.RECORD_REF) {
-                FieldDesc recTypeFieldDesc = typeDesc.getField("type");
                 RecordTypeDesc recordTypeDesc = recordTypeInfo.getRecordType();
-                nullFieldNames.remove("type");
-                writeSimpleField(nsObject, recTypeFieldDesc.asSimple(), false, nullFieldNames,
-                        StringUtils.uncapitalize(recordTypeDesc.getTypeName()));
+                recordTypeFieldDesc = typeDesc.getField("type");
+                recordTypeFieldValue = StringUtils.uncapitalize(recordTypeDesc.getTypeName());
 
             } else if (recordTypeInfo.getRefType() == RefType.CUSTOM_RECORD_REF) {
                 CustomRecordTypeInfo customRecordTypeInfo = (CustomRecordTypeInfo) recordTypeInfo;
                 NsRef customizationRef = customRecordTypeInfo.getCustomizationRef();
 
-                FieldDesc typeIdFieldDesc = typeDesc.getField("typeId");
-                nullFieldNames.remove("typeId");
-                writeSimpleField(nsObject, typeIdFieldDesc.asSimple(),
-                        false, nullFieldNames, customizationRef.getInternalId());
+                recordTypeFieldDesc = typeDesc.getField("typeId");
+                recordTypeFieldValue = customizationRef.getInternalId();
             } else if (recordTypeInfo.getRefType() == RefType.CUSTOM_TRANSACTION_REF) {
-                String scriptId = recordTypeInfo.getName();
-                FieldDesc customTransTypeFieldDesc = typeDesc.getField("scriptId");
-                nullFieldNames.remove("scriptId");
-                writeSimpleField(nsObject, customTransTypeFieldDesc.asSimple(), 
-                        true, nullFieldNames, scriptId);
+                recordTypeFieldDesc = typeDesc.getField("scriptId");
+                recordTypeFieldValue = recordTypeInfo.getName();
+                recordTypeFieldReplace = true;
             }
         } else if (recordTypeInfo != null) {
             RecordTypeDesc recordTypeDesc = recordTypeInfo.getRecordType();
             if (recordTypeDesc.getType().equals(BasicRecordType.CUSTOM_RECORD.getType())) {
                 CustomRecordTypeInfo customRecordTypeInfo = (CustomRecordTypeInfo) recordTypeInfo;
 
-                FieldDesc recTypeFieldDesc = typeDesc.getField("recType");
                 NsRef recordTypeRef = customRecordTypeInfo.getCustomizationRef();
 
                 // Create custom record type ref as JSON to create native RecordRef
@@ -192,15 +164,60 @@ public class NsObjectOutputTransducer extends NsObjectTransducer {
                 recordRefNode.set("internalId", JsonNodeFactory.instance.textNode(recordTypeRef.getInternalId()));
                 recordRefNode.set("type", JsonNodeFactory.instance.textNode(recordTypeDesc.getType()));
 
-                nullFieldNames.remove("recType");
-                writeSimpleField(nsObject, recTypeFieldDesc.asSimple(),
-                        false, nullFieldNames, recordRefNode.toString());
+                recordTypeFieldDesc = typeDesc.getField("recType");
+                recordTypeFieldValue = recordRefNode.toString();
             }
         }
+    }
+
+    /**
+     * Translate input {@code IndexedRecord} to output NetSuite data object.
+     *
+     * @param indexedRecord indexed record to be processed
+     * @return NetSuite data object
+     */
+    public Object write(IndexedRecord indexedRecord) {
+        prepare();
+
+        WritePlan writePlan = getWritePlan(indexedRecord.getSchema());
+
+        Object nsObject = clientService.getBasicMetaData().createInstance(targetTypeName);
+
+        // Names of fields to be null'ed.
+        List<String> nullFieldNames = new ArrayList<>();
+
+        // Custom fields of data object, created on first custom field.
+        List<Object> customFieldList = null;
+
+        for (FieldPlan fieldPlan : writePlan.fieldPlans) {
+            Object targetValue = fieldPlan.valueConverter.convertToDatum(indexedRecord.get(fieldPlan.pos));
+
+            if (fieldPlan.customFieldRef != null) {
+                if (customFieldList == null) {
+                    customFieldList = getCustomFieldList(nsObject);
+                }
+                if (targetValue != null) {
+                    customFieldList.add(createCustomField(fieldPlan, targetValue));
+                }
+            } else if (targetValue != null) {
+                setSimpleProperty(nsObject, fieldPlan.propertyName, targetValue);
+            } else {
+                setSimpleProperty(nsObject, fieldPlan.propertyName, null);
+                nullFieldNames.add(fieldPlan.fieldName);
+            }
+        }
+
+        // Set record type identification data
+
+        if (recordTypeFieldDesc != null) {
+            nullFieldNames.remove(recordTypeFieldDesc.getName());
+            writeSimpleField(nsObject, recordTypeFieldDesc.asSimple(), recordTypeFieldReplace, nullFieldNames,
+                    recordTypeFieldValue);
+        }
 
         // Set null fields
 
-        if (!nullFieldNames.isEmpty() && beanInfo.getProperty("nullFieldList") != null) {
+        if (!nullFieldNames.isEmpty() && nullFieldListSupported) {
             Object nullFieldListWrapper = clientService.getBasicMetaData()
                     .createInstance("NullField");
             setSimpleProperty(nsObject, "nullFieldList", nullFieldListWrapper);
@@ -211,6 +228,86 @@ public class NsObjectOutputTransducer extends NsObjectTransducer {
         return nsObject;
     }
 
+    /**
+     * Get write plan for given schema, the plan is compiled on first use of the schema.
+     *
+     * @param schema schema of records
+     * @return write plan
+     */
+    private WritePlan getWritePlan(Schema schema) {
+        WritePlan writePlan = lastWritePlan;
+        if (writePlan == null || writePlan.schema != schema) {
+            writePlan = writePlans.get(schema);
+            if (writePlan == null) {
+                writePlan = compileWritePlan(schema);
+                writePlans.put(schema, writePlan);
+            }
+            lastWritePlan = writePlan;
+        }
+        return writePlan;
+    }
+
+    /**
+     * Resolve fields of NetSuite data object and value converters for fields of given schema.
+     *
+     * @param schema schema of records
+     * @return write plan
+     */
+    private WritePlan compileWritePlan(Schema schema) {
+        Map<String, FieldDesc> fieldMap = typeDesc.getFieldMap();
+
+        // Field plans by names of NetSuite fields, a field which is repeated in schema overrides previous one.
+        Map<String, FieldPlan> fieldPlanMap = new LinkedHashMap<>();
+        for (Schema.Field field : schema.getFields()) {
+            String nsFieldName = NetSuiteDatasetRuntimeImpl.getNsFieldName(field);
+
+            FieldDesc fieldDesc = fieldMap.get(nsFieldName);
+            if (fieldDesc == null) {
+                continue;
+            }
+
+            fieldPlanMap.remove(nsFieldName);
+            fieldPlanMap.put(nsFieldName, new FieldPlan(field.pos(), fieldDesc, getValueConverter(fieldDesc)));
+        }
+
+        return new WritePlan(schema, fieldPlanMap.values().toArray(new FieldPlan[fieldPlanMap.size()]));
+    }
+
+    /**
+     * Get list of custom fields of NetSuite data object, the list wrapper is created if required.
+     *
+     * @param nsObject NetSuite data object
+     * @return list of custom fields
+     */
+    private List<Object> getCustomFieldList(Object nsObject) {
+        Object customFieldListWrapper = getSimpleProperty(nsObject, "customFieldList");
+        if (customFieldListWrapper == null) {
+            customFieldListWrapper = clientService.getBasicMetaData().createInstance("CustomFieldList");
+            setSimpleProperty(nsObject, "customFieldList", customFieldListWrapper);
+        }
+        return (List<Object>) getSimpleProperty(customFieldListWrapper, "customField");
+    }
+
+    /**
+     * Create native custom field object for given value.
+     *
+     * @param fieldPlan plan of custom field
+     * @param targetValue converted value, not {@code null}
+     * @return custom field object
+     */
+    private Object createCustomField(FieldPlan fieldPlan, Object targetValue) {
+        Object customField;
+        if (fieldPlan.customFieldRefType == CustomFieldRefType.MULTI_SELECT) {
+            // Value of multi-select field is custom field object itself
+            customField = targetValue;
+        } else {
+            customField = clientService.getBasicMetaData().createInstance(fieldPlan.customFieldRefType.getTypeName());
+            setSimpleProperty(customField, "value", targetValue);
+        }
+        setSimpleProperty(customField, "scriptId", fieldPlan.customFieldRef.getScriptId());
+        setSimpleProperty(customField, "internalId", fieldPlan.customFieldRef.getInternalId());
+        return customField;
+    }
 
     @Override
     public String getApiVersion() {
@@ -222,4 +319,58 @@ public class NsObjectOutputTransducer extends NsObjectTransducer {
         this.apiVersion = apiVersion;
     }
 
+    /**
+     * Fields of NetSuite data object to be written for a schema, in order of schema fields.
+     */
+    private static class WritePlan {
+
+        /** Schema which the plan was compiled for. */
+        private final Schema schema;
+
+        private final FieldPlan[] fieldPlans;
+
+        WritePlan(Schema schema, FieldPlan[] fieldPlans) {
+            this.schema = schema;
+            this.fieldPlans = fieldPlans;
+        }
+    }
+
+    /**
+     * Resolved mapping of a schema field to a field of NetSuite data object.
+     */
+    private static class FieldPlan {
+
+        /** Position of field in schema. */
+        private final int pos;
+
+        /** Name of NetSuite field, used for null'ing of field. */
+        private final String fieldName;
+
+        /** Name of bean property for standard field. */
+        private final String propertyName;
+
+        /** Customization ref for custom field, {@code null} for standard field. */
+        private final NsRef customFieldRef;
+
+        /** Type of custom field. */
+        private final CustomFieldRefType customFieldRefType;
+
+        private final AvroConverter valueConverter;
+
+        FieldPlan(int pos, FieldDesc fieldDesc, AvroConverter valueConverter) {
+            this.pos = pos;
+            this.fieldName = fieldDesc.getName();
+            this.valueConverter = valueConverter;
+            if (fieldDesc instanceof CustomFieldDesc) {
+                CustomFieldDesc customFieldDesc = fieldDesc.asCustom();
+                this.propertyName = null;
+                this.customFieldRef = customFieldDesc.getCustomizationRef();
+                this.customFieldRefType = customFieldDesc.getCustomFieldType();
+            } else {
+                this.propertyName = fieldDesc.asSimple().getPropertyName();
+                this.customFieldRef = null;
+                this.customFieldRefType = null;
+            }
+        }
+    }
 }
@@ -45,6 +45,7 @@ public class NetSuiteRuntimeI18nTest {
         assertI18nMessage("error.couldNotGetWebServiceDomain", "test123");
         assertI18nMessage("error.ssoLoginNotSupported");
         assertI18nMessage("error.failedToLogin", "INVALID_ACCNT Invalid account");
+        assertI18nMessage("error.retryInterrupted");
     }
 
     private void assertI18nMessage(String key, Object...arg) {
@@ -0,0 +1,102 @@
+//============================================================================
+//
+// Copyright (C) 2006-2023 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// %InstallDIR%\features\org.talend.rcp.branding.%PRODUCTNAME%\%PRODUCTNAME%license.txt
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+//============================================================================
+
+package org.talend.components.netsuite.client;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+import org.talend.components.netsuite.client.NetSuiteRetryPolicy.ErrorType;
+
+/**
+ *
+ */
+public class DefaultNetSuiteRetryPolicyTest {
+
+    private DefaultNetSuiteRetryPolicy policy = new DefaultNetSuiteRetryPolicy(new Random(42));
+
+    @Test
+    public void testBackoff() {
+        long base = TimeUnit.SECONDS.toMillis(NetSuiteClientService.MINIMAL_WAIT_TIME_INTERVAL);
+        long delay = policy.getRetryDelay(0, ErrorType.CONCURRENCY_LIMIT, 0, -1);
+        assertTrue(delay >= base);
+        assertTrue(delay <= base * 3);
+        for (int i = 1; i < 10; i++) {
+            long nextDelay = policy.getRetryDelay(i, ErrorType.CONCURRENCY_LIMIT, delay, -1);
+            assertTrue(nextDelay >= base);
+            assertTrue(nextDelay <= Math.min(delay * 3, DefaultNetSuiteRetryPolicy.DEFAULT_MAX_DELAY));
+            delay = nextDelay;
+        }
+    }
+
+    @Test
+    public void testBaseDelayByErrorType() {
+        assertFirstDelayRange(TimeUnit.SECONDS.toMillis(1), ErrorType.SESSION);
+        assertFirstDelayRange(TimeUnit.SECONDS.toMillis(NetSuiteClientService.FIXED_RETRY_INTERVAL), ErrorType.TRANSIENT);
+        assertFirstDelayRange(TimeUnit.SECONDS.toMillis(NetSuiteClientService.MINIMAL_WAIT_TIME_INTERVAL),
+                ErrorType.CONCURRENCY_LIMIT);
+    }
+
+    private void assertFirstDelayRange(long base, ErrorType errorType) {
+        for (int i = 0; i < 20; i++) {
+            long delay = policy.getRetryDelay(0, errorType, 0, -1);
+            assertTrue(errorType + " " + delay, delay >= base);
+            assertTrue(errorType + " " + delay, delay <= base * 3);
+        }
+    }
+
+    @Test
+    public void testJitter() {
+        // the clients failing at the same time don't retry at the same time
+        Set<Long> delays = new HashSet<>();
+        for (int i = 0; i < 20; i++) {
+            delays.add(policy.getRetryDelay(1, ErrorType.CONCURRENCY_LIMIT, TimeUnit.SECONDS.toMillis(10), -1));
+        }
+        assertTrue(delays.size() > 10);
+    }
+
+    @Test
+    public void testJitterOfFirstRetry() {
+        // the clients failing together for the first time are already spread over the range [base, 3 * base]
+        long base = TimeUnit.SECONDS.toMillis(NetSuiteClientService.MINIMAL_WAIT_TIME_INTERVAL);
+        Set<Long> delays = new HashSet<>();
+        long min = Long.MAX_VALUE;
+        long max = Long.MIN_VALUE;
+        for (int i = 0; i < 100; i++) {
+            long delay = policy.getRetryDelay(0, ErrorType.CONCURRENCY_LIMIT, 0, -1);
+            delays.add(delay);
+            min = Math.min(min, delay);
+            max = Math.max(max, delay);
+        }
+        assertTrue(delays.size() > 50);
+        assertTrue(String.valueOf(min), min < base + base / 2);
+        assertTrue(String.valueOf(max), max > 3 * base - base / 2);
+    }
+
+    @Test
+    public void testRetryAfter() {
+        policy.setMaxDelay(TimeUnit.SECONDS.toMillis(10));
+        assertEquals(TimeUnit.SECONDS.toMillis(30),
+                policy.getRetryDelay(0, ErrorType.CONCURRENCY_LIMIT, 0, TimeUnit.SECONDS.toMillis(30)));
+        // the delay is capped when NetSuite requests none
+        long delay = policy.getRetryDelay(5, ErrorType.CONCURRENCY_LIMIT, TimeUnit.SECONDS.toMillis(60), -1);
+        assertTrue(delay >= TimeUnit.SECONDS.toMillis(NetSuiteClientService.MINIMAL_WAIT_TIME_INTERVAL));
+        assertTrue(delay <= TimeUnit.SECONDS.toMillis(10));
+    }
+}
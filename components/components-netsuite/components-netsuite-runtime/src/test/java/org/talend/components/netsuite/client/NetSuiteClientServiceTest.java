@@ -13,9 +13,11 @@
 
 package org.talend.components.netsuite.client;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.argThat;
 import static org.mockito.Matchers.notNull;
@@ -23,10 +25,11 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.mockito.internal.verification.VerificationModeFactory.times;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 
-import org.apache.commons.lang3.time.StopWatch;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.ArgumentMatcher;
@@ -37,6 +40,7 @@ import org.talend.components.netsuite.client.model.TypeDesc;
 import org.talend.components.netsuite.test.NetSuitePortTypeMockAdapterImpl;
 import org.talend.components.netsuite.test.client.TestNetSuiteClientService;
 
+import com.netsuite.webservices.test.platform.ExceededConcurrentRequestLimitFault;
 import com.netsuite.webservices.test.platform.InvalidCredentialsFault;
 import com.netsuite.webservices.test.platform.NetSuitePortType;
 import com.netsuite.webservices.test.platform.UnexpectedErrorFault;
@@ -406,8 +410,8 @@ public class NetSuiteClientServiceTest extends NetSuiteMockTestBase {
 
     @Test
     public void testRetrying() throws Exception {
-        StopWatch stopWatch = new StopWatch();
-        stopWatch.start();
+        RecordingSleeper sleeper = new RecordingSleeper();
+        clientService.setSleeper(sleeper);
 
         clientService.setRetryCount(3);
         clientService.login();
@@ -438,14 +442,100 @@ public class NetSuiteClientServiceTest extends NetSuiteMockTestBase {
             }
         });
         clientService.delete(recordRef);
-        stopWatch.stop();
         verify(port, times(3)).login(notNull(LoginRequest.class));
         verify(port, times(3)).delete(notNull(DeleteRequest.class));
-        // 1 call, 2 retry, 3 passing. So sleeping for 2 slots.
-        long sleeptSeconds = 2 * NetSuiteClientService.MINIMAL_WAIT_TIME_INTERVAL
-                + Double.valueOf(Math.pow(NetSuiteClientService.FIXED_RETRY_INTERVAL, 0)).longValue()
-                + Double.valueOf(Math.pow(NetSuiteClientService.FIXED_RETRY_INTERVAL, 1)).longValue();
-        assertTrue(stopWatch.getTime() >= sleeptSeconds * 1000);
+        // 1 call, 2 retry, 3 passing. So sleeping for 2 slots, the second one up to 3 times the first one.
+        assertEquals(2, sleeper.delays.size());
+        assertTrue(sleeper.delays.get(0) >= TimeUnit.SECONDS.toMillis(1));
+        assertTrue(sleeper.delays.get(0) <= TimeUnit.SECONDS.toMillis(3));
+        assertTrue(sleeper.delays.get(1) >= TimeUnit.SECONDS.toMillis(1));
+        assertTrue(sleeper.delays.get(1) <= sleeper.delays.get(0) * 3);
+    }
+
+    @Test
+    public void testRetryingConcurrencyLimit() throws Exception {
+        RecordingSleeper sleeper = new RecordingSleeper();
+        clientService.setSleeper(sleeper);
+
+        clientService.setRetryCount(3);
+        clientService.login();
+        TypeDesc typeDesc = clientService.getMetaDataSource().getTypeInfo("RecordRef");
+
+        RecordRef recordRef = new NsObjectComposer<RecordRef>(clientService.getMetaDataSource(), typeDesc)
+                .composeObject();
+
+        final DeleteResponse response = new DeleteResponse();
+        response.setWriteResponse(createSuccessWriteResponse());
+
+        final AtomicInteger counter = new AtomicInteger(3);
+
+        when(port.delete(notNull(DeleteRequest.class))).thenAnswer(new Answer<DeleteResponse>() {
+
+            @Override
+            public DeleteResponse answer(InvocationOnMock invocation) throws Throwable {
+                if (counter.decrementAndGet() > 0) {
+                    com.netsuite.webservices.test.platform.faults.ExceededConcurrentRequestLimitFault faultInfo =
+                            new com.netsuite.webservices.test.platform.faults.ExceededConcurrentRequestLimitFault();
+                    faultInfo.setCode(FaultCodeType.WS_CONCUR_SESSION_DISALLWD);
+                    faultInfo.setMessage("Only one request may be made against a session at a time");
+                    throw new ExceededConcurrentRequestLimitFault(faultInfo.getMessage(), faultInfo);
+                }
+
+                return response;
+            }
+        });
+        clientService.delete(recordRef);
+        verify(port, times(3)).delete(notNull(DeleteRequest.class));
+        // the concurrency limit errors wait longer than the other errors
+        assertEquals(2, sleeper.delays.size());
+        for (Long delay : sleeper.delays) {
+            assertTrue(delay >= TimeUnit.SECONDS.toMillis(NetSuiteClientService.MINIMAL_WAIT_TIME_INTERVAL));
+            assertTrue(delay <= DefaultNetSuiteRetryPolicy.DEFAULT_MAX_DELAY);
+        }
+    }
+
+    @Test
+    public void testRetryingInterrupted() throws Exception {
+        clientService.setSleeper(new NetSuiteClientService.Sleeper() {
+
+            @Override
+            public void sleep(long millis) throws InterruptedException {
+                throw new InterruptedException();
+            }
+        });
+
+        clientService.login();
+        TypeDesc typeDesc = clientService.getMetaDataSource().getTypeInfo("RecordRef");
+
+        RecordRef recordRef = new NsObjectComposer<RecordRef>(clientService.getMetaDataSource(), typeDesc)
+                .composeObject();
+
+        com.netsuite.webservices.test.platform.faults.InvalidSessionFault faultInfo =
+                new com.netsuite.webservices.test.platform.faults.InvalidSessionFault();
+        faultInfo.setCode(FaultCodeType.SESSION_TIMED_OUT);
+        faultInfo.setMessage("Session timed out");
+        when(port.delete(notNull(DeleteRequest.class))).thenThrow(new InvalidSessionFault(faultInfo.getMessage(), faultInfo));
+
+        try {
+            clientService.delete(recordRef);
+            fail("NetSuiteException expected");
+        } catch (NetSuiteException e) {
+            assertTrue(e.getCause() instanceof InterruptedException);
+            // clears the interrupted status for the next tests
+            assertTrue(Thread.interrupted());
+        }
+        verify(port, times(1)).delete(notNull(DeleteRequest.class));
+    }
+
+    @Test
+    public void testParseRetryAfter() {
+        assertEquals(TimeUnit.SECONDS.toMillis(120), NetSuiteClientService.parseRetryAfter(" 120 ", 0));
+        // Wed, 21 Oct 2015 07:28:00 GMT
+        long now = 1445412480000L;
+        assertEquals(TimeUnit.SECONDS.toMillis(30),
+                NetSuiteClientService.parseRetryAfter("Wed, 21 Oct 2015 07:28:30 GMT", now));
+        assertEquals(0, NetSuiteClientService.parseRetryAfter("Wed, 21 Oct 2015 07:27:00 GMT", now));
+        assertEquals(-1, NetSuiteClientService.parseRetryAfter("soon", now));
     }
 
     @Test(expected = NetSuiteException.class)
@@ -501,4 +591,14 @@ public class NetSuiteClientServiceTest extends NetSuiteMockTestBase {
         writeResponse.setBaseRef(recordRef);
         return writeResponse;
     }
+
+    private static class RecordingSleeper implements NetSuiteClientService.Sleeper {
+
+        private final List<Long> delays = new ArrayList<>();
+
+        @Override
+        public void sleep(long millis) {
+            delays.add(millis);
+        }
+    }
 }
@@ -0,0 +1,74 @@
+//============================================================================
+//
+// Copyright (C) 2006-2023 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// %InstallDIR%\features\org.talend.rcp.branding.%PRODUCTNAME%\%PRODUCTNAME%license.txt
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+//============================================================================
+
+package org.talend.components.netsuite.client;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+/**
+ *
+ */
+public class NetSuiteConcurrencyLimiterTest {
+
+    @Test
+    public void testSharedByAccount() {
+        NetSuiteConcurrencyLimiter limiter = NetSuiteConcurrencyLimiter.forAccount("limiter-test-shared", 3);
+        assertSame(limiter, NetSuiteConcurrencyLimiter.forAccount("limiter-test-shared", 10));
+        assertEquals(3, limiter.getLimit());
+
+        assertNull(NetSuiteConcurrencyLimiter.forAccount(null, 3));
+        assertNull(NetSuiteConcurrencyLimiter.forAccount("limiter-test-unlimited", 0));
+    }
+
+    @Test
+    public void testLimit() throws Exception {
+        final NetSuiteConcurrencyLimiter limiter = NetSuiteConcurrencyLimiter.forAccount("limiter-test-limit", 2);
+        limiter.acquire();
+        limiter.acquire();
+        assertEquals(0, limiter.getAvailableSlots());
+
+        final CountDownLatch acquired = new CountDownLatch(1);
+        Thread thread = new Thread(new Runnable() {
+
+            @Override
+            public void run() {
+                try {
+                    limiter.acquire();
+                    acquired.countDown();
+                } catch (InterruptedException e) {
+                    // ends the thread
+                }
+            }
+        });
+        thread.start();
+
+        // the third request waits for a free slot
+        assertFalse(acquired.await(200, TimeUnit.MILLISECONDS));
+        limiter.release();
+        acquired.await(10, TimeUnit.SECONDS);
+        assertEquals(0, acquired.getCount());
+
+        thread.join();
+        limiter.release();
+        limiter.release();
+        assertEquals(2, limiter.getAvailableSlots());
+    }
+}
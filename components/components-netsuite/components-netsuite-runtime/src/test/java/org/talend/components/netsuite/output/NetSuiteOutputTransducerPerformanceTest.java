@@ -0,0 +1,153 @@
+//============================================================================
+//
+// Copyright (C) 2006-2023 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// %InstallDIR%\features\org.talend.rcp.branding.%PRODUCTNAME%\%PRODUCTNAME%license.txt
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+//============================================================================
+
+package org.talend.components.netsuite.output;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericRecord;
+import org.databene.contiperf.PerfTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.talend.components.api.test.performance.ContiPerfRuleAdaptor;
+import org.talend.components.netsuite.NetSuiteDatasetRuntime;
+import org.talend.components.netsuite.NetSuiteDatasetRuntimeImpl;
+import org.talend.components.netsuite.NetSuiteMockTestBase;
+import org.talend.components.netsuite.client.EmptyCustomMetaDataSource;
+import org.talend.components.netsuite.client.NetSuiteClientService;
+import org.talend.components.netsuite.client.NsRef;
+import org.talend.components.netsuite.client.model.CustomFieldDesc;
+import org.talend.components.netsuite.client.model.RecordTypeInfo;
+import org.talend.components.netsuite.client.model.RefType;
+import org.talend.components.netsuite.client.model.customfield.CustomFieldRefType;
+import org.talend.daikon.avro.AvroUtils;
+
+import com.netsuite.webservices.test.platform.NetSuitePortType;
+import com.netsuite.webservices.test.transactions.sales.Opportunity;
+
+/**
+ * Write records of a type with hundreds of custom fields, the mapping of the fields being compiled once per schema.
+ */
+public class NetSuiteOutputTransducerPerformanceTest extends NetSuiteMockTestBase {
+
+    private static final int CUSTOM_FIELDS = 300;
+
+    private static final int RECORDS = 1000;
+
+    private static final CustomFieldRefType[] CUSTOM_FIELD_TYPES = { CustomFieldRefType.STRING, CustomFieldRefType.LONG,
+            CustomFieldRefType.DOUBLE, CustomFieldRefType.BOOLEAN };
+
+    @Rule
+    public ContiPerfRuleAdaptor perfAdaptor = new ContiPerfRuleAdaptor();
+
+    private NetSuiteClientService<NetSuitePortType> clientService;
+
+    private List<GenericRecord> records;
+
+    @Override
+    @Before
+    public void setUp() throws Exception {
+        installWebServiceMockTestFixture();
+        installMockTestFixture();
+
+        super.setUp();
+
+        clientService = webServiceMockTestFixture.getClientService();
+        clientService.getMetaDataSource().setCustomMetaDataSource(new ManyCustomFieldsMetaDataSource());
+        mockGetRequestResults(null);
+
+        NetSuiteDatasetRuntime dataSetRuntime = new NetSuiteDatasetRuntimeImpl(clientService.getMetaDataSource());
+        Schema schema = dataSetRuntime.getSchema("Opportunity");
+
+        records = new ArrayList<>(RECORDS);
+        for (int i = 0; i < RECORDS; i++) {
+            GenericRecord record = new GenericData.Record(schema);
+            record.put("Title", "Opportunity " + i);
+            for (Schema.Field field : schema.getFields()) {
+                if (field.name().startsWith("Custbody_perf_")) {
+                    record.put(field.pos(), makeValue(AvroUtils.unwrapIfNullable(field.schema()).getType(), i));
+                }
+            }
+            records.add(record);
+        }
+    }
+
+    @Override
+    @After
+    public void tearDown() throws Exception {
+        super.tearDown();
+    }
+
+    private static Object makeValue(Schema.Type type, int i) {
+        switch (type) {
+        case LONG:
+            return (long) i;
+        case DOUBLE:
+            return i * 1.5;
+        case BOOLEAN:
+            return i % 2 == 0;
+        default:
+            return "value" + i;
+        }
+    }
+
+    @Test
+    @PerfTest(invocations = 10, threads = 1)
+    public void testWriteCustomFields() throws Exception {
+        NsObjectOutputTransducer transducer = new NsObjectOutputTransducer(clientService, "Opportunity");
+        for (int i = 0; i < RECORDS; i++) {
+            Opportunity opportunity = (Opportunity) transducer.write(records.get(i));
+            assertEquals("Opportunity " + i, opportunity.getTitle());
+            assertEquals(CUSTOM_FIELDS, opportunity.getCustomFieldList().getCustomField().size());
+        }
+    }
+
+    private static class ManyCustomFieldsMetaDataSource extends EmptyCustomMetaDataSource {
+
+        @Override
+        public Map<String, CustomFieldDesc> getCustomFields(RecordTypeInfo recordTypeInfo) {
+            Map<String, CustomFieldDesc> customFields = new HashMap<>();
+            if (!recordTypeInfo.getName().equals("Opportunity")) {
+                return customFields;
+            }
+            for (int i = 0; i < CUSTOM_FIELDS; i++) {
+                String scriptId = "custbody_perf_" + i;
+
+                NsRef ref = new NsRef();
+                ref.setRefType(RefType.CUSTOMIZATION_REF);
+                ref.setScriptId(scriptId);
+                ref.setInternalId(Integer.toString(200000 + i));
+                ref.setType("transactionBodyCustomField");
+
+                CustomFieldRefType customFieldRefType = CUSTOM_FIELD_TYPES[i % CUSTOM_FIELD_TYPES.length];
+                CustomFieldDesc fieldDesc = new CustomFieldDesc();
+                fieldDesc.setCustomFieldType(customFieldRefType);
+                fieldDesc.setCustomizationRef(ref);
+                fieldDesc.setName(scriptId);
+                fieldDesc.setValueType(NetSuiteDatasetRuntimeImpl.getCustomFieldValueClass(customFieldRefType));
+                fieldDesc.setNullable(true);
+                customFields.put(scriptId, fieldDesc);
+            }
+            return customFields;
+        }
+    }
+}
@@ -14,7 +14,10 @@
 package org.talend.components.netsuite.output;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 import static org.talend.components.netsuite.NetSuiteWebServiceMockTestFixture.assertNsObject;
 
 import java.util.ArrayList;
@@ -23,6 +26,7 @@ import java.util.Collection;
 import java.util.List;
 
 import org.apache.avro.Schema;
+import org.apache.avro.SchemaBuilder;
 import org.apache.avro.generic.GenericData;
 import org.apache.avro.generic.GenericRecord;
 import org.apache.avro.generic.IndexedRecord;
@@ -179,6 +183,77 @@ public class NetSuiteOutputTransducerTest extends NetSuiteMockTestBase {
         }
     }
 
+    @Test
+    public void testNullFields() throws Exception {
+
+        NetSuiteRuntime netSuiteRuntime = new TestNetSuiteRuntimeImpl(webServiceMockTestFixture.getClientFactory());
+        NetSuiteDatasetRuntime dataSetRuntime = netSuiteRuntime.getDatasetRuntime(mockTestFixture.getConnectionProperties());
+
+        mockGetRequestResults(null);
+
+        TypeDesc typeDesc = clientService.getMetaDataSource().getTypeInfo("Opportunity");
+
+        Schema schema = dataSetRuntime.getSchema(typeDesc.getTypeName());
+
+        NsObjectOutputTransducer transducer = new NsObjectOutputTransducer(
+                webServiceMockTestFixture.getClientService(), typeDesc.getTypeName());
+
+        GenericRecord indexedRecord1 = new GenericData.Record(schema);
+        indexedRecord1.put("Title", "Test Opportunity 1");
+
+        GenericRecord indexedRecord2 = new GenericData.Record(schema);
+        indexedRecord2.put("Memo", "Test Memo 2");
+
+        Opportunity record1 = (Opportunity) transducer.write(indexedRecord1);
+        assertEquals("Test Opportunity 1", record1.getTitle());
+        assertNull(record1.getMemo());
+        assertTrue(record1.getNullFieldList().getName().contains("memo"));
+        assertFalse(record1.getNullFieldList().getName().contains("title"));
+
+        Opportunity record2 = (Opportunity) transducer.write(indexedRecord2);
+        assertNull(record2.getTitle());
+        assertEquals("Test Memo 2", record2.getMemo());
+        assertTrue(record2.getNullFieldList().getName().contains("title"));
+        assertFalse(record2.getNullFieldList().getName().contains("memo"));
+    }
+
+    @Test
+    public void testSeveralSchemas() throws Exception {
+
+        NetSuiteRuntime netSuiteRuntime = new TestNetSuiteRuntimeImpl(webServiceMockTestFixture.getClientFactory());
+        NetSuiteDatasetRuntime dataSetRuntime = netSuiteRuntime.getDatasetRuntime(mockTestFixture.getConnectionProperties());
+
+        mockGetRequestResults(null);
+
+        TypeDesc typeDesc = clientService.getMetaDataSource().getTypeInfo("Opportunity");
+
+        Schema schema = dataSetRuntime.getSchema(typeDesc.getTypeName());
+        Schema titleSchema = SchemaBuilder.record("Opportunity").fields()
+                .optionalString("Title")
+                .endRecord();
+
+        NsObjectOutputTransducer transducer = new NsObjectOutputTransducer(
+                webServiceMockTestFixture.getClientService(), typeDesc.getTypeName());
+
+        GenericRecord indexedRecord1 = new GenericData.Record(schema);
+        indexedRecord1.put("Memo", "Test Memo 1");
+
+        GenericRecord indexedRecord2 = new GenericData.Record(titleSchema);
+        indexedRecord2.put("Title", "Test Opportunity 2");
+
+        for (int i = 0; i < 2; i++) {
+            Opportunity record1 = (Opportunity) transducer.write(indexedRecord1);
+            assertEquals("Test Memo 1", record1.getMemo());
+            assertTrue(record1.getNullFieldList().getName().contains("title"));
+
+            // Only fields of the schema are written
+            Opportunity record2 = (Opportunity) transducer.write(indexedRecord2);
+            assertEquals("Test Opportunity 2", record2.getTitle());
+            assertNull(record2.getMemo());
+            assertNull(record2.getNullFieldList());
+        }
+    }
+
     @Test
     public void testCustomRecord() throws Exception {
 
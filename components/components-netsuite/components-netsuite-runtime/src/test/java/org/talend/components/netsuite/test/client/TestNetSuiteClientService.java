@@ -37,6 +37,7 @@ import org.talend.components.netsuite.client.EmptyCustomMetaDataSource;
 import org.talend.components.netsuite.client.NetSuiteClientService;
 import org.talend.components.netsuite.client.NetSuiteCredentials;
 import org.talend.components.netsuite.client.NetSuiteException;
+import org.talend.components.netsuite.client.NetSuiteRetryPolicy;
 import org.talend.components.netsuite.client.NsPreferences;
 import org.talend.components.netsuite.client.NsReadResponse;
 import org.talend.components.netsuite.client.NsSearchPreferences;
@@ -83,6 +84,7 @@ import com.netsuite.webservices.test.platform.messages.UpsertListRequest;
 import com.netsuite.webservices.test.platform.messages.UpsertRequest;
 import com.netsuite.webservices.test.platform.messages.WriteResponse;
 import com.netsuite.webservices.test.platform.messages.WriteResponseList;
+import com.netsuite.webservices.test.platform.ExceededConcurrentRequestLimitFault;
 import com.netsuite.webservices.test.platform.ExceededRequestLimitFault;
 
 /**
@@ -188,7 +190,8 @@ public class TestNetSuiteClientService extends NetSuiteClientService<NetSuitePor
 
     @Override
     protected boolean errorCanBeWorkedAround(Throwable t) {
-        if (t instanceof ExceededRequestLimitFault ||
+        if (t instanceof ExceededConcurrentRequestLimitFault ||
+                t instanceof ExceededRequestLimitFault ||
                 t instanceof InvalidSessionFault ||
                 t instanceof RemoteException ||
                 t instanceof SOAPFaultException ||
@@ -206,6 +209,14 @@ public class TestNetSuiteClientService extends NetSuiteClientService<NetSuitePor
         return false;
     }
 
+    @Override
+    protected NetSuiteRetryPolicy.ErrorType getRetryErrorType(Throwable t) {
+        if (t instanceof ExceededConcurrentRequestLimitFault || t instanceof ExceededRequestLimitFault) {
+            return NetSuiteRetryPolicy.ErrorType.CONCURRENCY_LIMIT;
+        }
+        return super.getRetryErrorType(t);
+    }
+
     @Override
     protected String getPlatformMessageNamespaceUri() {
         return NS_URI_PLATFORM_MESSAGES;
@@ -39,6 +39,7 @@ import org.talend.components.netsuite.client.MetaDataSource;
 import org.talend.components.netsuite.client.NetSuiteClientService;
 import org.talend.components.netsuite.client.NetSuiteCredentials;
 import org.talend.components.netsuite.client.NetSuiteException;
+import org.talend.components.netsuite.client.NetSuiteRetryPolicy;
 import org.talend.components.netsuite.client.NsPreferences;
 import org.talend.components.netsuite.client.NsReadResponse;
 import org.talend.components.netsuite.client.NsSearchPreferences;
@@ -48,6 +49,7 @@ import org.talend.components.netsuite.client.NsWriteResponse;
 import org.talend.components.netsuite.client.model.BasicMetaData;
 import org.talend.components.netsuite.v2019_2.client.model.BasicMetaDataImpl;
 
+import com.netsuite.webservices.v2019_2.platform.ExceededConcurrentRequestLimitFault;
 import com.netsuite.webservices.v2019_2.platform.ExceededRequestLimitFault;
 import com.netsuite.webservices.v2019_2.platform.ExceededRequestSizeFault;
 import com.netsuite.webservices.v2019_2.platform.InsufficientPermissionFault;
@@ -289,7 +291,8 @@ public class NetSuiteClientServiceImpl extends NetSuiteClientService<NetSuitePor
 
     @Override
     protected boolean errorCanBeWorkedAround(Throwable t) {
-        if (t instanceof ExceededRequestLimitFault ||
+        if (t instanceof ExceededConcurrentRequestLimitFault ||
+                t instanceof ExceededRequestLimitFault ||
                 t instanceof InvalidSessionFault ||
                 t instanceof RemoteException ||
                 t instanceof SOAPFaultException ||
@@ -308,6 +311,14 @@ public class NetSuiteClientServiceImpl extends NetSuiteClientService<NetSuitePor
         return false;
     }
 
+    @Override
+    protected NetSuiteRetryPolicy.ErrorType getRetryErrorType(Throwable t) {
+        if (t instanceof ExceededConcurrentRequestLimitFault || t instanceof ExceededRequestLimitFault) {
+            return NetSuiteRetryPolicy.ErrorType.CONCURRENCY_LIMIT;
+        }
+        return super.getRetryErrorType(t);
+    }
+
     public static <RefT> List<NsWriteResponse<RefT>> toNsWriteResponseList(WriteResponseList writeResponseList) {
         List<NsWriteResponse<RefT>> nsWriteResponses = new ArrayList<>(writeResponseList.getWriteResponse().size());
         for (WriteResponse writeResponse : writeResponseList.getWriteResponse()) {
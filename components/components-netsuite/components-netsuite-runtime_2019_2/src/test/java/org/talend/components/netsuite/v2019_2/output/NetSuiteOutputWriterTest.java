@@ -16,6 +16,7 @@ package org.talend.components.netsuite.v2019_2.output;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -23,8 +24,12 @@ import static org.mockito.Mockito.when;
 import static org.talend.components.netsuite.v2019_2.NetSuitePortTypeMockAdapterImpl.createSuccessStatus;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.avro.Schema;
 import org.apache.avro.generic.IndexedRecord;
@@ -169,6 +174,128 @@ public class NetSuiteOutputWriterTest extends NetSuiteMockTestBase {
         assertEquals(indexedRecordList.size(), updatedRecordList.size());
     }
 
+    @Test
+    public void testUpdateConcurrentBatches() throws Exception {
+        final NetSuitePortType port = webServiceMockTestFixture.getPortMock();
+
+        final TypeDesc typeDesc = webServiceMockTestFixture.getClientService().getMetaDataSource()
+                .getTypeInfo(RecordTypeEnum.OPPORTUNITY.getTypeName());
+
+        mockGetListRequestResults(null);
+
+        final AtomicInteger callCount = new AtomicInteger();
+        final CountDownLatch firstCallStarted = new CountDownLatch(1);
+        // Latency of the web service, the calls are blocked until the test releases them
+        final CountDownLatch release = new CountDownLatch(1);
+        final List<String> updatedInternalIdList = Collections.synchronizedList(new ArrayList<String>());
+        when(port.updateList(any(UpdateListRequest.class))).then(new Answer<UpdateListResponse>() {
+            @Override public UpdateListResponse answer(InvocationOnMock invocationOnMock) throws Throwable {
+                UpdateListRequest request = (UpdateListRequest) invocationOnMock.getArguments()[0];
+
+                callCount.incrementAndGet();
+                firstCallStarted.countDown();
+                assertTrue(release.await(30, TimeUnit.SECONDS));
+
+                UpdateListResponse response = new UpdateListResponse();
+                WriteResponseList writeResponseList = new WriteResponseList();
+                writeResponseList.setStatus(createSuccessStatus());
+                for (int i = 0; i < request.getRecord().size(); i++) {
+                    Opportunity record = (Opportunity) request.getRecord().get(i);
+
+                    RecordRef recordRef = new RecordRef();
+                    recordRef.setInternalId(record.getInternalId());
+                    recordRef.setType(RecordType.OPPORTUNITY);
+
+                    updatedInternalIdList.add(record.getInternalId());
+
+                    WriteResponse writeResponse = new WriteResponse();
+                    writeResponse.setStatus(createSuccessStatus());
+                    writeResponse.setBaseRef(recordRef);
+
+                    writeResponseList.getWriteResponse().add(writeResponse);
+                }
+                response.setWriteResponseList(writeResponseList);
+                return response;
+            }
+        });
+
+        properties.module.moduleName.setValue(typeDesc.getTypeName());
+        properties.module.action.setValue(OutputAction.UPDATE);
+        properties.batchSize.setValue(10);
+        properties.maxConcurrentBatches.setValue(3);
+
+        NetSuiteRuntime netSuiteRuntime = new NetSuiteRuntimeImpl();
+        NetSuiteDatasetRuntime dataSetRuntime = netSuiteRuntime.getDatasetRuntime(properties.getConnectionProperties());
+
+        Schema schema = dataSetRuntime.getSchema(properties.module.moduleName.getValue());
+
+        properties.module.main.schema.setValue(schema);
+        properties.module.flowSchema.schema.setValue(schema);
+
+        NetSuiteSink sink = new NetSuiteSinkImpl();
+        sink.initialize(mockTestFixture.getRuntimeContainer(), properties);
+
+        NetSuiteClientService<?> clientService = sink.getClientService(null);
+
+        NetSuiteWriteOperation writeOperation = (NetSuiteWriteOperation) sink.createWriteOperation();
+        NetSuiteOutputWriter writer = (NetSuiteOutputWriter) writeOperation.createWriter(
+                mockTestFixture.getRuntimeContainer());
+        writer.open(UUID.randomUUID().toString());
+
+        List<IndexedRecord> indexedRecordList = makeIndexedRecords(clientService, schema,
+                new SimpleObjectComposer<>(typeDesc.getTypeClass()), 55);
+
+        List<String> internalIdList = new ArrayList<>();
+        for (IndexedRecord record : indexedRecordList) {
+            internalIdList.add(String.valueOf(record.get(schema.getField("InternalId").pos())));
+        }
+
+        // Three batches are in flight while the first call is blocked, the writer doesn't wait for them. The feedback is
+        // not read meanwhile, as it waits for the batches in flight.
+        for (int i = 0; i < 30; i++) {
+            writer.write(indexedRecordList.get(i));
+        }
+        assertTrue(firstCallStarted.await(30, TimeUnit.SECONDS));
+        assertEquals(1, callCount.get());
+
+        release.countDown();
+
+        // The fourth batch waits for the first one, the feedback of the call keeps the records of all the completed
+        // batches
+        List<String> feedbackIdList = new ArrayList<>();
+        for (int i = 30; i < 40; i++) {
+            writer.write(indexedRecordList.get(i));
+        }
+        collectInternalIds(writer.getSuccessfulWrites(), feedbackIdList);
+        assertFalse(writer.getRejectedWrites().iterator().hasNext());
+        assertEquals(internalIdList.subList(0, 40), feedbackIdList);
+        writer.cleanWrites();
+
+        for (int i = 40; i < indexedRecordList.size(); i++) {
+            writer.write(indexedRecordList.get(i));
+            collectInternalIds(writer.getSuccessfulWrites(), feedbackIdList);
+            assertFalse(writer.getRejectedWrites().iterator().hasNext());
+            writer.cleanWrites();
+        }
+
+        Result writerResult = writer.close();
+        collectInternalIds(writer.getSuccessfulWrites(), feedbackIdList);
+        assertFalse(writer.getRejectedWrites().iterator().hasNext());
+
+        assertNotNull(writerResult);
+        assertEquals(indexedRecordList.size(), writerResult.totalCount);
+        assertEquals(indexedRecordList.size(), writerResult.successCount);
+
+        assertEquals(internalIdList, updatedInternalIdList);
+        assertEquals(internalIdList, feedbackIdList);
+    }
+
+    private static void collectInternalIds(Iterable<IndexedRecord> records, List<String> internalIdList) {
+        for (IndexedRecord record : records) {
+            internalIdList.add(String.valueOf(record.get(record.getSchema().getField("InternalId").pos())));
+        }
+    }
+
     @Test
     public void testDelete() throws Exception {
         final NetSuitePortType port = webServiceMockTestFixture.getPortMock();
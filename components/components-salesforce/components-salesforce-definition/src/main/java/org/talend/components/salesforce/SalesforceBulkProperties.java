@@ -38,6 +38,12 @@ public class SalesforceBulkProperties extends ComponentPropertiesImpl {
 
     public Property<Boolean> safetySwitch = newBoolean("safetySwitch", true);
 
+    public Property<Integer> jobsConcurrency = newInteger("jobsConcurrency", "1");
+
+    public Property<Integer> rowsPerJob = newInteger("rowsPerJob", "0");
+
+    public Property<Integer> bytesPerJob = newInteger("bytesPerJob", "104857600");
+
     public SalesforceBulkProperties(String name) {
         super(name);
     }
@@ -58,6 +64,9 @@ public class SalesforceBulkProperties extends ComponentPropertiesImpl {
         mainForm.addRow(bulkApiV2);
         mainForm.addRow(columnDelimiter);
         mainForm.addColumn(lineEnding);
+        mainForm.addRow(jobsConcurrency);
+        mainForm.addRow(rowsPerJob);
+        mainForm.addColumn(bytesPerJob);
         mainForm.addRow(concurrencyMode);
         mainForm.addRow(rowsToCommit);
         mainForm.addColumn(bytesToCommit);
@@ -76,6 +85,9 @@ public class SalesforceBulkProperties extends ComponentPropertiesImpl {
             form.getWidget(concurrencyMode.getName()).setVisible(!useBulkApiV2);
             form.getWidget(columnDelimiter.getName()).setVisible(useBulkApiV2);
             form.getWidget(lineEnding.getName()).setVisible(useBulkApiV2);
+            form.getWidget(jobsConcurrency.getName()).setVisible(useBulkApiV2);
+            form.getWidget(rowsPerJob.getName()).setVisible(useBulkApiV2);
+            form.getWidget(bytesPerJob.getName()).setVisible(useBulkApiV2);
         }
     }
 
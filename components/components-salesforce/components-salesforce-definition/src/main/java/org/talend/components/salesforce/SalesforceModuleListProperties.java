@@ -18,7 +18,9 @@ import static org.talend.components.salesforce.SalesforceDefinition.getSandboxed
 import static org.talend.daikon.properties.presentation.Widget.widget;
 import static org.talend.daikon.properties.property.PropertyFactory.newProperty;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 import org.apache.avro.Schema;
 import org.apache.commons.lang3.reflect.TypeLiteral;
@@ -108,12 +110,19 @@ public class SalesforceModuleListProperties extends ComponentPropertiesImpl impl
 
             String connRepLocation = repo.storeProperties(connection, connection.name.getValue(), repositoryLocation, null);
 
+            List<String> moduleIds = new ArrayList<>();
+            for (NamedThing nl : selectedModuleNames.getValue()) {
+                moduleIds.add(nl.getName());
+            }
+            // all the selected modules are described at once
+            Map<String, Schema> schemas = ss.getEndpointSchemas(null, moduleIds);
+
             for (NamedThing nl : selectedModuleNames.getValue()) {
                 String moduleId = nl.getName();
                 SalesforceModuleProperties modProps = new SalesforceModuleProperties(moduleId);
                 modProps.connection = connection;
                 modProps.init();
-                Schema schema = ss.getEndpointSchema(null, moduleId);
+                Schema schema = schemas.get(moduleId);
                 modProps.moduleName.setValue(moduleId);
                 modProps.main.schema.setValue(schema);
                 repo.storeProperties(modProps, nl.getName(), connRepLocation, "main.schema");
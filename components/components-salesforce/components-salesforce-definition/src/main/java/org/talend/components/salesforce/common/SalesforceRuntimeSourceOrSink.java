@@ -12,7 +12,27 @@
 //============================================================================
 package org.talend.components.salesforce.common;
 
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.avro.Schema;
 import org.talend.components.api.component.runtime.SourceOrSink;
+import org.talend.components.api.container.RuntimeContainer;
 
 public interface SalesforceRuntimeSourceOrSink extends SourceOrSink {
+
+    /**
+     * Gets the schemas of several modules, a runtime can get them with less calls than one by module.
+     *
+     * @return the schemas by module name, in the order of the names.
+     */
+    default Map<String, Schema> getEndpointSchemas(RuntimeContainer container, List<String> schemaNames) throws IOException {
+        Map<String, Schema> schemas = new LinkedHashMap<>();
+        for (String schemaName : schemaNames) {
+            schemas.put(schemaName, getEndpointSchema(container, schemaName));
+        }
+        return schemas;
+    }
 }
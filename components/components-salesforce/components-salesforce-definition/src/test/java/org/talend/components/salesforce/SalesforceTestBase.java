@@ -26,6 +26,7 @@ import static org.mockito.Mockito.withSettings;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -146,6 +147,19 @@ public class SalesforceTestBase {
                             return testDataset.getSchema(moduleName);
                         }
                     });
+
+            when(runtimeSourceOrSink.getEndpointSchemas(any(), any()))
+                    .thenAnswer(new Answer<Map<String, Schema>>() {
+
+                        @Override
+                        public Map<String, Schema> answer(InvocationOnMock invocation) throws Throwable {
+                            Map<String, Schema> schemas = new LinkedHashMap<>();
+                            for (Object moduleName : (List<?>) invocation.getArguments()[1]) {
+                                schemas.put((String) moduleName, testDataset.getSchema((String) moduleName));
+                            }
+                            return schemas;
+                        }
+                    });
         }
 
         @Override
@@ -216,6 +216,9 @@ public class TSalesforceBulkExecPropertiesTest extends SalesforceTestBase {
         assertTrue(bulkForm.getWidget(properties.bulkProperties.waitTimeCheckBatchState.getName()).isVisible());
         assertFalse(bulkForm.getWidget(properties.bulkProperties.columnDelimiter.getName()).isVisible());
         assertFalse(bulkForm.getWidget(properties.bulkProperties.lineEnding.getName()).isVisible());
+        assertFalse(bulkForm.getWidget(properties.bulkProperties.jobsConcurrency.getName()).isVisible());
+        assertFalse(bulkForm.getWidget(properties.bulkProperties.rowsPerJob.getName()).isVisible());
+        assertFalse(bulkForm.getWidget(properties.bulkProperties.bytesPerJob.getName()).isVisible());
 
         properties.connection.loginType.setValue(SalesforceConnectionProperties.LoginType.OAuth);
         propertiesService.afterProperty(properties.connection.loginType.getName(), properties.connection);
@@ -232,6 +235,9 @@ public class TSalesforceBulkExecPropertiesTest extends SalesforceTestBase {
         assertTrue(bulkForm.getWidget(properties.bulkProperties.waitTimeCheckBatchState.getName()).isVisible());
         assertTrue(bulkForm.getWidget(properties.bulkProperties.columnDelimiter.getName()).isVisible());
         assertTrue(bulkForm.getWidget(properties.bulkProperties.lineEnding.getName()).isVisible());
+        assertTrue(bulkForm.getWidget(properties.bulkProperties.jobsConcurrency.getName()).isVisible());
+        assertTrue(bulkForm.getWidget(properties.bulkProperties.rowsPerJob.getName()).isVisible());
+        assertTrue(bulkForm.getWidget(properties.bulkProperties.bytesPerJob.getName()).isVisible());
 
     }
 
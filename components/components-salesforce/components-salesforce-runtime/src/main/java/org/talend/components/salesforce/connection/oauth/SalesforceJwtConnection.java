@@ -33,6 +33,13 @@ import org.talend.components.common.oauth.properties.Oauth2JwtFlowProperties;
  */
 public class SalesforceJwtConnection {
 
+    /**
+     * Salesforce doesn't return the lifetime of the session, the token is cached for the shortest session timeout an org
+     * can set, 15 minutes, unless the <code>talend.salesforce.jwt.token.lifetime</code> system property gives another
+     * one in seconds, 0 not to cache the tokens.
+     */
+    static final long TOKEN_LIFETIME_MILLIS = Long.getLong("talend.salesforce.jwt.token.lifetime", 15 * 60) * 1000;
+
     private Oauth2JwtFlowProperties oauth2Prop;
 
     private String tokenEndpoint;
@@ -59,6 +66,7 @@ public class SalesforceJwtConnection {
                     .signWithX509Key(x509Key(), org.talend.components.common.oauth.X509Key.Algorithm.SHA256withRSA)//
                     .fromTokenEndpoint(tokenEndpoint + "/token")//
                     .withPlayloadParams(playLoadParams())//
+                    .withDefaultTokenLifetime(TOKEN_LIFETIME_MILLIS)//
                     .build()//
                     .getAccessToken();
 
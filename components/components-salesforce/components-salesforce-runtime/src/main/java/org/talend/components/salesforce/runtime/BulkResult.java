@@ -12,40 +12,114 @@
 //============================================================================
 package org.talend.components.salesforce.runtime;
 
+import java.util.Arrays;
 import java.util.Map;
+import java.util.Set;
 import java.util.TreeMap;
+import java.util.TreeSet;
 
+/**
+ * The values of a bulk record, by field name.
+ *
+ * The results read from a bulk result set keep their values in an array indexed by the shared {@link BulkResultHeader},
+ * the other fields are kept in a map.
+ */
 public class BulkResult {
 
     Map<String, Object> values;
 
+    private final BulkResultHeader header;
+
+    private final Object[] row;
+
     public BulkResult() {
         values = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        header = null;
+        row = null;
+    }
+
+    /**
+     * @param header the column names of the row.
+     * @param row the values of the row, in the order of the header.
+     */
+    public BulkResult(BulkResultHeader header, String[] row) {
+        this.header = header;
+        // the reader may reuse its array, and a short row gets null values
+        this.row = Arrays.copyOf(row, header.size(), Object[].class);
+    }
+
+    /**
+     * @return the column names of the row, or null if the values are not read from a bulk result set.
+     */
+    public BulkResultHeader getHeader() {
+        return header;
+    }
+
+    /**
+     * @param index the index of the column in the header of the row.
+     */
+    public Object getValue(int index) {
+        return row[index];
     }
 
     public void setValue(String field, Object vlaue) {
+        if (header != null) {
+            int index = header.indexOf(field);
+            if (index >= 0) {
+                row[index] = vlaue;
+                return;
+            }
+        }
+        if (values == null) {
+            values = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        }
         values.put(field, vlaue);
     }
 
     public Object getValue(String fieldName) {
-        return values.get(fieldName);
+        if (header != null) {
+            int index = header.indexOf(fieldName);
+            if (index >= 0) {
+                return row[index];
+            }
+        }
+        return values == null ? null : values.get(fieldName);
+    }
+
+    /**
+     * @return the names of the fields, sorted whatever their case.
+     */
+    public Set<String> getFieldNames() {
+        Set<String> names = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+        if (header != null) {
+            for (int i = 0; i < header.size(); i++) {
+                names.add(header.getName(i));
+            }
+        }
+        if (values != null) {
+            names.addAll(values.keySet());
+        }
+        return names;
     }
 
     public void copyValues(BulkResult result) {
         if (result == null) {
             return;
         } else {
-            for (String key : result.values.keySet()) {
-                Object value = result.values.get(key);
+            for (String key : result.getFieldNames()) {
+                Object value = result.getValue(key);
                 if ("#N/A".equals(value)) {
                     value = null;
                 }
-                values.put(key, value);
+                setValue(key, value);
             }
         }
     }
 
     public boolean containField(String fieldName) {
+        if (header != null && header.indexOf(fieldName) >= 0) {
+            return true;
+        }
         if (values != null && values.containsKey(fieldName)) {
             return true;
         }
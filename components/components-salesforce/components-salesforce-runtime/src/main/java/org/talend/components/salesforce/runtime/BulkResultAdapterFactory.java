@@ -36,6 +36,12 @@ public class BulkResultAdapterFactory implements IndexedRecordConverter<BulkResu
 
     private boolean returnNullForEmpty;
 
+    /** The header the column indexes below were computed for. */
+    private BulkResultHeader indexedHeader;
+
+    /** The index in the header of each field, or -1 if the field is not in the header. */
+    private int[] headerIndexes;
+
     /** The cached AvroConverter objects for the fields of this record. */
     @SuppressWarnings("rawtypes")
     protected transient AvroConverter[] fieldConverter;
@@ -59,7 +65,7 @@ public class BulkResultAdapterFactory implements IndexedRecordConverter<BulkResu
     public IndexedRecord convertToAvro(BulkResult result) {
         if (AvroUtils.isIncludeAllFields(schema)) {
             List<Field> fields = new ArrayList<>();
-            Set<String> resultFieldNames = result.values.keySet();
+            Set<String> resultFieldNames = result.getFieldNames();
             for (String fieldName : resultFieldNames) {
                 // skip field which set in design schema or duplicate value
                 if (schema.getField(fieldName) != null || "Created".equals(fieldName) || "Error".equals(fieldName)
@@ -94,6 +100,23 @@ public class BulkResultAdapterFactory implements IndexedRecordConverter<BulkResu
         this.returnNullForEmpty = (propValue == null) ? false : (Boolean) propValue;
     }
 
+    /**
+     * The columns of the fields are looked up once by header, instead of once by field of each record.
+     */
+    private int[] getHeaderIndexes(BulkResultHeader header) {
+        if (header != indexedHeader) {
+            int[] indexes = header.indexesOf(names);
+            for (int j = 0; j < indexes.length; j++) {
+                if (indexes[j] < 0) {
+                    indexes[j] = header.indexOf(names[j].substring(names[j].indexOf("_") + 1));
+                }
+            }
+            headerIndexes = indexes;
+            indexedHeader = header;
+        }
+        return headerIndexes;
+    }
+
     private class ResultIndexedRecord implements IndexedRecord {
 
         private final BulkResult value;
@@ -120,7 +143,14 @@ public class BulkResultAdapterFactory implements IndexedRecordConverter<BulkResu
                     fieldConverter[j] = SalesforceAvroRegistry.get().getConverterFromString(f);
                 }
             }
-            Object resultValue = value.getValue(names[i]);
+            Object resultValue;
+            BulkResultHeader header = value.getHeader();
+            int index = header == null ? -1 : getHeaderIndexes(header)[i];
+            if (index >= 0) {
+                resultValue = value.getValue(index);
+            } else {
+                resultValue = value.getValue(names[i]);
+            }
             if (resultValue == null) {
                 String columnName = names[i].substring(names[i].indexOf("_") + 1);
                 resultValue = value.getValue(columnName);
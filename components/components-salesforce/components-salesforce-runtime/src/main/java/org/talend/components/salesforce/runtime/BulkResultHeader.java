@@ -0,0 +1,63 @@
+//============================================================================
+//
+// Copyright (C) 2006-2023 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// %InstallDIR%\features\org.talend.rcp.branding.%PRODUCTNAME%\%PRODUCTNAME%license.txt
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+//============================================================================
+package org.talend.components.salesforce.runtime;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * The column names of a bulk result, shared by all the {@link BulkResult}s read with them.
+ *
+ * The names are matched whatever their case, as the values of a {@link BulkResult} built field by field.
+ */
+public class BulkResultHeader {
+
+    private final String[] names;
+
+    private final Map<String, Integer> indexes = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+
+    public BulkResultHeader(List<String> names) {
+        this.names = names.toArray(new String[names.size()]);
+        for (int i = 0; i < this.names.length; i++) {
+            indexes.put(this.names[i], i);
+        }
+    }
+
+    public int size() {
+        return names.length;
+    }
+
+    public String getName(int index) {
+        return names[index];
+    }
+
+    /**
+     * @return the index of the column, or -1 if there is no such column.
+     */
+    public int indexOf(String name) {
+        Integer index = indexes.get(name);
+        return index == null ? -1 : index;
+    }
+
+    /**
+     * @return the index of each column, or -1 for the names without column.
+     */
+    public int[] indexesOf(String[] columnNames) {
+        int[] result = new int[columnNames.length];
+        for (int i = 0; i < columnNames.length; i++) {
+            result[i] = indexOf(columnNames[i]);
+        }
+        return result;
+    }
+}
@@ -15,6 +15,7 @@ package org.talend.components.salesforce.runtime;
 import com.talend.csv.CSVReader;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
 
 public class BulkResultSet {
@@ -23,9 +24,23 @@ public class BulkResultSet {
 
     List<String> header;
 
+    private final BulkResultHeader resultHeader;
+
     public BulkResultSet(CSVReader reader, List<String> header) {
         this.reader = reader;
         this.header = header;
+        this.resultHeader = new BulkResultHeader(normalize(header));
+    }
+
+    private static List<String> normalize(List<String> header) {
+        List<String> names = new ArrayList<>(header.size());
+        for (String name : header) {
+            //We replace the . with _ to add support of relationShip Queries
+            //The relationShip Queries Use . in Salesforce and we use _ in Talend (Studio)
+            //So Account.Name in SF will be Account_Name in Talend
+            names.add(name.replace('.', '_'));
+        }
+        return names;
     }
 
     public BulkResult next() throws IOException {
@@ -45,13 +60,7 @@ public class BulkResultSet {
 
         if (hasNext) {
             if ((row = reader.getValues()) != null) {
-                result = new BulkResult();
-                for (int i = 0; i < this.header.size(); i++) {
-                    //We replace the . with _ to add support of relationShip Queries
-                    //The relationShip Queries Use . in Salesforce and we use _ in Talend (Studio)
-                    //So Account.Name in SF will be Account_Name in Talend
-                    result.setValue(header.get(i).replace('.', '_'), row[i]);
-                }
+                result = new BulkResult(resultHeader, row);
                 return result;
             } else {
                 return next();
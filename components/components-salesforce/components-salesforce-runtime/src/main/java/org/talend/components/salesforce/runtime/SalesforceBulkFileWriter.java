@@ -13,6 +13,7 @@
 package org.talend.components.salesforce.runtime;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import org.apache.avro.Schema;
@@ -102,24 +103,27 @@ final class SalesforceBulkFileWriter extends BulkFileWriter {
     }
 
     @Override
-    public List<String> getValues(Object datum) {
+    protected String[] getValuesArray(Object datum) {
         IndexedRecord input = getFactory(datum).convertToAvro((IndexedRecord) datum);
-        List<String> values = new ArrayList<String>();
-        for (Field f : input.getSchema().getFields()) {
+        List<Field> fields = input.getSchema().getFields();
+        String[] values = getValuesBuffer(fields.size());
+        int count = 0;
+        for (Field f : fields) {
             if (checkDeleteOption(f.name())) {
                 continue;
             }
             if (input.get(f.pos()) == null) {
                 if (getBulkProperties().ignoreNull.getValue()) {
-                    values.add("");
+                    values[count++] = "";
                 } else {
-                    values.add("#N/A");
+                    values[count++] = "#N/A";
                 }
             } else {
-                values.add(String.valueOf(input.get(f.pos())));
+                values[count++] = String.valueOf(input.get(f.pos()));
             }
         }
-        return values;
+        // the deleted records only keep their Id
+        return count == values.length ? values : Arrays.copyOf(values, count);
     }
 
     protected TSalesforceOutputBulkProperties getBulkProperties() {
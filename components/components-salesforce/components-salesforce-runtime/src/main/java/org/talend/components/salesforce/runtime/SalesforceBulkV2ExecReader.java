@@ -41,9 +41,11 @@ final class SalesforceBulkV2ExecReader extends SalesforceReader {
 
     protected BulkResult currentRecord;
 
-    private boolean successResultRetrieved;
+    /** The index of the next job whose success results are retrieved. */
+    private int successResultIndex;
 
-    private boolean failedResultRetrieved;
+    /** The index of the next job whose failed results are retrieved, after the success results of all the jobs. */
+    private int failedResultIndex;
 
     private BulkResultSet bulkResultSet;
 
@@ -144,27 +146,15 @@ final class SalesforceBulkV2ExecReader extends SalesforceReader {
     }
 
     private boolean retrieveResultSet() throws IOException {
-        if (successResultRetrieved && failedResultRetrieved) {
-            return false;
-        }
-        if (!successResultRetrieved) {
-            bulkResultSet = bulkRuntime.getSuccessResultSet();
-            successResultRetrieved = true;
-            currentRecord = bulkResultSet.next();
-            if (currentRecord == null) {
-                return retrieveResultSet();
+        int jobCount = bulkRuntime.getJobCount();
+        while (successResultIndex < jobCount || failedResultIndex < jobCount) {
+            if (successResultIndex < jobCount) {
+                bulkResultSet = bulkRuntime.getSuccessResultSet(successResultIndex++);
             } else {
-                countData();
-                return true;
+                bulkResultSet = bulkRuntime.getFailedResultSet(failedResultIndex++);
             }
-        }
-        if (!failedResultRetrieved) {
-            bulkResultSet = bulkRuntime.getFailedResultSet();
-            failedResultRetrieved = true;
             currentRecord = bulkResultSet.next();
-            if (currentRecord == null) {
-                return retrieveResultSet();
-            } else {
+            if (currentRecord != null) {
                 countData();
                 return true;
             }
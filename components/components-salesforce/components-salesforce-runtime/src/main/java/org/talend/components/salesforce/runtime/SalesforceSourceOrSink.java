@@ -21,7 +21,6 @@ import java.net.URISyntaxException;
 import java.net.URL;
 import java.security.*;
 import java.security.cert.CertificateException;
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -46,13 +45,13 @@ import org.talend.components.salesforce.common.SalesforceRuntimeSourceOrSink;
 import org.talend.components.salesforce.connection.oauth.SalesforceOAuthConnection;
 import org.talend.components.salesforce.runtime.common.ConnectionHolder;
 import org.talend.components.salesforce.runtime.common.SalesforceConstant;
+import org.talend.components.salesforce.runtime.common.SalesforceDescribeCache;
 import org.talend.components.salesforce.runtime.common.SalesforceRuntimeCommon;
 import org.talend.components.salesforce.schema.SalesforceSchemaHelper;
 import org.talend.components.salesforce.soql.FieldDescription;
 import org.talend.components.salesforce.soql.SoqlQuery;
 import org.talend.components.salesforce.soql.SoqlQueryBuilder;
 import org.talend.daikon.NamedThing;
-import org.talend.daikon.SimpleNamedThing;
 import org.talend.daikon.avro.AvroUtils;
 import org.talend.daikon.i18n.GlobalI18N;
 import org.talend.daikon.i18n.I18nMessages;
@@ -65,9 +64,6 @@ import org.talend.proxy.TalendProxySelector;
 
 import com.sforce.async.AsyncApiException;
 import com.sforce.async.BulkConnection;
-import com.sforce.soap.partner.DescribeGlobalResult;
-import com.sforce.soap.partner.DescribeGlobalSObjectResult;
-import com.sforce.soap.partner.DescribeSObjectResult;
 import com.sforce.soap.partner.GetUserInfoResult;
 import com.sforce.soap.partner.LoginResult;
 import com.sforce.soap.partner.PartnerConnection;
@@ -432,23 +428,16 @@ public class SalesforceSourceOrSink implements SalesforceRuntimeSourceOrSink, Sa
 
     @Override
     public List<NamedThing> getSchemaNames(RuntimeContainer container) throws IOException {
-        return getSchemaNames(connect(container).connection);
+        PartnerConnection connection = connect(container).connection;
+        if (container == null) {
+            // the wizards list the modules before retrieving their schemas, they must not see stale metadata
+            SalesforceDescribeCache.get().invalidate(connection);
+        }
+        return getSchemaNames(connection);
     }
 
     protected List<NamedThing> getSchemaNames(PartnerConnection connection) throws IOException {
-        List<NamedThing> returnList = new ArrayList<>();
-        DescribeGlobalResult result = null;
-        try {
-            result = connection.describeGlobal();
-        } catch (ConnectionException e) {
-            throw new ComponentException(e);
-        }
-        DescribeGlobalSObjectResult[] objects = result.getSobjects();
-        for (DescribeGlobalSObjectResult obj : objects) {
-            LOG.debug("module label: " + obj.getLabel() + " name: " + obj.getName());
-            returnList.add(new SimpleNamedThing(obj.getName(), obj.getLabel()));
-        }
-        return returnList;
+        return SalesforceRuntimeCommon.getSchemaNames(connection);
     }
 
     @Override
@@ -456,11 +445,25 @@ public class SalesforceSourceOrSink implements SalesforceRuntimeSourceOrSink, Sa
         return getSchema(connect(container).connection, schemaName);
     }
 
+    /**
+     * Gets the schemas of several modules, the modules which are not cached are described together.
+     */
+    @Override
+    public Map<String, Schema> getEndpointSchemas(RuntimeContainer container, List<String> schemaNames) throws IOException {
+        return getSchemas(connect(container).connection, schemaNames);
+    }
+
     protected Schema getSchema(PartnerConnection connection, String module) throws IOException {
         try {
-            DescribeSObjectResult[] describeSObjectResults = new DescribeSObjectResult[0];
-            describeSObjectResults = connection.describeSObjects(new String[] { module });
-            return SalesforceAvroRegistry.get().inferSchema(describeSObjectResults[0]);
+            return SalesforceDescribeCache.get().getSchema(connection, module, SalesforceAvroRegistry.get());
+        } catch (ConnectionException e) {
+            throw new IOException(e);
+        }
+    }
+
+    protected Map<String, Schema> getSchemas(PartnerConnection connection, List<String> modules) throws IOException {
+        try {
+            return SalesforceDescribeCache.get().getSchemas(connection, modules, SalesforceAvroRegistry.get());
         } catch (ConnectionException e) {
             throw new IOException(e);
         }
@@ -604,15 +607,7 @@ public class SalesforceSourceOrSink implements SalesforceRuntimeSourceOrSink, Sa
         query.init(soqlQuery);
 
         SchemaBuilder.FieldAssembler fieldAssembler = SchemaBuilder.record("GuessedSchema").fields();
-        DescribeSObjectResult describeSObjectResult = null;
-
-        try {
-            describeSObjectResult = connect(null).connection.describeSObject(query.getDrivingEntityName());
-        } catch (ConnectionException e) {
-            throw new RuntimeException(e.getMessage());
-        }
-
-        Schema querySchema = SalesforceAvroRegistry.get().inferSchema(describeSObjectResult);
+        Schema querySchema = getSchema(connect(null).connection, query.getDrivingEntityName());
 
         for (FieldDescription fieldDescription : query.getFieldDescriptions()) {
             Schema.Field schemaField = querySchema.getField(fieldDescription.getSimpleName());
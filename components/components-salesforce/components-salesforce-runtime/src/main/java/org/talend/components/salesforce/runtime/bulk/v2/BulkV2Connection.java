@@ -35,6 +35,7 @@ import org.apache.http.auth.Credentials;
 import org.apache.http.auth.UsernamePasswordCredentials;
 import org.apache.http.client.CredentialsProvider;
 import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.entity.GzipCompressingEntity;
 import org.apache.http.client.methods.HttpGet;
 import org.apache.http.client.methods.HttpPatch;
 import org.apache.http.client.methods.HttpPost;
@@ -47,6 +48,7 @@ import org.apache.http.impl.client.BasicCredentialsProvider;
 import org.apache.http.impl.client.CloseableHttpClient;
 import org.apache.http.impl.client.HttpClientBuilder;
 import org.apache.http.impl.client.HttpClients;
+import org.apache.http.util.EntityUtils;
 import org.codehaus.jackson.map.DeserializationConfig;
 import org.codehaus.jackson.map.ObjectMapper;
 import org.codehaus.jackson.map.annotate.JsonSerialize.Inclusion;
@@ -73,6 +75,9 @@ public class BulkV2Connection {
 
     public static final String CSV_CONTENT_TYPE = "text/csv";
 
+    /** The maximum number of connections to the server, so that several jobs can be uploaded and polled at once. */
+    public static final int MAX_CONNECTIONS = 20;
+
     private final I18nMessages MESSAGES =
             GlobalI18N.getI18nMessageProvider().getI18nMessages(BulkV2Connection.class);
 
@@ -130,12 +135,13 @@ public class BulkV2Connection {
         restEndpoint = restEndpoint.substring(0, restEndpoint.lastIndexOf("/async/")) + "/data/v" + apiVersion;
         bulkV2Config.setRestEndpoint(restEndpoint);
         bulkV2Config.setTraceMessage(bulkConfig.isTraceMessage());
+        bulkV2Config.setCompression(bulkConfig.isCompression());
         bulkV2Config.setValidateSchema(bulkConfig.isValidateSchema());
         bulkV2Config.setProxy(bulkConfig.getProxy());
         bulkV2Config.setProxyUsername(bulkConfig.getProxyUsername());
         bulkV2Config.setProxyPassword(bulkConfig.getProxyPassword());
         if (bulkConfig.getConnectionTimeout() > 0) {
-            config.setConnectionTimeout(bulkConfig.getConnectionTimeout());
+            bulkV2Config.setConnectionTimeout(bulkConfig.getConnectionTimeout());
         }
         return bulkV2Config;
     }
@@ -200,10 +206,20 @@ public class BulkV2Connection {
             entity.setContentType(CSV_CONTENT_TYPE);
             entity.setChunked(config.useChunkedPost());
 
-            httpPut.setEntity(entity);
+            if (config.isCompression()) {
+                // the body is sent with the "Content-Encoding: gzip" header
+                httpPut.setEntity(new GzipCompressingEntity(entity));
+            } else {
+                httpPut.setEntity(entity);
+            }
             HttpResponse response = httpclient.execute(httpPut);
-            if (response.getStatusLine().getStatusCode() != HttpStatus.SC_CREATED) {
-                throw new BulkV2ClientException(response.getStatusLine().getReasonPhrase());
+            try {
+                if (response.getStatusLine().getStatusCode() != HttpStatus.SC_CREATED) {
+                    throw new BulkV2ClientException(response.getStatusLine().getReasonPhrase());
+                }
+            } finally {
+                // release the connection for the next requests
+                EntityUtils.consumeQuietly(response.getEntity());
             }
         } catch (BulkV2ClientException bec) {
             throw bec;
@@ -432,10 +448,12 @@ public class BulkV2Connection {
                             ((InetSocketAddress) proxy.address()).getPort());
                     CredentialsProvider credsProvider = new BasicCredentialsProvider();
                     credsProvider.setCredentials(authScope, credentials);
-                    return HttpClients.custom().setSSLContext(config.getSslContext()).setDefaultCredentialsProvider(credsProvider).build();
+                    return HttpClients.custom().setSSLContext(config.getSslContext()).setDefaultCredentialsProvider(credsProvider)
+                            .setMaxConnPerRoute(MAX_CONNECTIONS).setMaxConnTotal(MAX_CONNECTIONS).build();
                 }
             }
-            return HttpClientBuilder.create().setSSLContext(config.getSslContext()).build();
+            return HttpClientBuilder.create().setSSLContext(config.getSslContext()).setMaxConnPerRoute(MAX_CONNECTIONS)
+                    .setMaxConnTotal(MAX_CONNECTIONS).build();
         }
         return httpclient;
     }
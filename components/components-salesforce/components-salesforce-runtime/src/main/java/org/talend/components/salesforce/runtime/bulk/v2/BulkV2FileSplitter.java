@@ -0,0 +1,254 @@
+//============================================================================
+//
+// Copyright (C) 2006-2023 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// %InstallDIR%\features\org.talend.rcp.branding.%PRODUCTNAME%\%PRODUCTNAME%license.txt
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+//============================================================================
+package org.talend.components.salesforce.runtime.bulk.v2;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Split a CSV bulk file into parts uploaded by different ingest jobs.
+ *
+ * Each part starts with the header line of the file and holds whole records : a line ending inside a quoted value doesn't
+ * end a record. The parts are ranges of the file, they are read from the file when they are uploaded.
+ */
+public class BulkV2FileSplitter {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private BulkV2FileSplitter() {
+    }
+
+    /**
+     * @param file the CSV file, with a header line.
+     * @param maxBytes the maximum size of a part in bytes, header included. A record bigger than that gets its own part.
+     * @param maxRows the maximum number of records of a part, or 0 for no limit.
+     * @return the parts of the file, in the order of the file. There is at least one part, even for a file without records.
+     */
+    public static List<Part> split(File file, long maxBytes, int maxRows) throws IOException {
+        PartsBuilder builder = new PartsBuilder(file, maxBytes, maxRows);
+
+        try (InputStream in = new FileInputStream(file)) {
+            byte[] buffer = new byte[BUFFER_SIZE];
+            ByteArrayOutputStream header = new ByteArrayOutputStream();
+            boolean headerRead = false;
+            boolean inQuotes = false;
+            long position = 0;
+            long recordStart = 0;
+
+            int n;
+            while ((n = in.read(buffer)) != -1) {
+                for (int i = 0; i < n; i++) {
+                    byte b = buffer[i];
+                    if (b == '"') {
+                        // an escaped quote switches twice
+                        inQuotes = !inQuotes;
+                    } else if (b == '\n' && !inQuotes) {
+                        long recordEnd = position + i + 1;
+                        if (headerRead) {
+                            builder.addRecord(recordStart, recordEnd);
+                        } else {
+                            header.write(buffer, 0, i + 1);
+                            builder.setHeader(header.toByteArray());
+                            headerRead = true;
+                        }
+                        recordStart = recordEnd;
+                    }
+                }
+                if (!headerRead) {
+                    header.write(buffer, 0, n);
+                }
+                position += n;
+            }
+
+            if (!headerRead) {
+                // a file without line ending after the header
+                builder.setHeader(header.toByteArray());
+            } else if (recordStart < position) {
+                // the last record has no line ending
+                builder.addRecord(recordStart, position);
+            }
+        }
+
+        return builder.build();
+    }
+
+    private static class PartsBuilder {
+
+        private final File file;
+
+        private final long maxBytes;
+
+        private final int maxRows;
+
+        private final List<Part> parts = new ArrayList<>();
+
+        private byte[] header;
+
+        private long partStart = -1;
+
+        private long partEnd;
+
+        private int partRows;
+
+        PartsBuilder(File file, long maxBytes, int maxRows) {
+            this.file = file;
+            this.maxBytes = maxBytes;
+            this.maxRows = maxRows;
+        }
+
+        void setHeader(byte[] header) {
+            this.header = header;
+        }
+
+        void addRecord(long recordStart, long recordEnd) {
+            if (partStart >= 0
+                    && (header.length + recordEnd - partStart > maxBytes || (maxRows > 0 && partRows >= maxRows))) {
+                endPart();
+            }
+            if (partStart < 0) {
+                partStart = recordStart;
+                partRows = 0;
+            }
+            partEnd = recordEnd;
+            partRows++;
+        }
+
+        private void endPart() {
+            parts.add(new Part(file, header, partStart, partEnd - partStart, partRows));
+            partStart = -1;
+        }
+
+        List<Part> build() {
+            if (partStart >= 0) {
+                endPart();
+            }
+            if (parts.isEmpty()) {
+                parts.add(new Part(file, header, 0, 0, 0));
+            }
+            return parts;
+        }
+    }
+
+    /**
+     * A part of the bulk file : the header line followed by a range of records.
+     */
+    public static class Part {
+
+        private final File file;
+
+        private final byte[] header;
+
+        private final long offset;
+
+        private final long length;
+
+        private final int rows;
+
+        Part(File file, byte[] header, long offset, long length, int rows) {
+            this.file = file;
+            this.header = header;
+            this.offset = offset;
+            this.length = length;
+            this.rows = rows;
+        }
+
+        /**
+         * @return the content of the part, the caller has to close it.
+         */
+        public InputStream openStream() throws IOException {
+            FileInputStream in = new FileInputStream(file);
+            try {
+                in.getChannel().position(offset);
+            } catch (IOException e) {
+                in.close();
+                throw e;
+            }
+            return new SequenceInputStream(new ByteArrayInputStream(header), new RangeInputStream(in, length));
+        }
+
+        public long getLength() {
+            return header.length + length;
+        }
+
+        public int getRows() {
+            return rows;
+        }
+
+        @Override
+        public String toString() {
+            return "bytes " + offset + " to " + (offset + length) + " (" + rows + " records)";
+        }
+    }
+
+    /**
+     * Read at most a number of bytes of the underlying stream.
+     */
+    private static class RangeInputStream extends FilterInputStream {
+
+        private long remaining;
+
+        RangeInputStream(InputStream in, long length) {
+            super(in);
+            this.remaining = length;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+            int b = super.read();
+            if (b != -1) {
+                remaining--;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+            int n = super.read(b, off, (int) Math.min(len, remaining));
+            if (n > 0) {
+                remaining -= n;
+            }
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(Math.min(n, remaining));
+            remaining -= skipped;
+            return skipped;
+        }
+
+        @Override
+        public int available() throws IOException {
+            return (int) Math.min(super.available(), remaining);
+        }
+
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+    }
+}
@@ -13,13 +13,23 @@
 package org.talend.components.salesforce.runtime.bulk.v2;
 
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -52,10 +62,26 @@ public class SalesforceBulkV2Runtime {
 
     private ContentType contentType;
 
-    private JobInfoV2 job;
+    /** The jobs of the parts of the bulk file, in the order of the file. */
+    private List<JobInfoV2> jobs = Collections.emptyList();
+
+    /** The ids of the created jobs that did not reach a final state yet, aborted when the bulk execution fails. */
+    private final Set<String> activeJobs = Collections.synchronizedSet(new LinkedHashSet<String>());
 
     private long awaitTime = 10000L;
 
+    /** The first wait before checking the state of a job, doubled up to the await time. */
+    static final long MIN_AWAIT_TIME = 1000L;
+
+    /** The maximum size of the data uploaded to a job, the limit of Salesforce being 150 MB once base64 encoded. */
+    public static final long DEFAULT_BYTES_PER_JOB = 100L * 1024 * 1024;
+
+    private long bytesPerJob = DEFAULT_BYTES_PER_JOB;
+
+    private int rowsPerJob;
+
+    private int jobsConcurrency = 1;
+
     private BulkV2Connection bulkConnection;
 
     private SalesforceBulkProperties.ColumnDelimiter columnDelimiter;
@@ -81,6 +107,14 @@ public class SalesforceBulkV2Runtime {
         setObjectType(sprops.module.moduleName.getStringValue());
         setBulkFileName(sprops.bulkFilePath.getValue());
         setAwaitTime(sprops.bulkProperties.waitTimeCheckBatchState.getValue());
+        Integer bytes = sprops.bulkProperties.bytesPerJob.getValue();
+        if (bytes != null && bytes > 0) {
+            setBytesPerJob(bytes);
+        }
+        Integer rows = sprops.bulkProperties.rowsPerJob.getValue();
+        setRowsPerJob(rows == null ? 0 : rows);
+        Integer concurrency = sprops.bulkProperties.jobsConcurrency.getValue();
+        setJobsConcurrency(concurrency == null ? 1 : concurrency);
         intBulkOperation(sprops.outputAction.getValue());
     }
 
@@ -108,31 +142,147 @@ public class SalesforceBulkV2Runtime {
         }
     }
 
+    /**
+     * Upload the bulk file with one ingest job by part of the file, the parts being limited by the bytes and rows per job.
+     * The jobs run concurrently up to the jobs concurrency.
+     */
     public void executeBulk() throws IOException, InterruptedException {
+        List<BulkV2FileSplitter.Part> parts = BulkV2FileSplitter.split(new File(bulkFileName), bytesPerJob, rowsPerJob);
+        LOGGER.info(MESSAGES.getMessage("info.job.split", parts.size()));
+
+        activeJobs.clear();
+        boolean executed = false;
+        try {
+            jobs = executeJobs(parts);
+            executed = true;
+        } finally {
+            if (!executed) {
+                abortActiveJobs();
+            }
+        }
+
+        // check the success and failed records.
+        for (JobInfoV2 job : jobs) {
+            if (job.getState() != JobStateEnum.JobComplete) {
+                throw new BulkV2ClientException(job.getErrorMessage());
+            }
+        }
+        LOGGER.info(MESSAGES.getMessage("info.result.success", getNumberRecordsProcessed()));
+        LOGGER.info(MESSAGES.getMessage("info.result.failed", getNumberRecordsFailed()));
+    }
+
+    /**
+     * @return the last state of the jobs, in the order of the parts.
+     */
+    private List<JobInfoV2> executeJobs(List<BulkV2FileSplitter.Part> parts) throws IOException, InterruptedException {
+        List<JobInfoV2> result = new ArrayList<>(parts.size());
+        int threads = Math.min(Math.min(jobsConcurrency, parts.size()), BulkV2Connection.MAX_CONNECTIONS);
+        if (threads <= 1) {
+            for (BulkV2FileSplitter.Part part : parts) {
+                result.add(executeJob(part));
+            }
+        } else {
+            ExecutorService executor = Executors.newFixedThreadPool(threads, new JobThreadFactory());
+            try {
+                List<Future<JobInfoV2>> futures = new ArrayList<>(parts.size());
+                for (final BulkV2FileSplitter.Part part : parts) {
+                    futures.add(executor.submit(new Callable<JobInfoV2>() {
+
+                        @Override
+                        public JobInfoV2 call() throws Exception {
+                            return executeJob(part);
+                        }
+                    }));
+                }
+                for (Future<JobInfoV2> future : futures) {
+                    result.add(getJobResult(future));
+                }
+            } finally {
+                // stop the other jobs after a failure, and wait for them so that no job is created once they are aborted
+                executor.shutdownNow();
+                awaitTermination(executor);
+            }
+        }
+        return result;
+    }
+
+    private void awaitTermination(ExecutorService executor) {
+        try {
+            if (!executor.awaitTermination(awaitTime, TimeUnit.MILLISECONDS)) {
+                LOGGER.warn("The bulk jobs threads did not stop in {} ms", awaitTime);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Abort the jobs that are still open or in progress, so that they do not load a part of the file once the bulk
+     * execution failed.
+     */
+    private void abortActiveJobs() {
+        List<String> ids;
+        synchronized (activeJobs) {
+            ids = new ArrayList<>(activeJobs);
+            activeJobs.clear();
+        }
+        for (String id : ids) {
+            LOGGER.info(MESSAGES.getMessage("info.job.abort", id));
+            try {
+                bulkConnection.updateJob(id, JobStateEnum.Aborted);
+            } catch (IOException | RuntimeException e) {
+                LOGGER.warn(MESSAGES.getMessage("warn.job.abort", id, e.getMessage()), e);
+            }
+        }
+    }
+
+    private static JobInfoV2 getJobResult(Future<JobInfoV2> future) throws IOException, InterruptedException {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof InterruptedException) {
+                throw (InterruptedException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IOException(cause);
+        }
+    }
+
+    /**
+     * Upload a part of the bulk file and wait for the end of its job.
+     *
+     * @return the last state of the job.
+     */
+    protected JobInfoV2 executeJob(BulkV2FileSplitter.Part part) throws IOException, InterruptedException {
         // 1. create job
-        job = createJob();
+        JobInfoV2 job = createJob();
+        activeJobs.add(job.getId());
         LOGGER.info(MESSAGES.getMessage("info.job.create", job.toString()));
         // 2. upload data to job
-        try (FileInputStream input = new FileInputStream(new File(bulkFileName))) {
+        try (InputStream input = part.openStream()) {
             LOGGER.info(MESSAGES.getMessage("info.job.upload", job.getId()));
+            LOGGER.debug("Uploading {} to job {}", part, job.getId());
             bulkConnection.uploadDataFromStream(job.getId(), input);
         }
         // 3. close the job which would change the job static to "UploadComplete"
         job = bulkConnection.closeJob(job.getId());
 
-        // 4. check whether the job complete progress
+        // 4. check whether the job complete progress, checking less and less often for long jobs
+        long wait = Math.min(MIN_AWAIT_TIME, awaitTime);
         while (job.getState() == JobStateEnum.UploadComplete || job.getState() == JobStateEnum.InProgress) {
-            Thread.sleep(awaitTime);
+            Thread.sleep(wait);
             LOGGER.info(MESSAGES.getMessage("info.job.process", job.getId()));
-            job = bulkConnection.getJobStatus(job.getId());
-        }
-        // 5. check the success and failed records.
-        if (job.getState() == JobStateEnum.JobComplete) {
-            LOGGER.info(MESSAGES.getMessage("info.result.success", job.getNumberRecordsProcessed()));
-            LOGGER.info(MESSAGES.getMessage("info.result.failed", job.getNumberRecordsFailed()));
-        } else {
-            throw new BulkV2ClientException(job.getErrorMessage());
+            job = getJobStatus(job.getId());
+            wait = Math.min(wait * 2, awaitTime);
         }
+        activeJobs.remove(job.getId());
+        return job;
     }
 
     public JobInfoV2 createJob() throws IOException {
@@ -168,18 +318,44 @@ public class SalesforceBulkV2Runtime {
         this.columnDelimiter = columnDelimiter;
     }
 
-    public BulkResultSet getSuccessResultSet() throws IOException {
-        return getResultSet(bulkConnection.getResult(job.getId()));
+    /**
+     * @return the number of jobs of the last bulk execution, their results are read job by job in the order of the file.
+     */
+    public int getJobCount() {
+        return jobs.size();
     }
 
-    public BulkResultSet getFailedResultSet() throws IOException {
-        return getResultSet(bulkConnection.getFailedRecordsStream(job.getId()));
+    public BulkResultSet getSuccessResultSet(int jobIndex) throws IOException {
+        return getResultSet(bulkConnection.getResult(jobs.get(jobIndex).getId()));
+    }
+
+    public BulkResultSet getFailedResultSet(int jobIndex) throws IOException {
+        return getResultSet(bulkConnection.getFailedRecordsStream(jobs.get(jobIndex).getId()));
+    }
+
+    public BulkResultSet getUnprocessedResultSet(int jobIndex) throws IOException {
+        return getResultSet(bulkConnection.getUnprocessedRecordsStream(jobs.get(jobIndex).getId()));
     }
 
     public void setAwaitTime(long awaitTime) {
         this.awaitTime = awaitTime;
     }
 
+    public void setBytesPerJob(long bytesPerJob) {
+        this.bytesPerJob = bytesPerJob;
+    }
+
+    /**
+     * @param rowsPerJob the maximum number of records by job, or 0 for no limit.
+     */
+    public void setRowsPerJob(int rowsPerJob) {
+        this.rowsPerJob = rowsPerJob;
+    }
+
+    public void setJobsConcurrency(int jobsConcurrency) {
+        this.jobsConcurrency = jobsConcurrency;
+    }
+
     public SalesforceBulkProperties.LineEnding getLineEnding() {
         return lineEnding;
     }
@@ -209,17 +385,19 @@ public class SalesforceBulkV2Runtime {
     }
 
     public int getNumberRecordsFailed() {
-        if (job != null) {
-            return job.getNumberRecordsFailed();
+        int count = 0;
+        for (JobInfoV2 job : jobs) {
+            count += job.getNumberRecordsFailed();
         }
-        return 0;
+        return count;
     }
 
     public int getNumberRecordsProcessed() {
-        if (job != null) {
-            return job.getNumberRecordsProcessed();
+        int count = 0;
+        for (JobInfoV2 job : jobs) {
+            count += job.getNumberRecordsProcessed();
         }
-        return 0;
+        return count;
     }
 
     public char getDelimitedChar(SalesforceBulkProperties.ColumnDelimiter columnDelimiter) {
@@ -244,4 +422,16 @@ public class SalesforceBulkV2Runtime {
         }
 
     }
+
+    private static class JobThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable r) {
+            Thread thread = new Thread(r, "salesforce-bulkv2-job-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
 }
@@ -0,0 +1,448 @@
+//============================================================================
+//
+// Copyright (C) 2006-2023 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// %InstallDIR%\features\org.talend.rcp.branding.%PRODUCTNAME%\%PRODUCTNAME%license.txt
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+//============================================================================
+package org.talend.components.salesforce.runtime.common;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.apache.avro.Schema;
+import org.apache.avro.SchemaParseException;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.talend.daikon.NamedThing;
+import org.talend.daikon.SimpleNamedThing;
+import org.talend.daikon.avro.AvroRegistry;
+
+import com.sforce.soap.partner.DescribeGlobalResult;
+import com.sforce.soap.partner.DescribeGlobalSObjectResult;
+import com.sforce.soap.partner.DescribeSObjectResult;
+import com.sforce.soap.partner.GetUserInfoResult;
+import com.sforce.soap.partner.PartnerConnection;
+import com.sforce.ws.ConnectionException;
+import com.sforce.ws.ConnectorConfig;
+
+/**
+ * Cache of the describe calls to Salesforce : the list of the modules of the organization and the schemas of the modules.
+ *
+ * The entries are kept by service endpoint, which holds the API version, by organization and by user, as resolved by
+ * {@link PartnerConnection#getUserInfo()}, so the connections which may see different metadata (field level security,
+ * profiles) don't share them, whatever the authentication. An entry is used until it is older than the time to live, then
+ * the module is described again, or until it is {@link #invalidate(PartnerConnection) invalidated}. The Partner API has no
+ * conditional describe, so the age of an entry is the only way to know it may be stale. At most
+ * {@value #DEFAULT_MAX_ORGANIZATIONS} entries are kept in memory, the least recently used one is dropped first.
+ *
+ * The schemas are kept by {@link AvroRegistry}, as the registries don't infer the same schema from a describe result.
+ * They are kept in their JSON form and each call returns its own copy, as the readers add their properties to the schema
+ * they get.
+ * The missing schemas are described by batches of {@value #MAX_DESCRIBE_SOBJECTS} modules.
+ *
+ * When the {@value #CACHE_DIR_PROPERTY} system property is set, the entries are also written in this folder, so they are
+ * kept from a run to the next one while they are not too old.
+ */
+public class SalesforceDescribeCache {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SalesforceDescribeCache.class);
+
+    public static final String CACHE_DIR_PROPERTY = "talend.salesforce.describe.cache.dir";
+
+    public static final long DEFAULT_TTL_MILLIS = 10 * 60 * 1000L;
+
+    public static final int DEFAULT_MAX_ORGANIZATIONS = 100;
+
+    /** The maximum number of modules of a describeSObjects call. */
+    public static final int MAX_DESCRIBE_SOBJECTS = 100;
+
+    private static final String MODULES_FILE = "modules.txt";
+
+    private static final String SCHEMA_FILE_EXTENSION = ".avsc";
+
+    private static final SalesforceDescribeCache INSTANCE = new SalesforceDescribeCache(DEFAULT_TTL_MILLIS,
+            getDefaultCacheDir());
+
+    /**
+     * The organization and the user of the connections, resolved once by connection. The connections are not kept.
+     */
+    private static final Map<PartnerConnection, String> USERS = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private final long ttlMillis;
+
+    private final File cacheDir;
+
+    /** By key, in the order of access, guarded by itself. */
+    private final Map<String, OrganizationEntry> organizations;
+
+    /**
+     * @param ttlMillis the time an entry is used before describing the module again.
+     * @param cacheDir the folder where the entries are written, or null to keep them in memory only.
+     */
+    public SalesforceDescribeCache(long ttlMillis, File cacheDir) {
+        this(ttlMillis, cacheDir, DEFAULT_MAX_ORGANIZATIONS);
+    }
+
+    /**
+     * @param maxOrganizations the maximum number of entries kept in memory.
+     */
+    SalesforceDescribeCache(long ttlMillis, File cacheDir, final int maxOrganizations) {
+        this.ttlMillis = ttlMillis;
+        this.cacheDir = cacheDir;
+        this.organizations = new LinkedHashMap<String, OrganizationEntry>(16, 0.75f, true) {
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, OrganizationEntry> eldest) {
+                // the files of the entry are kept, they are read again if the entry is used while fresh
+                return size() > maxOrganizations;
+            }
+        };
+    }
+
+    public static SalesforceDescribeCache get() {
+        return INSTANCE;
+    }
+
+    private static File getDefaultCacheDir() {
+        String dir = System.getProperty(CACHE_DIR_PROPERTY);
+        return StringUtils.isEmpty(dir) ? null : new File(dir);
+    }
+
+    /**
+     * @return the key of the metadata seen by the connection, or null if the connection doesn't say which organization and
+     * which user it is connected to.
+     */
+    static String getKey(PartnerConnection connection) {
+        ConnectorConfig config = connection.getConfig();
+        if (config == null || StringUtils.isEmpty(config.getServiceEndpoint())) {
+            return null;
+        }
+        String user = USERS.get(connection);
+        if (user == null) {
+            // the user name of the configuration is empty with OAuth, the session says who is connected
+            GetUserInfoResult userInfo;
+            try {
+                userInfo = connection.getUserInfo();
+            } catch (ConnectionException e) {
+                LOG.debug("Can't get the user of the connection, the describe results are not cached", e);
+                return null;
+            }
+            if (userInfo == null || StringUtils.isEmpty(userInfo.getUserId())) {
+                return null;
+            }
+            user = userInfo.getOrganizationId() + '|' + userInfo.getUserId();
+            USERS.put(connection, user);
+        }
+        return config.getServiceEndpoint() + '|' + user;
+    }
+
+    private OrganizationEntry getOrganization(PartnerConnection connection) {
+        String key = getKey(connection);
+        if (key == null) {
+            return null;
+        }
+        synchronized (organizations) {
+            OrganizationEntry organization = organizations.get(key);
+            if (organization == null) {
+                organization = new OrganizationEntry(cacheDir == null ? null : new File(cacheDir, hash(key)));
+                organizations.put(key, organization);
+            }
+            return organization;
+        }
+    }
+
+    private boolean isFresh(long loadTime) {
+        return System.currentTimeMillis() - loadTime < ttlMillis;
+    }
+
+    /**
+     * @return the name and the label of the modules of the organization.
+     */
+    public List<NamedThing> getModuleNames(PartnerConnection connection) throws ConnectionException {
+        OrganizationEntry organization = getOrganization(connection);
+        if (organization != null) {
+            Entry<List<NamedThing>> entry = organization.modules;
+            if (entry == null) {
+                entry = organization.readModules();
+            }
+            if (entry != null && isFresh(entry.loadTime)) {
+                organization.modules = entry;
+                return new ArrayList<>(entry.value);
+            }
+        }
+
+        List<NamedThing> modules = new ArrayList<>();
+        DescribeGlobalResult result = connection.describeGlobal();
+        for (DescribeGlobalSObjectResult obj : result.getSobjects()) {
+            LOG.debug("module label: " + obj.getLabel() + " name: " + obj.getName());
+            modules.add(new SimpleNamedThing(obj.getName(), obj.getLabel()));
+        }
+
+        if (organization != null) {
+            organization.modules = new Entry<List<NamedThing>>(modules, System.currentTimeMillis());
+            organization.writeModules(modules);
+        }
+        return new ArrayList<>(modules);
+    }
+
+    /**
+     * @return the schema of the module, inferred by the registry. The caller may change it.
+     */
+    public Schema getSchema(PartnerConnection connection, String module, AvroRegistry registry) throws ConnectionException {
+        return getSchemas(connection, Collections.singletonList(module), registry).get(module);
+    }
+
+    /**
+     * @return the schemas of the modules inferred by the registry, by module in the order of the modules. The caller may
+     * change them.
+     */
+    public Map<String, Schema> getSchemas(PartnerConnection connection, Collection<String> modules, AvroRegistry registry)
+            throws ConnectionException {
+        OrganizationEntry organization = getOrganization(connection);
+        String registryName = registry.getClass().getName();
+
+        Map<String, Schema> schemas = new LinkedHashMap<>();
+        List<String> missing = new ArrayList<>();
+        for (String module : modules) {
+            if (schemas.containsKey(module)) {
+                continue;
+            }
+            Schema schema = organization == null ? null : organization.getSchema(registryName, module);
+            schemas.put(module, schema);
+            if (schema == null) {
+                missing.add(module);
+            }
+        }
+
+        for (int start = 0; start < missing.size(); start += MAX_DESCRIBE_SOBJECTS) {
+            List<String> batch = missing.subList(start, Math.min(start + MAX_DESCRIBE_SOBJECTS, missing.size()));
+            LOG.debug("Describing the modules {}", batch);
+            // the results are in the order of the modules
+            DescribeSObjectResult[] results = connection.describeSObjects(batch.toArray(new String[batch.size()]));
+            for (int i = 0; i < batch.size(); i++) {
+                Schema schema = registry.inferSchema(results[i]);
+                schemas.put(batch.get(i), schema);
+                if (organization != null) {
+                    organization.putSchema(registryName, batch.get(i), schema);
+                }
+            }
+        }
+        return schemas;
+    }
+
+    /**
+     * Forget the metadata of the organization of the connection, in memory and on disk.
+     */
+    public void invalidate(PartnerConnection connection) {
+        String key = getKey(connection);
+        if (key == null) {
+            return;
+        }
+        OrganizationEntry organization;
+        synchronized (organizations) {
+            organization = organizations.remove(key);
+        }
+        if (organization == null && cacheDir != null) {
+            organization = new OrganizationEntry(new File(cacheDir, hash(key)));
+        }
+        if (organization != null) {
+            organization.deleteFiles();
+        }
+    }
+
+    /**
+     * Forget the entries kept in memory.
+     */
+    public void clear() {
+        synchronized (organizations) {
+            organizations.clear();
+        }
+    }
+
+    int size() {
+        synchronized (organizations) {
+            return organizations.size();
+        }
+    }
+
+    private static String hash(String key) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return new BigInteger(1, digest.digest(key.getBytes(StandardCharsets.UTF_8))).toString(16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static class Entry<T> {
+
+        private final T value;
+
+        private final long loadTime;
+
+        private Entry(T value, long loadTime) {
+            this.value = value;
+            this.loadTime = loadTime;
+        }
+    }
+
+    /**
+     * The metadata of an organization as seen by a user.
+     */
+    private class OrganizationEntry {
+
+        private final File dir;
+
+        private volatile Entry<List<NamedThing>> modules;
+
+        /** The JSON form of the schemas. */
+        private final ConcurrentMap<String, Entry<String>> schemas = new ConcurrentHashMap<>();
+
+        private OrganizationEntry(File dir) {
+            this.dir = dir;
+        }
+
+        private String getSchemaKey(String registryName, String module) {
+            // the module names are not case sensitive
+            return registryName + '/' + module.toLowerCase(Locale.ROOT);
+        }
+
+        private File getSchemaFile(String registryName, String module) {
+            return new File(new File(dir, registryName), module.toLowerCase(Locale.ROOT) + SCHEMA_FILE_EXTENSION);
+        }
+
+        private Schema getSchema(String registryName, String module) {
+            String key = getSchemaKey(registryName, module);
+            Entry<String> entry = schemas.get(key);
+            if (entry == null && dir != null) {
+                entry = readSchema(getSchemaFile(registryName, module));
+            }
+            if (entry == null || !isFresh(entry.loadTime)) {
+                return null;
+            }
+            schemas.put(key, entry);
+            return new Schema.Parser().parse(entry.value);
+        }
+
+        private void putSchema(String registryName, String module, Schema schema) {
+            String json = schema.toString();
+            schemas.put(getSchemaKey(registryName, module), new Entry<>(json, System.currentTimeMillis()));
+            if (dir != null) {
+                write(getSchemaFile(registryName, module), json);
+            }
+        }
+
+        private Entry<String> readSchema(File file) {
+            if (!file.isFile()) {
+                return null;
+            }
+            try {
+                return new Entry<>(new Schema.Parser().parse(file).toString(), file.lastModified());
+            } catch (IOException | SchemaParseException e) {
+                LOG.debug("Can't read the cached schema " + file, e);
+                return null;
+            }
+        }
+
+        private Entry<List<NamedThing>> readModules() {
+            if (dir == null) {
+                return null;
+            }
+            File file = new File(dir, MODULES_FILE);
+            if (!file.isFile()) {
+                return null;
+            }
+            List<NamedThing> result = new ArrayList<>();
+            try (BufferedReader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    int tab = line.indexOf('\t');
+                    if (tab < 0) {
+                        result.add(new SimpleNamedThing(line, line));
+                    } else {
+                        result.add(new SimpleNamedThing(line.substring(0, tab), line.substring(tab + 1)));
+                    }
+                }
+            } catch (IOException e) {
+                LOG.debug("Can't read the cached modules " + file, e);
+                return null;
+            }
+            return new Entry<>(result, file.lastModified());
+        }
+
+        private void writeModules(List<NamedThing> modules) {
+            if (dir == null) {
+                return;
+            }
+            StringBuilder content = new StringBuilder();
+            for (NamedThing module : modules) {
+                content.append(module.getName()).append('\t');
+                // one module by line
+                content.append(StringUtils.defaultString(module.getDisplayName()).replaceAll("[\t\r\n]", " ")).append('\n');
+            }
+            write(new File(dir, MODULES_FILE), content.toString());
+        }
+
+        /**
+         * The cache on disk is only a help, the failures to write it are ignored.
+         */
+        private void write(File file, String content) {
+            try {
+                File parent = file.getParentFile();
+                Files.createDirectories(parent.toPath());
+                // written aside then moved, so another process never reads a partial file
+                File tmp = File.createTempFile(file.getName(), ".tmp", parent);
+                try (BufferedWriter writer = Files.newBufferedWriter(tmp.toPath(), StandardCharsets.UTF_8)) {
+                    writer.write(content);
+                }
+                Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            } catch (IOException e) {
+                LOG.warn("Can't write the describe cache file {}: {}", file, e.getMessage());
+            }
+        }
+
+        private void deleteFiles() {
+            if (dir == null || !dir.exists()) {
+                return;
+            }
+            delete(dir);
+        }
+
+        private void delete(File file) {
+            File[] children = file.listFiles();
+            if (children != null) {
+                for (File child : children) {
+                    delete(child);
+                }
+            }
+            if (!file.delete()) {
+                LOG.warn("Can't delete the describe cache file {}", file);
+            }
+        }
+    }
+}
@@ -13,7 +13,6 @@
 package org.talend.components.salesforce.runtime.common;
 
 import java.io.IOException;
-import java.util.ArrayList;
 import java.util.List;
 
 import org.apache.commons.lang3.exception.ExceptionUtils;
@@ -21,11 +20,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.talend.components.api.exception.ComponentException;
 import org.talend.daikon.NamedThing;
-import org.talend.daikon.SimpleNamedThing;
 import org.talend.daikon.properties.ValidationResult;
 
-import com.sforce.soap.partner.DescribeGlobalResult;
-import com.sforce.soap.partner.DescribeGlobalSObjectResult;
 import com.sforce.soap.partner.PartnerConnection;
 import com.sforce.ws.ConnectionException;
 import com.sforce.ws.ConnectorConfig;
@@ -62,19 +58,11 @@ public abstract class SalesforceRuntimeCommon {
     }
 
     public static List<NamedThing> getSchemaNames(PartnerConnection connection) throws IOException {
-        List<NamedThing> returnList = new ArrayList<>();
-        DescribeGlobalResult result = null;
         try {
-            result = connection.describeGlobal();
+            return SalesforceDescribeCache.get().getModuleNames(connection);
         } catch (ConnectionException e) {
             throw new ComponentException(e);
         }
-        DescribeGlobalSObjectResult[] objects = result.getSobjects();
-        for (DescribeGlobalSObjectResult obj : objects) {
-            LOG.debug("module label: " + obj.getLabel() + " name: " + obj.getName());
-            returnList.add(new SimpleNamedThing(obj.getName(), obj.getLabel()));
-        }
-        return returnList;
     }
 
 }
@@ -16,6 +16,7 @@ import org.apache.avro.Schema;
 import org.apache.avro.Schema.Field;
 import org.apache.avro.generic.IndexedRecord;
 import org.talend.components.salesforce.runtime.BulkResult;
+import org.talend.components.salesforce.runtime.BulkResultHeader;
 import org.talend.daikon.avro.converter.AvroConverter;
 import org.talend.daikon.avro.converter.IndexedRecordConverter;
 
@@ -26,6 +27,12 @@ public class BulkResultIndexedRecordConverter implements IndexedRecordConverter<
 
     private String names[];
 
+    /** The header the column indexes below were computed for. */
+    private BulkResultHeader indexedHeader;
+
+    /** The index in the header of each field, or -1 if the field is not in the header. */
+    private int[] headerIndexes;
+
     /** The cached AvroConverter objects for the fields of this record. */
     @SuppressWarnings("rawtypes")
     protected transient AvroConverter[] fieldConverter;
@@ -81,6 +88,16 @@ public class BulkResultIndexedRecordConverter implements IndexedRecordConverter<
                     fieldConverter[j] = SalesforceAvroRegistryString.get().getConverterFromString(f);
                 }
             }
+            BulkResultHeader header = value.getHeader();
+            if (header != null) {
+                if (header != indexedHeader) {
+                    headerIndexes = header.indexesOf(names);
+                    indexedHeader = header;
+                }
+                if (headerIndexes[i] >= 0) {
+                    return fieldConverter[i].convertToAvro(value.getValue(headerIndexes[i]));
+                }
+            }
             return fieldConverter[i].convertToAvro(value.getValue(names[i]));
         }
 
@@ -35,6 +35,7 @@ import org.talend.components.salesforce.dataprep.SalesforceInputProperties;
 import org.talend.components.salesforce.dataset.SalesforceDatasetProperties;
 import org.talend.components.salesforce.datastore.SalesforceDatastoreProperties;
 import org.talend.components.salesforce.runtime.common.ConnectionHolder;
+import org.talend.components.salesforce.runtime.common.SalesforceDescribeCache;
 import org.talend.components.salesforce.runtime.common.SalesforceRuntimeCommon;
 import org.talend.components.salesforce.schema.SalesforceSchemaHelper;
 import org.talend.components.salesforce.soql.FieldDescription;
@@ -45,7 +46,6 @@ import org.talend.daikon.properties.ValidationResult;
 
 import com.sforce.async.AsyncApiException;
 import com.sforce.async.BulkConnection;
-import com.sforce.soap.partner.DescribeSObjectResult;
 import com.sforce.soap.partner.PartnerConnection;
 import com.sforce.ws.ConnectionException;
 import com.sforce.ws.ConnectorConfig;
@@ -123,15 +123,19 @@ public class SalesforceDataprepSource
 
     @Override
     public List<NamedThing> getSchemaNames(RuntimeContainer container) throws IOException {
-        return SalesforceRuntimeCommon.getSchemaNames(getConnectionHolder().connection);
+        PartnerConnection connection = getConnectionHolder().connection;
+        if (container == null) {
+            // the dataset form lists the modules before retrieving their schemas, it must not see stale metadata
+            SalesforceDescribeCache.get().invalidate(connection);
+        }
+        return SalesforceRuntimeCommon.getSchemaNames(connection);
     }
 
     @Override
     public Schema getEndpointSchema(RuntimeContainer container, String schemaName) throws IOException {
         try {
-            DescribeSObjectResult[] describeSObjectResults = new DescribeSObjectResult[0];
-            describeSObjectResults = getConnectionHolder().connection.describeSObjects(new String[] { schemaName });
-            return SalesforceAvroRegistryString.get().inferSchema(describeSObjectResults[0]);
+            return SalesforceDescribeCache.get().getSchema(getConnectionHolder().connection, schemaName,
+                    SalesforceAvroRegistryString.get());
         } catch (ConnectionException e) {
             throw new IOException(e);
         }
@@ -227,16 +231,15 @@ public class SalesforceDataprepSource
         List<FieldDescription> fieldDescriptions = query.getFieldDescriptions();
         String drivingEntityName = query.getDrivingEntityName();
 
-        DescribeSObjectResult describeSObjectResult = null;
+        Schema runtimeSchema = null;
 
         try {
-            describeSObjectResult = getConnectionHolder().connection.describeSObject(drivingEntityName);
+            runtimeSchema = SalesforceDescribeCache.get().getSchema(getConnectionHolder().connection, drivingEntityName,
+                    SalesforceAvroRegistryString.get());
         } catch (ConnectionException e) {
             throw new RuntimeException(e);
         }
 
-        Schema runtimeSchema = SalesforceAvroRegistryString.get().inferSchema(describeSObjectResult);
-
         Schema newSchema = Schema.createRecord("GuessedSchema", runtimeSchema.getDoc(), runtimeSchema.getNamespace(),
                 runtimeSchema.isError());
         List<Schema.Field> newFieldList = new ArrayList<>();
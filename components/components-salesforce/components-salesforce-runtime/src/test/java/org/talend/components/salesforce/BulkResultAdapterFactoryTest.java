@@ -17,6 +17,7 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 
 import java.io.IOException;
+import java.util.Arrays;
 
 import org.apache.avro.Schema;
 import org.apache.avro.SchemaBuilder;
@@ -27,6 +28,7 @@ import org.junit.Before;
 import org.junit.Test;
 import org.talend.components.salesforce.runtime.BulkResult;
 import org.talend.components.salesforce.runtime.BulkResultAdapterFactory;
+import org.talend.components.salesforce.runtime.BulkResultHeader;
 import org.talend.daikon.avro.SchemaConstants;
 import org.talend.daikon.avro.converter.IndexedRecordConverter;
 
@@ -73,6 +75,26 @@ public class BulkResultAdapterFactoryTest {
         assertEquals(Boolean.TRUE, indexedRecord.get(3));
     }
 
+    @Test
+    public void testConvertToAvroWithHeader() throws IOException {
+        Schema schema = SchemaBuilder.builder().record("Schema").fields() //
+                .name("Id").type().stringType().noDefault() //
+                .name("Account_Name").type().stringType().noDefault() //
+                .name("FieldX").type().intType().noDefault() //
+                .endRecord();
+        converter.setSchema(schema);
+
+        // Account_Name is found as Name, as for the results set field by field
+        BulkResultHeader header = new BulkResultHeader(Arrays.asList("FIELDX", "Name", "Id"));
+        for (int i = 0; i < 3; i++) {
+            IndexedRecord indexedRecord = converter
+                    .convertToAvro(new BulkResult(header, new String[] { String.valueOf(i), "Name" + i, "Id" + i }));
+            assertEquals("Id" + i, indexedRecord.get(0));
+            assertEquals("Name" + i, indexedRecord.get(1));
+            assertEquals(Integer.valueOf(i), indexedRecord.get(2));
+        }
+    }
+
     @Test(expected = IndexedRecordConverter.UnmodifiableAdapterException.class)
     public void testConvertToDatum() throws IOException {
         converter.setSchema(SCHEMA);
@@ -0,0 +1,103 @@
+//============================================================================
+//
+// Copyright (C) 2006-2023 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// %InstallDIR%\features\org.talend.rcp.branding.%PRODUCTNAME%\%PRODUCTNAME%license.txt
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+//============================================================================
+package org.talend.components.salesforce;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.avro.Schema;
+import org.apache.avro.SchemaBuilder;
+import org.apache.avro.SchemaBuilder.FieldAssembler;
+import org.apache.avro.generic.IndexedRecord;
+import org.databene.contiperf.PerfTest;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.talend.components.api.test.performance.ContiPerfRuleAdaptor;
+import org.talend.components.salesforce.runtime.BulkResult;
+import org.talend.components.salesforce.runtime.BulkResultAdapterFactory;
+import org.talend.components.salesforce.runtime.BulkResultSet;
+
+import com.talend.csv.CSVReader;
+import com.talend.csv.CSVWriter;
+
+/**
+ * Replay a bulk query result through the result set and the converter used by the bulk query reader.
+ */
+public class BulkResultSetPerformanceTest {
+
+    private static final int ROWS = 20000;
+
+    private static final int COLUMNS = 30;
+
+    private static final List<String> header = new ArrayList<>();
+
+    private static Schema schema;
+
+    private static byte[] csv;
+
+    @Rule
+    public ContiPerfRuleAdaptor perfAdaptor = new ContiPerfRuleAdaptor();
+
+    @BeforeClass
+    public static void createResult() throws IOException {
+        FieldAssembler<Schema> fields = SchemaBuilder.builder().record("Account").fields();
+        for (int i = 0; i < COLUMNS; i++) {
+            String name = i % 3 == 0 ? "Parent.Field" + i : "Field" + i;
+            header.add(name);
+            fields = fields.name(name.replace('.', '_')).type().stringType().noDefault();
+        }
+        schema = fields.endRecord();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        CSVWriter csvWriter = new CSVWriter(new OutputStreamWriter(new BufferedOutputStream(out), "UTF-8"));
+        csvWriter.setSeparator(',');
+        String[] row = new String[COLUMNS];
+        for (int r = 0; r < ROWS; r++) {
+            for (int i = 0; i < COLUMNS; i++) {
+                row[i] = "value" + r + "_" + i;
+            }
+            csvWriter.writeNext(row);
+        }
+        csvWriter.close();
+        csv = out.toByteArray();
+    }
+
+    @Test
+    @PerfTest(invocations = 10, threads = 1)
+    public void testReadAndConvert() throws IOException {
+        CSVReader csvReader = new CSVReader(new BufferedInputStream(new ByteArrayInputStream(csv)), ',', "UTF-8");
+        BulkResultSet resultSet = new BulkResultSet(csvReader, header);
+
+        BulkResultAdapterFactory converter = new BulkResultAdapterFactory();
+        converter.setSchema(schema);
+
+        int count = 0;
+        BulkResult result;
+        while ((result = resultSet.next()) != null) {
+            IndexedRecord record = converter.convertToAvro(result);
+            for (int i = 0; i < COLUMNS; i++) {
+                Assert.assertNotNull(record.get(i));
+            }
+            count++;
+        }
+        Assert.assertEquals(ROWS, count);
+    }
+}
@@ -73,6 +73,31 @@ public class BulkResultSetTest {
         assertEquals(recordCount, count);
     }
 
+    @Test
+    public void testRelationshipHeader() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        CSVWriter csvWriter = new CSVWriter(new OutputStreamWriter(new BufferedOutputStream(out), "UTF-8"));
+        csvWriter.setSeparator(',');
+        csvWriter.writeNext(new String[] { "1", "Talend" });
+        csvWriter.writeNext(new String[] { "2", "Salesforce" });
+        csvWriter.close();
+
+        CSVReader csvReader = new CSVReader(new BufferedInputStream(new ByteArrayInputStream(out.toByteArray())), ',',
+                "UTF-8");
+        BulkResultSet resultSet = new BulkResultSet(csvReader, Arrays.asList("Id", "Account.Name"));
+
+        BulkResult first = resultSet.next();
+        BulkResult second = resultSet.next();
+        Assert.assertNull(resultSet.next());
+
+        // the results share the header computed once for the result set
+        Assert.assertSame(first.getHeader(), second.getHeader());
+        assertEquals("Account_Name", first.getHeader().getName(1));
+        assertEquals("Talend", first.getValue("Account_Name"));
+        assertEquals("Salesforce", second.getValue(1));
+        assertEquals("2", second.getValue("id"));
+    }
+
     @Test
     public void testSafetySwitchTrueFailure() throws IOException {
         try {
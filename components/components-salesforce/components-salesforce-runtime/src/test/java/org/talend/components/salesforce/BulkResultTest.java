@@ -14,12 +14,17 @@
 package org.talend.components.salesforce;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
 
 import org.junit.Test;
 import org.talend.components.salesforce.runtime.BulkResult;
+import org.talend.components.salesforce.runtime.BulkResultHeader;
 
 /**
  *
@@ -48,4 +53,30 @@ public class BulkResultTest {
         assertNull(result3.getValue("fieldA"));
         assertNull(result3.getValue("fieldB"));
     }
+
+    @Test
+    public void testValuesWithHeader() {
+        BulkResultHeader header = new BulkResultHeader(Arrays.asList("fieldA", "fieldB", "fieldC"));
+        BulkResult result = new BulkResult(header, new String[] { "fieldValueA", "#N/A" });
+
+        assertEquals("fieldValueA", result.getValue("FIELDA"));
+        assertEquals("fieldValueA", result.getValue(0));
+        assertEquals("#N/A", result.getValue("fieldB"));
+        // a short row has null values
+        assertNull(result.getValue("fieldC"));
+        assertTrue(result.containField("fieldC"));
+        assertFalse(result.containField("fieldD"));
+
+        result.setValue("fieldC", "fieldValueC");
+        result.setValue("fieldD", "fieldValueD");
+        assertEquals("fieldValueC", result.getValue(2));
+        assertEquals("fieldValueD", result.getValue("fieldD"));
+        assertEquals(Arrays.asList("fieldA", "fieldB", "fieldC", "fieldD"), new ArrayList<>(result.getFieldNames()));
+
+        BulkResult copy = new BulkResult();
+        copy.copyValues(result);
+        assertEquals("fieldValueA", copy.getValue("fieldA"));
+        assertNull(copy.getValue("fieldB"));
+        assertEquals("fieldValueD", copy.getValue("fieldD"));
+    }
 }
@@ -0,0 +1,136 @@
+//============================================================================
+//
+// Copyright (C) 2006-2023 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// %InstallDIR%\features\org.talend.rcp.branding.%PRODUCTNAME%\%PRODUCTNAME%license.txt
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+//============================================================================
+package org.talend.components.salesforce.runtime;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+
+import org.apache.avro.Schema;
+import org.apache.avro.SchemaBuilder;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.talend.components.api.container.RuntimeContainer;
+import org.talend.components.salesforce.runtime.common.SalesforceDescribeCache;
+import org.talend.components.salesforce.tsalesforceinput.TSalesforceInputProperties;
+import org.talend.components.salesforce.tsalesforceinput.TSalesforceInputProperties.QueryMode;
+import org.talend.daikon.avro.SchemaConstants;
+
+import com.sforce.soap.partner.DescribeSObjectResult;
+import com.sforce.soap.partner.Field;
+import com.sforce.soap.partner.FieldType;
+import com.sforce.soap.partner.GetUserInfoResult;
+import com.sforce.soap.partner.PartnerConnection;
+import com.sforce.ws.ConnectionException;
+import com.sforce.ws.ConnectorConfig;
+
+public class SalesforceInputReaderTest {
+
+    private PartnerConnection connection;
+
+    private SalesforceSource source;
+
+    @Before
+    public void setUp() throws Exception {
+        ConnectorConfig config = new ConnectorConfig();
+        config.setServiceEndpoint("https://test.my.salesforce.com/services/Soap/u/45.0/00D000000000001");
+        GetUserInfoResult userInfo = new GetUserInfoResult();
+        userInfo.setOrganizationId("00D000000000001");
+        userInfo.setUserId("005000000000001");
+
+        connection = mock(PartnerConnection.class);
+        when(connection.getConfig()).thenReturn(config);
+        when(connection.getUserInfo()).thenReturn(userInfo);
+        when(connection.describeSObjects(any(String[].class))).thenAnswer(new Answer<DescribeSObjectResult[]>() {
+
+            @Override
+            public DescribeSObjectResult[] answer(InvocationOnMock invocation) {
+                Field id = new Field();
+                id.setName("Id");
+                id.setType(FieldType.id);
+                Field date = new Field();
+                date.setName("CreatedDate");
+                date.setType(FieldType.datetime);
+                DescribeSObjectResult result = new DescribeSObjectResult();
+                result.setName("Account");
+                result.setFields(new Field[] { id, date });
+                return new DescribeSObjectResult[] { result };
+            }
+        });
+
+        final SalesforceDescribeCache cache = new SalesforceDescribeCache(SalesforceDescribeCache.DEFAULT_TTL_MILLIS, null);
+        source = new SalesforceSource() {
+
+            @Override
+            public Schema getEndpointSchema(RuntimeContainer container, String schemaName) throws IOException {
+                try {
+                    return cache.getSchema(connection, schemaName, SalesforceAvroRegistry.get());
+                } catch (ConnectionException e) {
+                    throw new IOException(e);
+                }
+            }
+        };
+    }
+
+    private static TSalesforceInputProperties createProperties(String columnNameDelimiter, String valueDelimiter,
+            boolean dataTimeUTC) {
+        TSalesforceInputProperties properties = (TSalesforceInputProperties) new TSalesforceInputProperties("input").init();
+        properties.module.moduleName.setValue("Account");
+        properties.module.main.schema.setValue(
+                SchemaBuilder.record("Account").prop(SchemaConstants.INCLUDE_ALL_FIELDS, "true").fields().endRecord());
+        properties.columnNameDelimiter.setValue(columnNameDelimiter);
+        properties.normalizeDelimiter.setValue(valueDelimiter);
+        properties.dataTimeUTC.setValue(dataTimeUTC);
+        return properties;
+    }
+
+    /**
+     * The readers of the same module add their own settings to the schema, without seeing the settings of the others.
+     */
+    @Test
+    public void testReadersOfSameModuleWithDifferentDelimiters() throws Exception {
+        TSalesforceInputProperties bulkProperties = createProperties("|", ",", true);
+        bulkProperties.queryMode.setValue(QueryMode.Bulk);
+        bulkProperties.returnNullValue.setValue(true);
+        SalesforceInputReader first = new SalesforceInputReader(null, source, bulkProperties);
+        SalesforceInputReader second = new SalesforceInputReader(null, source, createProperties("_", ";", false));
+
+        first.getFactory();
+        second.getFactory();
+        Schema firstSchema = first.getSchema();
+        Schema secondSchema = second.getSchema();
+
+        assertNotSame(firstSchema, secondSchema);
+        assertEquals("|", firstSchema.getProp(SalesforceSchemaConstants.COLUMNNAME_DELIMTER));
+        assertEquals(",", firstSchema.getProp(SalesforceSchemaConstants.VALUE_DELIMITER));
+        assertEquals("true", firstSchema.getField("CreatedDate").getProp(SalesforceSchemaConstants.DATETIME_LOCAL));
+        assertEquals(true, firstSchema.getObjectProp(SalesforceSchemaConstants.RETURN_NULL_FOR_EMPTY));
+
+        assertEquals("_", secondSchema.getProp(SalesforceSchemaConstants.COLUMNNAME_DELIMTER));
+        assertEquals(";", secondSchema.getProp(SalesforceSchemaConstants.VALUE_DELIMITER));
+        assertEquals("false", secondSchema.getField("CreatedDate").getProp(SalesforceSchemaConstants.DATETIME_LOCAL));
+        assertNull(secondSchema.getObjectProp(SalesforceSchemaConstants.RETURN_NULL_FOR_EMPTY));
+
+        // the module is described once
+        verify(connection, times(1)).describeSObjects(any(String[].class));
+    }
+}
@@ -98,7 +98,8 @@ public class SalesforceSourceOrSinkTest {
         DescribeSObjectResult describeSObjectResult = new DescribeSObjectResult();
         describeSObjectResult.setFields(fields);
 
-        Mockito.when(partnerConnectionMock.describeSObject(drivingEntity)).thenReturn(describeSObjectResult);
+        Mockito.when(partnerConnectionMock.describeSObjects(new String[] { drivingEntity }))
+                .thenReturn(new DescribeSObjectResult[] { describeSObjectResult });
 
         SalesforceSourceOrSinkChild salesforceSourceOrSinkChild = new SalesforceSourceOrSinkChild();
         salesforceSourceOrSinkChild.initialize(runtimeContainerMock, properties);
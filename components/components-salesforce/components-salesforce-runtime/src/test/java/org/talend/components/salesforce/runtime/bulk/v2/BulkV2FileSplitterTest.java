@@ -0,0 +1,126 @@
+//============================================================================
+//
+// Copyright (C) 2006-2023 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// %InstallDIR%\features\org.talend.rcp.branding.%PRODUCTNAME%\%PRODUCTNAME%license.txt
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+//============================================================================
+
+package org.talend.components.salesforce.runtime.bulk.v2;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class BulkV2FileSplitterTest {
+
+    private static final String HEADER = "Name,Description\n";
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    private File createFile(String content) throws IOException {
+        File file = tempFolder.newFile();
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+
+    private static String read(BulkV2FileSplitter.Part part) throws IOException {
+        try (InputStream in = part.openStream()) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[16];
+            int n;
+            while ((n = in.read(buffer)) != -1) {
+                out.write(buffer, 0, n);
+            }
+            return new String(out.toByteArray(), StandardCharsets.UTF_8);
+        }
+    }
+
+    @Test
+    public void testWholeFileInOnePart() throws IOException {
+        String content = HEADER + "a,1\nb,2\nc,3\n";
+        List<BulkV2FileSplitter.Part> parts = BulkV2FileSplitter.split(createFile(content), 1024, 0);
+
+        assertEquals(1, parts.size());
+        assertEquals(3, parts.get(0).getRows());
+        assertEquals(content.length(), parts.get(0).getLength());
+        assertEquals(content, read(parts.get(0)));
+    }
+
+    @Test
+    public void testSplitByRows() throws IOException {
+        List<BulkV2FileSplitter.Part> parts = BulkV2FileSplitter.split(createFile(HEADER + "a,1\nb,2\nc,3\n"), 1024, 2);
+
+        assertEquals(2, parts.size());
+        assertEquals(HEADER + "a,1\nb,2\n", read(parts.get(0)));
+        assertEquals(HEADER + "c,3\n", read(parts.get(1)));
+    }
+
+    @Test
+    public void testSplitByBytes() throws IOException {
+        // the header and two records of 4 bytes fit in a part
+        long maxBytes = HEADER.length() + 8;
+        List<BulkV2FileSplitter.Part> parts = BulkV2FileSplitter.split(createFile(HEADER + "a,1\nb,2\nc,3\nd,4\ne,5"),
+                maxBytes, 0);
+
+        assertEquals(3, parts.size());
+        assertEquals(HEADER + "a,1\nb,2\n", read(parts.get(0)));
+        assertEquals(HEADER + "c,3\nd,4\n", read(parts.get(1)));
+        // the last record has no line ending
+        assertEquals(HEADER + "e,5", read(parts.get(2)));
+    }
+
+    @Test
+    public void testLineEndingInQuotedValue() throws IOException {
+        List<BulkV2FileSplitter.Part> parts = BulkV2FileSplitter.split(
+                createFile(HEADER + "a,\"first\nsecond \"\"line\"\"\"\nb,2\n"), 1024, 1);
+
+        assertEquals(2, parts.size());
+        assertEquals(HEADER + "a,\"first\nsecond \"\"line\"\"\"\n", read(parts.get(0)));
+        assertEquals(HEADER + "b,2\n", read(parts.get(1)));
+    }
+
+    @Test
+    public void testCRLF() throws IOException {
+        String header = "Name,Description\r\n";
+        List<BulkV2FileSplitter.Part> parts = BulkV2FileSplitter.split(createFile(header + "a,1\r\nb,2\r\n"), 1024, 1);
+
+        assertEquals(2, parts.size());
+        assertEquals(header + "a,1\r\n", read(parts.get(0)));
+        assertEquals(header + "b,2\r\n", read(parts.get(1)));
+    }
+
+    @Test
+    public void testRecordBiggerThanPart() throws IOException {
+        List<BulkV2FileSplitter.Part> parts = BulkV2FileSplitter.split(createFile(HEADER + "a,1\nbbbbbbbbbb,2\nc,3\n"),
+                HEADER.length() + 5, 0);
+
+        assertEquals(3, parts.size());
+        assertEquals(HEADER + "bbbbbbbbbb,2\n", read(parts.get(1)));
+    }
+
+    @Test
+    public void testFileWithoutRecords() throws IOException {
+        List<BulkV2FileSplitter.Part> parts = BulkV2FileSplitter.split(createFile(HEADER), 1024, 0);
+
+        assertEquals(1, parts.size());
+        assertEquals(0, parts.get(0).getRows());
+        assertEquals(HEADER, read(parts.get(0)));
+    }
+}
@@ -0,0 +1,310 @@
+//============================================================================
+//
+// Copyright (C) 2006-2023 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// %InstallDIR%\features\org.talend.rcp.branding.%PRODUCTNAME%\%PRODUCTNAME%license.txt
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+//============================================================================
+
+package org.talend.components.salesforce.runtime.bulk.v2;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.Mockito;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.talend.components.salesforce.SalesforceOutputProperties.OutputAction;
+import org.talend.components.salesforce.runtime.BulkResult;
+import org.talend.components.salesforce.runtime.BulkResultSet;
+import org.talend.components.salesforce.runtime.bulk.v2.error.BulkV2ClientException;
+import org.talend.components.salesforce.runtime.bulk.v2.request.CreateJobRequest;
+import org.talend.components.salesforce.tsalesforcebulkexec.TSalesforceBulkExecProperties;
+
+import com.sforce.async.JobStateEnum;
+
+public class SalesforceBulkV2RuntimeTest {
+
+    private static final String HEADER = "Name\n";
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    private BulkV2Connection connection;
+
+    private TSalesforceBulkExecProperties properties;
+
+    /** The data uploaded by job id. */
+    private final Map<String, String> uploads = new ConcurrentHashMap<>();
+
+    private final List<String> createdJobs = Collections.synchronizedList(new ArrayList<String>());
+
+    @Before
+    public void setUp() throws IOException {
+        final AtomicInteger jobCount = new AtomicInteger();
+        connection = Mockito.mock(BulkV2Connection.class);
+        Mockito.when(connection.createJob(Mockito.any(CreateJobRequest.class))).thenAnswer(new Answer<JobInfoV2>() {
+
+            @Override
+            public JobInfoV2 answer(InvocationOnMock invocation) {
+                String id = "job" + jobCount.incrementAndGet();
+                createdJobs.add(id);
+                return job(id, JobStateEnum.Open);
+            }
+        });
+        Mockito.doAnswer(new Answer<Void>() {
+
+            @Override
+            public Void answer(InvocationOnMock invocation) throws IOException {
+                uploads.put((String) invocation.getArguments()[0], read((InputStream) invocation.getArguments()[1]));
+                return null;
+            }
+        }).when(connection).uploadDataFromStream(Mockito.anyString(), Mockito.any(InputStream.class));
+        Mockito.when(connection.closeJob(Mockito.anyString())).thenAnswer(new Answer<JobInfoV2>() {
+
+            @Override
+            public JobInfoV2 answer(InvocationOnMock invocation) {
+                return job((String) invocation.getArguments()[0], JobStateEnum.UploadComplete);
+            }
+        });
+        Mockito.when(connection.getJobStatus(Mockito.anyString())).thenAnswer(new Answer<JobInfoV2>() {
+
+            @Override
+            public JobInfoV2 answer(InvocationOnMock invocation) {
+                String id = (String) invocation.getArguments()[0];
+                JobInfoV2 job = job(id, JobStateEnum.JobComplete);
+                // one record by line after the header
+                job.setNumberRecordsProcessed(uploads.get(id).split("\n").length - 1);
+                return job;
+            }
+        });
+
+        properties = new TSalesforceBulkExecProperties("root");
+        properties.init();
+        properties.module.moduleName.setValue("Account");
+        properties.outputAction.setValue(OutputAction.INSERT);
+        properties.bulkProperties.bulkApiV2.setValue(true);
+        properties.bulkProperties.waitTimeCheckBatchState.setValue(10);
+    }
+
+    private static JobInfoV2 job(String id, JobStateEnum state) {
+        JobInfoV2 job = new JobInfoV2();
+        job.setId(id);
+        job.setState(state);
+        return job;
+    }
+
+    private static String read(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[1024];
+        int n;
+        while ((n = in.read(buffer)) != -1) {
+            out.write(buffer, 0, n);
+        }
+        return new String(out.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    private void createBulkFile(int rows) throws IOException {
+        StringBuilder content = new StringBuilder(HEADER);
+        for (int i = 0; i < rows; i++) {
+            content.append("name").append(i).append('\n');
+        }
+        File file = tempFolder.newFile();
+        Files.write(file.toPath(), content.toString().getBytes(StandardCharsets.UTF_8));
+        properties.bulkFilePath.setValue(file.getAbsolutePath());
+    }
+
+    @Test
+    public void testOneJobByDefault() throws Exception {
+        createBulkFile(10);
+
+        SalesforceBulkV2Runtime runtime = new SalesforceBulkV2Runtime(connection, properties);
+        runtime.executeBulk();
+
+        assertEquals(1, runtime.getJobCount());
+        assertEquals(10, runtime.getNumberRecordsProcessed());
+        assertEquals(0, runtime.getNumberRecordsFailed());
+    }
+
+    @Test
+    public void testConcurrentJobs() throws Exception {
+        createBulkFile(25);
+        properties.bulkProperties.rowsPerJob.setValue(10);
+        properties.bulkProperties.jobsConcurrency.setValue(3);
+
+        SalesforceBulkV2Runtime runtime = new SalesforceBulkV2Runtime(connection, properties);
+        runtime.executeBulk();
+
+        assertEquals(3, runtime.getJobCount());
+        assertEquals(3, createdJobs.size());
+        assertEquals(25, runtime.getNumberRecordsProcessed());
+
+        // each job gets the header and its own records
+        StringBuilder records = new StringBuilder();
+        for (String data : uploads.values()) {
+            assertTrue(data.startsWith(HEADER));
+            records.append(data.substring(HEADER.length()));
+        }
+        assertEquals(25, records.toString().split("\n").length);
+    }
+
+    @Test
+    public void testFailedJob() throws Exception {
+        createBulkFile(20);
+        properties.bulkProperties.rowsPerJob.setValue(10);
+        properties.bulkProperties.jobsConcurrency.setValue(2);
+        Mockito.doAnswer(new Answer<JobInfoV2>() {
+
+            @Override
+            public JobInfoV2 answer(InvocationOnMock invocation) {
+                JobInfoV2 job = job("job2", JobStateEnum.Failed);
+                job.setErrorMessage("InvalidBatch");
+                return job;
+            }
+        }).when(connection).getJobStatus("job2");
+
+        SalesforceBulkV2Runtime runtime = new SalesforceBulkV2Runtime(connection, properties);
+        try {
+            runtime.executeBulk();
+            fail("The failed job should stop the bulk execution");
+        } catch (BulkV2ClientException e) {
+            assertEquals("InvalidBatch", e.getMessage());
+        }
+        // both jobs reached a final state, there is nothing to abort
+        Mockito.verify(connection, Mockito.never()).updateJob(Mockito.anyString(), Mockito.any(JobStateEnum.class));
+    }
+
+    /**
+     * The jobs finish in the reverse order of the file, but their results are still read in the order of the file.
+     */
+    @Test
+    public void testResultsInFileOrder() throws Exception {
+        createBulkFile(30);
+        properties.bulkProperties.rowsPerJob.setValue(10);
+        properties.bulkProperties.jobsConcurrency.setValue(3);
+        final List<String> completedJobs = Collections.synchronizedList(new ArrayList<String>());
+        final Map<String, AtomicInteger> checks = new ConcurrentHashMap<>();
+        Mockito.when(connection.getJobStatus(Mockito.anyString())).thenAnswer(new Answer<JobInfoV2>() {
+
+            @Override
+            public JobInfoV2 answer(InvocationOnMock invocation) {
+                String id = (String) invocation.getArguments()[0];
+                String data = uploads.get(id);
+                checks.putIfAbsent(id, new AtomicInteger());
+                // the first part takes the most checks to complete, the last part the least
+                int firstRecord = Integer.parseInt(data.substring(HEADER.length(), data.indexOf('\n', HEADER.length()))
+                        .substring("name".length()));
+                if (checks.get(id).incrementAndGet() <= 3 - firstRecord / 10) {
+                    return job(id, JobStateEnum.InProgress);
+                }
+                completedJobs.add(id);
+                JobInfoV2 job = job(id, JobStateEnum.JobComplete);
+                job.setNumberRecordsProcessed(10);
+                return job;
+            }
+        });
+        Mockito.when(connection.getResult(Mockito.anyString())).thenAnswer(new Answer<InputStream>() {
+
+            @Override
+            public InputStream answer(InvocationOnMock invocation) {
+                String data = uploads.get(invocation.getArguments()[0]);
+                return new ByteArrayInputStream(data.getBytes(StandardCharsets.UTF_8));
+            }
+        });
+
+        SalesforceBulkV2Runtime runtime = new SalesforceBulkV2Runtime(connection, properties);
+        runtime.executeBulk();
+
+        assertEquals(3, completedJobs.size());
+        assertEquals(30, runtime.getNumberRecordsProcessed());
+        assertEquals(3, runtime.getJobCount());
+        int record = 0;
+        for (int i = 0; i < runtime.getJobCount(); i++) {
+            BulkResultSet resultSet = runtime.getSuccessResultSet(i);
+            BulkResult result;
+            while ((result = resultSet.next()) != null) {
+                assertEquals("name" + record++, result.getValue("Name"));
+            }
+        }
+        assertEquals(30, record);
+        // the job of the last part completed before the job of the first part
+        assertTrue(completedJobs.indexOf(uploadedJob("name20\n")) < completedJobs.indexOf(uploadedJob("name0\n")));
+    }
+
+    /**
+     * When a part cannot be uploaded, the bulk execution stops and every job that did not finish is aborted.
+     */
+    @Test
+    public void testAbortJobsOnFailure() throws Exception {
+        createBulkFile(30);
+        properties.bulkProperties.rowsPerJob.setValue(10);
+        properties.bulkProperties.jobsConcurrency.setValue(3);
+        // wait long enough for the other jobs to stop before they are aborted
+        properties.bulkProperties.waitTimeCheckBatchState.setValue(5000);
+        Mockito.doAnswer(new Answer<Void>() {
+
+            @Override
+            public Void answer(InvocationOnMock invocation) throws IOException {
+                String data = read((InputStream) invocation.getArguments()[1]);
+                if (data.contains("name0\n")) {
+                    throw new IOException("upload failed");
+                }
+                uploads.put((String) invocation.getArguments()[0], data);
+                return null;
+            }
+        }).when(connection).uploadDataFromStream(Mockito.anyString(), Mockito.any(InputStream.class));
+        Mockito.when(connection.getJobStatus(Mockito.anyString())).thenAnswer(new Answer<JobInfoV2>() {
+
+            @Override
+            public JobInfoV2 answer(InvocationOnMock invocation) {
+                return job((String) invocation.getArguments()[0], JobStateEnum.InProgress);
+            }
+        });
+
+        SalesforceBulkV2Runtime runtime = new SalesforceBulkV2Runtime(connection, properties);
+        try {
+            runtime.executeBulk();
+            fail("The failed upload should stop the bulk execution");
+        } catch (IOException e) {
+            assertEquals("upload failed", e.getMessage());
+        }
+        assertFalse(createdJobs.isEmpty());
+        for (String id : createdJobs) {
+            Mockito.verify(connection).updateJob(id, JobStateEnum.Aborted);
+        }
+    }
+
+    private String uploadedJob(String record) {
+        for (Map.Entry<String, String> upload : uploads.entrySet()) {
+            if (upload.getValue().contains(record)) {
+                return upload.getKey();
+            }
+        }
+        throw new AssertionError(record + " was not uploaded");
+    }
+}
@@ -0,0 +1,315 @@
+//============================================================================
+//
+// Copyright (C) 2006-2023 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// %InstallDIR%\features\org.talend.rcp.branding.%PRODUCTNAME%\%PRODUCTNAME%license.txt
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+//============================================================================
+package org.talend.components.salesforce.runtime.common;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.avro.Schema;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.talend.components.salesforce.runtime.SalesforceAvroRegistry;
+import org.talend.daikon.NamedThing;
+import org.talend.daikon.SimpleNamedThing;
+
+import com.sforce.soap.partner.DescribeGlobalResult;
+import com.sforce.soap.partner.DescribeGlobalSObjectResult;
+import com.sforce.soap.partner.DescribeSObjectResult;
+import com.sforce.soap.partner.Field;
+import com.sforce.soap.partner.FieldType;
+import com.sforce.soap.partner.GetUserInfoResult;
+import com.sforce.soap.partner.IDescribeGlobalSObjectResult;
+import com.sforce.soap.partner.PartnerConnection;
+import com.sforce.ws.ConnectionException;
+import com.sforce.ws.ConnectorConfig;
+
+public class SalesforceDescribeCacheTest {
+
+    private static final String ENDPOINT = "https://test.my.salesforce.com/services/Soap/u/45.0/00D000000000001";
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    private PartnerConnection connection;
+
+    @Before
+    public void setUp() throws Exception {
+        connection = createConnection("user@talend.com", "005000000000001");
+    }
+
+    /**
+     * @param username the user name of the configuration, empty with OAuth.
+     * @param userId the user of the session.
+     */
+    private static PartnerConnection createConnection(String username, String userId) throws Exception {
+        ConnectorConfig config = new ConnectorConfig();
+        config.setServiceEndpoint(ENDPOINT);
+        config.setUsername(username);
+        GetUserInfoResult userInfo = new GetUserInfoResult();
+        userInfo.setOrganizationId("00D000000000001");
+        userInfo.setUserId(userId);
+
+        PartnerConnection connection = mock(PartnerConnection.class);
+        when(connection.getConfig()).thenReturn(config);
+        when(connection.getUserInfo()).thenReturn(userInfo);
+        when(connection.describeSObjects(any(String[].class))).thenAnswer(new Answer<DescribeSObjectResult[]>() {
+
+            @Override
+            public DescribeSObjectResult[] answer(InvocationOnMock invocation) {
+                String[] modules = (String[]) invocation.getArguments()[0];
+                DescribeSObjectResult[] results = new DescribeSObjectResult[modules.length];
+                for (int i = 0; i < modules.length; i++) {
+                    results[i] = describe(modules[i]);
+                }
+                return results;
+            }
+        });
+
+        DescribeGlobalSObjectResult account = new DescribeGlobalSObjectResult();
+        account.setName("Account");
+        account.setLabel("Account");
+        DescribeGlobalSObjectResult contact = new DescribeGlobalSObjectResult();
+        contact.setName("Contact");
+        contact.setLabel("Contact\tPerson");
+        DescribeGlobalResult global = new DescribeGlobalResult();
+        global.setSobjects(new IDescribeGlobalSObjectResult[] { account, contact });
+        doReturn(global).when(connection).describeGlobal();
+        return connection;
+    }
+
+    private static DescribeSObjectResult describe(String module) {
+        Field id = new Field();
+        id.setName("Id");
+        id.setType(FieldType.id);
+        Field date = new Field();
+        date.setName("CreatedDate");
+        date.setType(FieldType.datetime);
+
+        DescribeSObjectResult result = new DescribeSObjectResult();
+        result.setName(module);
+        result.setFields(new Field[] { id, date });
+        return result;
+    }
+
+    private static List<String> modules(int count) {
+        List<String> modules = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            modules.add("Module" + i + "__c");
+        }
+        return modules;
+    }
+
+    @Test
+    public void testSchemaIsCached() throws Exception {
+        SalesforceDescribeCache cache = new SalesforceDescribeCache(SalesforceDescribeCache.DEFAULT_TTL_MILLIS, null);
+
+        Schema schema = cache.getSchema(connection, "Account", SalesforceAvroRegistry.get());
+        assertEquals("Account", schema.getName());
+        assertEquals(schema, cache.getSchema(connection, "Account", SalesforceAvroRegistry.get()));
+        // the module names are not case sensitive
+        assertEquals(schema, cache.getSchema(connection, "account", SalesforceAvroRegistry.get()));
+
+        verify(connection, times(1)).describeSObjects(any(String[].class));
+    }
+
+    @Test
+    public void testCallersGetTheirOwnSchema() throws Exception {
+        SalesforceDescribeCache cache = new SalesforceDescribeCache(SalesforceDescribeCache.DEFAULT_TTL_MILLIS, null);
+
+        Schema schema = cache.getSchema(connection, "Account", SalesforceAvroRegistry.get());
+        schema.addProp("reader.prop", "first");
+        schema.getField("Id").addProp("reader.prop", "first");
+
+        Schema otherSchema = cache.getSchema(connection, "Account", SalesforceAvroRegistry.get());
+        assertNotSame(schema, otherSchema);
+        assertNull(otherSchema.getProp("reader.prop"));
+        assertNull(otherSchema.getField("Id").getProp("reader.prop"));
+        Schema batchSchema = cache.getSchemas(connection, Arrays.asList("Account"), SalesforceAvroRegistry.get())
+                .get("Account");
+        assertNotSame(otherSchema, batchSchema);
+        assertNull(batchSchema.getProp("reader.prop"));
+
+        verify(connection, times(1)).describeSObjects(any(String[].class));
+    }
+
+    @Test
+    public void testSchemasAreDescribedByBatches() throws Exception {
+        SalesforceDescribeCache cache = new SalesforceDescribeCache(SalesforceDescribeCache.DEFAULT_TTL_MILLIS, null);
+        cache.getSchema(connection, "Module5__c", SalesforceAvroRegistry.get());
+
+        List<String> modules = modules(251);
+        Map<String, Schema> schemas = cache.getSchemas(connection, modules, SalesforceAvroRegistry.get());
+
+        assertEquals(modules, new ArrayList<>(schemas.keySet()));
+        for (String module : modules) {
+            assertEquals(module, schemas.get(module).getName());
+        }
+        // the cached module is not described again, the other 250 modules are described by 100
+        verify(connection, times(4)).describeSObjects(any(String[].class));
+    }
+
+    @Test
+    public void testExpiredSchemaIsDescribedAgain() throws Exception {
+        SalesforceDescribeCache cache = new SalesforceDescribeCache(0, null);
+
+        Schema schema = cache.getSchema(connection, "Account", SalesforceAvroRegistry.get());
+        assertNotSame(schema, cache.getSchema(connection, "Account", SalesforceAvroRegistry.get()));
+
+        verify(connection, times(2)).describeSObjects(any(String[].class));
+    }
+
+    @Test
+    public void testSchemasAreKeptByUser() throws Exception {
+        SalesforceDescribeCache cache = new SalesforceDescribeCache(SalesforceDescribeCache.DEFAULT_TTL_MILLIS, null);
+        PartnerConnection otherConnection = createConnection("other@talend.com", "005000000000002");
+
+        cache.getSchema(connection, "Account", SalesforceAvroRegistry.get());
+        cache.getSchema(otherConnection, "Account", SalesforceAvroRegistry.get());
+
+        verify(connection, times(1)).describeSObjects(any(String[].class));
+        verify(otherConnection, times(1)).describeSObjects(any(String[].class));
+    }
+
+    @Test
+    public void testSchemasAreKeptByOAuthUser() throws Exception {
+        SalesforceDescribeCache cache = new SalesforceDescribeCache(SalesforceDescribeCache.DEFAULT_TTL_MILLIS, null);
+        PartnerConnection firstUser = createConnection(null, "005000000000001");
+        PartnerConnection secondUser = createConnection(null, "005000000000002");
+        PartnerConnection sameUser = createConnection(null, "005000000000001");
+
+        assertNotEquals(SalesforceDescribeCache.getKey(firstUser), SalesforceDescribeCache.getKey(secondUser));
+        cache.getSchema(firstUser, "Account", SalesforceAvroRegistry.get());
+        cache.getSchema(secondUser, "Account", SalesforceAvroRegistry.get());
+        cache.getSchema(sameUser, "Account", SalesforceAvroRegistry.get());
+        cache.getSchema(firstUser, "Contact", SalesforceAvroRegistry.get());
+
+        verify(firstUser, times(2)).describeSObjects(any(String[].class));
+        verify(secondUser, times(1)).describeSObjects(any(String[].class));
+        verify(sameUser, times(0)).describeSObjects(any(String[].class));
+        // the user is resolved once by connection
+        verify(firstUser, times(1)).getUserInfo();
+    }
+
+    @Test
+    public void testNoCacheWithoutUser() throws Exception {
+        SalesforceDescribeCache cache = new SalesforceDescribeCache(SalesforceDescribeCache.DEFAULT_TTL_MILLIS, null);
+        PartnerConnection unknownUser = createConnection(null, null);
+        when(unknownUser.getUserInfo()).thenThrow(new ConnectionException("session expired"));
+
+        assertNull(SalesforceDescribeCache.getKey(unknownUser));
+        cache.getSchema(unknownUser, "Account", SalesforceAvroRegistry.get());
+        cache.getSchema(unknownUser, "Account", SalesforceAvroRegistry.get());
+
+        verify(unknownUser, times(2)).describeSObjects(any(String[].class));
+    }
+
+    @Test
+    public void testLeastRecentlyUsedEntryIsEvicted() throws Exception {
+        SalesforceDescribeCache cache = new SalesforceDescribeCache(SalesforceDescribeCache.DEFAULT_TTL_MILLIS, null, 2);
+        PartnerConnection first = createConnection(null, "005000000000001");
+        PartnerConnection second = createConnection(null, "005000000000002");
+        PartnerConnection third = createConnection(null, "005000000000003");
+
+        cache.getSchema(first, "Account", SalesforceAvroRegistry.get());
+        cache.getSchema(second, "Account", SalesforceAvroRegistry.get());
+        // the first entry is used again, the second one is the least recently used
+        cache.getSchema(first, "Account", SalesforceAvroRegistry.get());
+        cache.getSchema(third, "Account", SalesforceAvroRegistry.get());
+        assertEquals(2, cache.size());
+
+        cache.getSchema(first, "Account", SalesforceAvroRegistry.get());
+        cache.getSchema(second, "Account", SalesforceAvroRegistry.get());
+        verify(first, times(1)).describeSObjects(any(String[].class));
+        verify(second, times(2)).describeSObjects(any(String[].class));
+    }
+
+    @Test
+    public void testInvalidatedEntryIsDescribedAgain() throws Exception {
+        SalesforceDescribeCache cache = new SalesforceDescribeCache(SalesforceDescribeCache.DEFAULT_TTL_MILLIS, null);
+        cache.getModuleNames(connection);
+        cache.getSchema(connection, "Account", SalesforceAvroRegistry.get());
+
+        cache.invalidate(connection);
+        cache.getModuleNames(connection);
+        cache.getSchema(connection, "Account", SalesforceAvroRegistry.get());
+
+        verify(connection, times(2)).describeGlobal();
+        verify(connection, times(2)).describeSObjects(any(String[].class));
+    }
+
+    @Test
+    public void testNoCacheWithoutEndpoint() throws Exception {
+        SalesforceDescribeCache cache = new SalesforceDescribeCache(SalesforceDescribeCache.DEFAULT_TTL_MILLIS, null);
+        when(connection.getConfig()).thenReturn(null);
+
+        cache.getSchema(connection, "Account", SalesforceAvroRegistry.get());
+        cache.getSchema(connection, "Account", SalesforceAvroRegistry.get());
+
+        verify(connection, times(2)).describeSObjects(any(String[].class));
+    }
+
+    @Test
+    public void testModuleNamesAreCached() throws Exception {
+        SalesforceDescribeCache cache = new SalesforceDescribeCache(SalesforceDescribeCache.DEFAULT_TTL_MILLIS, null);
+
+        List<NamedThing> expected = Arrays.<NamedThing> asList(new SimpleNamedThing("Account", "Account"),
+                new SimpleNamedThing("Contact", "Contact\tPerson"));
+        assertEquals(expected, cache.getModuleNames(connection));
+        assertEquals(expected, cache.getModuleNames(connection));
+
+        verify(connection, times(1)).describeGlobal();
+    }
+
+    @Test
+    public void testCacheOnDisk() throws Exception {
+        File cacheDir = tempFolder.newFolder();
+        SalesforceDescribeCache cache = new SalesforceDescribeCache(SalesforceDescribeCache.DEFAULT_TTL_MILLIS, cacheDir);
+        Schema schema = cache.getSchema(connection, "Account", SalesforceAvroRegistry.get());
+        cache.getModuleNames(connection);
+
+        // another cache, as in another run, reads the entries written by the first one
+        SalesforceDescribeCache nextCache = new SalesforceDescribeCache(SalesforceDescribeCache.DEFAULT_TTL_MILLIS, cacheDir);
+        assertEquals(schema, nextCache.getSchema(connection, "Account", SalesforceAvroRegistry.get()));
+        List<NamedThing> modules = nextCache.getModuleNames(connection);
+        assertEquals(2, modules.size());
+        assertEquals("Contact", modules.get(1).getName());
+        // the tabs of the labels are not kept
+        assertEquals("Contact Person", modules.get(1).getDisplayName());
+
+        verify(connection, times(1)).describeSObjects(any(String[].class));
+        verify(connection, times(1)).describeGlobal();
+
+        nextCache.invalidate(connection);
+        new SalesforceDescribeCache(SalesforceDescribeCache.DEFAULT_TTL_MILLIS, cacheDir).getSchema(connection, "Account",
+                SalesforceAvroRegistry.get());
+        verify(connection, times(2)).describeSObjects(any(String[].class));
+    }
+}
@@ -17,6 +17,7 @@ package org.talend.components.snowflake.tsnowflakeinput;
 
 import static org.talend.daikon.properties.presentation.Widget.widget;
 import static org.talend.daikon.properties.property.PropertyFactory.newBoolean;
+import static org.talend.daikon.properties.property.PropertyFactory.newInteger;
 import static org.talend.daikon.properties.property.PropertyFactory.newProperty;
 
 import java.util.Collections;
@@ -45,6 +46,21 @@ public class TSnowflakeInputProperties extends SnowflakeGuessSchemaProperties {
 
     public Property<Boolean> convertColumnsAndTableToUppercase = newBoolean("convertColumnsAndTableToUppercase", true);
 
+    /**
+     * Unload the rows to compressed files in a stage with COPY INTO, then fetch and decode the files in parallel instead of
+     * reading one result set.
+     */
+    public Property<Boolean> unload = newBoolean("unload", false); //$NON-NLS-1$
+
+    /**
+     * The stage receiving the unloaded files, "~" for the stage of the user.
+     */
+    public Property<String> unloadStage = newProperty("unloadStage"); //$NON-NLS-1$
+
+    public static final int DEFAULT_UNLOAD_THREADS = 4;
+
+    public Property<Integer> unloadThreads = newInteger("unloadThreads", DEFAULT_UNLOAD_THREADS); //$NON-NLS-1$
+
     public TSnowflakeInputProperties(@JsonProperty("name") String name) {
         super(name);
     }
@@ -63,6 +79,7 @@ public class TSnowflakeInputProperties extends SnowflakeGuessSchemaProperties {
         super.setupProperties();
         manualQuery.setValue(false);
         query.setTaggedValue(ComponentConstants.LINE_SEPARATOR_REPLACED_TO, " ");
+        unloadStage.setValue("~");
     }
 
     @Override
@@ -76,6 +93,9 @@ public class TSnowflakeInputProperties extends SnowflakeGuessSchemaProperties {
 
         Form advancedForm = getForm(Form.ADVANCED);
         advancedForm.addRow(convertColumnsAndTableToUppercase);
+        advancedForm.addRow(unload);
+        advancedForm.addRow(unloadStage);
+        advancedForm.addColumn(unloadThreads);
     }
 
     @Override
@@ -87,6 +107,8 @@ public class TSnowflakeInputProperties extends SnowflakeGuessSchemaProperties {
             form.getWidget(condition.getName()).setHidden(manualQuery.getValue());
         } else if (form.getName().equals(Form.ADVANCED)) {
             form.getWidget(convertColumnsAndTableToUppercase.getName()).setHidden(manualQuery.getValue());
+            form.getWidget(unloadStage.getName()).setHidden(!unload.getValue());
+            form.getWidget(unloadThreads.getName()).setHidden(!unload.getValue());
         }
     }
 
@@ -103,6 +125,10 @@ public class TSnowflakeInputProperties extends SnowflakeGuessSchemaProperties {
         refreshLayout(getForm(Form.MAIN));
     }
 
+    public void afterUnload() {
+        refreshLayout(getForm(Form.ADVANCED));
+    }
+
     @Override
     public String getQuery() {
         return query.getValue();
@@ -71,6 +71,10 @@ public class TSnowflakeRowProperties extends SnowflakeGuessSchemaProperties {
 
     public Property<Integer> commitCount = PropertyFactory.newInteger("commitCount", 10000);
 
+    public Property<Boolean> useBatch = PropertyFactory.newBoolean("useBatch").setRequired();
+
+    public Property<Integer> batchSize = PropertyFactory.newInteger("batchSize", 10000);
+
     public TSnowflakeRowProperties(String name) {
         super(name);
     }
@@ -89,6 +93,8 @@ public class TSnowflakeRowProperties extends SnowflakeGuessSchemaProperties {
         advancedForm.addRow(usePreparedStatement);
         advancedForm.addRow(Widget.widget(preparedStatementTable).setWidgetType(Widget.TABLE_WIDGET_TYPE));
         advancedForm.addRow(commitCount);
+        advancedForm.addRow(useBatch);
+        advancedForm.addRow(batchSize);
     }
 
     @Override
@@ -109,6 +115,10 @@ public class TSnowflakeRowProperties extends SnowflakeGuessSchemaProperties {
         refreshLayout(getForm(Form.ADVANCED));
     }
 
+    public void afterUseBatch() {
+        refreshLayout(getForm(Form.ADVANCED));
+    }
+
     public ValidationResult validateGuessQuery() {
         String tableName = StringUtils.strip((String) table.tableName.getStoredValue(), "\"");
         if (tableName == null || tableName.isEmpty()) {
@@ -143,6 +153,9 @@ public class TSnowflakeRowProperties extends SnowflakeGuessSchemaProperties {
         super.refreshLayout(form);
         if (form.getName().equals(Form.ADVANCED)) {
             form.getWidget(preparedStatementTable.getName()).setVisible(usePreparedStatement.getValue());
+            // only a prepared statement is batched, with the parameters of each record
+            form.getWidget(useBatch.getName()).setVisible(usePreparedStatement.getValue());
+            form.getWidget(batchSize.getName()).setVisible(usePreparedStatement.getValue() && useBatch.getValue());
         }
     }
 
@@ -230,4 +243,8 @@ public class TSnowflakeRowProperties extends SnowflakeGuessSchemaProperties {
     public boolean usePreparedStatement() {
         return usePreparedStatement.getValue();
     }
+
+    public boolean useBatch() {
+        return usePreparedStatement() && useBatch.getValue();
+    }
 }
@@ -85,6 +85,22 @@ public class TSnowflakeInputPropertiesTest {
 
     }
 
+    @Test
+    public void testAfterUnload() {
+        Form advanced = inputProperties.getForm(Form.ADVANCED);
+
+        assertFalse(inputProperties.unload.getValue());
+        assertEquals("~", inputProperties.unloadStage.getValue());
+        assertTrue(advanced.getWidget(inputProperties.unloadStage.getName()).isHidden());
+        assertTrue(advanced.getWidget(inputProperties.unloadThreads.getName()).isHidden());
+
+        inputProperties.unload.setValue(true);
+        inputProperties.afterUnload();
+
+        assertFalse(advanced.getWidget(inputProperties.unloadStage.getName()).isHidden());
+        assertFalse(advanced.getWidget(inputProperties.unloadThreads.getName()).isHidden());
+    }
+
     @Test
     public void testFullSQLQueryTextArea() {
         Widget fullSQLQueryWidget = inputProperties.getForm(Form.MAIN).getWidget(inputProperties.query);
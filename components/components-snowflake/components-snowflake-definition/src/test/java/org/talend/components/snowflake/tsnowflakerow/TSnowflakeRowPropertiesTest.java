@@ -53,6 +53,8 @@ public class TSnowflakeRowPropertiesTest {
         Assert.assertNotNull(advanced.getWidget(rowProperties.usePreparedStatement));
         Assert.assertNotNull(advanced.getWidget(rowProperties.preparedStatementTable));
         Assert.assertNotNull(advanced.getWidget(rowProperties.commitCount));
+        Assert.assertNotNull(advanced.getWidget(rowProperties.useBatch));
+        Assert.assertNotNull(advanced.getWidget(rowProperties.batchSize));
 
     }
 
@@ -127,4 +129,28 @@ public class TSnowflakeRowPropertiesTest {
         Assert.assertTrue(advanced.getWidget(rowProperties.preparedStatementTable).isVisible());
     }
 
+    @Test
+    public void testAfterUseBatch() {
+        rowProperties.setupLayout();
+        Form advanced = rowProperties.getForm(Form.ADVANCED);
+
+        rowProperties.refreshLayout(advanced);
+
+        Assert.assertFalse(advanced.getWidget(rowProperties.useBatch).isVisible());
+        Assert.assertFalse(advanced.getWidget(rowProperties.batchSize).isVisible());
+
+        rowProperties.usePreparedStatement.setValue(true);
+        rowProperties.afterUsePreparedStatement();
+
+        Assert.assertTrue(advanced.getWidget(rowProperties.useBatch).isVisible());
+        Assert.assertFalse(advanced.getWidget(rowProperties.batchSize).isVisible());
+        Assert.assertFalse(rowProperties.useBatch());
+
+        rowProperties.useBatch.setValue(true);
+        rowProperties.afterUseBatch();
+
+        Assert.assertTrue(advanced.getWidget(rowProperties.batchSize).isVisible());
+        Assert.assertTrue(rowProperties.useBatch());
+    }
+
 }
@@ -12,27 +12,26 @@
 //============================================================================
 package org.talend.components.snowflake.runtime;
 
-import java.text.DateFormat;
 import java.text.SimpleDateFormat;
 import java.time.LocalDate;
 import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
 import java.util.Calendar;
 import java.util.Date;
-import java.util.HashMap;
 import java.util.Locale;
-import java.util.Map;
 import java.util.TimeZone;
 
+import org.talend.components.common.runtime.DateFormats;
+
 /**
- * the class help format the date type to string, the inner SimpleDateFormat object is thread local, then avoid the thread
- * share issue
+ * the class help format the date type to string, the dates are formatted by the shared and thread-safe {@link DateFormats}.
+ * The thread local SimpleDateFormat objects are only kept for the callers of the getters.
  *
  * @author wangwei
  */
 public class Formatter {
 
-    private static Map<String, DateFormat> dateFormats = new HashMap<>();
+    private static final TimeZone GMT = TimeZone.getTimeZone("GMT");
 
     private static final ThreadLocal<SimpleDateFormat> DATEFORMATTER_LOCAL = new ThreadLocal<SimpleDateFormat>() {
 
@@ -59,7 +58,7 @@ public class Formatter {
     {
         // Time in milliseconds would mean time from midnight. It shouldn't be influenced by timezone differences.
         // That's why we have to use GMT.
-        timeFormatter.setTimeZone(TimeZone.getTimeZone("GMT"));
+        timeFormatter.setTimeZone(GMT);
     }
 
     private static final ThreadLocal<SimpleDateFormat> TIMESTAMPFORMATTER_LOCAL = new ThreadLocal<SimpleDateFormat>() {
@@ -81,9 +80,9 @@ public class Formatter {
      */
     Object formatTimestampMillis(Object inputValue) {
         if (inputValue instanceof Date) {
-            return getTimestampFormatter().format(inputValue);
+            return DateFormats.get("yyyy-MM-dd HH:mm:ss.SSSXXX").format((Date) inputValue);
         } else if (inputValue instanceof Long) {
-            return getTimestampFormatter().format(new Date((Long) inputValue));
+            return DateFormats.get("yyyy-MM-dd HH:mm:ss.SSSXXX").format(new Date((Long) inputValue));
         } else {
             return inputValue;
         }
@@ -131,14 +130,12 @@ public class Formatter {
         }
 
         Date date = inputValueAsDate(inputValue);
-        return getDateFormatter().format(date);
+        return DateFormats.get("yyyy-MM-dd").format(date);
     }
 
     String formatDateWithPattern(final String datePattern, final Object inputValue) {
         Date date = inputValueAsDate(inputValue);
-
-        DateFormat df = dateFormats.computeIfAbsent(datePattern, p -> new SimpleDateFormat(p));
-        return df.format((Date) date);
+        return DateFormats.get(datePattern).format(date);
     }
 
     /**
@@ -166,7 +163,7 @@ public class Formatter {
         c1.set(Calendar.SECOND, c.get(Calendar.SECOND));
         c1.set(Calendar.MILLISECOND, c.get(Calendar.MILLISECOND));
 
-        return getTimeFormatter().format(c1.getTime());
+        return DateFormats.get("HH:mm:ss.SSS").format(c1.getTime(), GMT);
     }
 
     public SimpleDateFormat getDateFormatter() {
@@ -15,6 +15,10 @@ package org.talend.components.snowflake.runtime;
 import java.sql.DatabaseMetaData;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 import org.apache.avro.LogicalTypes;
@@ -24,7 +28,10 @@ import org.apache.avro.SchemaBuilder;
 import org.apache.commons.lang3.StringUtils;
 import org.talend.components.api.exception.ComponentException;
 import org.talend.components.common.avro.JDBCAvroRegistry;
+import org.talend.components.snowflake.runtime.utils.SnowflakeMetadataCache;
+import org.talend.daikon.avro.AvroNamesValidationHelper;
 import org.talend.daikon.avro.AvroUtils;
+import org.talend.daikon.avro.NameUtil;
 import org.talend.daikon.avro.SchemaConstants;
 
 public class SnowflakeAvroRegistry extends JDBCAvroRegistry {
@@ -226,6 +233,31 @@ public class SnowflakeAvroRegistry extends JDBCAvroRegistry {
         };
     }
 
+    /**
+     * Infer the schema of a table from the metadata of its columns read in bulk, the same way as from
+     * {@link DatabaseMetaData#getColumns(String, String, String, String)}.
+     *
+     * @param keys the names of the primary key columns.
+     */
+    public Schema inferSchema(String tableName, List<SnowflakeMetadataCache.Column> columns, Set<String> keys) {
+        Set<String> existNames = new HashSet<String>();
+        int index = 0;
+
+        List<Field> fields = new ArrayList<>();
+        for (SnowflakeMetadataCache.Column column : columns) {
+            String validName = AvroNamesValidationHelper
+                    .getAvroCompatibleName(NameUtil.correct(column.getName(), index++, existNames));
+            existNames.add(validName);
+
+            fields.add(sqlType2Avro(column.getSize(), column.getScale(), column.getDbType(), column.isNullable(), validName,
+                    column.getName(), column.getDefaultValue(), keys.contains(column.getName()), column.isAutoIncremented()));
+        }
+
+        return Schema.createRecord(
+                AvroNamesValidationHelper.getAvroCompatibleName(NameUtil.correct(tableName, 0, Collections.<String> emptySet())),
+                null, null, false, fields);
+    }
+
     private  String removeEscapes(String value) {
         return value.replace("\\_", "_");
     }
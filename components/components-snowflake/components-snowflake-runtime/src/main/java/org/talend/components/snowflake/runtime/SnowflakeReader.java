@@ -15,6 +15,7 @@ package org.talend.components.snowflake.runtime;
 import java.io.IOException;
 import java.sql.Connection;
 import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.Map;
@@ -57,7 +58,7 @@ public class SnowflakeReader extends AbstractBoundedReader<IndexedRecord> {
 
     private Statement statement;
 
-    private Result result;
+    protected Result result;
 
     public SnowflakeReader(RuntimeContainer container, BoundedSource source, TSnowflakeInputProperties props) {
         super(source);
@@ -197,6 +198,13 @@ public class SnowflakeReader extends AbstractBoundedReader<IndexedRecord> {
         return result.toMap();
     }
 
+    /**
+     * @return the metadata of the columns of the manual query.
+     */
+    protected ResultSetMetaData getQueryMetaData() throws SQLException {
+        return resultSet.getMetaData();
+    }
+
     private Schema getRuntimeSchema() throws IOException {
         final SnowflakeSourceOrSink source = (SnowflakeSourceOrSink) getCurrentSource();
         return source.getRuntimeSchema(new SchemaResolver() {
@@ -210,7 +218,7 @@ public class SnowflakeReader extends AbstractBoundedReader<IndexedRecord> {
                         tableName = tableName.toUpperCase();
                     }
                     return properties.manualQuery.getValue()
-                            ? factory.getRegistry().inferSchema(resultSet.getMetaData())
+                            ? factory.getRegistry().inferSchema(getQueryMetaData())
                                     : source.getSchema(container, connection, tableName);
                 } catch (SQLException e) {
                     throw new IOException(e);
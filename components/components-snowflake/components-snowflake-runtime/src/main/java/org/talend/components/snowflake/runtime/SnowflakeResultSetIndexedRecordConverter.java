@@ -21,6 +21,11 @@ import org.talend.components.common.avro.JDBCResultSetIndexedRecordConverter;
 
 public class SnowflakeResultSetIndexedRecordConverter extends JDBCResultSetIndexedRecordConverter {
 
+    /**
+     * The result set whose size is set, the metadata is only read once by result set instead of once by row.
+     */
+    private transient ResultSet sizedResultSet;
+
     @Override
     public JDBCAvroRegistry getRegistry() {
         return SnowflakeAvroRegistry.get();
@@ -28,11 +33,15 @@ public class SnowflakeResultSetIndexedRecordConverter extends JDBCResultSetIndex
 
     @Override
     protected void resetSizeByResultSet(ResultSet resultSet) {
+        if (resultSet == sizedResultSet) {
+            return;
+        }
         try {
             this.setSizeInResultSet(resultSet.getMetaData().getColumnCount());
         } catch (SQLException e) {
             throw new ComponentException(e);
         }
+        sizedResultSet = resultSet;
     }
 
 }
@@ -13,6 +13,7 @@
 package org.talend.components.snowflake.runtime;
 
 import java.io.IOException;
+import java.sql.BatchUpdateException;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
@@ -96,6 +97,20 @@ public class SnowflakeRowWriter implements WriterWithFeedback<Result, IndexedRec
 
     private final boolean dieOnError;
 
+    private final boolean useBatch;
+
+    private final int batchSize;
+
+    /**
+     * The records added to the current batch of the prepared statement, in the order of the batch.
+     */
+    private final List<IndexedRecord> batchedRecords = new ArrayList<>();
+
+    /**
+     * The position in the result set record of each field of the main schema, or -1 if the field is not in the result set.
+     */
+    private int[] resultSetFieldPositions;
+
     public SnowflakeRowWriter(RuntimeContainer adaptor, SnowflakeRowWriteOperation writeOperation) {
         this.container = adaptor;
         this.writeOperation = writeOperation;
@@ -103,6 +118,9 @@ public class SnowflakeRowWriter implements WriterWithFeedback<Result, IndexedRec
         this.rowProperties = sink.getRowProperties();
         this.dieOnError = rowProperties.dieOnError.getValue();
         this.commitStep = rowProperties.commitCount.getValue();
+        this.useBatch = rowProperties.useBatch();
+        Integer batchSizeValue = rowProperties.batchSize.getValue();
+        this.batchSize = (batchSizeValue == null || batchSizeValue < 1) ? 1 : batchSizeValue;
     }
 
     @Override
@@ -135,6 +153,29 @@ public class SnowflakeRowWriter implements WriterWithFeedback<Result, IndexedRec
         commitCounter++;
         IndexedRecord input = (IndexedRecord) object;
 
+        if (useBatch) {
+            addBatch(input);
+        } else {
+            execute(input);
+        }
+
+        try {
+            //Since we don't have tSnowflakeCommit component and won't have it, we must handle commit here.
+            if (commitStep > 1 && commitCounter >= commitStep) {
+                // the batched records are sent before they are committed
+                executeBatch();
+                connection.commit();
+                commitCounter = 0;
+            }
+        } catch (SQLException e) {
+            if (dieOnError) {
+                throw new IOException(e);
+            }
+            LOGGER.error(I18N_MESSAGES.getMessage("error.performCommit"), e);
+        }
+    }
+
+    private void execute(IndexedRecord input) throws IOException {
         try {
             if (rowProperties.usePreparedStatement()) {
                 PreparedStatement pstmt = (PreparedStatement) statement;
@@ -155,19 +196,82 @@ public class SnowflakeRowWriter implements WriterWithFeedback<Result, IndexedRec
             LOGGER.error(I18N_MESSAGES.getMessage("error.queryExecution"), e);
             handleReject(input, e);
         }
+    }
 
+    private void addBatch(IndexedRecord input) throws IOException {
+        PreparedStatement pstmt = (PreparedStatement) statement;
         try {
-            //Since we don't have tSnowflakeCommit component and won't have it, we must handle commit here.
-            if (commitStep > 1 && commitCounter >= commitStep) {
-                connection.commit();
-                commitCounter = 0;
+            SnowflakePreparedStatementUtils.fillPreparedStatement(pstmt, rowProperties.preparedStatementTable);
+            pstmt.addBatch();
+        } catch (SQLException e) {
+            if (dieOnError) {
+                throw new IOException(e);
             }
+            LOGGER.error(I18N_MESSAGES.getMessage("error.queryExecution"), e);
+            handleReject(input, e);
+            return;
+        }
+
+        batchedRecords.add(input);
+        if (batchedRecords.size() >= batchSize) {
+            executeBatch();
+        }
+    }
+
+    /**
+     * Execute the batched records in one round trip. A batch returns no result set, so the records go to the main flow as
+     * for an insert, update or delete statement.
+     *
+     * When the batch fails, the records are rejected with the failure, except the ones the driver reports as executed.
+     */
+    private void executeBatch() throws IOException {
+        if (batchedRecords.isEmpty()) {
+            return;
+        }
+        List<IndexedRecord> records = new ArrayList<>(batchedRecords);
+        batchedRecords.clear();
+
+        PreparedStatement pstmt = (PreparedStatement) statement;
+        try {
+            LOGGER.debug("Executing the batch of {} records.", records.size());
+            pstmt.executeBatch();
         } catch (SQLException e) {
             if (dieOnError) {
                 throw new IOException(e);
             }
-            LOGGER.error(I18N_MESSAGES.getMessage("error.performCommit"), e);
+            LOGGER.error(I18N_MESSAGES.getMessage("error.queryExecution"), e);
+
+            int[] updateCounts = e instanceof BatchUpdateException ? ((BatchUpdateException) e).getUpdateCounts() : null;
+            for (int i = 0; i < records.size(); i++) {
+                if (updateCounts != null && i < updateCounts.length && updateCounts[i] != Statement.EXECUTE_FAILED) {
+                    handleExecuted(records.get(i));
+                } else {
+                    handleReject(records.get(i), e);
+                }
+            }
+            try {
+                pstmt.clearBatch();
+            } catch (SQLException clearFailure) {
+                throw new IOException(clearFailure);
+            }
+            return;
         }
+
+        for (IndexedRecord record : records) {
+            handleExecuted(record);
+        }
+    }
+
+    /**
+     * The statement of the record was executed without a result set to propagate, the record goes to the main flow.
+     */
+    private void handleExecuted(IndexedRecord input) {
+        if (mainSchema == null || mainSchema.getFields().size() == 0) {
+            return;
+        }
+        result.totalCount++;
+        result.successCount++;
+        successfulWrites.add(input);
     }
 
     private void handleSuccess(IndexedRecord input) throws SQLException {
@@ -177,9 +281,7 @@ public class SnowflakeRowWriter implements WriterWithFeedback<Result, IndexedRec
         }
 
         if (!resultSetValidation && !validateResultSet()) {
-            result.totalCount++;
-            result.successCount++;
-            successfulWrites.add(input);
+            handleExecuted(input);
             return;
         }
 
@@ -194,12 +296,14 @@ public class SnowflakeRowWriter implements WriterWithFeedback<Result, IndexedRec
                 // Since we're sending dynamic record further, only on this step we know exact remote schema value.
                 successfulWrites.add(resultSetIndexedRecord);
             } else {
+                if (resultSetFieldPositions == null) {
+                    resultSetFieldPositions = getFieldPositions(resultSetIndexedRecord.getSchema());
+                }
                 IndexedRecord output = new GenericData.Record(mainSchema);
                 // On this moment schemas will be the same, since schema validation has passed.
-                for (Field outField : mainSchema.getFields()) {
-                    Field inputField = resultSetIndexedRecord.getSchema().getField(outField.name());
-                    if (inputField != null) {
-                        output.put(outField.pos(), resultSetIndexedRecord.get(inputField.pos()));
+                for (int i = 0; i < resultSetFieldPositions.length; i++) {
+                    if (resultSetFieldPositions[i] >= 0) {
+                        output.put(i, resultSetIndexedRecord.get(resultSetFieldPositions[i]));
                     }
                 }
 
@@ -210,6 +314,19 @@ public class SnowflakeRowWriter implements WriterWithFeedback<Result, IndexedRec
         }
     }
 
+    /**
+     * The fields are looked up by name once, the schema of the result set records doesn't change.
+     */
+    private int[] getFieldPositions(Schema resultSetSchema) {
+        List<Field> fields = mainSchema.getFields();
+        int[] positions = new int[fields.size()];
+        for (Field outField : fields) {
+            Field inputField = resultSetSchema.getField(outField.name());
+            positions[outField.pos()] = inputField == null ? -1 : inputField.pos();
+        }
+        return positions;
+    }
+
     private boolean validateResultSet() throws SQLException {
         List<Field> fields = mainSchema.getFields();
         ResultSetMetaData rsMetadata = rs.getMetaData();
@@ -292,11 +409,17 @@ public class SnowflakeRowWriter implements WriterWithFeedback<Result, IndexedRec
         rejectedWrites.clear();
     }
 
+    /**
+     * The last batch is executed when the writer is closed. Its successful and rejected records are kept after the close,
+     * so that the caller reads them as the feedback of the close, the feedback of the last write was read before.
+     */
     @Override
     public Result close() throws IOException {
 
         try {
             cleanWrites();
+            // the last batch is sent before the commit and the release of the statement, its feedback is not cleaned
+            executeBatch();
             if (commitStep > 1 && commitCounter > 0 && connection != null && statement != null) {
                 connection.commit();
                 connection.setAutoCommit(true);
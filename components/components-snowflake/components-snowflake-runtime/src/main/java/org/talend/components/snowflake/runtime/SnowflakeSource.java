@@ -12,6 +12,7 @@
 //============================================================================
 package org.talend.components.snowflake.runtime;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -19,24 +20,85 @@ import org.apache.avro.generic.IndexedRecord;
 import org.talend.components.api.component.runtime.BoundedReader;
 import org.talend.components.api.component.runtime.BoundedSource;
 import org.talend.components.api.container.RuntimeContainer;
+import org.talend.components.api.exception.ComponentException;
+import org.talend.components.api.properties.ComponentProperties;
+import org.talend.components.snowflake.runtime.unload.StagedFile;
 import org.talend.components.snowflake.tsnowflakeinput.TSnowflakeInputProperties;
 import org.talend.daikon.exception.TalendRuntimeException;
 
 public class SnowflakeSource extends SnowflakeSourceOrSink implements BoundedSource {
 
+    /**
+     * The staged files read by this bundle, when the rows were unloaded to split the source.
+     */
+    private List<StagedFile> stagedFiles;
+
     public SnowflakeSource() {
     }
 
+    private boolean isUnload() {
+        return properties instanceof TSnowflakeInputProperties
+                && Boolean.TRUE.equals(((TSnowflakeInputProperties) properties).unload.getValue());
+    }
+
+    /**
+     * In unload mode the rows are unloaded to a stage, and the staged files are grouped in bundles of about the desired
+     * size. The bundles don't remove their files, the expired unloads of the stage are removed before unloading.
+     */
     @Override
     public List<? extends BoundedSource> splitIntoBundles(long desiredBundleSizeBytes, RuntimeContainer adaptor) {
         List<BoundedSource> list = new ArrayList<>();
-        list.add(this);
+        if (!isUnload() || stagedFiles != null) {
+            list.add(this);
+            return list;
+        }
+
+        List<StagedFile> files;
+        SnowflakeUnloadReader reader = new SnowflakeUnloadReader(adaptor, this, (TSnowflakeInputProperties) properties, null);
+        try {
+            try {
+                reader.removeExpiredUnloads();
+                files = reader.unload();
+            } finally {
+                reader.close();
+            }
+        } catch (IOException e) {
+            throw new ComponentException(e);
+        }
+
+        List<StagedFile> bundleFiles = new ArrayList<>();
+        long bundleSize = 0;
+        for (StagedFile file : files) {
+            bundleFiles.add(file);
+            bundleSize += file.getSize();
+            if (bundleSize >= desiredBundleSizeBytes) {
+                list.add(createBundle(adaptor, bundleFiles));
+                bundleFiles = new ArrayList<>();
+                bundleSize = 0;
+            }
+        }
+        if (!bundleFiles.isEmpty() || list.isEmpty()) {
+            list.add(createBundle(adaptor, bundleFiles));
+        }
         return list;
     }
 
+    private SnowflakeSource createBundle(RuntimeContainer container, List<StagedFile> files) {
+        SnowflakeSource bundle = new SnowflakeSource();
+        bundle.initialize(container, (ComponentProperties) properties);
+        bundle.stagedFiles = files;
+        return bundle;
+    }
+
     @Override
     public long getEstimatedSizeBytes(RuntimeContainer adaptor) {
-        return 0;
+        long size = 0;
+        if (stagedFiles != null) {
+            for (StagedFile file : stagedFiles) {
+                size += file.getSize();
+            }
+        }
+        return size;
     }
 
     @Override
@@ -46,6 +108,9 @@ public class SnowflakeSource extends SnowflakeSourceOrSink implements BoundedSou
 
     @Override
     public BoundedReader<? extends IndexedRecord> createReader(RuntimeContainer container) {
+        if (isUnload()) {
+            return new SnowflakeUnloadReader(container, this, (TSnowflakeInputProperties) properties, stagedFiles);
+        }
         if (properties instanceof TSnowflakeInputProperties) {
             return new SnowflakeReader(container, this, (TSnowflakeInputProperties) properties);
         }
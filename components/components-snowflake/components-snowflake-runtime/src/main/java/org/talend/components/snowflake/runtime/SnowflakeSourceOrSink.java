@@ -16,6 +16,9 @@
 package org.talend.components.snowflake.runtime;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.sql.Connection;
 import java.sql.DatabaseMetaData;
 import java.sql.ResultSet;
@@ -26,6 +29,7 @@ import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.apache.avro.Schema;
 import org.apache.avro.SchemaBuilder;
@@ -45,6 +49,8 @@ import org.talend.components.snowflake.SnowflakeOauthConnectionProperties.GrantT
 import org.talend.components.snowflake.SnowflakeProvideConnectionProperties;
 import org.talend.components.snowflake.SnowflakeRuntimeSourceOrSink;
 import org.talend.components.snowflake.runtime.utils.SchemaResolver;
+import org.talend.components.snowflake.runtime.utils.SnowflakeMetadataCache;
+import org.talend.components.snowflake.runtime.utils.SnowflakeMetadataSessions;
 import org.talend.components.snowflake.tsnowflakeconnection.AuthenticationType;
 import org.talend.daikon.NamedThing;
 import org.talend.daikon.SimpleNamedThing;
@@ -78,7 +84,11 @@ public class SnowflakeSourceOrSink extends SnowflakeRuntime implements SourceOrS
     @Override
     public ValidationResult validate(RuntimeContainer container) {
         try {
-            createConnection(container);
+            if (container == null) {
+                validateNewSession();
+            } else {
+                createConnection(container);
+            }
         } catch (IllegalArgumentException e) {
             ValidationResultMutable vr = new ValidationResultMutable();
             vr.setMessage(e.getCause() instanceof SQLException
@@ -110,6 +120,7 @@ public class SnowflakeSourceOrSink extends SnowflakeRuntime implements SourceOrS
             try {
                 // Make sure we can get the schema names, as that tests that all of the connection parameters are really
                 // OK
+                validateNewSession();
                 getSchemaNames(null);
             } catch (Exception ex) {
                 return exceptionToValidationResult(ex);
@@ -194,6 +205,19 @@ public class SnowflakeSourceOrSink extends SnowflakeRuntime implements SourceOrS
 
     @Override
     public List<NamedThing> getSchemaNames(RuntimeContainer container) throws IOException {
+        if (container == null) {
+            return withMetadataSession(conn -> {
+                List<NamedThing> tables = getSchemaNames(null, conn);
+                SnowflakeConnectionProperties connProps = getEffectiveConnectionProperties(null);
+                List<String> tableNames = new ArrayList<>(tables.size());
+                for (NamedThing table : tables) {
+                    tableNames.add(table.getName());
+                }
+                SnowflakeMetadataCache.get().putTableNames(getMetadataSessionKey(connProps), getCatalog(connProps),
+                        getDbSchema(connProps), tableNames);
+                return tables;
+            });
+        }
         try (Connection conn = createNewConnection(container)) {
             return getSchemaNames(container, conn);
         } catch (SQLException sqle) {
@@ -234,6 +258,12 @@ public class SnowflakeSourceOrSink extends SnowflakeRuntime implements SourceOrS
 
     @Override
     public Schema getEndpointSchema(RuntimeContainer container, String schemaName) throws IOException {
+        if (container == null) {
+            return withMetadataSession(conn -> {
+                Schema schema = getCachedSchema(conn, schemaName);
+                return schema != null ? schema : getSchema(null, conn, schemaName);
+            });
+        }
         try (Connection conn = createNewConnection(container)) {
             return getSchema(container, conn, schemaName);
         } catch (SQLException sqle) {
@@ -241,6 +271,102 @@ public class SnowflakeSourceOrSink extends SnowflakeRuntime implements SourceOrS
         }
     }
 
+    /**
+     * Get the schema of a table from the columns of the schema read in bulk, when the table was listed by
+     * {@link #getSchemaNames(RuntimeContainer)} before.
+     *
+     * @return the schema of the table, or null if its columns are not cached.
+     */
+    private Schema getCachedSchema(Connection connection, String tableName) throws IOException {
+        SnowflakeConnectionProperties connProps = getEffectiveConnectionProperties(null);
+        String catalog = getCatalog(connProps);
+        String dbSchema = getDbSchema(connProps);
+        try {
+            DatabaseMetaData metaData = connection.getMetaData();
+            List<SnowflakeMetadataCache.Column> columns = SnowflakeMetadataCache.get()
+                    .getColumns(getMetadataSessionKey(connProps), catalog, dbSchema, tableName, metaData);
+            if (columns == null || columns.isEmpty()) {
+                return null;
+            }
+            Set<String> keys = getSnowflakeAvroRegistry().getPrimaryKeys(metaData, catalog, dbSchema, tableName);
+            Schema tableSchema = getSnowflakeAvroRegistry().inferSchema(tableName, columns, keys);
+            LOG.debug("tableSchema: " + tableSchema);
+            return changeFields(tableSchema);
+        } catch (SQLException se) {
+            throw new IOException(se);
+        }
+    }
+
+    /**
+     * Run a design time metadata operation on a session reused for the same connection properties, see
+     * {@link SnowflakeMetadataSessions}. The session is closed if the operation fails.
+     */
+    private <T> T withMetadataSession(MetadataOperation<T> operation) throws IOException {
+        String key = getMetadataSessionKey(getEffectiveConnectionProperties(null));
+        SnowflakeMetadataSessions sessions = SnowflakeMetadataSessions.get();
+        Connection conn = sessions.borrow(key, () -> createNewConnection(null));
+        boolean succeeded = false;
+        try {
+            T result = operation.run(conn);
+            succeeded = true;
+            return result;
+        } finally {
+            if (succeeded) {
+                sessions.release(key, conn);
+            } else {
+                sessions.discard(conn);
+            }
+        }
+    }
+
+    /**
+     * Check the connection properties and the credentials with a new session, since a session reused from
+     * {@link SnowflakeMetadataSessions} was authenticated before. The new session is then given to the metadata sessions
+     * for the next operations.
+     */
+    private void validateNewSession() throws IOException {
+        String key = getMetadataSessionKey(getEffectiveConnectionProperties(null));
+        SnowflakeMetadataSessions.get().release(key, createNewConnection(null));
+    }
+
+    /**
+     * @return a digest of the properties identifying the connection, so that the credentials are not kept as such.
+     */
+    private static String getMetadataSessionKey(SnowflakeConnectionProperties connProps) {
+        if (connProps == null) {
+            return "";
+        }
+        Object[] values = { connProps.account.getValue(), connProps.region.getValue(), connProps.regionID.getValue(),
+                connProps.useCustomRegion.getValue(), connProps.customRegionID.getValue(), connProps.warehouse.getValue(),
+                connProps.db.getValue(), connProps.schemaName.getValue(), connProps.role.getValue(),
+                connProps.jdbcParameters.getValue(), connProps.loginTimeout.getValue(), connProps.autoCommit.getValue(),
+                connProps.authenticationType.getValue(), connProps.userPassword.userId.getValue(),
+                connProps.userPassword.password.getValue(), connProps.keyAlias.getValue(),
+                connProps.oauthProperties.oauthTokenEndpoint.getValue(), connProps.oauthProperties.clientId.getValue(),
+                connProps.oauthProperties.clientSecret.getValue(), connProps.oauthProperties.scope.getValue(),
+                connProps.oauthProperties.grantType.getValue(), connProps.oauthProperties.oauthUserName.getValue(),
+                connProps.oauthProperties.oauthPassword.getValue() };
+        StringBuilder sb = new StringBuilder();
+        for (Object value : values) {
+            sb.append(value).append('\u0000');
+        }
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(sb.toString().getBytes(StandardCharsets.UTF_8));
+            StringBuilder key = new StringBuilder();
+            for (byte b : digest) {
+                key.append(String.format("%02x", b));
+            }
+            return key.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private interface MetadataOperation<T> {
+
+        T run(Connection connection) throws IOException;
+    }
+
     protected Schema getRuntimeSchema(SchemaResolver resolver) throws IOException {
         return getRuntimeSchema(resolver, TableAction.TableActionEnum.NONE);
     }
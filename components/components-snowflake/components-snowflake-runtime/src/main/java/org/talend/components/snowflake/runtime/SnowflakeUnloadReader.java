@@ -0,0 +1,256 @@
+//============================================================================
+//
+// Copyright (C) 2006-2023 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// %InstallDIR%\features\org.talend.rcp.branding.%PRODUCTNAME%\%PRODUCTNAME%license.txt
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+//============================================================================
+package org.talend.components.snowflake.runtime;
+
+import java.io.IOException;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.apache.avro.generic.IndexedRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.talend.components.api.component.runtime.BoundedSource;
+import org.talend.components.api.component.runtime.Result;
+import org.talend.components.api.container.RuntimeContainer;
+import org.talend.components.snowflake.runtime.unload.SnowflakeStageFetcher;
+import org.talend.components.snowflake.runtime.unload.StagedFile;
+import org.talend.components.snowflake.runtime.unload.StagedFileFetcher;
+import org.talend.components.snowflake.runtime.unload.StagedFileParser;
+import org.talend.components.snowflake.runtime.unload.StagedFileRecordConverter;
+import org.talend.components.snowflake.runtime.unload.StagedFilesReader;
+import org.talend.components.snowflake.tsnowflakeinput.TSnowflakeInputProperties;
+import org.talend.daikon.i18n.GlobalI18N;
+import org.talend.daikon.i18n.I18nMessages;
+
+/**
+ * Read the rows by unloading them with COPY INTO to compressed files in a stage, Snowflake writes several files in
+ * parallel. The files are then fetched and decoded by a pool of threads, so the read is not bound to one result set.
+ *
+ * When the files are given, they were unloaded by {@link SnowflakeSource#splitIntoBundles} and this reader only reads
+ * them : the files are shared by the bundles and by the retries of a bundle, so they are not removed by the reader but
+ * by {@link #removeExpiredUnloads()} once they are older than {@link #UNLOAD_RETENTION_MILLIS}. The files unloaded by
+ * the reader itself are removed when it is closed.
+ */
+public class SnowflakeUnloadReader extends SnowflakeReader {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SnowflakeUnloadReader.class);
+
+    private static final I18nMessages i18nMessages = GlobalI18N.getI18nMessageProvider()
+            .getI18nMessages(SnowflakeUnloadReader.class);
+
+    private static final String UNLOAD_DIRECTORY = "talend_unload/";
+
+    /**
+     * The age of the unload directories removed by {@link #removeExpiredUnloads()}, one day unless the
+     * <code>talend.snowflake.unload.retention</code> system property gives another one in seconds. It must be longer
+     * than the read of the bundles of a split source.
+     */
+    static final long UNLOAD_RETENTION_MILLIS = Long.getLong("talend.snowflake.unload.retention", 24 * 3600) * 1000;
+
+    /**
+     * The unload directories are named after the time of the unload, the listed names start with the stage name for the
+     * named stages.
+     */
+    private static final Pattern UNLOAD_DIRECTORY_PATTERN = Pattern
+            .compile("(?:^|/)(" + UNLOAD_DIRECTORY + "(\\d{1,18})-[^/]+/)");
+
+    private List<StagedFile> stagedFiles;
+
+    /**
+     * The directory of the files unloaded by this reader, removed as a whole when the reader is closed, null for a bundle.
+     */
+    private String unloadDirectory;
+
+    private StagedFilesReader filesReader;
+
+    private boolean stagedFilesRemoved;
+
+    private IndexedRecord current;
+
+    private PreparedStatement describeStatement;
+
+    /**
+     * @param stagedFiles the files to read, or null to unload the rows when the reader starts.
+     */
+    public SnowflakeUnloadReader(RuntimeContainer container, BoundedSource source, TSnowflakeInputProperties props,
+            List<StagedFile> stagedFiles) {
+        super(container, source, props);
+        this.stagedFiles = stagedFiles;
+    }
+
+    protected String getStage() {
+        String stage = properties.unloadStage.getValue();
+        if (stage == null || stage.trim().isEmpty()) {
+            stage = "~";
+        }
+        stage = stage.trim();
+        return stage.startsWith("@") ? stage : "@" + stage;
+    }
+
+    /**
+     * Unload the rows of the query to a new directory of the stage.
+     *
+     * @return the unloaded files, as listed by COPY INTO.
+     */
+    public List<StagedFile> unload() throws IOException {
+        String stage = getStage();
+        String directory = UNLOAD_DIRECTORY + System.currentTimeMillis() + "-" + UUID.randomUUID() + "/";
+        String sql = "COPY INTO " + stage + "/" + directory + " FROM (" + getQueryString() + ") FILE_FORMAT = ("
+                + StagedFileParser.FILE_FORMAT + ") HEADER = FALSE DETAILED_OUTPUT = TRUE";
+
+        List<StagedFile> files = new ArrayList<>();
+        try (Statement statement = getConnection().createStatement(); ResultSet rs = statement.executeQuery(sql)) {
+            while (rs.next()) {
+                // the file names are relative to the unload location
+                files.add(new StagedFile(stage, directory + rs.getString("FILE_NAME"), rs.getLong("FILE_SIZE"),
+                        rs.getLong("ROW_COUNT")));
+            }
+        } catch (SQLException e) {
+            throw new IOException(i18nMessages.getMessage("error.unload", sql), e);
+        }
+        LOG.debug("{} files unloaded to {}/{}", files.size(), stage, directory);
+        return files;
+    }
+
+    /**
+     * Remove the unload directories of the stage older than {@link #UNLOAD_RETENTION_MILLIS}, left by the previous
+     * split reads or by the readers which could not remove their files. The files are kept when they can't be removed.
+     */
+    public void removeExpiredUnloads() throws IOException {
+        String stage = getStage();
+        long expiration = System.currentTimeMillis() - UNLOAD_RETENTION_MILLIS;
+        Set<String> directories = new LinkedHashSet<>();
+        try (Statement statement = getConnection().createStatement()) {
+            try (ResultSet rs = statement.executeQuery("LIST " + stage + "/" + UNLOAD_DIRECTORY)) {
+                while (rs.next()) {
+                    Matcher matcher = UNLOAD_DIRECTORY_PATTERN.matcher(rs.getString("name"));
+                    if (matcher.find() && Long.parseLong(matcher.group(2)) < expiration) {
+                        directories.add(matcher.group(1));
+                    }
+                }
+            }
+            for (String directory : directories) {
+                statement.execute("REMOVE " + stage + "/" + directory);
+            }
+        } catch (SQLException e) {
+            LOG.warn("The expired unloads of {} can't be removed", stage, e);
+        }
+    }
+
+    protected StagedFileFetcher createFetcher() throws IOException {
+        return new SnowflakeStageFetcher(getConnection());
+    }
+
+    @Override
+    public boolean start() throws IOException {
+        result = new Result();
+        getConnection();
+        if (stagedFiles == null) {
+            stagedFiles = unload();
+            unloadDirectory = stagedFiles.isEmpty() ? null
+                    : stagedFiles.get(0).getPath().substring(0, stagedFiles.get(0).getPath().lastIndexOf('/') + 1);
+        }
+        try {
+            Integer threads = properties.unloadThreads.getValue();
+            filesReader = new StagedFilesReader(stagedFiles, createFetcher(), new StagedFileRecordConverter(getSchema()),
+                    threads == null ? TSnowflakeInputProperties.DEFAULT_UNLOAD_THREADS : threads);
+            filesReader.start();
+            return advance();
+        } catch (IOException | RuntimeException e) {
+            // the reader may not be closed when it fails to start, the unloaded files must not stay in the stage
+            try {
+                releaseStagedFiles();
+            } catch (IOException | SQLException removeError) {
+                e.addSuppressed(removeError);
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean advance() throws IOException {
+        current = filesReader.next();
+        if (current == null) {
+            return false;
+        }
+        result.totalCount++;
+        return true;
+    }
+
+    @Override
+    public IndexedRecord getCurrent() throws NoSuchElementException {
+        if (current == null) {
+            throw new NoSuchElementException();
+        }
+        return current;
+    }
+
+    /**
+     * The manual query is only described, it is executed by COPY INTO.
+     */
+    @Override
+    protected ResultSetMetaData getQueryMetaData() throws SQLException {
+        try {
+            if (describeStatement == null) {
+                describeStatement = getConnection().prepareStatement(getQueryString());
+            }
+            return describeStatement.getMetaData();
+        } catch (IOException e) {
+            throw new SQLException(e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            if (filesReader != null) {
+                releaseStagedFiles();
+            }
+            if (describeStatement != null) {
+                describeStatement.close();
+                describeStatement = null;
+            }
+        } catch (SQLException e) {
+            throw new IOException(e);
+        } finally {
+            super.close();
+        }
+    }
+
+    /**
+     * Only the directory unloaded by this reader is removed, the files of a bundle are shared with the other bundles.
+     */
+    private void releaseStagedFiles() throws IOException, SQLException {
+        if (filesReader != null) {
+            filesReader.close();
+        }
+        if (unloadDirectory != null && !stagedFilesRemoved) {
+            try (Statement statement = getConnection().createStatement()) {
+                statement.execute("REMOVE " + getStage() + "/" + unloadDirectory);
+            }
+            stagedFilesRemoved = true;
+        }
+    }
+
+}
@@ -0,0 +1,46 @@
+//============================================================================
+//
+// Copyright (C) 2006-2023 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// %InstallDIR%\features\org.talend.rcp.branding.%PRODUCTNAME%\%PRODUCTNAME%license.txt
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+//============================================================================
+package org.talend.components.snowflake.runtime.unload;
+
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Read the staged files from a local directory where they were downloaded, with the same paths as in the stage.
+ */
+public class LocalDirectoryFetcher implements StagedFileFetcher {
+
+    private final File directory;
+
+    public LocalDirectoryFetcher(File directory) {
+        this.directory = directory;
+    }
+
+    @Override
+    public InputStream open(StagedFile file) throws IOException {
+        InputStream in = new BufferedInputStream(new FileInputStream(new File(directory, file.getPath())));
+        if (file.getPath().endsWith(".gz")) {
+            try {
+                return new GZIPInputStream(in);
+            } catch (IOException e) {
+                in.close();
+                throw e;
+            }
+        }
+        return in;
+    }
+}
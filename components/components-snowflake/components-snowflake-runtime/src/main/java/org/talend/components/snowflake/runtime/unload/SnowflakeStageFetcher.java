@@ -0,0 +1,41 @@
+//============================================================================
+//
+// Copyright (C) 2006-2023 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// %InstallDIR%\features\org.talend.rcp.branding.%PRODUCTNAME%\%PRODUCTNAME%license.txt
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+//============================================================================
+package org.talend.components.snowflake.runtime.unload;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import net.snowflake.client.jdbc.SnowflakeConnection;
+
+/**
+ * Download the staged files through the connection, the driver decompresses them.
+ */
+public class SnowflakeStageFetcher implements StagedFileFetcher {
+
+    private final Connection connection;
+
+    public SnowflakeStageFetcher(Connection connection) {
+        this.connection = connection;
+    }
+
+    @Override
+    public InputStream open(StagedFile file) throws IOException {
+        try {
+            return connection.unwrap(SnowflakeConnection.class).downloadStream(file.getStage(), file.getPath(), true);
+        } catch (SQLException e) {
+            throw new IOException("Can't download the staged file " + file, e);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+//============================================================================
+//
+// Copyright (C) 2006-2023 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// %InstallDIR%\features\org.talend.rcp.branding.%PRODUCTNAME%\%PRODUCTNAME%license.txt
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+//============================================================================
+package org.talend.components.snowflake.runtime.unload;
+
+import java.io.Serializable;
+
+/**
+ * A file written in a stage by COPY INTO, it is the unit of work of the parallel read.
+ */
+public class StagedFile implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String stage;
+
+    private final String path;
+
+    private final long size;
+
+    private final long rowCount;
+
+    /**
+     * @param stage the stage, as "@name" or "@~" for the stage of the user.
+     * @param path the path of the file in the stage.
+     * @param size the compressed size of the file in bytes.
+     * @param rowCount the number of rows in the file.
+     */
+    public StagedFile(String stage, String path, long size, long rowCount) {
+        this.stage = stage;
+        this.path = path;
+        this.size = size;
+        this.rowCount = rowCount;
+    }
+
+    public String getStage() {
+        return stage;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    @Override
+    public String toString() {
+        return stage + "/" + path;
+    }
+}
@@ -0,0 +1,28 @@
+//============================================================================
+//
+// Copyright (C) 2006-2023 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// %InstallDIR%\features\org.talend.rcp.branding.%PRODUCTNAME%\%PRODUCTNAME%license.txt
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+//============================================================================
+package org.talend.components.snowflake.runtime.unload;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Fetch the content of the staged files, it is called by several threads at the same time.
+ */
+public interface StagedFileFetcher {
+
+    /**
+     * @param file the staged file.
+     * @return the decompressed content of the file, closed by the caller.
+     */
+    InputStream open(StagedFile file) throws IOException;
+}
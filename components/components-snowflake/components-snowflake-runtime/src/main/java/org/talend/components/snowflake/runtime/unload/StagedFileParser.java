@@ -0,0 +1,126 @@
+//============================================================================
+//
+// Copyright (C) 2006-2023 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// %InstallDIR%\features\org.talend.rcp.branding.%PRODUCTNAME%\%PRODUCTNAME%license.txt
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+//============================================================================
+package org.talend.components.snowflake.runtime.unload;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Parse the CSV rows of a file unloaded with the file format {@link #FILE_FORMAT}.
+ *
+ * An empty field is a null value, an empty string is unloaded as an enclosed empty field. The enclosure char is doubled
+ * inside an enclosed field.
+ */
+public class StagedFileParser {
+
+    /**
+     * The file format of the COPY INTO statement, the dates and times are unloaded with the patterns expected by
+     * {@link StagedFileRecordConverter}.
+     */
+    public static final String FILE_FORMAT = "TYPE = CSV COMPRESSION = GZIP FIELD_DELIMITER = ',' "
+            + "FIELD_OPTIONALLY_ENCLOSED_BY = '\"' ESCAPE_UNENCLOSED_FIELD = NONE NULL_IF = () EMPTY_FIELD_AS_NULL = FALSE "
+            + "DATE_FORMAT = 'YYYY-MM-DD' TIME_FORMAT = 'HH24:MI:SS.FF3' "
+            + "TIMESTAMP_FORMAT = 'YYYY-MM-DD HH24:MI:SS.FF3 TZHTZM' BINARY_FORMAT = HEX";
+
+    private static final char DELIMITER = ',';
+
+    private static final char ENCLOSURE = '"';
+
+    private static final int END = -1;
+
+    private final Reader reader;
+
+    private final char[] buffer = new char[8192];
+
+    private int position;
+
+    private int length;
+
+    private long line = 1;
+
+    private final List<String> fields = new ArrayList<>();
+
+    private final StringBuilder value = new StringBuilder();
+
+    public StagedFileParser(Reader reader) {
+        this.reader = reader;
+    }
+
+    private int read() throws IOException {
+        if (position == length) {
+            length = reader.read(buffer, 0, buffer.length);
+            position = 0;
+            if (length <= 0) {
+                length = 0;
+                return END;
+            }
+        }
+        return buffer[position++];
+    }
+
+    /**
+     * @return the fields of the next row, or null at the end of the file.
+     */
+    public String[] next() throws IOException {
+        int c = read();
+        if (c == END) {
+            return null;
+        }
+        fields.clear();
+        while (true) {
+            value.setLength(0);
+            if (c == ENCLOSURE) {
+                while (true) {
+                    c = read();
+                    if (c == END) {
+                        throw new IOException("Unterminated enclosed field at line " + line);
+                    }
+                    if (c == ENCLOSURE) {
+                        c = read();
+                        if (c != ENCLOSURE) {
+                            break;
+                        }
+                    } else if (c == '\n') {
+                        line++;
+                    }
+                    value.append((char) c);
+                }
+                fields.add(value.toString());
+            } else {
+                while (c != DELIMITER && c != '\n' && c != END) {
+                    value.append((char) c);
+                    c = read();
+                }
+                int end = value.length();
+                if (c == '\n' && end > 0 && value.charAt(end - 1) == '\r') {
+                    value.setLength(end - 1);
+                }
+                fields.add(value.length() == 0 ? null : value.toString());
+            }
+
+            if (c == '\r') {
+                c = read();
+            }
+            if (c == DELIMITER) {
+                c = read();
+            } else if (c == '\n' || c == END) {
+                line++;
+                return fields.toArray(new String[fields.size()]);
+            } else {
+                throw new IOException("Unexpected character '" + (char) c + "' after an enclosed field at line " + line);
+            }
+        }
+    }
+}
@@ -0,0 +1,122 @@
+//============================================================================
+//
+// Copyright (C) 2006-2023 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// %InstallDIR%\features\org.talend.rcp.branding.%PRODUCTNAME%\%PRODUCTNAME%license.txt
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+//============================================================================
+package org.talend.components.snowflake.runtime.unload;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoField;
+import java.time.temporal.TemporalAccessor;
+import java.util.List;
+
+import org.apache.avro.LogicalType;
+import org.apache.avro.LogicalTypes;
+import org.apache.avro.Schema;
+import org.apache.avro.Schema.Field;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.IndexedRecord;
+import org.talend.daikon.avro.AvroUtils;
+
+/**
+ * Convert the fields of an unloaded row to an {@link IndexedRecord}, with the same values as
+ * {@link org.talend.components.snowflake.runtime.SnowflakeResultSetIndexedRecordConverter} reading the result set of the
+ * query.
+ *
+ * The columns are mapped to the fields by position. The converter is stateless once created, it is shared by the threads
+ * decoding the files.
+ */
+public class StagedFileRecordConverter {
+
+    /**
+     * The pattern of TIMESTAMP_FORMAT in {@link StagedFileParser#FILE_FORMAT}, a timestamp without time zone has no
+     * offset and is read in the time zone of the JVM like the driver does.
+     */
+    private static final DateTimeFormatter TIMESTAMP_FORMATTER = DateTimeFormatter
+            .ofPattern("yyyy-MM-dd HH:mm:ss[.SSS][ xx]");
+
+    private interface ValueConverter {
+
+        Object convert(String value);
+    }
+
+    private final Schema schema;
+
+    private final ValueConverter[] converters;
+
+    public StagedFileRecordConverter(Schema schema) {
+        this.schema = schema;
+        List<Field> fields = schema.getFields();
+        converters = new ValueConverter[fields.size()];
+        for (int i = 0; i < converters.length; i++) {
+            converters[i] = getConverter(fields.get(i));
+        }
+    }
+
+    public Schema getSchema() {
+        return schema;
+    }
+
+    /**
+     * @param row the fields of a row, null for a null value.
+     */
+    public IndexedRecord convertToAvro(String[] row) {
+        IndexedRecord record = new GenericData.Record(schema);
+        int size = Math.min(row.length, converters.length);
+        for (int i = 0; i < size; i++) {
+            String value = row[i];
+            record.put(i, value == null ? null : converters[i].convert(value));
+        }
+        return record;
+    }
+
+    private static ValueConverter getConverter(Field f) {
+        Schema basicSchema = AvroUtils.unwrapIfNullable(f.schema());
+        LogicalType logicalType = basicSchema.getLogicalType();
+
+        if (logicalType == LogicalTypes.date()) {
+            return value -> (int) LocalDate.parse(value).toEpochDay();
+        } else if (logicalType == LogicalTypes.timeMillis()) {
+            return value -> (int) (LocalTime.parse(value).toNanoOfDay() / 1000000);
+        } else if (logicalType == LogicalTypes.timestampMillis()) {
+            return StagedFileRecordConverter::parseTimestamp;
+        } else if (AvroUtils.isSameType(basicSchema, AvroUtils._date())) {
+            return value -> new Timestamp(parseTimestamp(value));
+        } else if (AvroUtils.isSameType(basicSchema, AvroUtils._decimal())) {
+            return BigDecimal::new;
+        } else if (AvroUtils.isSameType(basicSchema, AvroUtils._int())) {
+            return Integer::valueOf;
+        } else if (AvroUtils.isSameType(basicSchema, AvroUtils._long())) {
+            return Long::valueOf;
+        } else if (AvroUtils.isSameType(basicSchema, AvroUtils._double())) {
+            return Double::valueOf;
+        } else if (AvroUtils.isSameType(basicSchema, AvroUtils._float())) {
+            return Float::valueOf;
+        } else if (AvroUtils.isSameType(basicSchema, AvroUtils._boolean())) {
+            return Boolean::valueOf;
+        }
+        return value -> value;
+    }
+
+    private static long parseTimestamp(String value) {
+        TemporalAccessor timestamp = TIMESTAMP_FORMATTER.parse(value);
+        if (timestamp.isSupported(ChronoField.OFFSET_SECONDS)) {
+            return OffsetDateTime.from(timestamp).toInstant().toEpochMilli();
+        }
+        return LocalDateTime.from(timestamp).atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
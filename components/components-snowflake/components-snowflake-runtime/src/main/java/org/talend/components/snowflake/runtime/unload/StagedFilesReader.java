@@ -0,0 +1,227 @@
+//============================================================================
+//
+// Copyright (C) 2006-2023 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// %InstallDIR%\features\org.talend.rcp.branding.%PRODUCTNAME%\%PRODUCTNAME%license.txt
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+//============================================================================
+package org.talend.components.snowflake.runtime.unload;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.InterruptedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.avro.generic.IndexedRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Read the records of the staged files : a pool of threads fetches the files and decodes them at the same time, the
+ * records are passed by batches to the reading thread through a bounded queue.
+ *
+ * The records of a file keep their order, but the files are read in no particular order. When a thread fails, the
+ * others are stopped and the failure is thrown by {@link #next()}.
+ */
+public class StagedFilesReader implements Closeable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(StagedFilesReader.class);
+
+    public static final int BATCH_SIZE = 1000;
+
+    private static final List<IndexedRecord> END_OF_DATA = new ArrayList<>(0);
+
+    private static final long POLL_INTERVAL_MILLIS = 100;
+
+    private final List<StagedFile> files;
+
+    private final StagedFileFetcher fetcher;
+
+    private final StagedFileRecordConverter converter;
+
+    private final int threads;
+
+    private final BlockingQueue<List<IndexedRecord>> batches;
+
+    private final AtomicInteger remainingFiles;
+
+    private ExecutorService executor;
+
+    private List<IndexedRecord> current = Collections.emptyList();
+
+    private int position;
+
+    private boolean endOfData;
+
+    private volatile Throwable failure;
+
+    private volatile boolean closed;
+
+    /**
+     * @param files the files to read.
+     * @param fetcher the fetcher of the files, called by all the threads.
+     * @param converter the converter of the rows.
+     * @param threads the maximum number of files read at the same time.
+     */
+    public StagedFilesReader(List<StagedFile> files, StagedFileFetcher fetcher, StagedFileRecordConverter converter,
+            int threads) {
+        this.files = files;
+        this.fetcher = fetcher;
+        this.converter = converter;
+        this.threads = Math.max(1, Math.min(threads, files.size()));
+        // enough batches for the threads to keep decoding while the reading thread consumes, plus the end marker
+        this.batches = new ArrayBlockingQueue<>(2 * this.threads + 1);
+        this.remainingFiles = new AtomicInteger(files.size());
+    }
+
+    public void start() {
+        if (files.isEmpty()) {
+            batches.offer(END_OF_DATA);
+            return;
+        }
+        executor = Executors.newFixedThreadPool(threads, new ReaderThreadFactory());
+        for (final StagedFile file : files) {
+            executor.execute(new Runnable() {
+
+                @Override
+                public void run() {
+                    readFile(file);
+                }
+            });
+        }
+        executor.shutdown();
+    }
+
+    private void readFile(StagedFile file) {
+        if (closed || failure != null) {
+            return;
+        }
+        long count = 0;
+        try (InputStream in = fetcher.open(file)) {
+            StagedFileParser parser = new StagedFileParser(new InputStreamReader(in, StandardCharsets.UTF_8));
+            List<IndexedRecord> batch = new ArrayList<>(BATCH_SIZE);
+            String[] row;
+            while ((row = parser.next()) != null) {
+                batch.add(converter.convertToAvro(row));
+                if (batch.size() == BATCH_SIZE) {
+                    put(batch);
+                    batch = new ArrayList<>(BATCH_SIZE);
+                }
+                count++;
+            }
+            if (!batch.isEmpty()) {
+                put(batch);
+            }
+        } catch (Throwable e) {
+            fail(new IOException("Can't read the staged file " + file + ": " + e.getMessage(), e));
+            return;
+        }
+        LOG.debug("{} records read from the staged file {}", count, file);
+        if (remainingFiles.decrementAndGet() == 0) {
+            try {
+                put(END_OF_DATA);
+            } catch (IOException e) {
+                // the reader is closed or failed, nobody waits for the end
+            }
+        }
+    }
+
+    private void fail(Throwable cause) {
+        if (failure != null) {
+            return;
+        }
+        failure = cause;
+        // the reading thread checks the failure while it waits, the batches read are not needed anymore
+        batches.clear();
+    }
+
+    private void put(List<IndexedRecord> batch) throws IOException {
+        try {
+            while (!batches.offer(batch, POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS)) {
+                if (closed || failure != null) {
+                    throw new IOException("The read of the staged files was stopped");
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while reading the staged files");
+        }
+    }
+
+    /**
+     * @return the next record, or null when all the files were read.
+     */
+    public IndexedRecord next() throws IOException {
+        while (position == current.size()) {
+            if (endOfData) {
+                return null;
+            }
+            List<IndexedRecord> batch = take();
+            if (batch == END_OF_DATA) {
+                endOfData = true;
+            }
+            current = batch;
+            position = 0;
+        }
+        return current.get(position++);
+    }
+
+    private List<IndexedRecord> take() throws IOException {
+        try {
+            while (true) {
+                Throwable cause = failure;
+                if (cause != null) {
+                    throw cause instanceof IOException ? (IOException) cause : new IOException(cause);
+                }
+                if (closed) {
+                    throw new IOException("The read of the staged files was stopped");
+                }
+                List<IndexedRecord> batch = batches.poll(POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+                if (batch != null) {
+                    return batch;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for the staged files");
+        }
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+        batches.clear();
+    }
+
+    private static class ReaderThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable r) {
+            Thread thread = new Thread(r, "snowflake-unload-reader-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
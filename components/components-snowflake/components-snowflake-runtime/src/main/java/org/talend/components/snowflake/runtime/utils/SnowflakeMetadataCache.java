@@ -0,0 +1,219 @@
+//============================================================================
+//
+// Copyright (C) 2006-2023 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// %InstallDIR%\features\org.talend.rcp.branding.%PRODUCTNAME%\%PRODUCTNAME%license.txt
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+//============================================================================
+package org.talend.components.snowflake.runtime.utils;
+
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caches the tables of the Snowflake schemas and the metadata of their columns, read at design time.
+ *
+ * The table list is stored when it is read, and the columns of all its tables are then read in bulk with a single
+ * metadata query the first time the schema of one of them is needed, instead of one query per table. The entries
+ * expire after the cache timeout.
+ */
+public class SnowflakeMetadataCache {
+
+    public static final String TIMEOUT_PROPERTY_NAME = "org.talend.components.snowflake.metadataCacheTimeout";
+
+    public static final long DEFAULT_TIMEOUT = TimeUnit.MINUTES.toMillis(1);
+
+    /** Above this number of tables, the columns are read table by table. */
+    public static final int MAX_BULK_TABLES = 1000;
+
+    private static final SnowflakeMetadataCache INSTANCE = new SnowflakeMetadataCache(
+            Long.getLong(TIMEOUT_PROPERTY_NAME, DEFAULT_TIMEOUT));
+
+    private final ConcurrentMap<String, Entry> entries = new ConcurrentHashMap<>();
+
+    private volatile long timeout;
+
+    public SnowflakeMetadataCache(long timeout) {
+        this.timeout = timeout;
+    }
+
+    public static SnowflakeMetadataCache get() {
+        return INSTANCE;
+    }
+
+    public long getTimeout() {
+        return timeout;
+    }
+
+    public void setTimeout(long timeout) {
+        this.timeout = timeout;
+    }
+
+    /**
+     * Store the table list of a schema, it replaces the columns read before.
+     *
+     * @param key the key of the connection properties.
+     */
+    public void putTableNames(String key, String catalog, String dbSchema, List<String> tableNames) {
+        if (timeout <= 0) {
+            return;
+        }
+        evictExpiredEntries();
+        entries.put(entryKey(key, catalog, dbSchema), new Entry(new HashSet<>(tableNames), now()));
+    }
+
+    /**
+     * Get the columns of a table.
+     *
+     * @param metaData the metadata of the connection, to read the columns of the schema if they are not cached yet.
+     * @return the columns of the table in their order, or null if the table is not in the cached table list or if there
+     * are too many tables to read them in bulk.
+     */
+    public List<Column> getColumns(String key, String catalog, String dbSchema, String tableName, DatabaseMetaData metaData)
+            throws SQLException {
+        Entry entry = entries.get(entryKey(key, catalog, dbSchema));
+        if (entry == null || now() - entry.loadTime >= timeout || !entry.tableNames.contains(tableName)
+                || entry.tableNames.size() > MAX_BULK_TABLES) {
+            return null;
+        }
+        synchronized (entry) {
+            if (entry.columnsByTable == null) {
+                entry.columnsByTable = readColumns(metaData, catalog, dbSchema);
+            }
+        }
+        List<Column> columns = entry.columnsByTable.get(tableName);
+        return columns == null ? null : Collections.unmodifiableList(columns);
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    /**
+     * @return the current time in milliseconds.
+     */
+    protected long now() {
+        return System.currentTimeMillis();
+    }
+
+    private void evictExpiredEntries() {
+        long now = now();
+        entries.values().removeIf(entry -> now - entry.loadTime >= timeout);
+    }
+
+    private static String entryKey(String key, String catalog, String dbSchema) {
+        return key + '\u0000' + catalog + '\u0000' + dbSchema;
+    }
+
+    /**
+     * Read the columns of all the tables of the schema with one query.
+     */
+    private static Map<String, List<Column>> readColumns(DatabaseMetaData metaData, String catalog, String dbSchema)
+            throws SQLException {
+        Map<String, List<Column>> columnsByTable = new HashMap<>();
+        try (ResultSet rs = metaData.getColumns(catalog, escapeUnderscores(dbSchema), null, null)) {
+            while (rs.next()) {
+                String tableName = rs.getString("TABLE_NAME");
+                List<Column> columns = columnsByTable.get(tableName);
+                if (columns == null) {
+                    columns = new ArrayList<>();
+                    columnsByTable.put(tableName, columns);
+                }
+                columns.add(new Column(rs));
+            }
+        }
+        return columnsByTable;
+    }
+
+    private static String escapeUnderscores(String value) {
+        return value == null ? null : value.replace("_", "\\_");
+    }
+
+    private static class Entry {
+
+        private final Set<String> tableNames;
+
+        private final long loadTime;
+
+        private Map<String, List<Column>> columnsByTable;
+
+        Entry(Set<String> tableNames, long loadTime) {
+            this.tableNames = tableNames;
+            this.loadTime = loadTime;
+        }
+    }
+
+    /**
+     * The metadata of a column, as returned by {@link DatabaseMetaData#getColumns(String, String, String, String)}.
+     */
+    public static class Column {
+
+        private final String name;
+
+        private final int dbType;
+
+        private final int size;
+
+        private final int scale;
+
+        private final boolean nullable;
+
+        private final String defaultValue;
+
+        private final boolean autoIncremented;
+
+        Column(ResultSet rs) throws SQLException {
+            name = rs.getString("COLUMN_NAME");
+            dbType = rs.getInt("DATA_TYPE");
+            size = rs.getInt("COLUMN_SIZE");
+            scale = rs.getInt("DECIMAL_DIGITS");
+            nullable = DatabaseMetaData.columnNullable == rs.getInt("NULLABLE");
+            defaultValue = rs.getString("COLUMN_DEF");
+            autoIncremented = "YES".equals(rs.getString("IS_AUTOINCREMENT"));
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public int getDbType() {
+            return dbType;
+        }
+
+        public int getSize() {
+            return size;
+        }
+
+        public int getScale() {
+            return scale;
+        }
+
+        public boolean isNullable() {
+            return nullable;
+        }
+
+        public String getDefaultValue() {
+            return defaultValue;
+        }
+
+        public boolean isAutoIncremented() {
+            return autoIncremented;
+        }
+    }
+}
@@ -0,0 +1,279 @@
+//============================================================================
+//
+// Copyright (C) 2006-2023 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// %InstallDIR%\features\org.talend.rcp.branding.%PRODUCTNAME%\%PRODUCTNAME%license.txt
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+//============================================================================
+package org.talend.components.snowflake.runtime.utils;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps the connections used to read the metadata at design time open between the calls, instead of opening a new
+ * Snowflake session for each table list or schema.
+ *
+ * The connections are kept by key, built from the connection properties. A connection is borrowed by one caller at a
+ * time, and it is closed once it stayed idle longer than the idle timeout.
+ */
+public class SnowflakeMetadataSessions {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SnowflakeMetadataSessions.class);
+
+    public static final String IDLE_TIMEOUT_PROPERTY_NAME = "org.talend.components.snowflake.metadataSessionIdleTimeout";
+
+    public static final long DEFAULT_IDLE_TIMEOUT = TimeUnit.MINUTES.toMillis(5);
+
+    /** Maximal number of idle connections kept for a key. */
+    static final int MAX_IDLE_SESSIONS_PER_KEY = 2;
+
+    private static final int VALIDATION_TIMEOUT_SECONDS = 5;
+
+    private static final SnowflakeMetadataSessions INSTANCE = new SnowflakeMetadataSessions(
+            Long.getLong(IDLE_TIMEOUT_PROPERTY_NAME, DEFAULT_IDLE_TIMEOUT));
+
+    private final Map<String, Deque<IdleSession>> idleSessions = new HashMap<>();
+
+    private volatile long idleTimeout;
+
+    private ScheduledExecutorService evictor;
+
+    /**
+     * @param idleTimeout the time in milliseconds after which an idle connection is closed, 0 or less to close the
+     * connections once released.
+     */
+    public SnowflakeMetadataSessions(long idleTimeout) {
+        this.idleTimeout = idleTimeout;
+    }
+
+    public static SnowflakeMetadataSessions get() {
+        return INSTANCE;
+    }
+
+    public long getIdleTimeout() {
+        return idleTimeout;
+    }
+
+    public void setIdleTimeout(long idleTimeout) {
+        this.idleTimeout = idleTimeout;
+    }
+
+    /**
+     * Get an idle connection of the key, or create a new one.
+     *
+     * @param key the key of the connection properties.
+     * @param factory creates the connection when there is no valid idle one.
+     * @return the connection, to give back with {@link #release(String, Connection)} or {@link #discard(Connection)}.
+     */
+    public Connection borrow(String key, ConnectionFactory factory) throws IOException {
+        evictIdleSessions();
+        IdleSession session;
+        while ((session = pollIdleSession(key)) != null) {
+            if (isValid(session.connection)) {
+                LOG.debug("Reusing the metadata session of {}", key);
+                return session.connection;
+            }
+            closeQuietly(session.connection);
+        }
+        return factory.create();
+    }
+
+    /**
+     * Give back a connection which can be reused.
+     */
+    public void release(String key, Connection connection) {
+        if (connection == null) {
+            return;
+        }
+        if (idleTimeout <= 0 || isClosed(connection)) {
+            closeQuietly(connection);
+            return;
+        }
+        Connection exceeding = null;
+        synchronized (this) {
+            Deque<IdleSession> sessions = idleSessions.get(key);
+            if (sessions == null) {
+                sessions = new ArrayDeque<>();
+                idleSessions.put(key, sessions);
+            }
+            sessions.addFirst(new IdleSession(connection, now()));
+            if (sessions.size() > MAX_IDLE_SESSIONS_PER_KEY) {
+                exceeding = sessions.pollLast().connection;
+            }
+            startEvictor();
+        }
+        closeQuietly(exceeding);
+    }
+
+    /**
+     * Close a connection which must not be reused, after a failure for example.
+     */
+    public void discard(Connection connection) {
+        closeQuietly(connection);
+    }
+
+    /**
+     * Close the connections idle for longer than the idle timeout.
+     */
+    public void evictIdleSessions() {
+        List<Connection> expired = new ArrayList<>();
+        long now = now();
+        synchronized (this) {
+            Iterator<Deque<IdleSession>> keys = idleSessions.values().iterator();
+            while (keys.hasNext()) {
+                Deque<IdleSession> sessions = keys.next();
+                Iterator<IdleSession> it = sessions.iterator();
+                while (it.hasNext()) {
+                    IdleSession session = it.next();
+                    if (now - session.releaseTime >= idleTimeout) {
+                        expired.add(session.connection);
+                        it.remove();
+                    }
+                }
+                if (sessions.isEmpty()) {
+                    keys.remove();
+                }
+            }
+            if (idleSessions.isEmpty()) {
+                stopEvictor();
+            }
+        }
+        for (Connection connection : expired) {
+            closeQuietly(connection);
+        }
+    }
+
+    /**
+     * Close all the idle connections.
+     */
+    public void closeAll() {
+        List<Connection> connections = new ArrayList<>();
+        synchronized (this) {
+            for (Deque<IdleSession> sessions : idleSessions.values()) {
+                for (IdleSession session : sessions) {
+                    connections.add(session.connection);
+                }
+            }
+            idleSessions.clear();
+            stopEvictor();
+        }
+        for (Connection connection : connections) {
+            closeQuietly(connection);
+        }
+    }
+
+    /**
+     * @return the number of idle connections of the key.
+     */
+    public synchronized int getIdleCount(String key) {
+        Deque<IdleSession> sessions = idleSessions.get(key);
+        return sessions == null ? 0 : sessions.size();
+    }
+
+    /**
+     * @return the current time in milliseconds.
+     */
+    protected long now() {
+        return System.currentTimeMillis();
+    }
+
+    private synchronized IdleSession pollIdleSession(String key) {
+        Deque<IdleSession> sessions = idleSessions.get(key);
+        if (sessions == null) {
+            return null;
+        }
+        IdleSession session = sessions.pollFirst();
+        if (sessions.isEmpty()) {
+            idleSessions.remove(key);
+        }
+        return session;
+    }
+
+    private void startEvictor() {
+        if (evictor != null) {
+            return;
+        }
+        evictor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "snowflake-metadata-sessions-evictor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = Math.max(TimeUnit.SECONDS.toMillis(1), idleTimeout / 2);
+        evictor.scheduleWithFixedDelay(this::evictIdleSessions, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    private void stopEvictor() {
+        if (evictor != null) {
+            evictor.shutdown();
+            evictor = null;
+        }
+    }
+
+    private static boolean isValid(Connection connection) {
+        try {
+            return connection.isValid(VALIDATION_TIMEOUT_SECONDS);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private static boolean isClosed(Connection connection) {
+        try {
+            return connection.isClosed();
+        } catch (SQLException e) {
+            return true;
+        }
+    }
+
+    private static void closeQuietly(Connection connection) {
+        if (connection == null) {
+            return;
+        }
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            LOG.debug("Failed to close the metadata session", e);
+        }
+    }
+
+    /**
+     * Creates a new connection.
+     */
+    @FunctionalInterface
+    public interface ConnectionFactory {
+
+        Connection create() throws IOException;
+    }
+
+    private static class IdleSession {
+
+        private final Connection connection;
+
+        private final long releaseTime;
+
+        IdleSession(Connection connection, long releaseTime) {
+            this.connection = connection;
+            this.releaseTime = releaseTime;
+        }
+    }
+}
@@ -0,0 +1,62 @@
+//============================================================================
+//
+// Copyright (C) 2006-2023 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// %InstallDIR%\features\org.talend.rcp.branding.%PRODUCTNAME%\%PRODUCTNAME%license.txt
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+//============================================================================
+package org.talend.components.snowflake.runtime;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+
+import org.apache.avro.Schema;
+import org.apache.avro.SchemaBuilder;
+import org.apache.avro.generic.IndexedRecord;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+public class SnowflakeResultSetIndexedRecordConverterTest {
+
+    @Test
+    public void testMetadataIsReadOnceByResultSet() throws SQLException {
+        Schema schema = SchemaBuilder.builder().record("record").fields().requiredString("id").requiredString("name")
+                .endRecord();
+        SnowflakeResultSetIndexedRecordConverter converter = new SnowflakeResultSetIndexedRecordConverter();
+        converter.setSchema(schema);
+
+        ResultSet rs = Mockito.mock(ResultSet.class);
+        ResultSetMetaData rsMetadata = Mockito.mock(ResultSetMetaData.class);
+        Mockito.when(rs.getMetaData()).thenReturn(rsMetadata);
+        Mockito.when(rsMetadata.getColumnCount()).thenReturn(2);
+        Mockito.when(rs.getString(1)).thenReturn("1", "2");
+        Mockito.when(rs.getString(2)).thenReturn("first", "second");
+
+        IndexedRecord first = converter.convertToAvro(rs);
+        IndexedRecord second = converter.convertToAvro(rs);
+
+        Assert.assertEquals("1", first.get(0));
+        Assert.assertEquals("first", first.get(1));
+        Assert.assertEquals("2", second.get(0));
+        Assert.assertEquals("second", second.get(1));
+        Mockito.verify(rsMetadata, Mockito.times(1)).getColumnCount();
+
+        // another result set may have less columns than the schema
+        ResultSet otherRs = Mockito.mock(ResultSet.class);
+        ResultSetMetaData otherRsMetadata = Mockito.mock(ResultSetMetaData.class);
+        Mockito.when(otherRs.getMetaData()).thenReturn(otherRsMetadata);
+        Mockito.when(otherRsMetadata.getColumnCount()).thenReturn(1);
+        Mockito.when(otherRs.getString(1)).thenReturn("3");
+
+        IndexedRecord third = converter.convertToAvro(otherRs);
+        Assert.assertEquals("3", third.get(0));
+        Assert.assertNull(third.get(1));
+    }
+}
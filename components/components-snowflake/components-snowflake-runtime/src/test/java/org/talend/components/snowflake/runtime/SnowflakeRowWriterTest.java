@@ -13,6 +13,7 @@
 package org.talend.components.snowflake.runtime;
 
 import java.io.IOException;
+import java.sql.BatchUpdateException;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
@@ -20,6 +21,9 @@ import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
 
 import org.apache.avro.Schema;
 import org.apache.avro.SchemaBuilder;
@@ -142,6 +146,120 @@ public class SnowflakeRowWriterTest {
         Assert.assertEquals(1, result.rejectCount);
     }
 
+    private PreparedStatement setupBatch(Schema schema) throws SQLException {
+        rowProperties.usePreparedStatement.setValue(true);
+        rowProperties.useBatch.setValue(true);
+        rowProperties.batchSize.setValue(2);
+        rowProperties.table.main.schema.setValue(schema);
+        rowProperties.afterMainSchema();
+        Mockito.when(sink.getRuntimeSchema(Mockito.any(SchemaResolver.class))).thenReturn(schema);
+        rowProperties.preparedStatementTable.indexes.setValue(new ArrayList<Integer>());
+        PreparedStatement preparedStatement = Mockito.mock(PreparedStatement.class);
+        Mockito.when(connection.prepareStatement(query)).thenReturn(preparedStatement);
+        return preparedStatement;
+    }
+
+    @Test
+    public void testWriteWithBatch() throws IOException, SQLException {
+        Schema schema = SchemaBuilder.builder().record("record").fields().requiredInt("id").endRecord();
+        PreparedStatement preparedStatement = setupBatch(schema);
+        Mockito.when(preparedStatement.executeBatch()).thenReturn(new int[] { 1, 1 }, new int[] { 1, 1 }, new int[] { 1 });
+
+        List<IndexedRecord> records = new ArrayList<>();
+        Result result = null;
+        try {
+            writer.open("id");
+            for (int i = 0; i < 5; i++) {
+                IndexedRecord record = new GenericData.Record(schema);
+                record.put(0, i);
+                records.add(record);
+                writer.write(record);
+
+                if (i % 2 == 0) {
+                    // the record waits in the batch
+                    Assert.assertTrue(writer.getSuccessfulWrites().isEmpty());
+                } else {
+                    Assert.assertEquals(records.subList(i - 1, i + 1), writer.getSuccessfulWrites());
+                }
+                Assert.assertFalse(writer.getRejectedWrites().iterator().hasNext());
+            }
+        } finally {
+            result = writer.close();
+        }
+
+        // the last batch is still open when closing, its feedback is kept after the close
+        Assert.assertEquals(Collections.singletonList(records.get(4)), writer.getSuccessfulWrites());
+        Assert.assertFalse(writer.getRejectedWrites().iterator().hasNext());
+
+        // two full batches while writing, the last record when closing
+        Mockito.verify(preparedStatement, Mockito.times(5)).addBatch();
+        Mockito.verify(preparedStatement, Mockito.times(3)).executeBatch();
+        Mockito.verify(preparedStatement, Mockito.never()).executeQuery();
+        Assert.assertEquals(5, result.totalCount);
+        Assert.assertEquals(5, result.successCount);
+        Assert.assertEquals(0, result.rejectCount);
+    }
+
+    @Test
+    public void testRejectLastBatchWhenClosing() throws IOException, SQLException {
+        Schema schema = SchemaBuilder.builder().record("record").fields().requiredInt("id").endRecord();
+        PreparedStatement preparedStatement = setupBatch(schema);
+        Mockito.when(preparedStatement.executeBatch()).thenReturn(new int[] { 1, 1 })
+                .thenThrow(new BatchUpdateException("last record failed", new int[] { Statement.EXECUTE_FAILED }));
+
+        Result result = null;
+        try {
+            writer.open("id");
+            for (int i = 0; i < 3; i++) {
+                IndexedRecord record = new GenericData.Record(schema);
+                record.put(0, i);
+                writer.write(record);
+            }
+        } finally {
+            result = writer.close();
+        }
+
+        Assert.assertTrue(writer.getSuccessfulWrites().isEmpty());
+        Iterator<IndexedRecord> rejects = writer.getRejectedWrites().iterator();
+        IndexedRecord reject = rejects.next();
+        Assert.assertFalse(rejects.hasNext());
+        Assert.assertEquals(2, reject.get(reject.getSchema().getField("id").pos()));
+        Assert.assertEquals("last record failed", reject.get(reject.getSchema().getField("errorMessage").pos()));
+
+        Assert.assertEquals(3, result.totalCount);
+        Assert.assertEquals(2, result.successCount);
+        Assert.assertEquals(1, result.rejectCount);
+    }
+
+    @Test
+    public void testWriteWithFailedBatch() throws IOException, SQLException {
+        Schema schema = SchemaBuilder.builder().record("record").fields().requiredInt("id").endRecord();
+        PreparedStatement preparedStatement = setupBatch(schema);
+        Mockito.when(preparedStatement.executeBatch())
+                .thenThrow(new BatchUpdateException("second record failed", new int[] { 1, Statement.EXECUTE_FAILED }));
+
+        Result result = null;
+        try {
+            writer.open("id");
+            IndexedRecord record = new GenericData.Record(schema);
+            record.put(0, 1);
+            writer.write(record);
+            writer.write(record);
+
+            Assert.assertEquals(1, writer.getSuccessfulWrites().size());
+            IndexedRecord reject = writer.getRejectedWrites().iterator().next();
+            Assert.assertEquals("second record failed",
+                    reject.get(reject.getSchema().getField("errorMessage").pos()));
+        } finally {
+            result = writer.close();
+        }
+
+        Mockito.verify(preparedStatement).clearBatch();
+        Assert.assertEquals(2, result.totalCount);
+        Assert.assertEquals(1, result.successCount);
+        Assert.assertEquals(1, result.rejectCount);
+    }
+
     @Test
     public void testGetWriteOpration() {
         Assert.assertEquals(operation, writer.getWriteOperation());
@@ -38,6 +38,7 @@ import org.slf4j.LoggerFactory;
 import org.talend.components.api.container.RuntimeContainer;
 import org.talend.components.snowflake.SnowflakeConnectionProperties;
 import org.talend.components.snowflake.runtime.utils.DriverManagerUtils;
+import org.talend.components.snowflake.runtime.utils.SnowflakeMetadataSessions;
 import org.talend.daikon.avro.SchemaConstants;
 import org.talend.daikon.i18n.GlobalI18N;
 import org.talend.daikon.i18n.I18nMessages;
@@ -83,6 +84,32 @@ public class SnowflakeSourceOrSinkTest {
         Assert.assertEquals(ValidationResult.Result.OK, snowflakeSourceOrSink.validate(null).getStatus());
     }
 
+    /**
+     * The validation authenticates again with a new session, even when a valid session of the same properties is idle.
+     */
+    @Test
+    public void testValidateOpensNewSession() throws Exception {
+        SnowflakeMetadataSessions.get().closeAll();
+        try {
+            Connection connection = Mockito.mock(Connection.class);
+            Mockito.when(connection.isValid(Mockito.anyInt())).thenReturn(true);
+            snowflakeSourceOrSink.properties.getConnectionProperties().referencedComponent.setValue("componentInstanceId",
+                    null);
+            Mockito.when(DriverManagerUtils.getConnection(Mockito.any(SnowflakeConnectionProperties.class)))
+                    .thenReturn(connection).thenThrow(new IOException("Incorrect username or password was specified."));
+
+            Assert.assertEquals(ValidationResult.Result.OK, snowflakeSourceOrSink.validate(null).getStatus());
+            ValidationResult result = snowflakeSourceOrSink.validate(null);
+            Assert.assertEquals(ValidationResult.Result.ERROR, result.getStatus());
+            Assert.assertEquals("Incorrect username or password was specified.", result.getMessage());
+
+            PowerMockito.verifyStatic(DriverManagerUtils.class, Mockito.times(2));
+            DriverManagerUtils.getConnection(Mockito.any(SnowflakeConnectionProperties.class));
+        } finally {
+            SnowflakeMetadataSessions.get().closeAll();
+        }
+    }
+
     @Test(expected = IOException.class)
     public void testConnectCheckClosedConnection() throws Exception {
         Connection connection = Mockito.mock(Connection.class);
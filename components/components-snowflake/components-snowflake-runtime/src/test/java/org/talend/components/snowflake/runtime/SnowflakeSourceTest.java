@@ -53,6 +53,15 @@ public class SnowflakeSourceTest {
         Assert.assertTrue(source.createReader(null) instanceof SnowflakeReader);
     }
 
+    @Test
+    public void testCreateUnloadReader() {
+        TSnowflakeInputProperties properties = new TSnowflakeInputProperties("inputProperties");
+        properties.unload.setValue(true);
+        source.initialize(null, properties);
+
+        Assert.assertTrue(source.createReader(null) instanceof SnowflakeUnloadReader);
+    }
+
     @Test(expected = TalendRuntimeException.class)
     public void testInvalidProperties() {
         source.initialize(null, null);
@@ -0,0 +1,226 @@
+//============================================================================
+//
+// Copyright (C) 2006-2023 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// %InstallDIR%\features\org.talend.rcp.branding.%PRODUCTNAME%\%PRODUCTNAME%license.txt
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+//============================================================================
+package org.talend.components.snowflake.runtime;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.zip.GZIPOutputStream;
+
+import org.apache.avro.Schema;
+import org.apache.avro.SchemaBuilder;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.talend.components.api.container.RuntimeContainer;
+import org.talend.components.snowflake.runtime.unload.LocalDirectoryFetcher;
+import org.talend.components.snowflake.runtime.unload.StagedFile;
+import org.talend.components.snowflake.runtime.unload.StagedFileFetcher;
+import org.talend.components.snowflake.runtime.unload.StagedFileParser;
+import org.talend.components.snowflake.runtime.utils.SchemaResolver;
+import org.talend.components.snowflake.tsnowflakeinput.TSnowflakeInputProperties;
+import org.talend.daikon.avro.SchemaConstants;
+
+/**
+ * Unit-tests for {@link SnowflakeUnloadReader} class, the staged files are read from a local directory.
+ */
+public class SnowflakeUnloadReaderTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private RuntimeContainer runtimeContainerMock = Mockito.mock(RuntimeContainer.class);
+
+    private SnowflakeSource snowflakeSourceMock = Mockito.mock(SnowflakeSource.class);
+
+    private Connection connectionMock = Mockito.mock(Connection.class);
+
+    private Statement statementMock = Mockito.mock(Statement.class);
+
+    private TSnowflakeInputProperties properties;
+
+    @Before
+    public void setUp() throws Exception {
+        Schema schema = SchemaBuilder.builder().record("Schema").fields().requiredString("id").optionalString("name")
+                .endRecord();
+        schema.getField("id").addProp(SchemaConstants.TALEND_COLUMN_DB_COLUMN_NAME, "id");
+        schema.getField("name").addProp(SchemaConstants.TALEND_COLUMN_DB_COLUMN_NAME, "name");
+
+        properties = new TSnowflakeInputProperties("test");
+        properties.setupProperties();
+        properties.table.main.schema.setValue(schema);
+        properties.table.tableName.setValue("Table");
+        properties.unload.setValue(true);
+        properties.unloadThreads.setValue(2);
+
+        Mockito.when(snowflakeSourceMock.getRuntimeSchema(Mockito.any(SchemaResolver.class))).thenReturn(schema);
+        Mockito.doCallRealMethod().when(snowflakeSourceMock).initialize(Mockito.any(), Mockito.eq(properties));
+        snowflakeSourceMock.initialize(null, properties);
+        Mockito.when(snowflakeSourceMock.createConnection(runtimeContainerMock)).thenReturn(connectionMock);
+        Mockito.when(connectionMock.createStatement()).thenReturn(statementMock);
+    }
+
+    private void writeStagedFile(String name, String content) throws IOException {
+        try (OutputStream out = new GZIPOutputStream(new FileOutputStream(new File(folder.getRoot(), name)))) {
+            out.write(content.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private SnowflakeUnloadReader createReader(List<StagedFile> stagedFiles) {
+        return new SnowflakeUnloadReader(runtimeContainerMock, snowflakeSourceMock, properties, stagedFiles) {
+
+            @Override
+            protected StagedFileFetcher createFetcher() {
+                final LocalDirectoryFetcher fetcher = new LocalDirectoryFetcher(folder.getRoot());
+                // the unload directory is random, the files are downloaded at the root of the folder
+                return file -> fetcher.open(new StagedFile(file.getStage(),
+                        file.getPath().substring(file.getPath().lastIndexOf('/') + 1), file.getSize(), file.getRowCount()));
+            }
+        };
+    }
+
+    @Test
+    public void testUnloadAndRead() throws Exception {
+        writeStagedFile("data_0_0_0.csv.gz", "1,first\n2,\n");
+        writeStagedFile("data_0_1_0.csv.gz", "3,\"third, last\"\n4,\"\"\n");
+
+        ResultSet copyResult = Mockito.mock(ResultSet.class);
+        Mockito.when(statementMock.executeQuery(Mockito.startsWith("COPY INTO"))).thenReturn(copyResult);
+        Mockito.when(copyResult.next()).thenReturn(true, true, false);
+        Mockito.when(copyResult.getString("FILE_NAME")).thenReturn("data_0_0_0.csv.gz", "data_0_1_0.csv.gz");
+        Mockito.when(copyResult.getLong("FILE_SIZE")).thenReturn(100L);
+        Mockito.when(copyResult.getLong("ROW_COUNT")).thenReturn(2L);
+
+        SnowflakeUnloadReader reader = createReader(null);
+        Set<String> values = new HashSet<>();
+        for (boolean available = reader.start(); available; available = reader.advance()) {
+            values.add(reader.getCurrent().get(0) + ":" + reader.getCurrent().get(1));
+        }
+        reader.close();
+
+        Assert.assertEquals(new HashSet<>(Arrays.asList("1:first", "2:null", "3:third, last", "4:")), values);
+        Assert.assertEquals(4, reader.getReturnValues().get("totalRecordCount"));
+
+        ArgumentCaptor<String> copy = ArgumentCaptor.forClass(String.class);
+        Mockito.verify(statementMock).executeQuery(copy.capture());
+        Assert.assertTrue(copy.getValue().startsWith("COPY INTO @~/talend_unload/"));
+        Assert.assertTrue(copy.getValue().contains(" FROM (select id, name from Table) FILE_FORMAT = ("
+                + StagedFileParser.FILE_FORMAT + ") HEADER = FALSE DETAILED_OUTPUT = TRUE"));
+
+        // the whole unload directory is removed
+        String location = copy.getValue().split(" ")[2];
+        Mockito.verify(statementMock).execute("REMOVE " + location);
+        Mockito.verify(snowflakeSourceMock).closeConnection(runtimeContainerMock, connectionMock);
+    }
+
+    @Test
+    public void testStagedFilesRemovedWhenStartFails() throws Exception {
+        // the file listed by COPY INTO can't be fetched
+        ResultSet copyResult = Mockito.mock(ResultSet.class);
+        Mockito.when(statementMock.executeQuery(Mockito.startsWith("COPY INTO"))).thenReturn(copyResult);
+        Mockito.when(copyResult.next()).thenReturn(true, false);
+        Mockito.when(copyResult.getString("FILE_NAME")).thenReturn("data_0_0_0.csv.gz");
+
+        SnowflakeUnloadReader reader = createReader(null);
+        try {
+            reader.start();
+            Assert.fail("The missing file must fail the start");
+        } catch (IOException e) {
+            Assert.assertTrue(e.getMessage().contains("data_0_0_0.csv.gz"));
+        }
+
+        ArgumentCaptor<String> copy = ArgumentCaptor.forClass(String.class);
+        Mockito.verify(statementMock).executeQuery(copy.capture());
+        String location = copy.getValue().split(" ")[2];
+        Mockito.verify(statementMock).execute("REMOVE " + location);
+
+        // the files are not removed twice when the reader is closed
+        reader.close();
+        Mockito.verify(statementMock, Mockito.times(1)).execute(Mockito.startsWith("REMOVE"));
+    }
+
+    @Test
+    public void testReadBundleFiles() throws Exception {
+        writeStagedFile("data_0_0_0.csv.gz", "1,first\n");
+        List<StagedFile> files = new ArrayList<>();
+        files.add(new StagedFile("@~", "talend_unload/bundle/data_0_0_0.csv.gz", 10, 1));
+
+        SnowflakeUnloadReader reader = createReader(files);
+        Assert.assertTrue(reader.start());
+        Assert.assertEquals("first", reader.getCurrent().get(1));
+        Assert.assertFalse(reader.advance());
+        reader.close();
+
+        // the files were unloaded when the source was split, they are shared with the other bundles and the retries
+        Mockito.verify(statementMock, Mockito.never()).executeQuery(Mockito.anyString());
+        Mockito.verify(statementMock, Mockito.never()).execute(Mockito.anyString());
+    }
+
+    @Test
+    public void testReadWithoutThreadsValue() throws Exception {
+        writeStagedFile("data_0_0_0.csv.gz", "1,first\n");
+        List<StagedFile> files = new ArrayList<>();
+        files.add(new StagedFile("@~", "talend_unload/bundle/data_0_0_0.csv.gz", 10, 1));
+        // the properties saved before the unload mode have no threads value
+        properties.unloadThreads.setValue(null);
+
+        SnowflakeUnloadReader reader = createReader(files);
+        Assert.assertTrue(reader.start());
+        Assert.assertEquals("first", reader.getCurrent().get(1));
+        reader.close();
+    }
+
+    @Test
+    public void testRemoveExpiredUnloads() throws Exception {
+        long expired = System.currentTimeMillis() - SnowflakeUnloadReader.UNLOAD_RETENTION_MILLIS - 1000;
+        long recent = System.currentTimeMillis() - 1000;
+        ResultSet listResult = Mockito.mock(ResultSet.class);
+        Mockito.when(statementMock.executeQuery("LIST @~/talend_unload/")).thenReturn(listResult);
+        Mockito.when(listResult.next()).thenReturn(true, true, true, true, false);
+        Mockito.when(listResult.getString("name")).thenReturn("talend_unload/" + expired + "-a/data_0_0_0.csv.gz",
+                "talend_unload/" + expired + "-a/data_0_1_0.csv.gz", "talend_unload/" + recent + "-b/data_0_0_0.csv.gz",
+                "talend_unload/other/data_0_0_0.csv.gz");
+
+        createReader(null).removeExpiredUnloads();
+
+        Mockito.verify(statementMock).execute("REMOVE @~/talend_unload/" + expired + "-a/");
+        Mockito.verify(statementMock, Mockito.times(1)).execute(Mockito.startsWith("REMOVE"));
+    }
+
+    @Test
+    public void testRemoveExpiredUnloadsOfNamedStage() throws Exception {
+        properties.unloadStage.setValue("my_stage");
+        ResultSet listResult = Mockito.mock(ResultSet.class);
+        Mockito.when(statementMock.executeQuery("LIST @my_stage/talend_unload/")).thenReturn(listResult);
+        Mockito.when(listResult.next()).thenReturn(true, false);
+        Mockito.when(listResult.getString("name")).thenReturn("my_stage/talend_unload/1000-a/data_0_0_0.csv.gz");
+
+        createReader(null).removeExpiredUnloads();
+
+        Mockito.verify(statementMock).execute("REMOVE @my_stage/talend_unload/1000-a/");
+    }
+}
@@ -0,0 +1,44 @@
+//============================================================================
+//
+// Copyright (C) 2006-2023 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// %InstallDIR%\features\org.talend.rcp.branding.%PRODUCTNAME%\%PRODUCTNAME%license.txt
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+//============================================================================
+package org.talend.components.snowflake.runtime.unload;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class StagedFileParserTest {
+
+    @Test
+    public void testParseRows() throws IOException {
+        StagedFileParser parser = new StagedFileParser(
+                new StringReader("1,abc,\"\"\n2,,\"a,b\"\r\n3,\"say \"\"hi\"\"\",\"two\nlines\"\n4,x,"));
+
+        Assert.assertArrayEquals(new String[] { "1", "abc", "" }, parser.next());
+        Assert.assertArrayEquals(new String[] { "2", null, "a,b" }, parser.next());
+        Assert.assertArrayEquals(new String[] { "3", "say \"hi\"", "two\nlines" }, parser.next());
+        Assert.assertArrayEquals(new String[] { "4", "x", null }, parser.next());
+        Assert.assertNull(parser.next());
+    }
+
+    @Test
+    public void testEmptyFile() throws IOException {
+        Assert.assertNull(new StagedFileParser(new StringReader("")).next());
+    }
+
+    @Test(expected = IOException.class)
+    public void testUnterminatedEnclosedField() throws IOException {
+        new StagedFileParser(new StringReader("1,\"abc\n")).next();
+    }
+}
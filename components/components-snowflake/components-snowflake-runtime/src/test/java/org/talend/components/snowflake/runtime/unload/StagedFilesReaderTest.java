@@ -0,0 +1,153 @@
+//============================================================================
+//
+// Copyright (C) 2006-2023 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// %InstallDIR%\features\org.talend.rcp.branding.%PRODUCTNAME%\%PRODUCTNAME%license.txt
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+//============================================================================
+package org.talend.components.snowflake.runtime.unload;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.zip.GZIPOutputStream;
+
+import org.apache.avro.LogicalTypes;
+import org.apache.avro.Schema;
+import org.apache.avro.SchemaBuilder;
+import org.apache.avro.generic.IndexedRecord;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.talend.daikon.avro.AvroUtils;
+
+/**
+ * Read pre-generated staged files from a local directory, as they would be downloaded from the stage.
+ */
+public class StagedFilesReaderTest {
+
+    private static final int FILES = 5;
+
+    private static final int ROWS_BY_FILE = 2500;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private StagedFileRecordConverter converter;
+
+    private List<StagedFile> files;
+
+    @Before
+    public void setup() throws IOException {
+        Schema schema = SchemaBuilder.record("record").fields()
+                .name("ID").type(AvroUtils._int()).noDefault()
+                .name("NAME").type(AvroUtils.wrapAsNullable(AvroUtils._string())).noDefault()
+                .name("AMOUNT").type(AvroUtils._decimal()).noDefault()
+                .name("DAY").type(LogicalTypes.date().addToSchema(AvroUtils._int())).noDefault()
+                .name("CREATED").type(LogicalTypes.timestampMillis().addToSchema(AvroUtils._long())).noDefault()
+                .name("ACTIVE").type(AvroUtils._boolean()).noDefault()
+                .endRecord();
+        converter = new StagedFileRecordConverter(schema);
+
+        files = new ArrayList<>();
+        for (int f = 0; f < FILES; f++) {
+            String path = "unload/data_0_0_" + f + ".csv.gz";
+            File file = new File(folder.getRoot(), path);
+            file.getParentFile().mkdirs();
+            try (Writer writer = new OutputStreamWriter(new GZIPOutputStream(new FileOutputStream(file)),
+                    StandardCharsets.UTF_8)) {
+                for (int r = 0; r < ROWS_BY_FILE; r++) {
+                    int id = f * ROWS_BY_FILE + r;
+                    String name = id % 10 == 0 ? "" : "\"name, " + id + "\"";
+                    writer.write(id + "," + name + "," + id + ".25,1970-01-02,1970-01-01 00:00:01.500 +0000,true\n");
+                }
+            }
+            files.add(new StagedFile("@~", path, file.length(), ROWS_BY_FILE));
+        }
+    }
+
+    @Test
+    public void testReadFilesInParallel() throws IOException {
+        Set<Integer> ids = new HashSet<>();
+        try (StagedFilesReader reader = new StagedFilesReader(files, new LocalDirectoryFetcher(folder.getRoot()), converter,
+                3)) {
+            reader.start();
+            IndexedRecord record;
+            while ((record = reader.next()) != null) {
+                int id = (Integer) record.get(0);
+                Assert.assertTrue(ids.add(id));
+                Assert.assertEquals(id % 10 == 0 ? null : "name, " + id, record.get(1));
+                Assert.assertEquals(new BigDecimal(id + ".25"), record.get(2));
+                Assert.assertEquals(1, record.get(3));
+                Assert.assertEquals(1500L, record.get(4));
+                Assert.assertEquals(true, record.get(5));
+            }
+            Assert.assertNull(reader.next());
+        }
+        Assert.assertEquals(FILES * ROWS_BY_FILE, ids.size());
+    }
+
+    @Test
+    public void testReadWithoutFiles() throws IOException {
+        try (StagedFilesReader reader = new StagedFilesReader(new ArrayList<StagedFile>(),
+                new LocalDirectoryFetcher(folder.getRoot()), converter, 3)) {
+            reader.start();
+            Assert.assertNull(reader.next());
+        }
+    }
+
+    @Test(timeout = 30000)
+    public void testFailureOfOneFileStopsTheRead() throws IOException {
+        files.add(0, new StagedFile("@~", "unload/missing.csv.gz", 0, 0));
+        try (StagedFilesReader reader = new StagedFilesReader(files, new LocalDirectoryFetcher(folder.getRoot()), converter,
+                2)) {
+            reader.start();
+            assertReadFails(reader);
+            // the failure is thrown again, the next calls don't wait for batches which will never come
+            assertReadFails(reader);
+        }
+    }
+
+    private static void assertReadFails(StagedFilesReader reader) {
+        try {
+            while (reader.next() != null) {
+                // reads until the failure
+            }
+            Assert.fail("The missing file must fail the read");
+        } catch (IOException e) {
+            Assert.assertTrue(e.getMessage().contains("missing.csv.gz"));
+        }
+    }
+
+    @Test(timeout = 30000)
+    public void testCloseBeforeTheEnd() throws IOException {
+        StagedFilesReader reader = new StagedFilesReader(files, new LocalDirectoryFetcher(folder.getRoot()), converter, 2);
+        reader.start();
+        Assert.assertNotNull(reader.next());
+        // the threads blocked on the full queue must stop
+        reader.close();
+        try {
+            while (reader.next() != null) {
+                // the current batch may still be read
+            }
+            Assert.fail("The read must stop once the reader is closed");
+        } catch (IOException e) {
+            Assert.assertEquals("The read of the staged files was stopped", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,104 @@
+//============================================================================
+//
+// Copyright (C) 2006-2023 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// %InstallDIR%\features\org.talend.rcp.branding.%PRODUCTNAME%\%PRODUCTNAME%license.txt
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+//============================================================================
+package org.talend.components.snowflake.runtime.utils;
+
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.Types;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+public class SnowflakeMetadataCacheTest {
+
+    private static final String KEY = "key";
+
+    private long time;
+
+    private SnowflakeMetadataCache cache;
+
+    private DatabaseMetaData metaData;
+
+    @Before
+    public void setup() throws Exception {
+        time = 0;
+        cache = new SnowflakeMetadataCache(1000) {
+
+            @Override
+            protected long now() {
+                return time;
+            }
+        };
+
+        ResultSet rs = Mockito.mock(ResultSet.class);
+        Mockito.when(rs.next()).thenReturn(true, true, true, false);
+        Mockito.when(rs.getString("TABLE_NAME")).thenReturn("TABLE_1", "TABLE_1", "TABLE_2");
+        Mockito.when(rs.getString("COLUMN_NAME")).thenReturn("ID", "NAME", "VALUE");
+        Mockito.when(rs.getInt("DATA_TYPE")).thenReturn(Types.INTEGER, Types.VARCHAR, Types.DECIMAL);
+        Mockito.when(rs.getInt("COLUMN_SIZE")).thenReturn(10, 255, 38);
+        Mockito.when(rs.getInt("DECIMAL_DIGITS")).thenReturn(0, 0, 2);
+        Mockito.when(rs.getInt("NULLABLE")).thenReturn(DatabaseMetaData.columnNoNulls, DatabaseMetaData.columnNullable,
+                DatabaseMetaData.columnNullable);
+        Mockito.when(rs.getString("IS_AUTOINCREMENT")).thenReturn("YES", "NO", "NO");
+
+        metaData = Mockito.mock(DatabaseMetaData.class);
+        Mockito.when(metaData.getColumns("DB", "MY\\_SCHEMA", null, null)).thenReturn(rs);
+    }
+
+    @Test
+    public void testReadColumnsOfAllTablesOnce() throws Exception {
+        cache.putTableNames(KEY, "DB", "MY_SCHEMA", Arrays.asList("TABLE_1", "TABLE_2"));
+
+        List<SnowflakeMetadataCache.Column> columns = cache.getColumns(KEY, "DB", "MY_SCHEMA", "TABLE_1", metaData);
+        Assert.assertEquals(2, columns.size());
+        Assert.assertEquals("ID", columns.get(0).getName());
+        Assert.assertEquals(Types.INTEGER, columns.get(0).getDbType());
+        Assert.assertFalse(columns.get(0).isNullable());
+        Assert.assertTrue(columns.get(0).isAutoIncremented());
+        Assert.assertEquals("NAME", columns.get(1).getName());
+        Assert.assertTrue(columns.get(1).isNullable());
+
+        columns = cache.getColumns(KEY, "DB", "MY_SCHEMA", "TABLE_2", metaData);
+        Assert.assertEquals(1, columns.size());
+        Assert.assertEquals(38, columns.get(0).getSize());
+        Assert.assertEquals(2, columns.get(0).getScale());
+
+        Mockito.verify(metaData, Mockito.times(1)).getColumns(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any());
+    }
+
+    @Test
+    public void testNoColumnsWithoutTableList() throws Exception {
+        Assert.assertNull(cache.getColumns(KEY, "DB", "MY_SCHEMA", "TABLE_1", metaData));
+        Mockito.verifyZeroInteractions(metaData);
+    }
+
+    @Test
+    public void testNoColumnsForUnknownTable() throws Exception {
+        cache.putTableNames(KEY, "DB", "MY_SCHEMA", Arrays.asList("TABLE_1", "TABLE_2"));
+        Assert.assertNull(cache.getColumns(KEY, "DB", "MY_SCHEMA", "TABLE_3", metaData));
+        Assert.assertNull(cache.getColumns("other", "DB", "MY_SCHEMA", "TABLE_1", metaData));
+        Mockito.verifyZeroInteractions(metaData);
+    }
+
+    @Test
+    public void testExpiredTableList() throws Exception {
+        cache.putTableNames(KEY, "DB", "MY_SCHEMA", Arrays.asList("TABLE_1", "TABLE_2"));
+        time = 1000;
+        Assert.assertNull(cache.getColumns(KEY, "DB", "MY_SCHEMA", "TABLE_1", metaData));
+        Mockito.verifyZeroInteractions(metaData);
+    }
+}
@@ -0,0 +1,125 @@
+//============================================================================
+//
+// Copyright (C) 2006-2023 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// %InstallDIR%\features\org.talend.rcp.branding.%PRODUCTNAME%\%PRODUCTNAME%license.txt
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+//============================================================================
+package org.talend.components.snowflake.runtime.utils;
+
+import java.sql.Connection;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+public class SnowflakeMetadataSessionsTest {
+
+    private static final String KEY = "key";
+
+    private long time;
+
+    private SnowflakeMetadataSessions sessions;
+
+    @Before
+    public void setup() {
+        time = 0;
+        sessions = new SnowflakeMetadataSessions(1000) {
+
+            @Override
+            protected long now() {
+                return time;
+            }
+        };
+    }
+
+    @After
+    public void tearDown() {
+        sessions.closeAll();
+    }
+
+    private static Connection validConnection() throws Exception {
+        Connection connection = Mockito.mock(Connection.class);
+        Mockito.when(connection.isValid(Mockito.anyInt())).thenReturn(true);
+        return connection;
+    }
+
+    @Test
+    public void testReuseReleasedConnection() throws Exception {
+        Connection connection = validConnection();
+        Assert.assertSame(connection, sessions.borrow(KEY, () -> connection));
+        sessions.release(KEY, connection);
+        Assert.assertEquals(1, sessions.getIdleCount(KEY));
+
+        Assert.assertSame(connection, sessions.borrow(KEY, () -> {
+            throw new AssertionError("the idle connection must be reused");
+        }));
+        Assert.assertEquals(0, sessions.getIdleCount(KEY));
+        Mockito.verify(connection, Mockito.never()).close();
+    }
+
+    @Test
+    public void testReplaceInvalidConnection() throws Exception {
+        Connection invalid = Mockito.mock(Connection.class);
+        Connection connection = validConnection();
+        sessions.release(KEY, invalid);
+
+        Assert.assertSame(connection, sessions.borrow(KEY, () -> connection));
+        Mockito.verify(invalid).close();
+    }
+
+    @Test
+    public void testCloseIdleConnection() throws Exception {
+        Connection connection = validConnection();
+        sessions.release(KEY, connection);
+
+        time = 999;
+        sessions.evictIdleSessions();
+        Assert.assertEquals(1, sessions.getIdleCount(KEY));
+
+        time = 1000;
+        sessions.evictIdleSessions();
+        Assert.assertEquals(0, sessions.getIdleCount(KEY));
+        Mockito.verify(connection).close();
+    }
+
+    @Test
+    public void testLimitIdleConnections() throws Exception {
+        Connection first = validConnection();
+        Connection second = validConnection();
+        Connection third = validConnection();
+        sessions.release(KEY, first);
+        sessions.release(KEY, second);
+        sessions.release(KEY, third);
+
+        Assert.assertEquals(SnowflakeMetadataSessions.MAX_IDLE_SESSIONS_PER_KEY, sessions.getIdleCount(KEY));
+        Mockito.verify(first).close();
+        Assert.assertSame(third, sessions.borrow(KEY, () -> null));
+    }
+
+    @Test
+    public void testCloseReleasedConnectionWithoutTimeout() throws Exception {
+        Connection connection = validConnection();
+        sessions.setIdleTimeout(0);
+        sessions.release(KEY, connection);
+
+        Assert.assertEquals(0, sessions.getIdleCount(KEY));
+        Mockito.verify(connection).close();
+    }
+
+    @Test
+    public void testDiscardConnection() throws Exception {
+        Connection connection = validConnection();
+        sessions.discard(connection);
+
+        Assert.assertEquals(0, sessions.getIdleCount(KEY));
+        Mockito.verify(connection).close();
+    }
+}
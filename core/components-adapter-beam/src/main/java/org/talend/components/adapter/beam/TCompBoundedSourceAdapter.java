@@ -39,6 +39,10 @@ public class TCompBoundedSourceAdapter extends BoundedSource<IndexedRecord> {
         this.tCompSource = tCompSource;
     }
 
+    public org.talend.components.api.component.runtime.BoundedSource getTCompSource() {
+        return tCompSource;
+    }
+
     @Override
     public List<? extends BoundedSource<IndexedRecord>> split(long desiredBundleSizeBytes, PipelineOptions options)
             throws Exception {
@@ -58,7 +62,7 @@ public class TCompBoundedSourceAdapter extends BoundedSource<IndexedRecord> {
 
     @Override
     public BoundedReader<IndexedRecord> createReader(PipelineOptions options) throws IOException {
-        return new TCompReaderAdapter(tCompSource.createReader(null), null);
+        return new TCompReaderAdapter(tCompSource.createReader(null), this);
     }
 
     @Override
@@ -71,27 +75,35 @@ public class TCompBoundedSourceAdapter extends BoundedSource<IndexedRecord> {
         return LazyAvroCoder.of();
     }
 
-    protected static class TCompReaderAdapter<T> extends BoundedSource.BoundedReader {
+    /**
+     * Pass the progress and dynamic work rebalancing of the TCOMP
+     * {@link org.talend.components.api.component.runtime.BoundedReader} through to the Beam runner. Readers that do not support them return null from both methods, which Beam interprets as "unknown" and "refused".
+     */
+    protected static class TCompReaderAdapter<T> extends BoundedSource.BoundedReader<IndexedRecord> {
 
         IndexedRecordConverter<T, ?> indexedRecordConverter;
 
         private org.talend.components.api.component.runtime.BoundedReader<T> reader;
 
-        private TCompBoundedSourceAdapter source;
+        /** Replaced after each successful split, read concurrently by the runner. */
+        private volatile TCompBoundedSourceAdapter source;
 
         public TCompReaderAdapter(org.talend.components.api.component.runtime.BoundedReader reader, TCompBoundedSourceAdapter source) {
             this.reader = reader;
             this.source = source;
         }
 
+        @Override
         public boolean start() throws IOException {
             return reader.start();
         }
 
+        @Override
         public boolean advance() throws IOException {
             return reader.advance();
         }
 
+        @Override
         public IndexedRecord getCurrent() throws NoSuchElementException {
             T current = reader.getCurrent();
             if (current == null) {
@@ -107,11 +119,29 @@ public class TCompBoundedSourceAdapter extends BoundedSource<IndexedRecord> {
             return indexedRecordConverter.convertToAvro(current);
         }
 
+        @Override
         public void close() throws IOException {
             reader.close();
         }
 
-        public BoundedSource getCurrentSource() {
+        @Override
+        public Double getFractionConsumed() {
+            return reader.getFractionConsumed();
+        }
+
+        @Override
+        public BoundedSource<IndexedRecord> splitAtFraction(double fraction) {
+            org.talend.components.api.component.runtime.BoundedSource residual = reader.splitAtFraction(fraction);
+            if (residual == null) {
+                return null;
+            }
+            // The TCOMP reader has narrowed its own source, expose the primary part to the runner.
+            source = new TCompBoundedSourceAdapter(reader.getCurrentSource());
+            return new TCompBoundedSourceAdapter(residual);
+        }
+
+        @Override
+        public BoundedSource<IndexedRecord> getCurrentSource() {
             return source;
         }
     }
@@ -0,0 +1,149 @@
+//============================================================================
+//
+// Copyright (C) 2006-2023 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// %InstallDIR%\features\org.talend.rcp.branding.%PRODUCTNAME%\%PRODUCTNAME%license.txt
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+//============================================================================
+package org.talend.components.adapter.beam.coders;
+
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.apache.avro.Schema;
+import org.apache.avro.SchemaNormalization;
+import org.apache.avro.generic.GenericDatumReader;
+import org.apache.avro.generic.GenericDatumWriter;
+import org.apache.avro.generic.IndexedRecord;
+import org.apache.avro.io.DatumReader;
+import org.apache.avro.io.DatumWriter;
+
+import com.google.common.annotations.VisibleForTesting;
+
+/**
+ * A bounded registry of Avro schemas keyed by their fingerprint, shared by all the {@link LazyAvroCoder}s of the
+ * JVM.
+ *
+ * Each schema is registered with the {@link DatumWriter} and {@link DatumReader} used to encode and decode its records, so
+ * that all the coders using the same schema share them instead of building their own. Generic datum writers and readers
+ * are thread-safe.
+ *
+ * When the registry is full, the least recently registered or looked up schema is evicted.
+ */
+public final class AvroSchemaRegistry {
+
+    /** The maximum number of distinct schemas kept in the registry. */
+    public static final int MAX_SCHEMAS = 1024;
+
+    private static final Map<Long, Entry> entries = new LinkedHashMap<Long, Entry>(16, 0.75f, true) {
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+            return size() > MAX_SCHEMAS;
+        }
+    };
+
+    private AvroSchemaRegistry() {
+    }
+
+    /**
+     * The fingerprint is computed on the full JSON form of the schema and not on its parsing canonical form, since the
+     * properties and logical types carried by the schema must survive the decoding.
+     *
+     * @param schema the schema to fingerprint.
+     * @return the 64 bits fingerprint of the schema.
+     */
+    public static long fingerprint(Schema schema) {
+        return SchemaNormalization.fingerprint64(schema.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Register a schema, or get the entry of an equivalent schema that is already registered.
+     *
+     * @param schema the schema to register.
+     * @return the entry of the schema.
+     */
+    public static Entry register(Schema schema) {
+        long fingerprint = fingerprint(schema);
+        synchronized (entries) {
+            Entry entry = entries.get(fingerprint);
+            if (entry == null) {
+                entry = new Entry(fingerprint, schema);
+                entries.put(fingerprint, entry);
+            } else if (!entry.schema.equals(schema)) {
+                // Fingerprint collision, the schema is not shared.
+                return new Entry(fingerprint, schema);
+            }
+            return entry;
+        }
+    }
+
+    /**
+     * @param fingerprint the fingerprint of a schema.
+     * @return the entry of the schema, or null if it is not registered or was evicted.
+     */
+    public static Entry get(long fingerprint) {
+        synchronized (entries) {
+            return entries.get(fingerprint);
+        }
+    }
+
+    /**
+     * This must only be called when there are no running Pipelines using a {@link LazyAvroCoder}.
+     */
+    public static void reset() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    @VisibleForTesting
+    static int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    /**
+     * A registered schema, with its reusable writer and reader.
+     */
+    public static final class Entry {
+
+        private final long fingerprint;
+
+        private final Schema schema;
+
+        private final DatumWriter<IndexedRecord> writer;
+
+        private final DatumReader<IndexedRecord> reader;
+
+        private Entry(long fingerprint, Schema schema) {
+            this.fingerprint = fingerprint;
+            this.schema = schema;
+            this.writer = new GenericDatumWriter<>(schema);
+            this.reader = new GenericDatumReader<>(schema);
+        }
+
+        public long getFingerprint() {
+            return fingerprint;
+        }
+
+        public Schema getSchema() {
+            return schema;
+        }
+
+        public DatumWriter<IndexedRecord> getWriter() {
+            return writer;
+        }
+
+        public DatumReader<IndexedRecord> getReader() {
+            return reader;
+        }
+    }
+}
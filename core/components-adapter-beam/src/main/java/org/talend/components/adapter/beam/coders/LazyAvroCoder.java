@@ -12,22 +12,28 @@
 //============================================================================
 package org.talend.components.adapter.beam.coders;
 
-import static org.talend.components.adapter.beam.transform.ConvertToIndexedRecord.convertToAvro;
-
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
 import java.lang.reflect.Type;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.avro.Schema;
 import org.apache.avro.generic.IndexedRecord;
+import org.apache.avro.io.BinaryDecoder;
+import org.apache.avro.io.BinaryEncoder;
+import org.apache.avro.io.DecoderFactory;
+import org.apache.avro.io.EncoderFactory;
 import org.apache.beam.sdk.Pipeline;
 import org.apache.beam.sdk.coders.AtomicCoder;
-import org.apache.beam.sdk.coders.AvroCoder;
 import org.apache.beam.sdk.coders.CannotProvideCoderException;
 import org.apache.beam.sdk.coders.Coder;
 import org.apache.beam.sdk.coders.CoderException;
@@ -52,6 +58,9 @@ import com.google.common.annotations.VisibleForTesting;
  *
  * This is accomplished by adding a "distributed state" to the pipeline in the form of the {@link AvroSchemaHolder}.
  *
+ * Each value is converted once to an {@link IndexedRecord}, and encoded with the {@link org.apache.avro.io.DatumWriter}
+ * shared through the {@link AvroSchemaRegistry} by all the coders using the same schema.
+ *
  * @param <T> The expected type of object.
  */
 public class LazyAvroCoder<T> extends AtomicCoder<Object> {
@@ -62,9 +71,16 @@ public class LazyAvroCoder<T> extends AtomicCoder<Object> {
 
     private final AvroSchemaHolder avroSchemaHolder;
 
+    /** Reused by all the coders of the thread, as in Beam's AvroCoder. */
+    private static final ThreadLocal<BinaryEncoder> threadEncoder = new ThreadLocal<>();
+
+    private static final ThreadLocal<BinaryDecoder> threadDecoder = new ThreadLocal<>();
+
     private transient IndexedRecordConverter<T, IndexedRecord> converter;
 
-    private transient AvroCoder<IndexedRecord> internalAvroCoder;
+    private transient AvroSchemaRegistry.Entry encodeEntry;
+
+    private transient AvroSchemaRegistry.Entry decodeEntry;
 
     protected LazyAvroCoder() {
         this.avroSchemaHolder = getSchemaSupplier().get();
@@ -133,34 +149,35 @@ public class LazyAvroCoder<T> extends AtomicCoder<Object> {
             converter = ConvertToIndexedRecord.getConverter((T) value);
         }
         IndexedRecord ir = converter.convertToAvro((T) value);
-        if (internalAvroCoder == null) {
-            Schema s = converter.getSchema();
-            avroSchemaHolder.put(s);
-            @SuppressWarnings("unchecked")
-            AvroCoder<IndexedRecord> tCoder = (AvroCoder<IndexedRecord>) (AvroCoder<? extends IndexedRecord>) AvroCoder
-                    .of(ir.getSchema());
-            internalAvroCoder = tCoder;
-        }
-        LOG.debug("Internal AvroCoder's schema is {}", internalAvroCoder.getSchema());
-        LOG.debug("Encode value is {}", value);
-        internalAvroCoder.encode(convertToAvro(value), outputStream);
+        if (encodeEntry == null) {
+            avroSchemaHolder.put(converter.getSchema());
+            encodeEntry = AvroSchemaRegistry.register(ir.getSchema());
+            LOG.debug("Encoding {} with the schema {}", avroSchemaHolder.getAvroSchemaId(), encodeEntry.getSchema());
+        }
+        BinaryEncoder encoder = EncoderFactory.get().directBinaryEncoder(outputStream, threadEncoder.get());
+        threadEncoder.set(encoder);
+        encodeEntry.getWriter().write(ir, encoder);
     }
 
     @Override
     public T decode(InputStream inputStream) throws CoderException, IOException {
-        if (internalAvroCoder == null) {
-            @SuppressWarnings("unchecked")
-            AvroCoder<IndexedRecord> tCoder = (AvroCoder<IndexedRecord>) (AvroCoder<? extends IndexedRecord>) AvroCoder
-                    .of(getSchema());
-            internalAvroCoder = tCoder;
+        if (decodeEntry == null) {
+            decodeEntry = AvroSchemaRegistry.register(getSchema());
+            LOG.debug("Decoding {} with the schema {}", avroSchemaHolder.getAvroSchemaId(), decodeEntry.getSchema());
         }
-        return (T) internalAvroCoder.decode(inputStream);
+        // A direct decoder never reads ahead, which is required as other coders can read the rest of the stream.
+        BinaryDecoder decoder = DecoderFactory.get().directBinaryDecoder(inputStream, threadDecoder.get());
+        threadDecoder.set(decoder);
+        return (T) decodeEntry.getReader().read(null, decoder);
     }
 
     /**
      * A AvroSchemaHolder supplier that can be used if none is specified.
      *
-     * This stores schemas in a list in memory, so either
+     * Each holder keeps its own schema in memory, the schemas themselves being shared through the
+     * {@link AvroSchemaRegistry}. The holders are only weakly referenced by uid, so that a copy of a holder deserialized
+     * in the same JVM resolves to the live holder and its schema, and that the holders of the coders that are no longer
+     * used can be garbage collected. So either
      * <ol>
      * <li>any Beam Pipeline must run in a single JVM, or</li>
      * <li>the PCollections that use this coder must not have their data transferred across nodes in a reduce-type or
@@ -172,11 +189,13 @@ public class LazyAvroCoder<T> extends AtomicCoder<Object> {
 
         private static final AtomicInteger count = new AtomicInteger();
 
-        private static final ArrayList<Schema> schemaList = new ArrayList<>();
+        private static final Map<Integer, HolderReference> holders = new HashMap<>();
+
+        private static final ReferenceQueue<StaticSchemaHolder> collectedHolders = new ReferenceQueue<>();
 
         @Override
         public AvroSchemaHolder get() {
-            return new StaticSchemaHolder();
+            return resolve(new StaticSchemaHolder());
         }
 
         /**
@@ -184,7 +203,16 @@ public class LazyAvroCoder<T> extends AtomicCoder<Object> {
          */
         public static void reset() {
             count.set(0);
-            schemaList.clear();
+            synchronized (holders) {
+                for (HolderReference reference : holders.values()) {
+                    StaticSchemaHolder holder = reference.get();
+                    if (holder != null) {
+                        holder.entry = null;
+                    }
+                }
+                holders.clear();
+            }
+            AvroSchemaRegistry.reset();
         }
 
         @VisibleForTesting
@@ -192,26 +220,71 @@ public class LazyAvroCoder<T> extends AtomicCoder<Object> {
             return count.get();
         }
 
+        /**
+         * @return the schemas of the live holders, indexed by the holder uid.
+         */
         @VisibleForTesting
         static List<Schema> getSchemas() {
-            return schemaList;
+            synchronized (holders) {
+                expungeCollectedHolders();
+                int size = 0;
+                for (Integer uid : holders.keySet()) {
+                    size = Math.max(size, uid + 1);
+                }
+                List<Schema> schemas = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) {
+                    HolderReference reference = holders.get(i);
+                    StaticSchemaHolder holder = reference == null ? null : reference.get();
+                    schemas.add(holder == null ? null : holder.get());
+                }
+                return schemas;
+            }
         }
 
-        synchronized private static Schema getSchema(int i) {
-            return schemaList.size() > i ? StaticSchemaHolderSupplier.schemaList.get(i) : null;
+        /**
+         * @param holder a new or deserialized holder.
+         * @return the live holder with the same uid, or the given holder if there is none.
+         */
+        private static StaticSchemaHolder resolve(StaticSchemaHolder holder) {
+            synchronized (holders) {
+                expungeCollectedHolders();
+                HolderReference reference = holders.get(holder.uid);
+                StaticSchemaHolder live = reference == null ? null : reference.get();
+                if (live != null) {
+                    return live;
+                }
+                holders.put(holder.uid, new HolderReference(holder));
+                return holder;
+            }
         }
 
-        synchronized private static void putSchema(int i, Schema s) {
-            // Ensure that the array has enough space to hold the schema.
-            while (StaticSchemaHolderSupplier.schemaList.size() < i + 1)
-                StaticSchemaHolderSupplier.schemaList.add(null);
-            StaticSchemaHolderSupplier.schemaList.set(i, s);
+        private static void expungeCollectedHolders() {
+            Reference<? extends StaticSchemaHolder> collected;
+            while ((collected = collectedHolders.poll()) != null) {
+                HolderReference reference = (HolderReference) collected;
+                // The uid may already have been taken by a new holder after a reset.
+                if (holders.get(reference.uid) == reference) {
+                    holders.remove(reference.uid);
+                }
+            }
+        }
+
+        private static class HolderReference extends WeakReference<StaticSchemaHolder> {
+
+            private final int uid;
+
+            private HolderReference(StaticSchemaHolder holder) {
+                super(holder, collectedHolders);
+                this.uid = holder.uid;
+            }
         }
 
         private static class StaticSchemaHolder implements AvroSchemaHolder {
 
             private final int uid = StaticSchemaHolderSupplier.count.getAndIncrement();
 
+            private transient volatile AvroSchemaRegistry.Entry entry;
+
             @Override
             public String getAvroSchemaId() {
                 return "Lazy" + uid;
@@ -219,12 +292,17 @@ public class LazyAvroCoder<T> extends AtomicCoder<Object> {
 
             @Override
             public Schema get() {
-                return StaticSchemaHolderSupplier.getSchema(uid);
+                AvroSchemaRegistry.Entry current = entry;
+                return current == null ? null : current.getSchema();
             }
 
             @Override
             public void put(Schema s) {
-                StaticSchemaHolderSupplier.putSchema(uid, s);
+                entry = AvroSchemaRegistry.register(s);
+            }
+
+            private Object readResolve() {
+                return StaticSchemaHolderSupplier.resolve(this);
             }
         }
     }
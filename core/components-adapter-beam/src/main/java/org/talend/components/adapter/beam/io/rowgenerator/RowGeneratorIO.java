@@ -290,12 +290,20 @@ public class RowGeneratorIO {
         }
     }
 
+    /**
+     * Reads the rows of a {@link BoundedRowGeneratorSource}, supporting progress estimation and dynamic work rebalancing.
+     *
+     * Since every row is generated from its row ID, the remaining rows can be given away at any time by narrowing the
+     * current source. The row claim in {@link #advance()} and the split are the only synchronized sections.
+     */
     private static class BoundedRowGeneratorReader extends BoundedSource.BoundedReader<IndexedRecord> {
 
-        private final BoundedRowGeneratorSource source;
+        /** The source currently read, narrowed after each successful {@link #splitAtFraction(double)}. */
+        private BoundedRowGeneratorSource source;
 
         private IndexedRecord current = null;
 
+        /** The number of rows claimed from the current source. */
         private long count = 0;
 
         private final GeneratorFunction.GeneratorContext ctx;
@@ -312,16 +320,22 @@ public class RowGeneratorIO {
 
         @Override
         public boolean advance() {
-            // Stopping condition.
-            if (count >= source.numRows) {
-                current = null;
-                return false;
+            long rowId;
+            GeneratorFunction<IndexedRecord> generator;
+            synchronized (this) {
+                // Stopping condition.
+                if (count >= source.numRows) {
+                    current = null;
+                    return false;
+                }
+                rowId = source.startRowId + count;
+                generator = source.generator;
+                count++;
             }
 
             // Update the row generator context for the next row.
-            ctx.setRowId(source.startRowId + count);
-            current = source.generator.apply(ctx);
-            count++;
+            ctx.setRowId(rowId);
+            current = generator.apply(ctx);
             return true;
         }
 
@@ -338,8 +352,31 @@ public class RowGeneratorIO {
         }
 
         @Override
-        public BoundedRowGeneratorSource getCurrentSource() {
+        public synchronized BoundedRowGeneratorSource getCurrentSource() {
             return source;
         }
+
+        @Override
+        public synchronized Double getFractionConsumed() {
+            if (source.numRows == 0) {
+                return 1.0;
+            }
+            return (double) count / source.numRows;
+        }
+
+        @Override
+        public synchronized BoundedRowGeneratorSource splitAtFraction(double fraction) {
+            long splitCount = (long) Math.ceil(fraction * source.numRows);
+            // The rows already claimed must stay in the primary, and the residual can not be empty.
+            if (splitCount <= count || splitCount >= source.numRows) {
+                return null;
+            }
+            // A split source must never be split into the spec partitions again.
+            int partitionId = source.partitionId == -1 ? 0 : source.partitionId;
+            BoundedRowGeneratorSource residual = new BoundedRowGeneratorSource(source.spec, partitionId,
+                    source.startRowId + splitCount, source.numRows - splitCount);
+            source = new BoundedRowGeneratorSource(source.spec, partitionId, source.startRowId, splitCount);
+            return residual;
+        }
     }
 }
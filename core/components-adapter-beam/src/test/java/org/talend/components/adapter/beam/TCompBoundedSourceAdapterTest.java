@@ -0,0 +1,346 @@
+//============================================================================
+//
+// Copyright (C) 2006-2023 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// %InstallDIR%\features\org.talend.rcp.branding.%PRODUCTNAME%\%PRODUCTNAME%license.txt
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+//============================================================================
+package org.talend.components.adapter.beam;
+
+import static org.apache.beam.sdk.testing.SourceTestUtils.ExpectedSplitOutcome.MUST_FAIL;
+import static org.apache.beam.sdk.testing.SourceTestUtils.ExpectedSplitOutcome.MUST_SUCCEED_AND_BE_CONSISTENT;
+import static org.apache.beam.sdk.testing.SourceTestUtils.assertSplitAtFractionBehavior;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import org.apache.avro.Schema;
+import org.apache.avro.SchemaBuilder;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.IndexedRecord;
+import org.apache.beam.sdk.io.BoundedSource;
+import org.apache.beam.sdk.io.Read;
+import org.apache.beam.sdk.options.PipelineOptions;
+import org.apache.beam.sdk.options.PipelineOptionsFactory;
+import org.apache.beam.sdk.testing.PAssert;
+import org.apache.beam.sdk.testing.TestPipeline;
+import org.apache.beam.sdk.transforms.MapElements;
+import org.apache.beam.sdk.transforms.SimpleFunction;
+import org.apache.beam.sdk.values.PCollection;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.talend.components.adapter.beam.coders.LazyAvroCoder;
+import org.talend.components.api.component.runtime.AbstractBoundedReader;
+import org.talend.components.api.container.RuntimeContainer;
+import org.talend.components.api.properties.ComponentProperties;
+import org.talend.daikon.NamedThing;
+import org.talend.daikon.properties.ValidationResult;
+
+/**
+ * Unit tests for {@link TCompBoundedSourceAdapter}.
+ */
+public class TCompBoundedSourceAdapterTest {
+
+    private static final Schema SCHEMA = SchemaBuilder.record("Row").fields().requiredInt("id").endRecord();
+
+    /** The start, the split position and the end of the ranges split by the readers, in order. */
+    private static final List<int[]> SPLITS = Collections.synchronizedList(new ArrayList<int[]>());
+
+    @Rule
+    public final TestPipeline pipeline = TestPipeline.create();
+
+    @Before
+    @After
+    public void teardown() {
+        LazyAvroCoder.resetSchemaSupplier();
+        SPLITS.clear();
+    }
+
+    /**
+     * A TCOMP reader that does not implement the progress and split contract is refused by Beam.
+     */
+    @Test
+    public void testReaderWithoutSplitSupport() throws Exception {
+        PipelineOptions options = PipelineOptionsFactory.create();
+        TCompBoundedSourceAdapter source = new TCompBoundedSourceAdapter(new RangeSource(0, 10, false));
+
+        BoundedSource.BoundedReader<IndexedRecord> reader = source.createReader(options);
+        assertThat(reader.start(), is(true));
+        assertThat(reader.getFractionConsumed(), nullValue());
+        assertThat(reader.splitAtFraction(0.5), nullValue());
+        assertThat(reader.getCurrentSource(), is((BoundedSource<IndexedRecord>) source));
+        reader.close();
+    }
+
+    /**
+     * The progress and the splits of the TCOMP reader are passed through to Beam.
+     */
+    @Test
+    public void testSplitAtFraction() throws Exception {
+        PipelineOptions options = PipelineOptionsFactory.create();
+        TCompBoundedSourceAdapter source = new TCompBoundedSourceAdapter(new RangeSource(0, 20, true));
+
+        BoundedSource.BoundedReader<IndexedRecord> reader = source.createReader(options);
+        assertThat(reader.getFractionConsumed(), is(0.0));
+        assertThat(reader.start(), is(true));
+        assertThat(reader.getFractionConsumed(), is(0.05));
+        BoundedSource<IndexedRecord> residual = reader.splitAtFraction(0.5);
+        assertThat(((RangeSource) ((TCompBoundedSourceAdapter) residual).getTCompSource()).start, is(10));
+        assertThat(((RangeSource) ((TCompBoundedSourceAdapter) reader.getCurrentSource()).getTCompSource()).end, is(10));
+        assertThat(reader.getFractionConsumed(), is(0.1));
+        reader.close();
+
+        assertSplitAtFractionBehavior(source, 0, 0.5, MUST_SUCCEED_AND_BE_CONSISTENT, options);
+        assertSplitAtFractionBehavior(source, 5, 0.5, MUST_SUCCEED_AND_BE_CONSISTENT, options);
+        assertSplitAtFractionBehavior(source, 15, 0.5, MUST_FAIL, options);
+        assertSplitAtFractionBehavior(source, 5, 1.0, MUST_FAIL, options);
+    }
+
+    /**
+     * The source reports a size large enough for the direct runner to split the straggler bundle while it is read, and all
+     * the rows must be read exactly once.
+     */
+    @Test
+    public void testStragglerSplittingOnDirectRunner() {
+        int rows = 500;
+        PCollection<IndexedRecord> output = pipeline
+                .apply(Read.from(new TCompBoundedSourceAdapter(new RangeSource(0, rows, true).withDelay(1L))));
+        PCollection<Integer> ids = output.apply(MapElements.via(new SimpleFunction<IndexedRecord, Integer>() {
+
+            @Override
+            public Integer apply(IndexedRecord input) {
+                return (Integer) input.get(0);
+            }
+        }));
+
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < rows; i++) {
+            expected.add(i);
+        }
+        PAssert.that(ids).containsInAnyOrder(expected);
+        pipeline.run().waitUntilFinish();
+
+        // the direct runner split the reader, and the primary and residual ranges are the input without overlap
+        assertThat(SPLITS.isEmpty(), is(false));
+        List<int[]> ranges = new ArrayList<>();
+        ranges.add(new int[] { 0, rows });
+        for (int[] split : SPLITS) {
+            int[] splitRange = null;
+            for (int[] range : ranges) {
+                if (range[0] == split[0] && range[1] == split[2]) {
+                    splitRange = range;
+                }
+            }
+            assertThat(splitRange == null, is(false));
+            ranges.remove(splitRange);
+            ranges.add(new int[] { split[0], split[1] });
+            ranges.add(new int[] { split[1], split[2] });
+        }
+        Collections.sort(ranges, new Comparator<int[]>() {
+
+            @Override
+            public int compare(int[] range1, int[] range2) {
+                return Integer.compare(range1[0], range2[0]);
+            }
+        });
+        int next = 0;
+        for (int[] range : ranges) {
+            assertThat(range[0], is(next));
+            assertThat(range[1] > range[0], is(true));
+            next = range[1];
+        }
+        assertThat(next, is(rows));
+    }
+
+    /**
+     * A TCOMP source reading the integers [start, end).
+     */
+    private static class RangeSource implements org.talend.components.api.component.runtime.BoundedSource {
+
+        private final int start;
+
+        private final int end;
+
+        private final boolean splittable;
+
+        private long delayMillis;
+
+        RangeSource(int start, int end, boolean splittable) {
+            this.start = start;
+            this.end = end;
+            this.splittable = splittable;
+        }
+
+        RangeSource withDelay(long delayMillis) {
+            this.delayMillis = delayMillis;
+            return this;
+        }
+
+        RangeSource withRange(int newStart, int newEnd) {
+            return new RangeSource(newStart, newEnd, splittable).withDelay(delayMillis);
+        }
+
+        @Override
+        public List<? extends org.talend.components.api.component.runtime.BoundedSource> splitIntoBundles(
+                long desiredBundleSizeBytes, RuntimeContainer adaptor) throws Exception {
+            return Arrays.asList(this);
+        }
+
+        @Override
+        public long getEstimatedSizeBytes(RuntimeContainer adaptor) {
+            // Big enough for the direct runner to start splitting dynamically.
+            return (end - start) * 1024L * 1024L;
+        }
+
+        @Override
+        public boolean producesSortedKeys(RuntimeContainer adaptor) {
+            return false;
+        }
+
+        @Override
+        public org.talend.components.api.component.runtime.BoundedReader createReader(RuntimeContainer adaptor) {
+            return splittable ? new SplittableRangeReader(this) : new RangeReader(this);
+        }
+
+        @Override
+        public List<NamedThing> getSchemaNames(RuntimeContainer container) throws IOException {
+            return null;
+        }
+
+        @Override
+        public Schema getEndpointSchema(RuntimeContainer container, String schemaName) throws IOException {
+            return SCHEMA;
+        }
+
+        @Override
+        public ValidationResult validate(RuntimeContainer container) {
+            return ValidationResult.OK;
+        }
+
+        @Override
+        public ValidationResult initialize(RuntimeContainer container, ComponentProperties properties) {
+            return ValidationResult.OK;
+        }
+    }
+
+    /**
+     * Reads a {@link RangeSource} without progress and split support.
+     */
+    private static class RangeReader extends AbstractBoundedReader<IndexedRecord> {
+
+        protected RangeSource source;
+
+        protected int next;
+
+        protected IndexedRecord current;
+
+        RangeReader(RangeSource source) {
+            super(source);
+            this.source = source;
+            this.next = source.start;
+        }
+
+        @Override
+        public boolean start() throws IOException {
+            return advance();
+        }
+
+        @Override
+        public boolean advance() throws IOException {
+            if (next >= source.end) {
+                current = null;
+                return false;
+            }
+            current = createRecord(next++);
+            return true;
+        }
+
+        protected IndexedRecord createRecord(int id) {
+            GenericData.Record record = new GenericData.Record(SCHEMA);
+            record.put(0, id);
+            return record;
+        }
+
+        @Override
+        public IndexedRecord getCurrent() throws NoSuchElementException {
+            if (current == null) {
+                throw new NoSuchElementException();
+            }
+            return current;
+        }
+
+        @Override
+        public java.util.Map<String, Object> getReturnValues() {
+            return null;
+        }
+    }
+
+    /**
+     * Reads a {@link RangeSource}, giving away the end of its range on request.
+     */
+    private static class SplittableRangeReader extends RangeReader {
+
+        SplittableRangeReader(RangeSource source) {
+            super(source);
+        }
+
+        @Override
+        public boolean advance() throws IOException {
+            int id;
+            synchronized (this) {
+                if (next >= source.end) {
+                    current = null;
+                    return false;
+                }
+                id = next++;
+            }
+            if (source.delayMillis > 0) {
+                try {
+                    Thread.sleep(source.delayMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException(e);
+                }
+            }
+            current = createRecord(id);
+            return true;
+        }
+
+        @Override
+        public synchronized RangeSource getCurrentSource() {
+            return source;
+        }
+
+        @Override
+        public synchronized Double getFractionConsumed() {
+            return (double) (next - source.start) / (source.end - source.start);
+        }
+
+        @Override
+        public synchronized RangeSource splitAtFraction(double fraction) {
+            int splitId = source.start + (int) Math.ceil(fraction * (source.end - source.start));
+            if (splitId <= next || splitId >= source.end) {
+                return null;
+            }
+            SPLITS.add(new int[] { source.start, splitId, source.end });
+            RangeSource residual = source.withRange(splitId, source.end);
+            source = source.withRange(source.start, splitId);
+            return residual;
+        }
+    }
+}
@@ -0,0 +1,96 @@
+//============================================================================
+//
+// Copyright (C) 2006-2023 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// %InstallDIR%\features\org.talend.rcp.branding.%PRODUCTNAME%\%PRODUCTNAME%license.txt
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+//============================================================================
+package org.talend.components.adapter.beam.coders;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.avro.Schema;
+import org.apache.avro.SchemaBuilder;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.IndexedRecord;
+import org.apache.beam.sdk.coders.AvroCoder;
+import org.apache.beam.sdk.coders.Coder;
+import org.databene.contiperf.PerfTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.talend.components.api.test.performance.ContiPerfRuleAdaptor;
+
+/**
+ * Compare the encode/decode throughput of the {@link LazyAvroCoder} with a plain {@link AvroCoder}, on the same records.
+ */
+public class LazyAvroCoderPerformanceTest {
+
+    private static final int RECORDS = 10000;
+
+    private static final Schema SCHEMA = SchemaBuilder.record("Perf").fields() //
+            .requiredInt("id").requiredString("name").requiredLong("timestamp").requiredDouble("amount") //
+            .optionalString("comment").endRecord();
+
+    @Rule
+    public ContiPerfRuleAdaptor perfAdaptor = new ContiPerfRuleAdaptor();
+
+    private List<IndexedRecord> records;
+
+    @Before
+    public void setUp() {
+        records = new ArrayList<>(RECORDS);
+        for (int i = 0; i < RECORDS; i++) {
+            GenericData.Record record = new GenericData.Record(SCHEMA);
+            record.put("id", i);
+            record.put("name", "name" + i);
+            record.put("timestamp", 1500000000000L + i);
+            record.put("amount", i * 1.5);
+            record.put("comment", i % 2 == 0 ? null : "comment" + i);
+            records.add(record);
+        }
+    }
+
+    @After
+    public void tearDown() {
+        LazyAvroCoder.StaticSchemaHolderSupplier.reset();
+        LazyAvroCoder.resetSchemaSupplier();
+    }
+
+    @Test
+    @PerfTest(invocations = 20, threads = 1)
+    public void testLazyAvroCoder() throws IOException {
+        encodeDecode(LazyAvroCoder.of());
+    }
+
+    @Test
+    @PerfTest(invocations = 20, threads = 1)
+    public void testAvroCoder() throws IOException {
+        encodeDecode(AvroCoder.of(SCHEMA));
+    }
+
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    private void encodeDecode(Coder coder) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (IndexedRecord record : records) {
+            coder.encode(record, out);
+        }
+        ByteArrayInputStream in = new ByteArrayInputStream(out.toByteArray());
+        for (IndexedRecord record : records) {
+            assertEquals(record, coder.decode(in));
+        }
+        assertEquals(0, in.available());
+    }
+}
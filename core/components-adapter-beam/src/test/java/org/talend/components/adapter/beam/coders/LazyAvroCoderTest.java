@@ -15,12 +15,20 @@ package org.talend.components.adapter.beam.coders;
 import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.emptyIterable;
 import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
 import static org.junit.Assert.assertThat;
 
+import org.apache.avro.Schema;
+import org.apache.avro.SchemaBuilder;
+import org.apache.avro.generic.GenericData;
 import org.apache.avro.generic.IndexedRecord;
+import org.apache.beam.sdk.testing.CoderProperties;
 import org.apache.beam.sdk.testing.TestPipeline;
 import org.apache.beam.sdk.transforms.Count;
 import org.apache.beam.sdk.transforms.Keys;
+import org.apache.beam.sdk.util.CoderUtils;
+import org.apache.beam.sdk.util.SerializableUtils;
 import org.apache.beam.sdk.values.KV;
 import org.apache.beam.sdk.values.PCollection;
 import org.junit.After;
@@ -116,4 +124,56 @@ public class LazyAvroCoderTest {
         assertThat(LazyAvroCoder.StaticSchemaHolderSupplier.getSchemas(), contains(SampleSchemas.recordSimple()));
     }
 
-}
\ No newline at end of file
+    /**
+     * Coders using the same schema share one registry entry, and every encoded record can be decoded in any context.
+     */
+    @Test
+    public void testSharedSchemaRegistry() throws Exception {
+        Schema schema = SchemaBuilder.record("Simple").fields().requiredInt("id").requiredString("name").endRecord();
+        GenericData.Record record = new GenericData.Record(schema);
+        record.put("id", 1);
+        record.put("name", "one");
+
+        LazyAvroCoder<IndexedRecord> coder1 = LazyAvroCoder.of();
+        LazyAvroCoder<IndexedRecord> coder2 = LazyAvroCoder.of();
+        CoderProperties.coderDecodeEncodeEqual(coder1, record);
+        CoderProperties.coderDecodeEncodeEqual(coder2, record);
+
+        // Two holders, but only one registered schema.
+        assertThat(LazyAvroCoder.StaticSchemaHolderSupplier.getSchemas(), contains(schema, schema));
+        assertThat(AvroSchemaRegistry.size(), is(1));
+        assertThat(AvroSchemaRegistry.register(schema),
+                sameInstance(AvroSchemaRegistry.get(AvroSchemaRegistry.fingerprint(schema))));
+
+        // A schema that only differs by its properties is not shared.
+        Schema withProp = new Schema.Parser().parse(schema.toString());
+        withProp.addProp("talend.prop", "value");
+        assertThat(AvroSchemaRegistry.register(withProp).getSchema(), is(withProp));
+        assertThat(AvroSchemaRegistry.size(), is(2));
+    }
+
+    /**
+     * A coder that is still referenced keeps its schema, however many other holders were created since, and a
+     * deserialized copy of the coder decodes with the same schema.
+     */
+    @Test
+    public void testLiveHolderKeepsItsSchema() throws Exception {
+        Schema schema = SchemaBuilder.record("Simple").fields().requiredInt("id").requiredString("name").endRecord();
+        GenericData.Record record = new GenericData.Record(schema);
+        record.put("id", 1);
+        record.put("name", "one");
+
+        LazyAvroCoder<IndexedRecord> coder = LazyAvroCoder.of();
+        byte[] encoded = CoderUtils.encodeToByteArray(coder, record);
+
+        LazyAvroCoder.StaticSchemaHolderSupplier supplier = new LazyAvroCoder.StaticSchemaHolderSupplier();
+        for (int i = 0; i < 10000; i++) {
+            supplier.get();
+        }
+
+        LazyAvroCoder<IndexedRecord> copy = SerializableUtils.clone(coder);
+        assertThat(copy.getSchema(), is(schema));
+        assertThat(CoderUtils.decodeFromByteArray(copy, encoded), is((Object) record));
+    }
+
+}
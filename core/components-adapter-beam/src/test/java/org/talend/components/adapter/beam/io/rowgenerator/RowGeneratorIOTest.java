@@ -12,6 +12,9 @@
 //============================================================================
 package org.talend.components.adapter.beam.io.rowgenerator;
 
+import static org.apache.beam.sdk.testing.SourceTestUtils.ExpectedSplitOutcome.MUST_FAIL;
+import static org.apache.beam.sdk.testing.SourceTestUtils.ExpectedSplitOutcome.MUST_SUCCEED_AND_BE_CONSISTENT;
+import static org.apache.beam.sdk.testing.SourceTestUtils.assertSplitAtFractionBehavior;
 import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.either;
 import static org.hamcrest.Matchers.hasSize;
@@ -21,6 +24,7 @@ import static org.junit.Assert.assertThat;
 import java.util.List;
 
 import org.apache.avro.generic.IndexedRecord;
+import org.apache.beam.sdk.io.BoundedSource;
 import org.apache.beam.sdk.options.PipelineOptions;
 import org.apache.beam.sdk.options.PipelineOptionsFactory;
 import org.apache.beam.sdk.testing.PAssert;
@@ -86,6 +90,33 @@ public class RowGeneratorIOTest {
         assertThat("All rows generated", expectedRowId, is(95L));
     }
 
+    /** Check that the reader gives away the rows it did not claim yet. */
+    @Test
+    public void testDynamicSplitting() throws Exception {
+        PipelineOptions options = PipelineOptionsFactory.create();
+        RowGeneratorIO.Read read = RowGeneratorIO.read().withSchema(SampleSchemas.recordSimple()).withSeed(0L).withRows(20)
+                .withPartitions(1);
+        BoundedRowGeneratorSource source = new BoundedRowGeneratorSource(read, 0, 0L, 20L);
+
+        BoundedSource.BoundedReader<IndexedRecord> reader = source.createReader(options);
+        assertThat(reader.getFractionConsumed(), is(0.0));
+        assertThat(reader.start(), is(true));
+        BoundedRowGeneratorSource residual = (BoundedRowGeneratorSource) reader.splitAtFraction(0.25);
+        assertThat("Wrong residual row id", residual.getStartRowId(), is(5L));
+        assertThat("Wrong residual number of rows", residual.getNumRows(), is(15L));
+        assertThat("Wrong primary number of rows", ((BoundedRowGeneratorSource) reader.getCurrentSource()).getNumRows(),
+                is(5L));
+        assertThat(reader.getFractionConsumed(), is(0.2));
+        reader.close();
+
+        assertSplitAtFractionBehavior(source, 0, 0.5, MUST_SUCCEED_AND_BE_CONSISTENT, options);
+        assertSplitAtFractionBehavior(source, 5, 0.5, MUST_SUCCEED_AND_BE_CONSISTENT, options);
+        // Rows that were already read can not be given away.
+        assertSplitAtFractionBehavior(source, 15, 0.5, MUST_FAIL, options);
+        // The residual can not be empty.
+        assertSplitAtFractionBehavior(source, 5, 1.0, MUST_FAIL, options);
+    }
+
     @Test
     @Category(ValidatesRunner.class)
     public void testBasicDeterministic() throws Exception {
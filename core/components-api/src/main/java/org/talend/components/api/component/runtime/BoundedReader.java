@@ -43,6 +43,10 @@ import org.joda.time.Instant;
  * may be called concurrently with {@link #advance} or {@link #start}. It is critical that their interaction is implemented in a
  * thread-safe way, otherwise data loss is possible.
  *
+ * <h3>Optional progress and split contract</h3> Both {@link #getFractionConsumed} and {@link #splitAtFraction} are optional:
+ * readers that do not override them report no progress and refuse every split. Readers that do implement them are driven
+ * by the Beam runners through {@code TCompBoundedSourceAdapter}, which lets the runner rebalance stragglers.
+ *
  */
 public interface BoundedReader<T> extends Reader<T> {
 
@@ -64,7 +68,9 @@ public interface BoundedReader<T> extends Reader<T> {
      * <h5>Thread safety</h5> If {@link #splitAtFraction} is implemented, this method can be called concurrently to other methods
      * (including itself), and it is therefore critical for it to be implemented in a thread-safe way.
      */
-    Double getFractionConsumed();
+    default Double getFractionConsumed() {
+        return null;
+    }
 
     /**
      * Returns a {@code Source} describing the same input that this {@code Reader} currently reads (including items
@@ -204,7 +210,9 @@ public interface BoundedReader<T> extends Reader<T> {
      * <p>
      * By default, returns null to indicate that splitting is not possible.
      */
-    BoundedSource splitAtFraction(double fraction);
+    default BoundedSource splitAtFraction(double fraction) {
+        return null;
+    }
 
     /**
      * By default, returns the minimum possible timestamp.
@@ -131,8 +131,9 @@ public class DependenciesReader {
         // reader.lines().filter(line -> StringUtils.countMatches(line, ":") > 3).//
         // filter(line -> !line.endsWith("test")).//
         // forEach(line -> mvnUris.add(parseMvnUri(line)));
-        while (reader.ready()) {
-            String line = reader.readLine();
+        // ready() only tells whether a read would not block, it may be false before the end of a jar entry.
+        String line;
+        while ((line = reader.readLine()) != null) {
             if (isRequiredDependency(line)) {
                 mvnUris.add(parseMvnUri(line));
             } // else not an expected dependencies so ignore it.
@@ -21,8 +21,10 @@ import java.net.URL;
 import java.net.URLConnection;
 import java.net.URLStreamHandler;
 import java.net.URLStreamHandlerFactory;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Objects;
+import java.util.Map;
 
 import org.ops4j.pax.url.mvn.MavenResolver;
 import org.ops4j.pax.url.mvn.MavenResolvers;
@@ -42,6 +44,21 @@ public class JarRuntimeInfo implements RuntimeInfo, SandboxControl {
 
     private static final Logger LOG = LoggerFactory.getLogger(JarRuntimeInfo.class);
 
+    /** The maximum number of dependency lists kept in the cache. */
+    private static final int MAX_CACHED_DEPENDENCIES = 256;
+
+    /**
+     * The dependencies read from the (jar URL, dependencies.txt path), the jar is only opened and parsed once as the
+     * {@link RuntimeInfo}s are used as keys to find the sandboxed classloaders.
+     */
+    private static final Map<String, List<URL>> dependenciesCache = new LinkedHashMap<String, List<URL>>(16, 0.75f, true) {
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, List<URL>> eldest) {
+            return size() > MAX_CACHED_DEPENDENCIES;
+        }
+    };
+
     private final String runtimeClassName;
 
     private final URL jarUrl;
@@ -50,6 +67,11 @@ public class JarRuntimeInfo implements RuntimeInfo, SandboxControl {
 
     private final boolean reusable;
 
+    /**
+     * The runtime class name and the ordered dependencies, computed once to compare the instances.
+     */
+    private volatile String identityKey;
+
     static {
         try {
             new URL("mvn:foo/bar");
@@ -235,9 +257,64 @@ public class JarRuntimeInfo implements RuntimeInfo, SandboxControl {
         return depTxtPath;
     }
 
+    /**
+     * @return the dependencies read from the dependencies.txt file of the jar, this list is shared and cannot be modified.
+     */
     @Override
     public List<URL> getMavenUrlDependencies() {
-        return DependenciesReader.extractDepenencies(jarUrl, depTxtPath);
+        if (jarUrl == null) {
+            return DependenciesReader.extractDepenencies(jarUrl, depTxtPath);
+        }
+        String key = jarUrl.toExternalForm() + '!' + depTxtPath;
+        List<URL> dependencies;
+        synchronized (dependenciesCache) {
+            dependencies = dependenciesCache.get(key);
+        }
+        if (dependencies == null) {
+            // read outside of the lock, the same list may be read twice by concurrent calls
+            dependencies = Collections.unmodifiableList(DependenciesReader.extractDepenencies(jarUrl, depTxtPath));
+            synchronized (dependenciesCache) {
+                dependenciesCache.put(key, dependencies);
+            }
+        }
+        return dependencies;
+    }
+
+    /**
+     * Forget all the dependencies read so far, for instance when the SNAPSHOT jars have been redeployed.
+     */
+    public static void clearDependenciesCache() {
+        synchronized (dependenciesCache) {
+            dependenciesCache.clear();
+        }
+    }
+
+    /**
+     * The key is computed the first time the instance is compared, then kept as the dependencies read from the jar don't
+     * change. The subclasses whose {@link #getMavenUrlDependencies()} may change afterwards must override this method to
+     * return {@link #computeIdentityKey()}.
+     *
+     * @return the key used to compare the instances.
+     */
+    protected String getIdentityKey() {
+        String key = identityKey;
+        if (key == null) {
+            key = computeIdentityKey();
+            identityKey = key;
+        }
+        return key;
+    }
+
+    /**
+     * @return the runtime class name and the ordered dependencies currently returned by {@link #getMavenUrlDependencies()},
+     * so that the dependencies added by the subclasses are taken into account.
+     */
+    protected final String computeIdentityKey() {
+        StringBuilder builder = new StringBuilder(String.valueOf(runtimeClassName));
+        for (URL dependency : getMavenUrlDependencies()) {
+            builder.append('\n').append(dependency.toExternalForm());
+        }
+        return builder.toString();
     }
 
     @Override
@@ -262,13 +339,12 @@ public class JarRuntimeInfo implements RuntimeInfo, SandboxControl {
         // we assume that 2 list of dependencies are equals if they have the same elements in the same order cause we
         // are using them
         // as a classpath in a classloader so the order matters.
-        return this.runtimeClassName.equals(other.runtimeClassName)
-                && getMavenUrlDependencies().equals(other.getMavenUrlDependencies());
+        return this.runtimeClassName.equals(other.runtimeClassName) && getIdentityKey().equals(other.getIdentityKey());
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(runtimeClassName, getMavenUrlDependencies());
+        return getIdentityKey().hashCode();
     }
 
     @Override
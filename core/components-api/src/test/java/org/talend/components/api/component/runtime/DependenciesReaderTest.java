@@ -20,6 +20,7 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertThat;
 
 import java.io.File;
+import java.io.FilterInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
@@ -134,6 +135,24 @@ public class DependenciesReaderTest {
         }
     }
 
+    /**
+     * The whole stream is parsed even if it never tells that bytes are available, as a jar entry.
+     */
+    @Test
+    public void testParseDependenciesWithoutAvailableBytes() throws IOException {
+        DependenciesReader dependenciesReader = new DependenciesReader(null, null);
+        try (InputStream resourceAsStream = new FilterInputStream(this.getClass().getResourceAsStream("dep.txt")) {
+
+            @Override
+            public int available() throws IOException {
+                return 0;
+            }
+        }) {
+            Set<String> deps = dependenciesReader.parseDependencies(resourceAsStream);
+            assertThat(deps, CONTAINS_IN_ANY_ORDER_DEPS);
+        }
+    }
+
     @Test
     public void testComputeDesignDependenciesPath() {
         DependenciesReader dependenciesReader = new DependenciesReader("foo", "bar");
@@ -12,7 +12,9 @@
 //============================================================================
 package org.talend.components.api.component.runtime;
 
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.sameInstance;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
@@ -22,14 +24,18 @@ import static org.junit.Assert.fail;
 
 import java.io.File;
 import java.io.FileInputStream;
+import java.io.FileOutputStream;
 import java.io.IOException;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.net.URLStreamHandler;
 import java.net.URLStreamHandlerFactory;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.List;
 import java.util.jar.JarInputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
 
 import org.junit.BeforeClass;
 import org.junit.Ignore;
@@ -228,6 +234,37 @@ public class JarRuntimeInfoTest {
         assertEquals(fooJarRuntimeInfo.hashCode(), barJarRuntimeInfo.hashCode());
     }
 
+    /**
+     * The dependencies.txt file of a jar is only read once, even by distinct {@link JarRuntimeInfo} instances.
+     */
+    @Test
+    public void testDependenciesReadOnce() throws IOException {
+        String depTxtPath = DependenciesReader.computeDependenciesFilePath("org.talend.components.api.test", "cached");
+        File jar = File.createTempFile("comps-api-cached", ".jar");
+        try {
+            try (ZipOutputStream out = new ZipOutputStream(new FileOutputStream(jar))) {
+                out.putNextEntry(new ZipEntry(depTxtPath));
+                out.write(("The following files have been resolved:\n" //
+                        + "org.talend.components:components-api:jar:0.4.0:compile\n" //
+                        + "org.talend.components:components-common:jar:0.4.0:test\n").getBytes(StandardCharsets.UTF_8));
+                out.closeEntry();
+            }
+            JarRuntimeInfo fooJarRuntimeInfo = new JarRuntimeInfo(jar.toURI().toURL(), depTxtPath, "dummyClass");
+            List<URL> dependencies = fooJarRuntimeInfo.getMavenUrlDependencies();
+            assertThat(dependencies, contains(new URL("mvn:org.talend.components/components-api/0.4.0/jar")));
+
+            // the jar is not read anymore
+            assertTrue(jar.delete());
+            JarRuntimeInfo barJarRuntimeInfo = new JarRuntimeInfo(jar.toURI().toURL(), depTxtPath, "dummyClass");
+            assertThat(barJarRuntimeInfo.getMavenUrlDependencies(), sameInstance(dependencies));
+            assertEquals(fooJarRuntimeInfo, barJarRuntimeInfo);
+            assertEquals(fooJarRuntimeInfo.hashCode(), barJarRuntimeInfo.hashCode());
+        } finally {
+            JarRuntimeInfo.clearDependenciesCache();
+            jar.delete();
+        }
+    }
+
     public JarRuntimeInfo createJarRuntimeInfo(String jarUrlString, String depTxtPath, String runtimeClassName,
             String depStringURL) {
         return createJarRuntimeInfo(jarUrlString, depTxtPath, runtimeClassName, depStringURL, "mvn:foo");
@@ -0,0 +1,215 @@
+//============================================================================
+//
+// Copyright (C) 2006-2023 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// %InstallDIR%\features\org.talend.rcp.branding.%PRODUCTNAME%\%PRODUCTNAME%license.txt
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+//============================================================================
+package org.talend.components.common.oauth;
+
+import java.io.IOException;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.codehaus.jackson.JsonNode;
+
+/**
+ * A cache of the access tokens, shared by the clients asking a token for the same identity.
+ *
+ * <p>
+ * A token is kept until it expires, according to the <code>expires_in</code> or <code>expires_on</code> value of the
+ * response. A token without expiration is only cached when the caller gives a default lifetime, like Salesforce which
+ * doesn't send the lifetime of its sessions. The token is refreshed a bit before its expiration, by a
+ * {@link RefreshAheadToken}.
+ * </p>
+ */
+public class AccessTokenCache {
+
+    /** The default refresh margin, one minute */
+    public static final long DEFAULT_REFRESH_MARGIN_MILLIS = 60 * 1000;
+
+    private static final AccessTokenCache INSTANCE = new AccessTokenCache(DEFAULT_REFRESH_MARGIN_MILLIS);
+
+    private final ConcurrentMap<Key, RefreshAheadToken<JsonNode>> entries = new ConcurrentHashMap<>();
+
+    private final long refreshMarginMillis;
+
+    private final AtomicLong callCount = new AtomicLong();
+
+    private final AtomicLong missCount = new AtomicLong();
+
+    public static AccessTokenCache get() {
+        return INSTANCE;
+    }
+
+    /**
+     * @param refreshMarginMillis the maximum time before the expiration when the token is refreshed, it is reduced to a
+     * tenth of the lifetime of the short lived tokens.
+     */
+    public AccessTokenCache(long refreshMarginMillis) {
+        this.refreshMarginMillis = refreshMarginMillis;
+    }
+
+    /**
+     * The request of a token.
+     */
+    public interface TokenRequest {
+
+        JsonNode requestAccessToken() throws IOException;
+    }
+
+    /**
+     * @param key the identity of the token.
+     * @param request the request of a new token to the token endpoint.
+     * @return a valid token for the key, from the cache or from the token endpoint.
+     */
+    public JsonNode getAccessToken(Key key, TokenRequest request) throws IOException {
+        return getAccessToken(key, request, 0);
+    }
+
+    /**
+     * @param defaultLifetimeMillis the lifetime of the tokens of the responses without expiration, or 0 not to cache them.
+     * @see #getAccessToken(Key, TokenRequest)
+     */
+    public JsonNode getAccessToken(Key key, final TokenRequest request, final long defaultLifetimeMillis)
+            throws IOException {
+        RefreshAheadToken<JsonNode> entry = entries.get(key);
+        if (entry == null) {
+            RefreshAheadToken<JsonNode> newEntry = new RefreshAheadToken<>();
+            entry = entries.putIfAbsent(key, newEntry);
+            if (entry == null) {
+                entry = newEntry;
+            }
+        }
+
+        callCount.incrementAndGet();
+        try {
+            return entry.get(currentTimeMillis(), new RefreshAheadToken.Refresh<JsonNode, IOException>() {
+
+                @Override
+                public RefreshAheadToken.Token<JsonNode> refresh() throws IOException {
+                    missCount.incrementAndGet();
+                    long requestTime = currentTimeMillis();
+                    return toCachedToken(request.requestAccessToken(), requestTime, defaultLifetimeMillis);
+                }
+            });
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for the access token", e);
+        }
+    }
+
+    /**
+     * Remove the token of the key, for example when the token was rejected by the server.
+     */
+    public void invalidate(Key key) {
+        RefreshAheadToken<JsonNode> entry = entries.get(key);
+        if (entry != null) {
+            entry.invalidate();
+        }
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    /**
+     * @return the number of tokens served without a request to the token endpoint.
+     */
+    public long getHitCount() {
+        return callCount.get() - missCount.get();
+    }
+
+    /**
+     * @return the number of tokens requested to the token endpoint.
+     */
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    protected long currentTimeMillis() {
+        return System.currentTimeMillis();
+    }
+
+    /**
+     * @return the token to cache, already expired if the response has no expiration and there is no default lifetime.
+     */
+    private RefreshAheadToken.Token<JsonNode> toCachedToken(JsonNode json, long requestTime, long defaultLifetimeMillis) {
+        long expirationTime;
+        if (json.has(Oauth2JwtClient.KEY_EXPIRES_IN)) {
+            // the expiration is counted from the request, the token was issued after it
+            expirationTime = requestTime + json.get(Oauth2JwtClient.KEY_EXPIRES_IN).asLong() * 1000;
+        } else if (json.has(Oauth2JwtClient.KEY_EXPIRE_ON)) {
+            expirationTime = json.get(Oauth2JwtClient.KEY_EXPIRE_ON).asLong() * 1000;
+        } else if (defaultLifetimeMillis > 0) {
+            expirationTime = requestTime + defaultLifetimeMillis;
+        } else {
+            expirationTime = requestTime;
+        }
+        return RefreshAheadToken.Token.expiringAt(json, requestTime, expirationTime, refreshMarginMillis);
+    }
+
+    /**
+     * The identity of a token : the same token is given for the same endpoint, issuer, subject, audience and scopes, when
+     * the request is signed with the same key.
+     */
+    public static final class Key {
+
+        private final String tokenEndpoint;
+
+        private final String signingKey;
+
+        private final String issuer;
+
+        private final String subject;
+
+        private final String audience;
+
+        private final String scope;
+
+        /**
+         * @param signingKey the fingerprint of the key signing the requests, so that another key, or a wrong one, never
+         * gets the token obtained with this key.
+         */
+        public Key(String tokenEndpoint, String signingKey, String issuer, String subject, String audience, String scope) {
+            this.tokenEndpoint = tokenEndpoint;
+            this.signingKey = signingKey;
+            this.issuer = issuer;
+            this.subject = subject;
+            this.audience = audience;
+            this.scope = scope;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return Objects.equals(tokenEndpoint, other.tokenEndpoint) && Objects.equals(signingKey, other.signingKey)
+                    && Objects.equals(issuer, other.issuer) && Objects.equals(subject, other.subject)
+                    && Objects.equals(audience, other.audience) && Objects.equals(scope, other.scope);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(tokenEndpoint, signingKey, issuer, subject, audience, scope);
+        }
+
+        @Override
+        public String toString() {
+            return "Key [tokenEndpoint=" + tokenEndpoint + ", signingKey=" + signingKey + ", issuer=" + issuer + ", subject="
+                    + subject + ", audience=" + audience + ", scope=" + scope + "]";
+        }
+    }
+}
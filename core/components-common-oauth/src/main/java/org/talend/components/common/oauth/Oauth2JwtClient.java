@@ -16,6 +16,7 @@ import java.io.*;
 import java.net.HttpURLConnection;
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.security.NoSuchAlgorithmException;
 import java.util.Base64;
 import java.util.HashMap;
 import java.util.Map;
@@ -97,12 +98,37 @@ public class Oauth2JwtClient {
 
     private Map<String, String> postPlayloadParams = new HashMap<>();
 
+    private AccessTokenCache tokenCache;
+
+    private AccessTokenCache.Key tokenCacheKey;
+
+    private long defaultTokenLifetimeMillis;
+
     /**
-     * Perform a request to the token end point to get an access token
+     * Get an access token, from the token cache while the token of the same issuer, subject, audience and scope is valid,
+     * else from the token end point.
      * 
      * @throws RuntimeException : if the token can't be gathered or the end point token responds with an http status code != 200
      */
     public JsonNode getAccessToken() throws IOException {
+        if (tokenCache == null) {
+            return requestAccessToken();
+        }
+        return tokenCache.getAccessToken(tokenCacheKey, new AccessTokenCache.TokenRequest() {
+
+            @Override
+            public JsonNode requestAccessToken() throws IOException {
+                return Oauth2JwtClient.this.requestAccessToken();
+            }
+        }, defaultTokenLifetimeMillis);
+    }
+
+    /**
+     * Perform a request to the token end point to get an access token
+     * 
+     * @throws RuntimeException : if the token can't be gathered or the end point token responds with an http status code != 200
+     */
+    private JsonNode requestAccessToken() throws IOException {
         HttpURLConnection connection = createHttpConnection();
         postRequest(connection);
         String response = readResponse(connection);
@@ -181,6 +207,19 @@ public class Oauth2JwtClient {
         this.jwt = builder.jwt.toString();
         this.tokenEndpoint = builder.tokenEndpoint;
         this.postPlayloadParams = builder.postPlayloadParams;
+        this.tokenCache = builder.tokenCache;
+        this.defaultTokenLifetimeMillis = builder.defaultTokenLifetimeMillis;
+        if (tokenCache != null) {
+            ClaimsSet claims = builder.claims;
+            String scope = postPlayloadParams == null ? null : postPlayloadParams.get(KEY_SCOPE);
+            this.tokenCacheKey = new AccessTokenCache.Key(tokenEndpoint, builder.signingKey, claimValue(claims, "iss"),
+                    claimValue(claims, "sub"), claimValue(claims, "aud"), scope);
+        }
+    }
+
+    private static String claimValue(ClaimsSet claims, String name) {
+        Object value = claims == null ? null : claims.getClaim(name);
+        return value == null ? null : String.valueOf(value);
     }
 
     public static IJwsHeaders builder() {
@@ -195,6 +234,26 @@ public class Oauth2JwtClient {
 
         private Map<String, String> postPlayloadParams;
 
+        private ClaimsSet claims;
+
+        private AccessTokenCache tokenCache = AccessTokenCache.get();
+
+        private long defaultTokenLifetimeMillis;
+
+        private String signingKey;
+
+        @Override
+        public IBuild withTokenCache(AccessTokenCache tokenCache) {
+            this.tokenCache = tokenCache;
+            return this;
+        }
+
+        @Override
+        public IBuild withDefaultTokenLifetime(long lifetimeMillis) {
+            this.defaultTokenLifetimeMillis = lifetimeMillis;
+            return this;
+        }
+
         @Override
         public IBuild withPlayloadParams(Map<String, String> postPlayloadParams) {
             this.postPlayloadParams = postPlayloadParams;
@@ -213,12 +272,18 @@ public class Oauth2JwtClient {
             String encodedClaims = Base64.getUrlEncoder().encodeToString(claims.toJSONObject().toString().getBytes(UTF8));
             jwt.append(".");
             jwt.append(encodedClaims);
+            this.claims = claims;
             return this;
         }
 
         @Override
         public ITokenEndpoint signWithX509Key(X509Key x509Key, Algorithm alg) {
             byte[] signedJwtPart = x509Key.sign(jwt.toString(), alg);
+            try {
+                signingKey = x509Key.getPublicKeyFingerprint();
+            } catch (NoSuchAlgorithmException e) {
+                throw new RuntimeException(e);
+            }
             jwt.append(".");
             jwt.append(Base64.getUrlEncoder().encodeToString(signedJwtPart));
             return this;
@@ -260,6 +325,18 @@ public class Oauth2JwtClient {
 
         public IBuild withPlayloadParams(Map<String, String> postPlayloadParams);
 
+        /**
+         * @param tokenCache the cache of the access tokens, the shared cache by default, or null to always request a new
+         * token.
+         */
+        public IBuild withTokenCache(AccessTokenCache tokenCache);
+
+        /**
+         * @param lifetimeMillis the time a token is cached when the response of the token endpoint has no expiration, 0 by
+         * default not to cache these tokens.
+         */
+        public IBuild withDefaultTokenLifetime(long lifetimeMillis);
+
         public Oauth2JwtClient build();
     }
 
@@ -0,0 +1,173 @@
+//============================================================================
+//
+// Copyright (C) 2006-2023 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// %InstallDIR%\features\org.talend.rcp.branding.%PRODUCTNAME%\%PRODUCTNAME%license.txt
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+//============================================================================
+package org.talend.components.common.oauth;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A token shared by several callers, renewed by one of them when it is due.
+ *
+ * <p>
+ * From the refresh time of the token, the first caller requests a new token while the others keep getting the current one
+ * until it expires. When there is no valid token, the callers asking at the same time wait for one request instead of
+ * sending their own.
+ * </p>
+ *
+ * @param <T> the type of the token value.
+ */
+public class RefreshAheadToken<T> {
+
+    private static final Logger logger = LoggerFactory.getLogger(RefreshAheadToken.class.getCanonicalName());
+
+    private volatile Token<T> token;
+
+    /** the refresh in progress, guarded by this */
+    private FutureTask<Token<T>> refresh;
+
+    /**
+     * The request of a new token.
+     *
+     * @param <E> the exception thrown when the token can't be requested.
+     */
+    public interface Refresh<T, E extends Exception> {
+
+        Token<T> refresh() throws E;
+    }
+
+    /**
+     * @param now the current time, in milliseconds.
+     * @param request the request of a new token, when the current one is due.
+     * @return the current token until its refresh time, else a new one, or the current one if an other caller is
+     * refreshing it or the refresh failed while it is valid.
+     * @throws E the failure of the request, when there is no valid token.
+     * @throws InterruptedException when interrupted while an other caller is requesting the token.
+     */
+    @SuppressWarnings("unchecked")
+    public <E extends Exception> T get(long now, final Refresh<T, E> request) throws E, InterruptedException {
+        Token<T> current = token;
+        if (current != null && now < current.refreshTime) {
+            return current.value;
+        }
+
+        FutureTask<Token<T>> task;
+        boolean owner = false;
+        synchronized (this) {
+            current = token;
+            if (current != null && now < current.refreshTime) {
+                return current.value;
+            }
+            task = refresh;
+            if (task == null) {
+                task = new FutureTask<>(new Callable<Token<T>>() {
+
+                    @Override
+                    public Token<T> call() throws E {
+                        try {
+                            Token<T> newToken = request.refresh();
+                            token = newToken;
+                            return newToken;
+                        } finally {
+                            synchronized (RefreshAheadToken.this) {
+                                refresh = null;
+                            }
+                        }
+                    }
+                });
+                refresh = task;
+                owner = true;
+            }
+        }
+
+        boolean valid = current != null && now < current.expirationTime;
+        if (!owner && valid) {
+            return current.value;
+        }
+
+        if (owner) {
+            task.run();
+        }
+        try {
+            return task.get().value;
+        } catch (ExecutionException e) {
+            if (owner && valid) {
+                logger.warn("Failed to refresh the token, the current token is used until it expires", e.getCause());
+                return current.value;
+            }
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            // the request only throws E
+            throw (E) cause;
+        }
+    }
+
+    /**
+     * @return the token if it is valid at this time, or null.
+     */
+    public T getValid(long now) {
+        Token<T> current = token;
+        return current != null && now < current.expirationTime ? current.value : null;
+    }
+
+    public void set(Token<T> token) {
+        this.token = token;
+    }
+
+    /**
+     * Remove the token, for example when it was rejected by the server.
+     */
+    public void invalidate() {
+        token = null;
+    }
+
+    /**
+     * A token value with the time it is due for a refresh and the time it expires.
+     */
+    public static final class Token<T> {
+
+        private final T value;
+
+        private final long refreshTime;
+
+        private final long expirationTime;
+
+        public Token(T value, long refreshTime, long expirationTime) {
+            this.value = value;
+            this.refreshTime = refreshTime;
+            this.expirationTime = expirationTime;
+        }
+
+        /**
+         * @param requestTime the time of the request of the token, the token was issued after it.
+         * @param refreshMarginMillis the maximum time before the expiration when the token is refreshed, it is reduced to
+         * a tenth of the lifetime of the short lived tokens.
+         */
+        public static <T> Token<T> expiringAt(T value, long requestTime, long expirationTime, long refreshMarginMillis) {
+            long lifetime = Math.max(expirationTime - requestTime, 0);
+            return new Token<>(value, expirationTime - Math.min(refreshMarginMillis, lifetime / 10), expirationTime);
+        }
+
+        public T getValue() {
+            return value;
+        }
+    }
+}
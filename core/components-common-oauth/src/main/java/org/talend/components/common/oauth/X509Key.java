@@ -104,6 +104,21 @@ public class X509Key {
         return Base64.encodeBase64String(this.publicKey.getEncoded());
     }
 
+    /**
+     * Hex encoded SHA-256 hash of the public key, which identifies the signing key.
+     *
+     * @return hex encoded string
+     * @throws NoSuchAlgorithmException
+     */
+    public String getPublicKeyFingerprint() throws NoSuchAlgorithmException {
+        final MessageDigest md = MessageDigest.getInstance("SHA-256");
+        StringBuilder fingerprint = new StringBuilder();
+        for (byte b : md.digest(this.publicKey.getPublicKey().getEncoded())) {
+            fingerprint.append(String.format("%02x", b));
+        }
+        return fingerprint.toString();
+    }
+
     private static byte[] getHash(final byte[] inputBytes) throws NoSuchAlgorithmException, CertificateEncodingException {
         final MessageDigest md = MessageDigest.getInstance("SHA-1");
         md.update(inputBytes);
@@ -0,0 +1,253 @@
+//============================================================================
+//
+// Copyright (C) 2006-2023 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// %InstallDIR%\features\org.talend.rcp.branding.%PRODUCTNAME%\%PRODUCTNAME%license.txt
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+//============================================================================
+package org.talend.components.common.oauth;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.codehaus.jackson.JsonNode;
+import org.codehaus.jackson.map.ObjectMapper;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.talend.components.common.oauth.Jwt.ClaimsSet;
+import org.talend.components.common.oauth.Jwt.JwsHeader;
+import org.talend.components.common.oauth.Jwt.JwsHeader.Algorithm;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Get the tokens from a local stub of the token endpoint, counting the requests.
+ */
+public class AccessTokenCacheTest {
+
+    private HttpServer server;
+
+    private ExecutorService serverExecutor;
+
+    private final AtomicInteger requestCount = new AtomicInteger();
+
+    private volatile String responseBody = "{\"access_token\":\"TOKEN\", \"token_type\":\"Bearer\", \"expires_in\":3600}";
+
+    private volatile int responseStatus = 200;
+
+    private volatile long responseDelayMillis;
+
+    private long now = 1000000;
+
+    private AccessTokenCache cache = new AccessTokenCache(AccessTokenCache.DEFAULT_REFRESH_MARGIN_MILLIS) {
+
+        @Override
+        protected long currentTimeMillis() {
+            synchronized (AccessTokenCacheTest.this) {
+                return now;
+            }
+        }
+    };
+
+    @Before
+    public void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        serverExecutor = Executors.newCachedThreadPool();
+        server.setExecutor(serverExecutor);
+        server.createContext("/token", new HttpHandler() {
+
+            @Override
+            public void handle(HttpExchange exchange) throws IOException {
+                int count = requestCount.incrementAndGet();
+                try {
+                    Thread.sleep(responseDelayMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                byte[] response = responseBody.replace("TOKEN", "token-" + count).getBytes(StandardCharsets.UTF_8);
+                exchange.sendResponseHeaders(responseStatus, response.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(response);
+                }
+            }
+        });
+        server.start();
+    }
+
+    @After
+    public void stopServer() {
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    private synchronized void advanceTime(long millis) {
+        now += millis;
+    }
+
+    private JsonNode getAccessToken(String subject) throws IOException, URISyntaxException {
+        return getAccessToken(subject, 0);
+    }
+
+    private JsonNode getAccessToken(String subject, long defaultLifetimeMillis) throws IOException, URISyntaxException {
+        Map<String, String> params = new HashMap<>();
+        params.put("grant_type", "urn:ietf:params:oauth:grant-type:jwt-bearer");
+        return Oauth2JwtClient.builder()//
+                .withJwsHeaders(new JwsHeader.Builder().algorithm(Algorithm.RS256).build())//
+                .withJwtClaims(new ClaimsSet.Builder()//
+                        .id(UUID.randomUUID().toString())//
+                        .issuer(Oauth2JwtClientTest.clientId)//
+                        .subject(subject)//
+                        .audience(Oauth2JwtClientTest.audience)//
+                        .build())//
+                .signWithX509Key(x509Key(), X509Key.Algorithm.SHA256withRSA)//
+                .fromTokenEndpoint("http://localhost:" + server.getAddress().getPort() + "/token")//
+                .withPlayloadParams(params)//
+                .withTokenCache(cache)//
+                .withDefaultTokenLifetime(defaultLifetimeMillis)//
+                .build()//
+                .getAccessToken();
+    }
+
+    private X509Key x509Key() throws URISyntaxException {
+        return X509Key.builder()//
+                .keyStorePath(getClass().getClassLoader().getResource("00D0Y000001dveq.jks").toURI().getPath())//
+                .keyStorePassword("talend2017")//
+                .certificateAlias("jobcert")//
+                .build();
+    }
+
+    @Test
+    public void testTokenIsReusedUntilRefresh() throws Exception {
+        assertEquals("token-1", getAccessToken("user@talend.com").get("access_token").asText());
+        assertEquals("token-1", getAccessToken("user@talend.com").get("access_token").asText());
+        assertEquals(1, requestCount.get());
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+
+        // an other subject has its own token
+        assertEquals("token-2", getAccessToken("other@talend.com").get("access_token").asText());
+
+        // the token is refreshed a minute before its expiration
+        advanceTime(3600 * 1000 - 60 * 1000);
+        assertEquals("token-3", getAccessToken("user@talend.com").get("access_token").asText());
+        assertEquals("token-3", getAccessToken("user@talend.com").get("access_token").asText());
+        assertEquals(3, requestCount.get());
+    }
+
+    @Test
+    public void testConcurrentCallersShareOneRequest() throws Exception {
+        responseDelayMillis = 300;
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<JsonNode>> tokens = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                tokens.add(executor.submit(new Callable<JsonNode>() {
+
+                    @Override
+                    public JsonNode call() throws Exception {
+                        return getAccessToken("user@talend.com");
+                    }
+                }));
+            }
+            for (Future<JsonNode> token : tokens) {
+                assertEquals("token-1", token.get().get("access_token").asText());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1, requestCount.get());
+    }
+
+    @Test
+    public void testFailedRefreshKeepsTheValidToken() throws Exception {
+        getAccessToken("user@talend.com");
+        advanceTime(3600 * 1000 - 30 * 1000);
+        responseStatus = 500;
+
+        assertEquals("token-1", getAccessToken("user@talend.com").get("access_token").asText());
+        assertEquals(2, requestCount.get());
+    }
+
+    @Test(expected = RuntimeException.class)
+    public void testExpiredTokenIsNotUsed() throws Exception {
+        getAccessToken("user@talend.com");
+        advanceTime(3600 * 1000);
+        responseStatus = 500;
+
+        getAccessToken("user@talend.com");
+    }
+
+    @Test
+    public void testTokenWithoutExpirationIsNotCached() throws Exception {
+        responseBody = "{\"access_token\":\"TOKEN\", \"token_type\":\"Bearer\"}";
+
+        getAccessToken("user@talend.com");
+        getAccessToken("user@talend.com");
+
+        assertEquals(2, requestCount.get());
+        assertEquals(0, cache.getHitCount());
+    }
+
+    @Test
+    public void testTokenWithoutExpirationIsCachedForTheDefaultLifetime() throws Exception {
+        responseBody = "{\"access_token\":\"TOKEN\", \"token_type\":\"Bearer\"}";
+
+        assertEquals("token-1", getAccessToken("user@talend.com", 600000).get("access_token").asText());
+        advanceTime(500000);
+        assertEquals("token-1", getAccessToken("user@talend.com", 600000).get("access_token").asText());
+        assertEquals(1, requestCount.get());
+
+        advanceTime(100000);
+        assertEquals("token-2", getAccessToken("user@talend.com", 600000).get("access_token").asText());
+        assertEquals(2, requestCount.get());
+    }
+
+    @Test
+    public void testTokenIsNotSharedBetweenSigningKeys() throws Exception {
+        String fingerprint = x509Key().getPublicKeyFingerprint();
+        assertEquals(fingerprint, x509Key().getPublicKeyFingerprint());
+        assertEquals(64, fingerprint.length());
+
+        final ObjectMapper mapper = new ObjectMapper();
+        AccessTokenCache.TokenRequest request = new AccessTokenCache.TokenRequest() {
+
+            @Override
+            public JsonNode requestAccessToken() throws IOException {
+                return mapper.readTree("{\"access_token\":\"token-" + requestCount.incrementAndGet()
+                        + "\", \"expires_in\":3600}");
+            }
+        };
+        AccessTokenCache.Key key = new AccessTokenCache.Key("endpoint", fingerprint, "issuer", "user", "audience", null);
+        AccessTokenCache.Key otherKey = new AccessTokenCache.Key("endpoint", "other", "issuer", "user", "audience", null);
+
+        JsonNode token = cache.getAccessToken(key, request);
+        assertNotEquals(token.get("access_token").asText(),
+                cache.getAccessToken(otherKey, request).get("access_token").asText());
+        assertEquals(token.get("access_token").asText(), cache.getAccessToken(key, request).get("access_token").asText());
+        assertEquals(2, requestCount.get());
+    }
+}
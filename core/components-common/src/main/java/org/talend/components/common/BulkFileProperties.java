@@ -24,6 +24,7 @@ import java.util.Set;
 
 import static org.talend.daikon.properties.presentation.Widget.widget;
 import static org.talend.daikon.properties.property.PropertyFactory.newBoolean;
+import static org.talend.daikon.properties.property.PropertyFactory.newInteger;
 import static org.talend.daikon.properties.property.PropertyFactory.newProperty;
 
 public class BulkFileProperties extends FixedConnectorsComponentProperties {
@@ -32,6 +33,18 @@ public class BulkFileProperties extends FixedConnectorsComponentProperties {
 
     public Property<Boolean> append = newBoolean("append");
 
+    /**
+     * The options below change the files produced by the writer, they are not in the layout of this class : only the
+     * components whose bulk exec can load them should show them.
+     */
+    public Property<Boolean> compress = newBoolean("compress");
+
+    /** Start a new part after this number of rows, 0 for no limit */
+    public Property<Integer> rollingRowCount = newInteger("rollingRowCount");
+
+    /** Start a new part after about this size in MB, 0 for no limit */
+    public Property<Integer> rollingFileSize = newInteger("rollingFileSize");
+
     public ISchemaListener schemaListener;
 
     public SchemaProperties schema = new SchemaProperties("schema") {
@@ -15,12 +15,14 @@ package org.talend.components.common.config.jdbc;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
 
 /**
  * Provides information of type mapping for Database Management System (DBMS)
  * This data is retrieved from external configuration for JDBC components
+ * Once loaded, a Dbms is not modified anymore and may be shared by all the components using the same mapping file
  */
 public class Dbms {
 
@@ -38,6 +40,12 @@ public class Dbms {
 
     private final Map<String, MappingType<DbmsType, TalendType>> dbmsToTalendMapping = new HashMap<>();
 
+    /**
+     * Index of {@link #dbmsToTalendMapping} by upper case DBMS type name, to match the type names reported by the JDBC
+     * drivers
+     */
+    private final Map<String, MappingType<DbmsType, TalendType>> dbmsToTalendMappingIgnoreCase = new HashMap<>();
+
     private String defaultDbmsType;
 
     /**
@@ -152,6 +160,23 @@ public class Dbms {
         return dbmsToTalendMapping.get(dbmsTypeName);
     }
 
+    /**
+     * Returns mapping for DBMS type as source type, ignoring the case of the type name when there is no exact match
+     * 
+     * @param dbmsTypeName DBMS type name, as reported by the JDBC driver
+     * @return Mapping object describing all Talend types to which this DBMS type may be mapped, or null
+     */
+    public MappingType<DbmsType, TalendType> findDbmsMapping(String dbmsTypeName) {
+        if (dbmsTypeName == null) {
+            return null;
+        }
+        MappingType<DbmsType, TalendType> mapping = dbmsToTalendMapping.get(dbmsTypeName);
+        if (mapping == null) {
+            mapping = dbmsToTalendMappingIgnoreCase.get(dbmsTypeName.toUpperCase(Locale.ROOT));
+        }
+        return mapping;
+    }
+
     /**
      * Returns set of advised Talend types for specified DBMS type
      * 
@@ -202,6 +227,10 @@ public class Dbms {
 
     void addDbMapping(String sourceTypeName, MappingType<DbmsType, TalendType> mapping) {
         dbmsToTalendMapping.put(sourceTypeName, mapping);
+        String upperCaseName = sourceTypeName.toUpperCase(Locale.ROOT);
+        if (!dbmsToTalendMappingIgnoreCase.containsKey(upperCaseName) || upperCaseName.equals(sourceTypeName)) {
+            dbmsToTalendMappingIgnoreCase.put(upperCaseName, mapping);
+        }
     }
 
     /**
@@ -12,6 +12,7 @@
 //============================================================================
 package org.talend.components.common.config.jdbc;
 
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Set;
 
@@ -30,7 +31,7 @@ public class MappingType<SourceT, TargetT> {
     public MappingType(SourceT sourceType, TargetT defaultTargetType, Set<TargetT> alternativeTargetTypes) {
         this.sourceType = sourceType;
         this.defaultTargetType = defaultTargetType;
-        this.alternativeTargetTypes = new HashSet<>(alternativeTargetTypes);
+        this.alternativeTargetTypes = Collections.unmodifiableSet(new HashSet<>(alternativeTargetTypes));
     }
 
     public TargetT getDefaultType() {
@@ -12,11 +12,18 @@
 //============================================================================
 package org.talend.components.common.runtime;
 
+import java.io.BufferedWriter;
 import java.io.File;
+import java.io.FileOutputStream;
+import java.io.FilterOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.zip.GZIPOutputStream;
 
 import org.apache.avro.Schema;
 import org.apache.avro.generic.IndexedRecord;
@@ -33,9 +40,17 @@ import com.talend.csv.CSVWriter;
 
 /**
  * Generate bulk file
+ *
+ * The file can be compressed with gzip, and split in several parts by number of rows or by size : the first part is
+ * the bulk file, the next ones add their index to its name, "bulk_1.csv", "bulk_2.csv"... Each part starts with the
+ * header.
  */
 public class BulkFileWriter implements Writer<Result> {
 
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final String GZIP_EXTENSION = ".gz";
+
     protected RuntimeContainer container;
 
     private WriteOperation<Result> writeOperation;
@@ -56,6 +71,23 @@ public class BulkFileWriter implements Writer<Result> {
 
     private boolean isAppend;
 
+    private boolean compress;
+
+    private long rollingRowCount;
+
+    private long rollingFileSize;
+
+    private final List<File> files = new ArrayList<>();
+
+    private CountingOutputStream fileOutput;
+
+    private long partRowCount;
+
+    private String[] headers;
+
+    /** The values of the current record, reused for the next ones as the CSV writer doesn't keep them */
+    private String[] values;
+
     private transient IndexedRecordConverter<IndexedRecord, IndexedRecord> factory;
 
     public BulkFileWriter(WriteOperation<Result> writeOperation, BulkFileProperties bulkProperties, RuntimeContainer container) {
@@ -74,14 +106,64 @@ public class BulkFileWriter implements Writer<Result> {
         if (filepath == null || filepath.isEmpty()) {
             throw new RuntimeException("Please set a valid value for \"Bulk File Path\" field.");
         }
-        File file = new File(bulkProperties.bulkFilePath.getStringValue());
-        file.getParentFile().mkdirs();
-        csvWriter = new CSVWriter(new OutputStreamWriter(new java.io.FileOutputStream(file, isAppend), charset));
+        compress = Boolean.TRUE.equals(bulkProperties.compress.getValue());
+        rollingRowCount = positive(bulkProperties.rollingRowCount.getValue());
+        rollingFileSize = positive(bulkProperties.rollingFileSize.getValue()) * 1024 * 1024;
+
+        openPart(new File(filepath), isAppend);
+    }
+
+    private static long positive(Integer value) {
+        return value == null || value < 0 ? 0 : value;
+    }
+
+    private void openPart(File file, boolean append) throws IOException {
+        File parent = file.getParentFile();
+        if (parent != null) {
+            parent.mkdirs();
+        }
+        fileOutput = new CountingOutputStream(new FileOutputStream(file, append));
+        OutputStream output = compress ? new GZIPOutputStream(fileOutput, BUFFER_SIZE) : fileOutput;
+        csvWriter = new CSVWriter(new BufferedWriter(new OutputStreamWriter(output, charset), BUFFER_SIZE));
         csvWriter.setSeparator(separator);
 
+        files.add(file);
+        partRowCount = 0;
+        headerIsReady = false;
         fileIsEmpty = (file.length() == 0);
     }
 
+    /**
+     * @return the part of the bulk file with the given index, the first part being the bulk file itself.
+     */
+    private File getPartFile(int index) {
+        File file = files.get(0);
+        String name = file.getName();
+        String suffix = "";
+        if (name.endsWith(GZIP_EXTENSION)) {
+            suffix = GZIP_EXTENSION;
+            name = name.substring(0, name.length() - suffix.length());
+        }
+        int dot = name.lastIndexOf('.');
+        if (dot > 0) {
+            suffix = name.substring(dot) + suffix;
+            name = name.substring(0, dot);
+        }
+        return new File(file.getParentFile(), name + "_" + index + suffix);
+    }
+
+    /**
+     * The size of a part is checked on the bytes already written to the file, so a part is a bit larger than the rolling
+     * size, by at most the buffers of the writer.
+     */
+    private boolean isPartFull() {
+        if (partRowCount == 0) {
+            return false;
+        }
+        return (rollingRowCount > 0 && partRowCount >= rollingRowCount)
+                || (rollingFileSize > 0 && fileOutput.getCount() >= rollingFileSize);
+    }
+
     private boolean headerIsReady = false;
 
     private boolean fileIsEmpty = false;
@@ -92,21 +174,34 @@ public class BulkFileWriter implements Writer<Result> {
             return;
         }
 
-        if (!headerIsReady && (!isAppend || fileIsEmpty)) {
+        if (isPartFull()) {
+            csvWriter.close();
+            openPart(getPartFile(files.size()), false);
+        }
+
+        if (!headerIsReady) {
+            if (fileIsEmpty) {
+                csvWriter.writeNext(getHeaders(datum));
+            }
+            headerIsReady = true;
+        }
+
+        csvWriter.writeNext(getValuesArray(datum));
+        partRowCount++;
+        result.totalCount++;
+    }
+
+    private String[] getHeaders(Object datum) {
+        if (headers == null) {
             Schema schema = new Schema.Parser().setValidateDefaults(false).parse(bulkProperties.schema.schema.getStringValue());
 
             if (AvroUtils.isIncludeAllFields(schema) && (datum instanceof org.apache.avro.generic.IndexedRecord)) {
                 org.apache.avro.generic.IndexedRecord record = (org.apache.avro.generic.IndexedRecord) datum;
                 schema = record.getSchema();
             }
-
-            csvWriter.writeNext(getHeaders(schema));
-            headerIsReady = true;
+            headers = getHeaders(schema);
         }
-
-        List<String> values = getValues(datum);
-        csvWriter.writeNext(values.toArray(new String[values.size()]));
-        result.totalCount++;
+        return headers;
     }
 
     public void flush() throws IOException {
@@ -125,6 +220,14 @@ public class BulkFileWriter implements Writer<Result> {
         return writeOperation;
     }
 
+    /**
+     * @return the parts of the bulk file written so far, in the order of the rows, so that they can be loaded in
+     * parallel.
+     */
+    public List<File> getFiles() {
+        return Collections.unmodifiableList(files);
+    }
+
     public String[] getHeaders(Schema schema) {
         List<String> headers = new ArrayList<String>();
         for (Schema.Field f : schema.getFields()) {
@@ -134,14 +237,29 @@ public class BulkFileWriter implements Writer<Result> {
     }
 
     public List<String> getValues(Object datum) {
+        return new ArrayList<String>(Arrays.asList(getValuesArray(datum)));
+    }
+
+    /**
+     * @return the values of the record, in an array reused for the next record.
+     */
+    protected String[] getValuesArray(Object datum) {
         IndexedRecord input = getFactory(datum).convertToAvro((IndexedRecord) datum);
-        List<String> values = new ArrayList<String>();
-        for (Schema.Field f : input.getSchema().getFields()) {
-            if (input.get(f.pos()) != null) {
-                values.add(String.valueOf(input.get(f.pos())));
-            } else {
-                values.add("");
-            }
+        List<Schema.Field> fields = input.getSchema().getFields();
+        String[] values = getValuesBuffer(fields.size());
+        for (int i = 0; i < values.length; i++) {
+            Object value = input.get(fields.get(i).pos());
+            values[i] = value != null ? String.valueOf(value) : "";
+        }
+        return values;
+    }
+
+    /**
+     * @return the array of the values of the records, with the given size.
+     */
+    protected String[] getValuesBuffer(int size) {
+        if (values == null || values.length != size) {
+            values = new String[size];
         }
         return values;
     }
@@ -153,4 +271,32 @@ public class BulkFileWriter implements Writer<Result> {
         }
         return factory;
     }
+
+    /**
+     * Count the bytes written to the file, after the compression.
+     */
+    private static class CountingOutputStream extends FilterOutputStream {
+
+        private long count;
+
+        CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        long getCount() {
+            return count;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+    }
 }
@@ -0,0 +1,595 @@
+//============================================================================
+//
+// Copyright (C) 2006-2023 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// %InstallDIR%\features\org.talend.rcp.branding.%PRODUCTNAME%\%PRODUCTNAME%license.txt
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+//============================================================================
+package org.talend.components.common.runtime;
+
+import java.text.ParseException;
+import java.text.ParsePosition;
+import java.text.SimpleDateFormat;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.format.ResolverStyle;
+import java.time.format.SignStyle;
+import java.time.temporal.ChronoField;
+import java.time.temporal.TemporalAccessor;
+import java.time.temporal.TemporalQueries;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TimeZone;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * A process-wide cache of compiled, immutable and thread-safe date formats, taking {@link SimpleDateFormat} patterns.
+ *
+ * Each (pattern, locale, lenient) is compiled once:
+ * <ul>
+ * <li>the common ISO patterns get hand-written parsers and formatters that do not allocate any intermediate object;</li>
+ * <li>the patterns that {@link DateTimeFormatter} interprets exactly as {@link SimpleDateFormat} are compiled to a
+ * {@link DateTimeFormatter};</li>
+ * <li>the other patterns (two digits years, time zone names, week fields...) fall back to a {@link SimpleDateFormat}
+ * per thread, so that their behavior does not change.</li>
+ * </ul>
+ *
+ * Like {@link SimpleDateFormat}, the parsers accept numbers that are not padded, and the dates are formatted and parsed
+ * in the default time zone unless another one is given. The dates before the Gregorian cutover (1582-10-15) are left to
+ * a {@link SimpleDateFormat} whatever the pattern: it uses the Julian calendar for them, while java.time uses the
+ * proleptic Gregorian calendar.
+ */
+public final class DateFormats {
+
+    /** Above this number of compiled formats, the new ones are not cached anymore. */
+    private static final int MAX_CACHED_FORMATS = 1024;
+
+    private static final ConcurrentMap<Key, CompiledDateFormat> cache = new ConcurrentHashMap<>();
+
+    private DateFormats() {
+    }
+
+    public static CompiledDateFormat get(String pattern) {
+        return get(pattern, null, true);
+    }
+
+    public static CompiledDateFormat get(String pattern, boolean lenient) {
+        return get(pattern, null, lenient);
+    }
+
+    /**
+     * @param pattern a {@link SimpleDateFormat} pattern.
+     * @param locale the locale of the format, or null for the default format locale.
+     * @param lenient whether out of range values roll over, as with {@link SimpleDateFormat#setLenient(boolean)}.
+     * @return the compiled format, shared by all the threads.
+     */
+    public static CompiledDateFormat get(String pattern, Locale locale, boolean lenient) {
+        Key key = new Key(pattern, locale == null ? Locale.getDefault(Locale.Category.FORMAT) : locale, lenient);
+        CompiledDateFormat format = cache.get(key);
+        if (format == null) {
+            format = compile(key);
+            if (cache.size() < MAX_CACHED_FORMATS) {
+                CompiledDateFormat previous = cache.putIfAbsent(key, format);
+                if (previous != null) {
+                    format = previous;
+                }
+            }
+        }
+        return format;
+    }
+
+    private static CompiledDateFormat compile(Key key) {
+        CompiledDateFormat javaTimeFormat = JavaTimeDateFormat.compile(key);
+        if (javaTimeFormat == null) {
+            return new LegacyDateFormat(key);
+        }
+        IsoLayout isoLayout = IsoLayout.of(key.pattern);
+        if (isoLayout != null) {
+            return new IsoDateFormat(isoLayout, key.lenient, javaTimeFormat);
+        }
+        return javaTimeFormat;
+    }
+
+    /**
+     * A compiled date format. Instances are immutable and can be shared by any number of threads.
+     */
+    public abstract static class CompiledDateFormat {
+
+        /**
+         * The dates before this time are formatted by a {@link SimpleDateFormat}: 1582-10-15T00:00:00Z, the Gregorian
+         * cutover of {@link java.util.GregorianCalendar}, plus two days so that no time zone offset can move a date of the
+         * Julian calendar after it.
+         */
+        static final long GREGORIAN_CUTOVER_LIMIT_TIME = -12219292800000L + 2 * 86400000L;
+
+        /**
+         * The local dates before this one are parsed by a {@link SimpleDateFormat}, see
+         * {@link #GREGORIAN_CUTOVER_LIMIT_TIME}.
+         */
+        static final LocalDateTime GREGORIAN_CUTOVER_LIMIT = LocalDateTime.of(1582, 10, 17, 0, 0);
+
+        public String format(Date date) {
+            return format(date, TimeZone.getDefault());
+        }
+
+        public abstract String format(Date date, TimeZone timeZone);
+
+        public Date parse(String text) throws ParseException {
+            return parse(text, TimeZone.getDefault());
+        }
+
+        /**
+         * @param text the text to parse, it must be fully consumed by the pattern.
+         * @param timeZone the time zone of the dates that have no offset in their text.
+         * @return the parsed date.
+         * @throws ParseException if the text does not match the pattern.
+         */
+        public abstract Date parse(String text, TimeZone timeZone) throws ParseException;
+
+        /**
+         * Resolve a local date time in a time zone as a {@link java.util.GregorianCalendar}: the standard time is chosen
+         * when the local time is repeated, and the local time that is skipped is rejected unless the format is lenient.
+         */
+        static Date toDate(LocalDateTime dateTime, TimeZone timeZone, boolean lenient, String text) throws ParseException {
+            long local = dateTime.toEpochSecond(ZoneOffset.UTC) * 1000L + dateTime.getNano() / 1000000;
+            int offset = timeZone.getOffset(local - timeZone.getRawOffset());
+            long time = local - offset;
+            int actualOffset = timeZone.getOffset(time);
+            if (actualOffset != offset) {
+                // skipped by a daylight saving time transition
+                if (!lenient) {
+                    throw new ParseException("Unparseable date: \"" + text + "\"", 0);
+                }
+                time = local - actualOffset;
+            }
+            return new Date(time);
+        }
+
+        static ZoneOffset offset(long time, TimeZone timeZone) {
+            return ZoneOffset.ofTotalSeconds(timeZone.getOffset(time) / 1000);
+        }
+    }
+
+    /**
+     * A format compiled to a {@link DateTimeFormatter}.
+     */
+    static class JavaTimeDateFormat extends CompiledDateFormat {
+
+        private final DateTimeFormatter formatter;
+
+        private final boolean lenient;
+
+        /** Handles the dates before the Gregorian cutover. */
+        private final LegacyDateFormat legacy;
+
+        private JavaTimeDateFormat(DateTimeFormatter formatter, boolean lenient, LegacyDateFormat legacy) {
+            this.formatter = formatter;
+            this.lenient = lenient;
+            this.legacy = legacy;
+        }
+
+        /**
+         * @return the compiled format, or null if {@link DateTimeFormatter} does not interpret the pattern exactly as
+         * {@link SimpleDateFormat}.
+         */
+        static JavaTimeDateFormat compile(Key key) {
+            DateTimeFormatterBuilder builder = new DateTimeFormatterBuilder().parseCaseInsensitive().parseLenient();
+            Map<Character, Integer> letters;
+            try {
+                letters = appendPattern(builder, key.pattern);
+            } catch (IllegalArgumentException e) {
+                return null;
+            }
+            if (letters == null) {
+                return null;
+            }
+
+            // SimpleDateFormat defaults the missing fields to 1970-01-01T00:00:00.000 in the AD era.
+            builder.parseDefaulting(ChronoField.ERA, 1);
+            if (!letters.containsKey('y')) {
+                builder.parseDefaulting(ChronoField.YEAR_OF_ERA, 1970);
+            }
+            if (!letters.containsKey('M')) {
+                builder.parseDefaulting(ChronoField.MONTH_OF_YEAR, 1);
+            }
+            if (!letters.containsKey('d')) {
+                builder.parseDefaulting(ChronoField.DAY_OF_MONTH, 1);
+            }
+            boolean hourOfAmPm = letters.containsKey('h') || letters.containsKey('K');
+            if (hourOfAmPm) {
+                if (!letters.containsKey('a')) {
+                    builder.parseDefaulting(ChronoField.AMPM_OF_DAY, 0);
+                }
+            } else if (!letters.containsKey('H') && !letters.containsKey('k')) {
+                builder.parseDefaulting(ChronoField.HOUR_OF_DAY, 0);
+            }
+            if (!letters.containsKey('m')) {
+                builder.parseDefaulting(ChronoField.MINUTE_OF_HOUR, 0);
+            }
+            if (!letters.containsKey('s')) {
+                builder.parseDefaulting(ChronoField.SECOND_OF_MINUTE, 0);
+            }
+            if (!letters.containsKey('S')) {
+                builder.parseDefaulting(ChronoField.NANO_OF_SECOND, 0);
+            }
+
+            DateTimeFormatter formatter = builder.toFormatter(key.locale)
+                    .withResolverStyle(key.lenient ? ResolverStyle.LENIENT : ResolverStyle.STRICT);
+            return new JavaTimeDateFormat(formatter, key.lenient, new LegacyDateFormat(key));
+        }
+
+        /**
+         * Append the pattern to the builder. The milliseconds are appended as a number and not as a fraction of second,
+         * since {@link SimpleDateFormat} reads "5" as 5 milliseconds, and the years are appended without sign.
+         *
+         * @return the number of occurrences of each pattern letter, or null if the pattern contains a letter or a
+         * character that {@link DateTimeFormatter} does not interpret as {@link SimpleDateFormat}.
+         */
+        private static Map<Character, Integer> appendPattern(DateTimeFormatterBuilder builder, String pattern) {
+            Map<Character, Integer> letters = new HashMap<>();
+            StringBuilder pending = new StringBuilder();
+            boolean quoted = false;
+            int i = 0;
+            while (i < pattern.length()) {
+                char c = pattern.charAt(i);
+                if (c == '\'' || quoted) {
+                    quoted = c == '\'' ? !quoted : quoted;
+                    pending.append(c);
+                    i++;
+                    continue;
+                }
+                int count = 1;
+                while (i + count < pattern.length() && pattern.charAt(i + count) == c) {
+                    count++;
+                }
+                if ((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z')) {
+                    if (!isSupported(c, count)) {
+                        return null;
+                    }
+                    letters.put(c, letters.containsKey(c) ? letters.get(c) + count : count);
+                } else if (c == '[' || c == ']' || c == '{' || c == '}' || c == '#') {
+                    // reserved by DateTimeFormatter, literal for SimpleDateFormat
+                    return null;
+                }
+                if (c == 'S' || c == 'y') {
+                    if (pending.length() > 0) {
+                        builder.appendPattern(pending.toString());
+                        pending.setLength(0);
+                    }
+                    if (c == 'S') {
+                        builder.appendValue(ChronoField.MILLI_OF_SECOND, count);
+                    } else {
+                        // no sign before the years after 9999
+                        builder.appendValue(ChronoField.YEAR_OF_ERA, count, 19, SignStyle.NORMAL);
+                    }
+                } else {
+                    pending.append(pattern, i, i + count);
+                }
+                i += count;
+            }
+            if (quoted) {
+                return null;
+            }
+            if (pending.length() > 0) {
+                builder.appendPattern(pending.toString());
+            }
+            return letters;
+        }
+
+        private static boolean isSupported(char letter, int count) {
+            switch (letter) {
+            case 'y':
+                // two digits years are not resolved against the same century
+                return count != 2 && count < 19;
+            case 'M':
+                return count <= 4;
+            case 'd':
+            case 'H':
+            case 'h':
+            case 'K':
+            case 'k':
+            case 'm':
+            case 's':
+                return count <= 2;
+            case 'S':
+                return count == 3;
+            case 'a':
+                return count == 1;
+            case 'X':
+                return count <= 3;
+            case 'Z':
+                return count <= 3;
+            default:
+                return false;
+            }
+        }
+
+        @Override
+        public String format(Date date, TimeZone timeZone) {
+            long time = date.getTime();
+            if (time < GREGORIAN_CUTOVER_LIMIT_TIME) {
+                return legacy.format(date, timeZone);
+            }
+            return formatter.format(Instant.ofEpochMilli(time).atOffset(offset(time, timeZone)));
+        }
+
+        @Override
+        public Date parse(String text, TimeZone timeZone) throws ParseException {
+            TemporalAccessor parsed;
+            LocalDateTime dateTime;
+            try {
+                parsed = formatter.parse(text);
+                LocalDate date = parsed.query(TemporalQueries.localDate());
+                LocalTime time = parsed.query(TemporalQueries.localTime());
+                if (date == null || time == null) {
+                    throw new ParseException("Unparseable date: \"" + text + "\"", 0);
+                }
+                dateTime = LocalDateTime.of(date, time);
+            } catch (DateTimeException e) {
+                if (isBeforeGregorianCutover(text)) {
+                    // the date may only exist in the Julian calendar, as 1500-02-29
+                    return legacy.parse(text, timeZone);
+                }
+                ParseException parseException = new ParseException("Unparseable date: \"" + text + "\"", 0);
+                parseException.initCause(e);
+                throw parseException;
+            }
+            if (dateTime.isBefore(GREGORIAN_CUTOVER_LIMIT)) {
+                return legacy.parse(text, timeZone);
+            }
+            if (parsed.isSupported(ChronoField.OFFSET_SECONDS)) {
+                return Date.from(dateTime.toInstant(ZoneOffset.ofTotalSeconds(parsed.get(ChronoField.OFFSET_SECONDS))));
+            }
+            return toDate(dateTime, timeZone, lenient, text);
+        }
+
+        private boolean isBeforeGregorianCutover(String text) {
+            TemporalAccessor unresolved = formatter.parseUnresolved(text, new ParsePosition(0));
+            return unresolved != null && unresolved.isSupported(ChronoField.YEAR_OF_ERA)
+                    && unresolved.getLong(ChronoField.YEAR_OF_ERA) <= GREGORIAN_CUTOVER_LIMIT.getYear();
+        }
+    }
+
+    /**
+     * The fixed layouts of the common ISO patterns. Each digit of the text is at a known position.
+     */
+    enum IsoLayout {
+        DATE("yyyy-MM-dd", 10, ' '),
+        DATE_TIME("yyyy-MM-dd HH:mm:ss", 19, ' '),
+        DATE_T_TIME("yyyy-MM-dd'T'HH:mm:ss", 19, 'T'),
+        DATE_TIME_MILLIS("yyyy-MM-dd HH:mm:ss.SSS", 23, ' ');
+
+        private final String pattern;
+
+        private final int length;
+
+        private final char timeSeparator;
+
+        IsoLayout(String pattern, int length, char timeSeparator) {
+            this.pattern = pattern;
+            this.length = length;
+            this.timeSeparator = timeSeparator;
+        }
+
+        static IsoLayout of(String pattern) {
+            for (IsoLayout layout : values()) {
+                if (layout.pattern.equals(pattern)) {
+                    return layout;
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Hand-written format of an {@link IsoLayout}. The texts that do not match the layout exactly (numbers that are not
+     * padded, years after 9999) and the dates before the Gregorian cutover are handled by the {@link DateTimeFormatter}
+     * of the same pattern.
+     */
+    static class IsoDateFormat extends CompiledDateFormat {
+
+        private final IsoLayout layout;
+
+        private final boolean lenient;
+
+        private final CompiledDateFormat general;
+
+        IsoDateFormat(IsoLayout layout, boolean lenient, CompiledDateFormat general) {
+            this.layout = layout;
+            this.lenient = lenient;
+            this.general = general;
+        }
+
+        @Override
+        public String format(Date date, TimeZone timeZone) {
+            long millis = date.getTime();
+            if (millis < GREGORIAN_CUTOVER_LIMIT_TIME) {
+                return general.format(date, timeZone);
+            }
+            LocalDateTime dateTime = LocalDateTime.ofEpochSecond(Math.floorDiv(millis, 1000L), 0, offset(millis, timeZone));
+            int year = dateTime.getYear();
+            if (year > 9999) {
+                return general.format(date, timeZone);
+            }
+            char[] chars = new char[layout.length];
+            write(chars, 0, year, 4);
+            chars[4] = '-';
+            write(chars, 5, dateTime.getMonthValue(), 2);
+            chars[7] = '-';
+            write(chars, 8, dateTime.getDayOfMonth(), 2);
+            if (layout != IsoLayout.DATE) {
+                chars[10] = layout.timeSeparator;
+                write(chars, 11, dateTime.getHour(), 2);
+                chars[13] = ':';
+                write(chars, 14, dateTime.getMinute(), 2);
+                chars[16] = ':';
+                write(chars, 17, dateTime.getSecond(), 2);
+                if (layout == IsoLayout.DATE_TIME_MILLIS) {
+                    chars[19] = '.';
+                    write(chars, 20, (int) Math.floorMod(millis, 1000L), 3);
+                }
+            }
+            return new String(chars);
+        }
+
+        private static void write(char[] chars, int offset, int value, int width) {
+            for (int i = offset + width - 1; i >= offset; i--) {
+                chars[i] = (char) ('0' + value % 10);
+                value /= 10;
+            }
+        }
+
+        @Override
+        public Date parse(String text, TimeZone timeZone) throws ParseException {
+            if (text.length() != layout.length || text.charAt(4) != '-' || text.charAt(7) != '-') {
+                return general.parse(text, timeZone);
+            }
+            int year = read(text, 0, 4);
+            int month = read(text, 5, 2);
+            int day = read(text, 8, 2);
+            int hour = 0;
+            int minute = 0;
+            int second = 0;
+            int millis = 0;
+            if (layout != IsoLayout.DATE) {
+                if (text.charAt(10) != layout.timeSeparator || text.charAt(13) != ':' || text.charAt(16) != ':') {
+                    return general.parse(text, timeZone);
+                }
+                hour = read(text, 11, 2);
+                minute = read(text, 14, 2);
+                second = read(text, 17, 2);
+                if (layout == IsoLayout.DATE_TIME_MILLIS) {
+                    millis = text.charAt(19) == '.' ? read(text, 20, 3) : -1;
+                }
+            }
+            if ((year | month | day | hour | minute | second | millis) < 0 || year <= GREGORIAN_CUTOVER_LIMIT.getYear()) {
+                return general.parse(text, timeZone);
+            }
+
+            LocalDateTime dateTime;
+            if (lenient) {
+                // roll over the values out of range, as a lenient SimpleDateFormat
+                dateTime = LocalDateTime.of(year, 1, 1, 0, 0).plusMonths(month - 1L).plusDays(day - 1L).plusHours(hour)
+                        .plusMinutes(minute).plusSeconds(second).plusNanos(millis * 1000000L);
+            } else {
+                try {
+                    dateTime = LocalDateTime.of(year, month, day, hour, minute, second, millis * 1000000);
+                } catch (DateTimeException e) {
+                    ParseException parseException = new ParseException("Unparseable date: \"" + text + "\"", 0);
+                    parseException.initCause(e);
+                    throw parseException;
+                }
+            }
+            if (dateTime.isBefore(GREGORIAN_CUTOVER_LIMIT)) {
+                return general.parse(text, timeZone);
+            }
+            return toDate(dateTime, timeZone, lenient, text);
+        }
+
+        /**
+         * @return the positive number written with the given digits, or -1 if one of them is not a digit.
+         */
+        private static int read(String text, int offset, int width) {
+            int value = 0;
+            for (int i = offset; i < offset + width; i++) {
+                char c = text.charAt(i);
+                if (c < '0' || c > '9') {
+                    return -1;
+                }
+                value = value * 10 + (c - '0');
+            }
+            return value;
+        }
+    }
+
+    /**
+     * A {@link SimpleDateFormat} per thread, for the patterns that {@link DateTimeFormatter} does not interpret in the same
+     * way.
+     */
+    static class LegacyDateFormat extends CompiledDateFormat {
+
+        private final ThreadLocal<SimpleDateFormat> format;
+
+        LegacyDateFormat(final Key key) {
+            this.format = new ThreadLocal<SimpleDateFormat>() {
+
+                @Override
+                protected SimpleDateFormat initialValue() {
+                    SimpleDateFormat simpleDateFormat = new SimpleDateFormat(key.pattern, key.locale);
+                    simpleDateFormat.setLenient(key.lenient);
+                    return simpleDateFormat;
+                }
+            };
+        }
+
+        private SimpleDateFormat get(TimeZone timeZone) {
+            SimpleDateFormat simpleDateFormat = format.get();
+            if (!simpleDateFormat.getTimeZone().equals(timeZone)) {
+                simpleDateFormat.setTimeZone(timeZone);
+            }
+            return simpleDateFormat;
+        }
+
+        @Override
+        public String format(Date date, TimeZone timeZone) {
+            return get(timeZone).format(date);
+        }
+
+        @Override
+        public Date parse(String text, TimeZone timeZone) throws ParseException {
+            ParsePosition position = new ParsePosition(0);
+            Date date = get(timeZone).parse(text, position);
+            if (date == null || position.getIndex() != text.length()) {
+                throw new ParseException("Unparseable date: \"" + text + "\"", position.getErrorIndex());
+            }
+            return date;
+        }
+    }
+
+    static final class Key {
+
+        private final String pattern;
+
+        private final Locale locale;
+
+        private final boolean lenient;
+
+        Key(String pattern, Locale locale, boolean lenient) {
+            this.pattern = pattern;
+            this.locale = locale;
+            this.lenient = lenient;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(pattern, locale, lenient);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) obj;
+            return lenient == other.lenient && pattern.equals(other.pattern) && locale.equals(other.locale);
+        }
+    }
+}
@@ -14,9 +14,12 @@ package org.talend.components.common.runtime;
 
 import java.util.Locale;
 
-/*
+/**
  * This is a copy of routines.system.FastDateParser
+ *
+ * @deprecated the returned formats are neither thread-safe nor immutable, use {@link DateFormats} instead.
  */
+@Deprecated
 public class FastDateParser {
 
     private static FastDateParser instance;
@@ -140,7 +143,6 @@ public class FastDateParser {
                 return calendar.getTime();
             } catch (Exception e) {
                 pos.setErrorIndex(index);
-                e.printStackTrace();
             }
             return null;
         }
@@ -225,7 +227,6 @@ public class FastDateParser {
                 return calendar.getTime();
             } catch (Exception e) {
                 pos.setErrorIndex(index);
-                e.printStackTrace();
             }
             return null;
         }
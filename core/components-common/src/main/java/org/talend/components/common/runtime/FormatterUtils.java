@@ -12,9 +12,7 @@
 //============================================================================
 package org.talend.components.common.runtime;
 
-import java.text.DateFormat;
 import java.util.Date;
-import java.util.TimeZone;
 
 public class FormatterUtils {
 
@@ -22,9 +20,7 @@ public class FormatterUtils {
 
     public static String formatDate(Date date, String pattern) {
         if (date != null) {
-            DateFormat format = FastDateParser.getInstance(pattern == null ? dateDefaultPattern : pattern);
-            format.setTimeZone(TimeZone.getDefault());
-            return format.format(date);
+            return DateFormats.get(pattern == null ? dateDefaultPattern : pattern).format(date);
         } else {
             return null;
         }
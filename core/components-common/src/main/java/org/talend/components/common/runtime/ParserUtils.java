@@ -13,8 +13,7 @@
 
 package org.talend.components.common.runtime;
 
-import java.text.DateFormat;
-import java.text.ParsePosition;
+import java.text.ParseException;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
@@ -180,7 +179,7 @@ public class ParserUtils {
      * @return Date object parsed from the string.
      *
      */
-    public synchronized static Date parseToDate(String stringDate, String pattern, boolean isLenient) {
+    public static Date parseToDate(String stringDate, String pattern, boolean isLenient) {
         // check the parameter for supporting " ","2007-09-13"," 2007-09-13 "
         if (stringDate != null) {
             stringDate = stringDate.trim();
@@ -199,13 +198,10 @@ public class ParserUtils {
             pattern = "yyyy-MM-dd'T'HH:mm:ss";
             stringDate = stringDate.substring(0, stringDate.lastIndexOf("000Z"));
         }
-        DateFormat format = FastDateParser.getInstance(pattern, isLenient);
-        ParsePosition pp = new ParsePosition(0);
-        pp.setIndex(0);
-
-        date = format.parse(stringDate, pp);
-        if (pp.getIndex() != stringDate.length() || date == null) {
-            throw new RuntimeException("Unparseable date: \"" + stringDate + "\"");
+        try {
+            date = DateFormats.get(pattern, isLenient).parse(stringDate);
+        } catch (ParseException e) {
+            throw new RuntimeException("Unparseable date: \"" + stringDate + "\"", e);
         }
 
         return date;
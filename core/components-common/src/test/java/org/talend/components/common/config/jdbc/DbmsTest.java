@@ -12,6 +12,8 @@
 //============================================================================
 package org.talend.components.common.config.jdbc;
 
+import java.util.Collections;
+
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -31,4 +33,20 @@ public class DbmsTest {
         Assert.assertEquals(expectedId, dbms.getId());
     }
 
+    @Test
+    public void testFindDbmsMapping() {
+        Dbms dbms = new Dbms("mysql_id", "MYSQL", "Mapping Mysql", true);
+        DbmsType varchar = new DbmsType("VARCHAR");
+        MappingType<DbmsType, TalendType> mapping = new MappingType<>(varchar, TalendType.STRING,
+                Collections.singleton(TalendType.STRING));
+        dbms.addType("VARCHAR", varchar);
+        dbms.addDbMapping("VARCHAR", mapping);
+
+        Assert.assertSame(mapping, dbms.findDbmsMapping("VARCHAR"));
+        Assert.assertSame(mapping, dbms.findDbmsMapping("varchar"));
+        Assert.assertNull(dbms.getDbmsMapping("varchar"));
+        Assert.assertNull(dbms.findDbmsMapping("INT"));
+        Assert.assertNull(dbms.findDbmsMapping(null));
+    }
+
 }
@@ -12,6 +12,7 @@
 //============================================================================
 package org.talend.components.common.runtime;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
@@ -20,7 +21,9 @@ import org.apache.avro.SchemaBuilder;
 import org.apache.avro.generic.GenericData;
 import org.apache.avro.generic.IndexedRecord;
 import org.junit.Assert;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.talend.components.api.component.ComponentDefinition;
 import org.talend.components.api.component.runtime.Writer;
 import org.talend.components.api.component.runtime.Result;
@@ -28,15 +31,25 @@ import org.talend.components.common.BulkFileProperties;
 import org.talend.daikon.avro.AvroUtils;
 import org.talend.daikon.avro.SchemaConstants;
 
+import java.io.BufferedReader;
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
+import java.util.zip.GZIPInputStream;
 
 public class BulkFileWriterTest {
 
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
     @Test
     public void testBulkFileWriter() throws IOException {
         BulkFileProperties bfProperties = (BulkFileProperties) new BulkFileProperties("foo").init();
@@ -56,6 +69,107 @@ public class BulkFileWriterTest {
         // deleteBulkFile(bfProperties);
     }
 
+    @Test
+    public void testRollingByRowCount() throws IOException {
+        BulkFileProperties bfProperties = (BulkFileProperties) new BulkFileProperties("foo").init();
+        File bulkFile = new File(folder.getRoot(), "bulk.csv");
+        bfProperties.bulkFilePath.setValue(bulkFile.getAbsolutePath());
+        bfProperties.schema.schema.setValue(getMakeRowSchema());
+        bfProperties.rollingRowCount.setValue(4);
+
+        List<File> files = writeRows(bfProperties, 10);
+
+        assertEquals(Arrays.asList(bulkFile, new File(folder.getRoot(), "bulk_1.csv"), new File(folder.getRoot(), "bulk_2.csv")),
+                files);
+        // each part starts with the header
+        assertEquals(5, readLines(files.get(0), false).size());
+        assertEquals(5, readLines(files.get(1), false).size());
+        assertEquals(3, readLines(files.get(2), false).size());
+        assertTrue(readLines(files.get(2), false).get(0).contains("col_7"));
+    }
+
+    @Test
+    public void testRollingBySize() throws IOException {
+        BulkFileProperties bfProperties = (BulkFileProperties) new BulkFileProperties("foo").init();
+        File bulkFile = new File(folder.getRoot(), "bulk.csv");
+        bfProperties.bulkFilePath.setValue(bulkFile.getAbsolutePath());
+        bfProperties.schema.schema.setValue(getMakeRowSchema());
+        bfProperties.rollingFileSize.setValue(1);
+
+        // more than 80 bytes by row, so more than 2 MB
+        List<File> files = writeRows(bfProperties, 30000);
+
+        assertTrue(files.size() >= 3);
+        int rows = 0;
+        for (int i = 0; i < files.size(); i++) {
+            long length = files.get(i).length();
+            if (i < files.size() - 1) {
+                assertTrue(length >= 1024 * 1024);
+            }
+            // a part exceeds the rolling size by at most the buffers of the writer
+            assertTrue(length < 1024 * 1024 + 256 * 1024);
+            rows += readLines(files.get(i), false).size() - 1;
+        }
+        assertEquals(30000, rows);
+    }
+
+    @Test
+    public void testCompress() throws IOException {
+        BulkFileProperties bfProperties = (BulkFileProperties) new BulkFileProperties("foo").init();
+        File bulkFile = new File(folder.getRoot(), "bulk.csv.gz");
+        bfProperties.bulkFilePath.setValue(bulkFile.getAbsolutePath());
+        bfProperties.schema.schema.setValue(getMakeRowSchema());
+        bfProperties.compress.setValue(true);
+        bfProperties.rollingRowCount.setValue(6);
+
+        List<File> files = writeRows(bfProperties, 10);
+
+        assertEquals(Arrays.asList(bulkFile, new File(folder.getRoot(), "bulk_1.csv.gz")), files);
+        List<String> lines = readLines(files.get(0), true);
+        assertEquals(7, lines.size());
+        assertTrue(lines.get(1).contains("aaa_0000"));
+        assertEquals(5, readLines(files.get(1), true).size());
+    }
+
+    private List<File> writeRows(BulkFileProperties bfProperties, int count) throws IOException {
+        BulkFileSink bulkFileSink = new BulkFileSink();
+        bulkFileSink.initialize(null, bfProperties);
+        BulkFileWriteOperation writeOperation = (BulkFileWriteOperation) bulkFileSink.createWriteOperation();
+        BulkFileWriter bfWriter = (BulkFileWriter) writeOperation.createWriter(null);
+
+        bfWriter.open("foo");
+        Schema schema = getMakeRowSchema();
+        for (int i = 0; i < count; i++) {
+            GenericData.Record row = new GenericData.Record(schema);
+            row.put("col_1", "aaa_000" + i);
+            row.put("col_2", "bbb_111" + i);
+            row.put("col_3", 123 + i);
+            row.put("col_4", 76543.5 + i);
+            row.put("col_5", new Date());
+            row.put("col_6", "ddd_333" + i);
+            row.put("col_7", 123456l);
+            bfWriter.write(row);
+        }
+        Result result = bfWriter.close();
+        assertEquals(count, result.totalCount);
+        return bfWriter.getFiles();
+    }
+
+    private List<String> readLines(File file, boolean compressed) throws IOException {
+        List<String> lines = new ArrayList<>();
+        InputStream input = new FileInputStream(file);
+        if (compressed) {
+            input = new GZIPInputStream(input);
+        }
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lines.add(line);
+            }
+        }
+        return lines;
+    }
+
     private void testWriteFile(BulkFileProperties bfProperties) throws IOException {
 
         BulkFileSink bulkFileSink = new BulkFileSink();
@@ -0,0 +1,59 @@
+//============================================================================
+//
+// Copyright (C) 2006-2023 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// %InstallDIR%\features\org.talend.rcp.branding.%PRODUCTNAME%\%PRODUCTNAME%license.txt
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+//============================================================================
+package org.talend.components.common.runtime;
+
+import java.text.DateFormat;
+import java.text.ParseException;
+import java.util.Date;
+
+import org.databene.contiperf.PerfTest;
+import org.junit.Rule;
+import org.junit.Test;
+import org.talend.components.api.test.performance.ContiPerfRuleAdaptor;
+
+/**
+ * Compare the throughput of the {@link DateFormats} with the thread local formats of the {@link FastDateParser}, on the
+ * same dates and patterns.
+ */
+@SuppressWarnings("deprecation")
+public class DateFormatsPerformanceTest {
+
+    private static final int DATES = 10000;
+
+    private static final String[] PATTERNS = { "yyyy-MM-dd", "yyyy-MM-dd HH:mm:ss.SSS", "dd-MM-yyyy HH:mm" };
+
+    @Rule
+    public ContiPerfRuleAdaptor perfAdaptor = new ContiPerfRuleAdaptor();
+
+    @Test
+    @PerfTest(invocations = 20, threads = 4)
+    public void testDateFormats() throws ParseException {
+        for (String pattern : PATTERNS) {
+            DateFormats.CompiledDateFormat format = DateFormats.get(pattern);
+            for (int i = 0; i < DATES; i++) {
+                format.parse(format.format(new Date(1500000000000L + i * 60001L)));
+            }
+        }
+    }
+
+    @Test
+    @PerfTest(invocations = 20, threads = 4)
+    public void testFastDateParser() throws ParseException {
+        for (String pattern : PATTERNS) {
+            DateFormat format = FastDateParser.getInstance(pattern);
+            for (int i = 0; i < DATES; i++) {
+                format.parse(format.format(new Date(1500000000000L + i * 60001L)));
+            }
+        }
+    }
+}
@@ -0,0 +1,208 @@
+//============================================================================
+//
+// Copyright (C) 2006-2023 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// %InstallDIR%\features\org.talend.rcp.branding.%PRODUCTNAME%\%PRODUCTNAME%license.txt
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+//============================================================================
+package org.talend.components.common.runtime;
+
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+import java.text.ParseException;
+import java.text.ParsePosition;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.TimeZone;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link DateFormats}, the compiled formats must behave as a {@link SimpleDateFormat} of the same pattern.
+ */
+public class DateFormatsTest {
+
+    private static final TimeZone PARIS = TimeZone.getTimeZone("Europe/Paris");
+
+    private static final String[][] SAMPLES = { //
+            { "yyyy-MM-dd", "2017-01-14" }, //
+            { "yyyy-MM-dd", "2017-1-4" }, //
+            { "yyyy-MM-dd", "1988-02-30" }, //
+            { "yyyy-MM-dd HH:mm:ss", "2017-03-26 02:30:00" }, //
+            { "yyyy-MM-dd'T'HH:mm:ss", "2017-10-29T02:30:00" }, //
+            { "yyyy-MM-dd HH:mm:ss.SSS", "2017-01-14 13:04:05.007" }, //
+            { "yyyy-MM-dd HH:mm:ss.SSS", "2017-01-14 13:04:05.7" }, //
+            { "dd-MM-yyyy", "14-01-2017" }, //
+            { "yyyyMMdd", "20170114" }, //
+            { "yyyy-MM-dd hh:mm:ss", "2017-01-14 12:04:05" }, //
+            { "yyyy-MM-dd hh:mm:ss a", "2017-01-14 12:04:05 PM" }, //
+            { "yyyy-MM-dd HH:mm:ss Z", "2017-01-14 13:04:05 +0200" }, //
+            { "yyyy-MM-dd'T'HH:mm:ss.SSSXXX", "2017-01-14T13:04:05.123+02:00" }, //
+            { "dd MMM yyyy", "14 Jan 2017" }, //
+            { "HH:mm:ss", "25:00:00" }, //
+            { "EEE, dd MMM yy", "Sat, 14 Jan 17" }, //
+            { "yyyy-MM-dd", "2017-01-14x" }, //
+            { "yyyy-MM", "1988-20" } };
+
+    /** Dates around the Gregorian cutover, SimpleDateFormat uses the Julian calendar before 1582-10-15. */
+    private static final String[][] JULIAN_SAMPLES = { //
+            { "yyyy-MM-dd", "0001-01-01" }, //
+            { "yyyy-MM-dd", "1000-03-01" }, //
+            { "yyyy-MM-dd", "1500-02-29" }, //
+            { "yyyy-MM-dd", "1582-10-04" }, //
+            { "yyyy-MM-dd", "1582-10-10" }, //
+            { "yyyy-MM-dd", "1582-10-15" }, //
+            { "yyyy-MM-dd", "1582-10-16" }, //
+            { "dd-MM-yyyy", "29-02-1500" }, //
+            { "dd-MM-yyyy HH:mm:ss", "04-10-1582 23:00:00" }, //
+            { "yyyy-MM-dd HH:mm:ss.SSS", "1000-01-01 10:00:00.123" }, //
+            { "yyyy-MM-dd'T'HH:mm:ss.SSSXXX", "1000-01-01T10:00:00.123+02:00" } };
+
+    @Test
+    public void testParseAsSimpleDateFormat() {
+        for (boolean lenient : new boolean[] { true, false }) {
+            for (String[] sample : SAMPLES) {
+                assertEquals(lenient + " " + sample[0] + " " + sample[1], parseWithSimpleDateFormat(sample[0], sample[1], lenient),
+                        parseWithDateFormats(sample[0], sample[1], lenient));
+            }
+        }
+    }
+
+    @Test
+    public void testFormatAsSimpleDateFormat() {
+        long[] times = { 0L, 1484399045007L, -5000000000000L, 1490488200000L, 253402300799999L, -62135769600000L,
+                -30610224000000L, -12219379200000L, -12219292800000L, -12219120000001L };
+        for (String[] sample : SAMPLES) {
+            SimpleDateFormat simpleDateFormat = new SimpleDateFormat(sample[0], Locale.US);
+            simpleDateFormat.setTimeZone(PARIS);
+            for (long time : times) {
+                assertEquals(sample[0], simpleDateFormat.format(new Date(time)),
+                        DateFormats.get(sample[0], Locale.US, true).format(new Date(time), PARIS));
+            }
+        }
+    }
+
+    @Test
+    public void testRoundTripBeforeGregorianCutover() throws ParseException {
+        for (TimeZone timeZone : new TimeZone[] { TimeZone.getTimeZone("UTC"), PARIS, TimeZone.getTimeZone("Asia/Tokyo") }) {
+            for (boolean lenient : new boolean[] { true, false }) {
+                for (String[] sample : JULIAN_SAMPLES) {
+                    String message = timeZone.getID() + " " + lenient + " " + sample[0] + " " + sample[1];
+                    SimpleDateFormat simpleDateFormat = new SimpleDateFormat(sample[0], Locale.US);
+                    simpleDateFormat.setLenient(lenient);
+                    simpleDateFormat.setTimeZone(timeZone);
+                    DateFormats.CompiledDateFormat format = DateFormats.get(sample[0], Locale.US, lenient);
+
+                    ParsePosition position = new ParsePosition(0);
+                    Date expected = simpleDateFormat.parse(sample[1], position);
+                    if (expected == null || position.getIndex() != sample[1].length()) {
+                        assertEquals(message, "error", parseWithDateFormats(sample[0], sample[1], lenient, timeZone));
+                        continue;
+                    }
+                    Date parsed = format.parse(sample[1], timeZone);
+                    assertEquals(message, expected, parsed);
+                    assertEquals(message, simpleDateFormat.format(parsed), format.format(parsed, timeZone));
+                    assertEquals(message, expected, format.parse(simpleDateFormat.format(expected), timeZone));
+                    assertEquals(message, expected, simpleDateFormat.parse(format.format(expected, timeZone)));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testFormatBeforeGregorianCutover() throws ParseException {
+        TimeZone utc = TimeZone.getTimeZone("UTC");
+        assertEquals("0001-01-01", DateFormats.get("yyyy-MM-dd", Locale.US, true).format(new Date(-62135769600000L), utc));
+        assertEquals(-62135769600000L, DateFormats.get("yyyy-MM-dd", Locale.US, true).parse("0001-01-01", utc).getTime());
+        assertEquals("1582-10-04", DateFormats.get("yyyy-MM-dd", Locale.US, true).format(new Date(-12219379200000L), utc));
+        assertEquals("1582-10-15", DateFormats.get("yyyy-MM-dd", Locale.US, true).format(new Date(-12219292800000L), utc));
+    }
+
+    @Test
+    public void testCompiledOnce() {
+        assertThat(DateFormats.get("yyyy-MM-dd", Locale.US, true),
+                sameInstance(DateFormats.get("yyyy-MM-dd", Locale.US, true)));
+        assertThat(DateFormats.get("yyyy-MM-dd", Locale.US, true), instanceOf(DateFormats.IsoDateFormat.class));
+        assertThat(DateFormats.get("dd-MM-yyyy", Locale.US, true), instanceOf(DateFormats.JavaTimeDateFormat.class));
+        assertThat(DateFormats.get("dd-MM-yy", Locale.US, true), instanceOf(DateFormats.LegacyDateFormat.class));
+        assertThat(DateFormats.get("yyyy-MM-dd z", Locale.US, true), instanceOf(DateFormats.LegacyDateFormat.class));
+    }
+
+    @Test
+    public void testStrictParseFails() {
+        try {
+            DateFormats.get("yyyy-MM-dd", false).parse("1988-02-30");
+            fail("1988-02-30 is not a valid date");
+        } catch (ParseException e) {
+            assertThat(e.getMessage(), is("Unparseable date: \"1988-02-30\""));
+        }
+    }
+
+    @Test
+    public void testConcurrentUse() throws Exception {
+        final DateFormats.CompiledDateFormat format = DateFormats.get("yyyy-MM-dd HH:mm:ss.SSS");
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                final long offset = t * 86400000L;
+                results.add(executor.submit(new Callable<Boolean>() {
+
+                    @Override
+                    public Boolean call() throws Exception {
+                        for (int i = 0; i < 10000; i++) {
+                            Date date = new Date(offset + i * 1001L);
+                            if (!date.equals(format.parse(format.format(date)))) {
+                                return false;
+                            }
+                        }
+                        return true;
+                    }
+                }));
+            }
+            for (Future<Boolean> result : results) {
+                assertThat(result.get(), is(true));
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static String parseWithSimpleDateFormat(String pattern, String text, boolean lenient) {
+        SimpleDateFormat simpleDateFormat = new SimpleDateFormat(pattern, Locale.US);
+        simpleDateFormat.setLenient(lenient);
+        simpleDateFormat.setTimeZone(PARIS);
+        ParsePosition position = new ParsePosition(0);
+        Date date = simpleDateFormat.parse(text, position);
+        return date == null || position.getIndex() != text.length() ? "error" : String.valueOf(date.getTime());
+    }
+
+    private static String parseWithDateFormats(String pattern, String text, boolean lenient) {
+        return parseWithDateFormats(pattern, text, lenient, PARIS);
+    }
+
+    private static String parseWithDateFormats(String pattern, String text, boolean lenient, TimeZone timeZone) {
+        try {
+            return String.valueOf(DateFormats.get(pattern, Locale.US, lenient).parse(text, timeZone).getTime());
+        } catch (ParseException e) {
+            return "error";
+        }
+    }
+}
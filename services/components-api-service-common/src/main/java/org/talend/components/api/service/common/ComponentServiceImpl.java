@@ -35,6 +35,7 @@ import org.talend.components.api.wizard.ComponentWizard;
 import org.talend.components.api.wizard.ComponentWizardDefinition;
 import org.talend.components.api.wizard.WizardImageType;
 import org.talend.daikon.NamedThing;
+import org.talend.daikon.definition.Definition;
 import org.talend.daikon.exception.ExceptionContext;
 import org.talend.daikon.exception.TalendRuntimeException;
 import org.talend.daikon.properties.Properties;
@@ -89,11 +90,13 @@ public class ComponentServiceImpl extends PropertiesServiceImpl implements Compo
 
     @Override
     public ComponentDefinition getComponentDefinition(String name) {
-        Map<String, ComponentDefinition> compDefMap = definitionRegistry.getDefinitionsMapByType(ComponentDefinition.class);
-        if (compDefMap.isEmpty()) {
+        if (!definitionRegistry.getDefinitionsByType(ComponentDefinition.class).iterator().hasNext()) {
             throw TalendRuntimeException.createUnexpectedException("fails to retrieve any Component definitions.");
         }
-        ComponentDefinition componentDefinition = definitionRegistry.getDefinitionsMapByType(ComponentDefinition.class).get(name);
+        // the names of all the definitions are unique
+        Definition definition = definitionRegistry.getDefinitions().get(name);
+        ComponentDefinition componentDefinition = definition instanceof ComponentDefinition ? (ComponentDefinition) definition
+                : null;
         if (componentDefinition == null) {
             // The component was not found.
             throw ComponentException.build(ComponentsApiErrorCode.WRONG_COMPONENT_NAME).set(name);
@@ -120,24 +123,16 @@ public class ComponentServiceImpl extends PropertiesServiceImpl implements Compo
     public List<ComponentWizard> getComponentWizardsForProperties(ComponentProperties properties, String location) {
         List<ComponentWizard> wizards = new ArrayList<>();
         for (ComponentWizardDefinition wizardDefinition : definitionRegistry
-                .getDefinitionsByType(ComponentWizardDefinition.class)) {
-            if (wizardDefinition.supportsProperties(properties.getClass())) {
-                ComponentWizard wizard = wizardDefinition.createWizard(properties, location);
-                wizards.add(wizard);
-            }
+                .getWizardDefinitionsForProperties(properties.getClass())) {
+            ComponentWizard wizard = wizardDefinition.createWizard(properties, location);
+            wizards.add(wizard);
         }
         return wizards;
     }
 
     @Override
     public List<ComponentDefinition> getPossibleComponents(ComponentProperties... properties) {
-        List<ComponentDefinition> returnList = new ArrayList<>();
-        for (ComponentDefinition cd : definitionRegistry.getDefinitionsByType(ComponentDefinition.class)) {
-            if (cd.supportsProperties(properties)) {
-                returnList.add(cd);
-            }
-        }
-        return returnList;
+        return definitionRegistry.getComponentDefinitionsForProperties(properties);
     }
 
     @Override
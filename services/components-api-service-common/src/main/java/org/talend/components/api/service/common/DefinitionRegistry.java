@@ -20,11 +20,15 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.slf4j.Logger;
 import org.talend.components.api.ComponentFamilyDefinition;
 import org.talend.components.api.ComponentInstaller;
+import org.talend.components.api.component.AbstractComponentDefinition;
 import org.talend.components.api.component.ComponentDefinition;
+import org.talend.components.api.properties.ComponentProperties;
 import org.talend.components.api.wizard.ComponentWizardDefinition;
 import org.talend.daikon.definition.Definition;
 import org.talend.daikon.definition.service.DefinitionRegistryService;
@@ -39,6 +43,9 @@ import org.talend.daikon.properties.PropertiesUtils;
  * This should be populated by all of the {@link ComponentInstaller} instances found, using the methods from
  * {@link ComponentInstaller.ComponentFrameworkContext}. Once it has been been initialized, it can be used by the
  * {@link org.talend.components.api.service.ComponentService} implementations.
+ *
+ * The lookups by type and by properties class are indexed : an index is built at the first lookup and dropped when the
+ * definitions change.
  */
 public class DefinitionRegistry implements ComponentInstaller.ComponentFrameworkContext, DefinitionRegistryService {
 
@@ -52,6 +59,8 @@ public class DefinitionRegistry implements ComponentInstaller.ComponentFramework
 
     private Map<String, ComponentFamilyDefinition> componentFamilies;
 
+    private volatile Indexes indexes;
+
     public DefinitionRegistry() {
         reset();
     }
@@ -75,14 +84,20 @@ public class DefinitionRegistry implements ComponentInstaller.ComponentFramework
      * @return a subset of the known definitions
      */
     public <T extends Definition> Iterable<T> getDefinitionsByType(final Class<T> cls) {
-        // If we ever add a guava dependency: return Iterables.filter(definitions, cls);
-        List<T> byType = new ArrayList<>();
-        for (Definition def : getIterableDefinitions()) {
-            if (cls.isAssignableFrom(def.getClass())) {
-                byType.add((T) def);
+        Indexes current = indexes;
+        List<? extends Definition> byType = current.definitionsByType.get(cls);
+        if (byType == null) {
+            // If we ever add a guava dependency: return Iterables.filter(definitions, cls);
+            List<Definition> filtered = new ArrayList<>();
+            for (Definition def : getIterableDefinitions()) {
+                if (cls.isAssignableFrom(def.getClass())) {
+                    filtered.add(def);
+                }
             }
+            byType = Collections.unmodifiableList(filtered);
+            current.definitionsByType.putIfAbsent(cls, byType);
         }
-        return byType;
+        return (Iterable<T>) byType;
     }
 
     @Override
@@ -107,6 +122,14 @@ public class DefinitionRegistry implements ComponentInstaller.ComponentFramework
     public void reset() {
         definitions = new HashMap<>();
         componentFamilies = new HashMap<>();
+        invalidateIndexes();
+    }
+
+    /**
+     * Drop the indexes of the lookups, they are built again from the registered definitions at the next lookups.
+     */
+    public void invalidateIndexes() {
+        indexes = new Indexes();
     }
 
     /**
@@ -132,6 +155,7 @@ public class DefinitionRegistry implements ComponentInstaller.ComponentFramework
             }
             LOGGER.info("Talend Definition registered :" + name);
         }
+        invalidateIndexes();
     }
 
     @Override
@@ -158,12 +182,80 @@ public class DefinitionRegistry implements ComponentInstaller.ComponentFramework
 
     @Override
     public Iterable<Definition> getDefinitionForPropertiesType(Class<? extends Properties> propertiesClass) {
-        List<Definition> matchingDefs = new ArrayList<>();
-        for (Definition def : definitions.values()) {
-            Class<? extends Properties> defPropClass = def.getPropertiesClass();
-            if (defPropClass != null && propertiesClass.isAssignableFrom(def.getPropertiesClass())) {
-                matchingDefs.add(def);
+        Indexes current = indexes;
+        List<Definition> matchingDefs = current.definitionsByPropertiesClass.get(propertiesClass);
+        if (matchingDefs == null) {
+            List<Definition> filtered = new ArrayList<>();
+            for (Definition def : definitions.values()) {
+                Class<? extends Properties> defPropClass = def.getPropertiesClass();
+                if (defPropClass != null && propertiesClass.isAssignableFrom(def.getPropertiesClass())) {
+                    filtered.add(def);
+                }
+            }
+            matchingDefs = Collections.unmodifiableList(filtered);
+            current.definitionsByPropertiesClass.putIfAbsent(propertiesClass, matchingDefs);
+        }
+        return matchingDefs;
+    }
+
+    /**
+     * @return the component definitions supporting all the given properties, see
+     * {@link ComponentDefinition#supportsProperties(ComponentProperties...)}.
+     */
+    public List<ComponentDefinition> getComponentDefinitionsForProperties(ComponentProperties... properties) {
+        ComponentIndex componentIndex = getComponentIndex();
+        List<ComponentDefinition> candidates;
+        if (properties.length == 0) {
+            candidates = componentIndex.all;
+        } else {
+            // a definition supporting all the properties supports the first one
+            candidates = componentIndex.bySupportedClass.get(properties[0].getClass());
+        }
+        List<ComponentDefinition> matchingDefs = new ArrayList<>();
+        if (candidates != null) {
+            for (ComponentDefinition def : candidates) {
+                if (def.supportsProperties(properties)) {
+                    matchingDefs.add(def);
+                }
+            }
+        }
+        if (properties.length > 0) {
+            for (ComponentDefinition def : componentIndex.notIndexed) {
+                if (def.supportsProperties(properties)) {
+                    matchingDefs.add(def);
+                }
+            }
+        }
+        return matchingDefs;
+    }
+
+    private ComponentIndex getComponentIndex() {
+        Indexes current = indexes;
+        ComponentIndex componentIndex = current.components;
+        if (componentIndex == null) {
+            componentIndex = new ComponentIndex(getDefinitionsByType(ComponentDefinition.class));
+            current.components = componentIndex;
+        }
+        return componentIndex;
+    }
+
+    /**
+     * @return the wizard definitions supporting the properties class, see
+     * {@link ComponentWizardDefinition#supportsProperties(Class)}.
+     */
+    public List<ComponentWizardDefinition> getWizardDefinitionsForProperties(
+            Class<? extends ComponentProperties> propertiesClass) {
+        Indexes current = indexes;
+        List<ComponentWizardDefinition> matchingDefs = current.wizardsByPropertiesClass.get(propertiesClass);
+        if (matchingDefs == null) {
+            List<ComponentWizardDefinition> filtered = new ArrayList<>();
+            for (ComponentWizardDefinition def : getDefinitionsByType(ComponentWizardDefinition.class)) {
+                if (def.supportsProperties(propertiesClass)) {
+                    filtered.add(def);
+                }
             }
+            matchingDefs = Collections.unmodifiableList(filtered);
+            current.wizardsByPropertiesClass.putIfAbsent(propertiesClass, matchingDefs);
         }
         return matchingDefs;
     }
@@ -184,4 +276,79 @@ public class DefinitionRegistry implements ComponentInstaller.ComponentFramework
         PropertiesUtils.injectObject(props, this);
     }
 
+    /**
+     * The indexes of the lookups, filled at the first lookup of each key. A new instance replaces the current one when
+     * the definitions change, so that a lookup running during the change can't fill the new indexes with old results.
+     */
+    private static class Indexes {
+
+        private final ConcurrentMap<Class<?>, List<? extends Definition>> definitionsByType = new ConcurrentHashMap<>();
+
+        private final ConcurrentMap<Class<?>, List<Definition>> definitionsByPropertiesClass = new ConcurrentHashMap<>();
+
+        private final ConcurrentMap<Class<?>, List<ComponentWizardDefinition>> wizardsByPropertiesClass = new ConcurrentHashMap<>();
+
+        private volatile ComponentIndex components;
+    }
+
+    /**
+     * The component definitions by the properties classes they support : their properties class and their nested
+     * compatible properties classes.
+     */
+    private static class ComponentIndex {
+
+        private final List<ComponentDefinition> all = new ArrayList<>();
+
+        private final Map<Class<?>, List<ComponentDefinition>> bySupportedClass = new HashMap<>();
+
+        /** The definitions whose supported classes are unknown, they are always checked */
+        private final List<ComponentDefinition> notIndexed = new ArrayList<>();
+
+        ComponentIndex(Iterable<ComponentDefinition> definitions) {
+            for (ComponentDefinition def : definitions) {
+                all.add(def);
+                if (!hasDefaultSupport(def)) {
+                    notIndexed.add(def);
+                    continue;
+                }
+                AbstractComponentDefinition abstractDef = (AbstractComponentDefinition) def;
+                index(abstractDef.getPropertyClass(), def);
+                Class<? extends ComponentProperties>[] nestedClasses = abstractDef
+                        .getNestedCompatibleComponentPropertiesClass();
+                if (nestedClasses != null) {
+                    for (Class<? extends ComponentProperties> nestedClass : nestedClasses) {
+                        index(nestedClass, def);
+                    }
+                }
+            }
+        }
+
+        /**
+         * @return true if the definition supports the properties of its classes, as
+         * {@link AbstractComponentDefinition#supportsProperties(ComponentProperties...)}.
+         */
+        private static boolean hasDefaultSupport(ComponentDefinition def) {
+            if (!(def instanceof AbstractComponentDefinition)) {
+                return false;
+            }
+            try {
+                return def.getClass().getMethod("supportsProperties", ComponentProperties[].class)
+                        .getDeclaringClass() == AbstractComponentDefinition.class;
+            } catch (NoSuchMethodException e) {
+                return false;
+            }
+        }
+
+        private void index(Class<?> supportedClass, ComponentDefinition def) {
+            List<ComponentDefinition> defs = bySupportedClass.get(supportedClass);
+            if (defs == null) {
+                defs = new ArrayList<>();
+                bySupportedClass.put(supportedClass, defs);
+            }
+            if (!defs.contains(def)) {
+                defs.add(def);
+            }
+        }
+    }
+
 }
@@ -0,0 +1,130 @@
+//============================================================================
+//
+// Copyright (C) 2006-2023 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// %InstallDIR%\features\org.talend.rcp.branding.%PRODUCTNAME%\%PRODUCTNAME%license.txt
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+//============================================================================
+package org.talend.components.api.service.common;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.databene.contiperf.PerfTest;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.talend.components.api.component.ComponentDefinition;
+import org.talend.components.api.component.runtime.ExecutionEngine;
+import org.talend.components.api.properties.ComponentProperties;
+import org.talend.components.api.service.common.testcomponent.nestedprop.NestedComponentProperties;
+import org.talend.components.api.service.common.testcomponent.nestedprop.inherited.InheritedComponentProperties;
+import org.talend.components.api.test.SimpleComponentDefinition;
+import org.talend.components.api.test.performance.ContiPerfRuleAdaptor;
+import org.talend.daikon.definition.Definition;
+import org.talend.daikon.properties.Properties;
+
+/**
+ * Compare the indexed lookups of the {@link DefinitionRegistry} with a scan of all the definitions, on a registry of
+ * thousands of definitions.
+ */
+public class DefinitionRegistryPerformanceTest {
+
+    private static final int DEFINITIONS = 3000;
+
+    private static final int LOOKUPS = 200;
+
+    private static DefinitionRegistry registry;
+
+    private static final ComponentProperties nested = new NestedComponentProperties("nested");
+
+    private static final ComponentProperties inherited = new InheritedComponentProperties("inherited");
+
+    @Rule
+    public ContiPerfRuleAdaptor perfAdaptor = new ContiPerfRuleAdaptor();
+
+    @BeforeClass
+    public static void createRegistry() {
+        List<Definition> defs = new ArrayList<>(DEFINITIONS);
+        for (int i = 0; i < DEFINITIONS; i++) {
+            SimpleComponentDefinition def = new SimpleComponentDefinition("def" + i, ExecutionEngine.DI);
+            def.setPropertyClass(i % 3 == 0 ? NestedComponentProperties.class : InheritedComponentProperties.class);
+            defs.add(def);
+        }
+        registry = new DefinitionRegistry();
+        registry.registerDefinition(defs);
+    }
+
+    @Test
+    @PerfTest(invocations = 10, threads = 1)
+    public void testIndexedLookups() {
+        for (int i = 0; i < LOOKUPS; i++) {
+            assertEquals(1000, registry.getComponentDefinitionsForProperties(nested).size());
+            assertEquals(2000, registry.getComponentDefinitionsForProperties(inherited).size());
+            assertEquals(3000, count(registry.getDefinitionForPropertiesType(NestedComponentProperties.class)));
+        }
+    }
+
+    @Test
+    @PerfTest(invocations = 10, threads = 1)
+    public void testLinearScan() {
+        for (int i = 0; i < LOOKUPS; i++) {
+            assertEquals(1000, scanComponentDefinitions(nested).size());
+            assertEquals(2000, scanComponentDefinitions(inherited).size());
+            assertEquals(3000, scanDefinitions(NestedComponentProperties.class).size());
+        }
+    }
+
+    @Test
+    public void testSameResults() {
+        assertEquals(scanComponentDefinitions(nested), registry.getComponentDefinitionsForProperties(nested));
+        assertEquals(scanComponentDefinitions(inherited), registry.getComponentDefinitionsForProperties(inherited));
+        assertEquals(scanDefinitions(InheritedComponentProperties.class),
+                toList(registry.getDefinitionForPropertiesType(InheritedComponentProperties.class)));
+    }
+
+    /**
+     * The lookup of the component definitions as it was done before the indexes.
+     */
+    private static List<ComponentDefinition> scanComponentDefinitions(ComponentProperties... properties) {
+        List<ComponentDefinition> result = new ArrayList<>();
+        for (Definition def : registry.getIterableDefinitions()) {
+            if (def instanceof ComponentDefinition && ((ComponentDefinition) def).supportsProperties(properties)) {
+                result.add((ComponentDefinition) def);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * The lookup of the definitions by properties class as it was done before the indexes.
+     */
+    private static List<Definition> scanDefinitions(Class<? extends Properties> propertiesClass) {
+        List<Definition> result = new ArrayList<>();
+        for (Definition def : registry.getIterableDefinitions()) {
+            if (def.getPropertiesClass() != null && propertiesClass.isAssignableFrom(def.getPropertiesClass())) {
+                result.add(def);
+            }
+        }
+        return result;
+    }
+
+    private static int count(Iterable<?> iterable) {
+        return toList(iterable).size();
+    }
+
+    private static <T> List<T> toList(Iterable<T> iterable) {
+        List<T> list = new ArrayList<>();
+        for (T t : iterable) {
+            list.add(t);
+        }
+        return list;
+    }
+}
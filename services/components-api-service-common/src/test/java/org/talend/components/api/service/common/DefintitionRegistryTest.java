@@ -18,16 +18,21 @@ import static org.hamcrest.Matchers.emptyIterable;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.hasEntry;
 import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.iterableWithSize;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.fail;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Iterator;
+import java.util.List;
 
 import org.junit.Test;
 import org.talend.components.api.ComponentFamilyDefinition;
 import org.talend.components.api.component.ComponentDefinition;
 import org.talend.components.api.component.runtime.ExecutionEngine;
+import org.talend.components.api.properties.ComponentProperties;
 import org.talend.components.api.service.common.testcomponent.TestComponentDefinition;
 import org.talend.components.api.service.common.testcomponent.TestComponentFamilyDefinition;
 import org.talend.components.api.service.common.testcomponent.TestComponentWizardDefinition;
@@ -117,6 +122,49 @@ public class DefintitionRegistryTest {
 
     }
 
+    @Test
+    public void testLookupsWithManyDefinitions() {
+        List<Definition> defs = new ArrayList<>();
+        for (int i = 0; i < 3000; i++) {
+            SimpleComponentDefinition def = new SimpleComponentDefinition("def" + i, ExecutionEngine.DI);
+            def.setPropertyClass(i % 3 == 0 ? NestedComponentProperties.class : InheritedComponentProperties.class);
+            defs.add(def);
+        }
+        DefinitionRegistry registry = new DefinitionRegistry();
+        registry.registerDefinition(defs);
+
+        ComponentProperties nested = new NestedComponentProperties("nested");
+        ComponentProperties inherited = new InheritedComponentProperties("inherited");
+        for (int i = 0; i < 1000; i++) {
+            assertThat(registry.getComponentDefinitionsForProperties(nested), hasSize(1000));
+            assertThat(registry.getComponentDefinitionsForProperties(inherited), hasSize(2000));
+            assertThat(registry.getComponentDefinitionsForProperties(nested, inherited), empty());
+            assertThat(registry.getComponentDefinitionsForProperties(), hasSize(3000));
+            assertThat(registry.getDefinitionForPropertiesType(NestedComponentProperties.class), iterableWithSize(3000));
+        }
+        // the indexed lookups give the same definitions as the filters
+        for (ComponentDefinition def : registry.getComponentDefinitionsForProperties(nested)) {
+            assertEquals(NestedComponentProperties.class, ((SimpleComponentDefinition) def).getPropertyClass());
+        }
+    }
+
+    @Test
+    public void testIndexesDroppedOnRegistration() {
+        DefinitionRegistry registry = new DefinitionRegistry();
+        ComponentDefinition def = new TestComponentDefinition();
+        registry.registerDefinition(Arrays.asList(def));
+        assertThat(registry.getDefinitionsByType(ComponentDefinition.class), contains(def));
+        assertThat(registry.getDefinitionsByType(ComponentWizardDefinition.class), emptyIterable());
+
+        ComponentWizardDefinition wizardDef = new TestComponentWizardDefinition();
+        registry.registerComponentWizardDefinition(Arrays.asList(wizardDef));
+        assertThat(registry.getDefinitionsByType(ComponentWizardDefinition.class), contains(wizardDef));
+        assertThat(registry.getDefinitionsByType(ComponentDefinition.class), contains(def));
+
+        registry.reset();
+        assertThat(registry.getDefinitionsByType(ComponentDefinition.class), emptyIterable());
+    }
+
     @Test
     public void testInjectDefinitionRegistry() {
         DefinitionRegistry registry = new DefinitionRegistry();
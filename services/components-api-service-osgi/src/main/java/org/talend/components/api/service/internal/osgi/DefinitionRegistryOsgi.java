@@ -56,12 +56,14 @@ public class DefinitionRegistryOsgi extends DefinitionRegistry {
                     @Override
                     public void modifiedService(ServiceReference<ComponentInstaller> arg0,
                             ComponentInstaller componentInstaller) {
-                        // not handled for now
+                        // not handled for now, only the lookups are computed again
+                        invalidateIndexes();
                     }
 
                     @Override
                     public void removedService(ServiceReference<ComponentInstaller> arg0, ComponentInstaller componentInstaller) {
-                        // No any un-install yet from the service
+                        // No any un-install yet from the service, only the lookups are computed again
+                        invalidateIndexes();
                     }
                 });
         serviceTracker.open();